@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core;
+
+import java.util.*;
+
+/**
+ * {@code BaseFieldModel} that stores the values in an array, at the position of their field in the list of field
+ * infos, found with the shared {@link FieldInfoIndex}. The values of the fields that are not in the list are not
+ * stored: they are always null and setting them is ignored.
+ */
+public class ArrayFieldModel extends BaseFieldModel {
+
+    private final Object[] slots;
+
+    public ArrayFieldModel(List<FieldInfo> fieldInfos) {
+        this(fieldInfos, FieldInfoIndex.of(fieldInfos));
+    }
+
+    public ArrayFieldModel(FieldModel fieldModel) {
+        this(fieldModel.getFieldInfos());
+        setAll(fieldModel);
+    }
+
+    private ArrayFieldModel(List<FieldInfo> fieldInfos, FieldInfoIndex index) {
+        this(fieldInfos, index, new Object[index.size()]);
+    }
+
+    private ArrayFieldModel(List<FieldInfo> fieldInfos, FieldInfoIndex index, Object[] slots) {
+        super(new ArrayValues(index, slots), fieldInfos, index);
+        this.slots = slots;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(FieldId fieldId) {
+        final int position = index().positionOf(fieldId);
+        return position < 0 ? null : (T) slots[position];
+    }
+
+    @Override
+    public void set(FieldId fieldId, Object value) {
+        final int position = index().positionOf(fieldId);
+        if (position < 0) {
+            return;
+        }
+        slots[position] = value;
+        for (int sibling : index().siblingPositions(position)) {
+            slots[sibling] = value;
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, null);
+    }
+
+    /**
+     * Map view of the non null values of the array.
+     */
+    private static final class ArrayValues extends AbstractMap<FieldId, Object> {
+
+        private final FieldInfoIndex index;
+        private final Object[] slots;
+
+        ArrayValues(FieldInfoIndex index, Object[] slots) {
+            this.index = index;
+            this.slots = slots;
+        }
+
+        private int positionOf(Object key) {
+            return key instanceof FieldId ? index.positionOf((FieldId) key) : -1;
+        }
+
+        @Override
+        public Object get(Object key) {
+            final int position = positionOf(key);
+            return position < 0 ? null : slots[position];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            final int position = positionOf(key);
+            return position >= 0 && slots[position] != null;
+        }
+
+        @Override
+        public Object put(FieldId key, Object value) {
+            final int position = positionOf(key);
+            if (position < 0) {
+                throw new IllegalArgumentException("unknown field " + key.code());
+            }
+            final Object previous = slots[position];
+            slots[position] = value;
+            return previous;
+        }
+
+        @Override
+        public Object remove(Object key) {
+            final int position = positionOf(key);
+            if (position < 0) {
+                return null;
+            }
+            final Object previous = slots[position];
+            slots[position] = null;
+            return previous;
+        }
+
+        @Override
+        public Set<Entry<FieldId, Object>> entrySet() {
+            return new AbstractSet<Entry<FieldId, Object>>() {
+
+                @Override
+                public Iterator<Entry<FieldId, Object>> iterator() {
+                    return new Iterator<Entry<FieldId, Object>>() {
+                        private int next = advance(0);
+
+                        private int advance(int from) {
+                            int position = from;
+                            while (position < slots.length && slots[position] == null) {
+                                position++;
+                            }
+                            return position;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < slots.length;
+                        }
+
+                        @Override
+                        public Entry<FieldId, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            final Entry<FieldId, Object> entry = new SimpleImmutableEntry<>(index.get(next).id(),
+                                    slots[next]);
+                            next = advance(next + 1);
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+                    for (Object slot : slots) {
+                        if (slot != null) {
+                            size++;
+                        }
+                    }
+                    return size;
+                }
+            };
+        }
+
+    }
+
+}
@@ -19,6 +19,7 @@ import java.util.*;
 import java.util.Map.Entry;
 import java.util.stream.Stream;
 
+import io.doov.core.serial.TypeAdapter;
 import io.doov.core.serial.TypeAdapterRegistry;
 import io.doov.core.serial.TypeAdapters;
 
@@ -31,14 +32,27 @@ public class BaseFieldModel implements FieldModel {
 
     protected Map<FieldId, Object> values;
     protected List<FieldInfo> fieldInfos;
+    private final FieldInfoIndex index;
 
     public BaseFieldModel(List<FieldInfo> fieldInfos) {
         this(new HashMap<>(), fieldInfos);
     }
 
     public BaseFieldModel(Map<FieldId, Object> values, List<FieldInfo> fieldInfos) {
+        this(values, fieldInfos, FieldInfoIndex.of(fieldInfos));
+    }
+
+    /**
+     * Creates a model with the index of its field infos, already looked up by the subclass.
+     *
+     * @param values the values
+     * @param fieldInfos the field infos
+     * @param index the index of the field infos
+     */
+    protected BaseFieldModel(Map<FieldId, Object> values, List<FieldInfo> fieldInfos, FieldInfoIndex index) {
         this.values = values;
         this.fieldInfos = fieldInfos;
+        this.index = index;
     }
 
     public BaseFieldModel(FieldModel fieldModel) {
@@ -55,11 +69,43 @@ public class BaseFieldModel implements FieldModel {
         return fieldInfos;
     }
 
+    /**
+     * Returns the index of the field infos of this model, shared by the models with the same field infos.
+     *
+     * @return the index
+     */
+    protected FieldInfoIndex index() {
+        return index;
+    }
+
+    @Override
+    public FieldInfo info(FieldId id) {
+        return index().info(id);
+    }
+
     @Override
     public TypeAdapterRegistry getTypeAdapterRegistry() {
         return TYPE_ADAPTER_REGISTRY;
     }
 
+    @Override
+    public void setAsString(FieldInfo fieldInfo, String value) {
+        Objects.requireNonNull(fieldInfo);
+        if (value == null) {
+            set(fieldInfo.id(), null);
+            return;
+        }
+        // the type adapters of the field infos of the model are resolved once in the shared index
+        final int position = index().positionOf(fieldInfo.id());
+        final TypeAdapter typeAdapter = position >= 0 && index().get(position) == fieldInfo
+                ? index().adapterFor(position, getTypeAdapterRegistry())
+                : getTypeAdapterRegistry().adapterFor(fieldInfo);
+        if (typeAdapter == null) {
+            throw new IllegalStateException("cannot set field " + fieldInfo.id() + " with value " + value);
+        }
+        set(fieldInfo.id(), typeAdapter.fromString(fieldInfo, value));
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> T get(FieldId fieldId) {
@@ -69,14 +115,9 @@ public class BaseFieldModel implements FieldModel {
     @Override
     public void set(FieldId fieldId, Object value) {
         values.put(fieldId, value);
-        Arrays.stream(siblingsOf(fieldId)).forEach(s -> values.put(s, value));
-    }
-
-    private static final FieldId[] NO_SIBLINGS = new FieldId[] {};
-
-    private FieldId[] siblingsOf(FieldId fieldId) {
-        Optional<FieldInfo> sublings = fieldInfos.stream().filter(info -> info.id() == fieldId).findFirst();
-        return sublings.isPresent() ? sublings.get().siblings() : NO_SIBLINGS;
+        for (FieldId sibling : index().siblings(fieldId)) {
+            values.put(sibling, value);
+        }
     }
 
     @Override
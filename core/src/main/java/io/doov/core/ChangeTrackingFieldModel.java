@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import io.doov.core.serial.TypeAdapterRegistry;
+
+/**
+ * {@link FieldModel} that delegates to a model and records the fields written by {@link #set(FieldId, Object)}, see
+ * {@link FieldModel#trackChanges()}. The changes are a bitmap of the positions of the fields in the field infos, see
+ * {@link FieldInfoIndex}. The siblings of a written field are recorded as changed too, since a model can clear them.
+ * A written field that is not in the field infos is recorded apart.
+ */
+public class ChangeTrackingFieldModel implements FieldModel {
+
+    private final FieldModel model;
+    private final FieldInfoIndex index;
+    private final BitSet changes;
+    private final Set<FieldId> otherChanges = new HashSet<>();
+
+    public ChangeTrackingFieldModel(FieldModel model) {
+        this.model = model;
+        this.index = FieldInfoIndex.of(model.getFieldInfos());
+        this.changes = new BitSet(index.size());
+    }
+
+    public FieldModel getModel() {
+        return model;
+    }
+
+    @Override
+    public <T> T get(FieldId fieldId) {
+        return model.get(fieldId);
+    }
+
+    @Override
+    public <T> void set(FieldId fieldId, T value) {
+        model.set(fieldId, value);
+        final int position = index.positionOf(fieldId);
+        if (position < 0) {
+            otherChanges.add(fieldId);
+            return;
+        }
+        changes.set(position);
+        for (int sibling : index.siblingPositions(position)) {
+            changes.set(sibling);
+        }
+    }
+
+    /**
+     * Returns true if the field was written since the creation of this model or the last call to
+     * {@link #clearChanges()}.
+     *
+     * @param fieldId the field id
+     * @return true if the field changed
+     */
+    public boolean isChanged(FieldId fieldId) {
+        final int position = index.positionOf(fieldId);
+        return position < 0 ? otherChanges.contains(fieldId) : changes.get(position);
+    }
+
+    /**
+     * Returns true if a field was written since the creation of this model or the last call to
+     * {@link #clearChanges()}.
+     *
+     * @return true if a field changed
+     */
+    public boolean hasChanges() {
+        return !changes.isEmpty() || !otherChanges.isEmpty();
+    }
+
+    /**
+     * Returns the fields written since the creation of this model or the last call to {@link #clearChanges()}.
+     *
+     * @return a new set of the changed field ids
+     */
+    public Set<FieldId> changedFields() {
+        final Set<FieldId> changed = new HashSet<>(otherChanges);
+        for (int position = changes.nextSetBit(0); position >= 0; position = changes.nextSetBit(position + 1)) {
+            changed.add(index.get(position).id());
+        }
+        return changed;
+    }
+
+    /**
+     * Forgets the recorded changes.
+     */
+    public void clearChanges() {
+        changes.clear();
+        otherChanges.clear();
+    }
+
+    @Override
+    public int getInt(FieldId id, int nullValue) {
+        return model.getInt(id, nullValue);
+    }
+
+    @Override
+    public long getLong(FieldId id, long nullValue) {
+        return model.getLong(id, nullValue);
+    }
+
+    @Override
+    public double getDouble(FieldId id, double nullValue) {
+        return model.getDouble(id, nullValue);
+    }
+
+    @Override
+    public boolean getBoolean(FieldId id, boolean nullValue) {
+        return model.getBoolean(id, nullValue);
+    }
+
+    @Override
+    public FieldInfo info(FieldId id) {
+        return model.info(id);
+    }
+
+    @Override
+    public List<FieldInfo> getFieldInfos() {
+        return model.getFieldInfos();
+    }
+
+    @Override
+    public TypeAdapterRegistry getTypeAdapterRegistry() {
+        return model.getTypeAdapterRegistry();
+    }
+
+    @Override
+    public Iterator<Map.Entry<FieldId, Object>> iterator() {
+        return model.iterator();
+    }
+
+    @Override
+    public Spliterator<Map.Entry<FieldId, Object>> spliterator() {
+        return model.spliterator();
+    }
+
+    @Override
+    public Stream<Map.Entry<FieldId, Object>> stream() {
+        return model.stream();
+    }
+
+    @Override
+    public Stream<Map.Entry<FieldId, Object>> parallelStream() {
+        return model.parallelStream();
+    }
+
+    @Override
+    public String toString() {
+        return "changed " + changedFields() + " " + model;
+    }
+
+}
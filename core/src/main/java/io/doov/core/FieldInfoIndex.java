@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.doov.core.serial.TypeAdapter;
+import io.doov.core.serial.TypeAdapterRegistry;
+
+/**
+ * Immutable index of a list of {@code FieldInfo}, that gives in constant time the position, the info, the siblings
+ * and the type adapter of a {@code FieldId}. An index is computed once per list of field infos and shared by all the
+ * models using an equal list, see {@link #of(List)}. The index of a list instance that was already indexed is found by
+ * identity, without hashing the list nor locking.
+ */
+public final class FieldInfoIndex {
+
+    private static final Map<List<FieldInfo>, FieldInfoIndex> INDEXES = Collections
+            .synchronizedMap(new WeakHashMap<>());
+    // the indexes by list identity, in front of the indexes by equal list
+    private static final ConcurrentMap<ListReference, FieldInfoIndex> INDEXES_BY_IDENTITY = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<List<FieldInfo>> COLLECTED_LISTS = new ReferenceQueue<>();
+
+    private static final FieldId[] NO_SIBLINGS = new FieldId[] {};
+
+    private final FieldInfo[] infos;
+    private final Map<FieldId, Integer> positions;
+    private final FieldId[][] siblings;
+    private final int[][] siblingPositions;
+    // the type adapters of the fields, resolved for the last registry used
+    private volatile FieldAdapters adapters;
+
+    private FieldInfoIndex(List<FieldInfo> fieldInfos) {
+        this.infos = fieldInfos.toArray(new FieldInfo[0]);
+        this.positions = new IdentityHashMap<>(infos.length);
+        for (int i = infos.length - 1; i >= 0; i--) {
+            // the first info of a field id wins, like a linear search
+            positions.put(infos[i].id(), i);
+        }
+        this.siblings = new FieldId[infos.length][];
+        this.siblingPositions = new int[infos.length][];
+        for (int i = 0; i < infos.length; i++) {
+            final FieldId[] infoSiblings = infos[i].siblings();
+            siblings[i] = infoSiblings == null || infoSiblings.length == 0 ? NO_SIBLINGS : infoSiblings;
+            siblingPositions[i] = Arrays.stream(siblings[i]).map(positions::get).filter(Objects::nonNull)
+                    .mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Returns the index of the given field infos, computed on the first call for an equal list. The list must not be
+     * modified once indexed.
+     *
+     * @param fieldInfos the field infos
+     * @return the index
+     */
+    public static FieldInfoIndex of(List<FieldInfo> fieldInfos) {
+        final FieldInfoIndex cached = INDEXES_BY_IDENTITY.get(new ListReference(fieldInfos, null));
+        if (cached != null) {
+            return cached;
+        }
+        Reference<? extends List<FieldInfo>> collected;
+        while ((collected = COLLECTED_LISTS.poll()) != null) {
+            INDEXES_BY_IDENTITY.remove(collected);
+        }
+        final FieldInfoIndex index = INDEXES.computeIfAbsent(fieldInfos, FieldInfoIndex::new);
+        INDEXES_BY_IDENTITY.putIfAbsent(new ListReference(fieldInfos, COLLECTED_LISTS), index);
+        return index;
+    }
+
+    /**
+     * Returns the number of indexed field infos.
+     *
+     * @return the size
+     */
+    public int size() {
+        return infos.length;
+    }
+
+    /**
+     * Returns the position of the field in the list of field infos.
+     *
+     * @param id the field id
+     * @return the position, or -1 if the field is not in the list
+     */
+    public int positionOf(FieldId id) {
+        final Integer position = positions.get(id);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Returns the field info at the given position.
+     *
+     * @param position the position
+     * @return the field info
+     */
+    public FieldInfo get(int position) {
+        return infos[position];
+    }
+
+    /**
+     * Returns the field info of the given field.
+     *
+     * @param id the field id
+     * @return the field info, or null if the field is not in the list
+     */
+    public FieldInfo info(FieldId id) {
+        final Integer position = positions.get(id);
+        return position == null ? null : infos[position];
+    }
+
+    /**
+     * Returns the siblings of the given field.
+     *
+     * @param id the field id
+     * @return the siblings, empty if the field is not in the list
+     */
+    public FieldId[] siblings(FieldId id) {
+        final Integer position = positions.get(id);
+        return position == null ? NO_SIBLINGS : siblings[position];
+    }
+
+    /**
+     * Returns the positions of the siblings of the field at the given position, that are in the list.
+     *
+     * @param position the position of the field
+     * @return the positions of the siblings
+     */
+    public int[] siblingPositions(int position) {
+        return siblingPositions[position];
+    }
+
+    /**
+     * Returns the type adapter of the field at the given position, see
+     * {@link TypeAdapterRegistry#adapterFor(FieldInfo)}. The type adapters of all the fields are resolved on the first
+     * call for a registry, and kept until the index is used with another registry.
+     *
+     * @param position the position of the field
+     * @param registry the type adapter registry
+     * @return the type adapter, or null if no type adapter accepts the field
+     */
+    public TypeAdapter adapterFor(int position, TypeAdapterRegistry registry) {
+        FieldAdapters current = adapters;
+        if (current == null || current.registry != registry) {
+            current = new FieldAdapters(registry, infos);
+            adapters = current;
+        }
+        return current.adapters[position];
+    }
+
+    /**
+     * The type adapters of the fields for a registry.
+     */
+    private static final class FieldAdapters {
+
+        private final TypeAdapterRegistry registry;
+        private final TypeAdapter[] adapters;
+
+        FieldAdapters(TypeAdapterRegistry registry, FieldInfo[] infos) {
+            this.registry = registry;
+            this.adapters = new TypeAdapter[infos.length];
+            for (int i = 0; i < infos.length; i++) {
+                adapters[i] = registry.adapterFor(infos[i]);
+            }
+        }
+
+    }
+
+    /**
+     * Weak reference to a list of field infos, equal to the references to the same list.
+     */
+    private static final class ListReference extends WeakReference<List<FieldInfo>> {
+
+        private final int hash;
+
+        ListReference(List<FieldInfo> fieldInfos, ReferenceQueue<List<FieldInfo>> queue) {
+            super(fieldInfos, queue);
+            this.hash = System.identityHashCode(fieldInfos);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof ListReference)) {
+                return false;
+            }
+            final List<FieldInfo> fieldInfos = get();
+            return fieldInfos != null && fieldInfos == ((ListReference) obj).get();
+        }
+
+    }
+
+}
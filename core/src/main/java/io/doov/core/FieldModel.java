@@ -117,6 +117,16 @@ public interface FieldModel extends Iterable<Map.Entry<FieldId, Object>>, DslMod
         return getFieldInfos().stream().filter(info -> info.id() == id).findFirst().orElse(null);
     }
 
+    /**
+     * Returns a view of this model that records the fields written through it, see
+     * {@link ChangeTrackingFieldModel}.
+     *
+     * @return the change tracking model
+     */
+    default ChangeTrackingFieldModel trackChanges() {
+        return new ChangeTrackingFieldModel(this);
+    }
+
 
     @Override
     default String getAsString(FieldId fieldId) {
@@ -124,11 +134,8 @@ public interface FieldModel extends Iterable<Map.Entry<FieldId, Object>>, DslMod
         if (value == null) {
             return null;
         }
-        return getTypeAdapterRegistry().stream()
-                        .filter(a -> a.accept(value))
-                        .findFirst()
-                        .map(a -> a.toString(value))
-                        .orElse(null);
+        final TypeAdapter typeAdapter = getTypeAdapterRegistry().adapterForValue(value);
+        return typeAdapter == null ? null : typeAdapter.toString(value);
     }
 
     @Override
@@ -149,11 +156,10 @@ public interface FieldModel extends Iterable<Map.Entry<FieldId, Object>>, DslMod
         if (value == null) {
             set(fieldInfo.id(), null);
         } else {
-            TypeAdapter typeAdapter = getTypeAdapterRegistry().stream()
-                    .filter(a -> a.accept(fieldInfo))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalStateException("cannot set field "
-                            + fieldInfo.id() + " with value " + value));
+            TypeAdapter typeAdapter = getTypeAdapterRegistry().adapterFor(fieldInfo);
+            if (typeAdapter == null) {
+                throw new IllegalStateException("cannot set field " + fieldInfo.id() + " with value " + value);
+            }
             set(fieldInfo.id(), typeAdapter.fromString(fieldInfo, value));
         }
     }
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.column;
+
+import java.util.Arrays;
+
+import io.doov.core.FieldInfo;
+
+/**
+ * Column of boolean values, stored in a bitmap.
+ */
+final class BooleanColumn extends Column {
+
+    long[] values;
+
+    BooleanColumn(FieldInfo info, int capacity) {
+        super(info, capacity);
+        this.values = new long[words(capacity)];
+    }
+
+    boolean getBoolean(int row, boolean nullValue) {
+        return isNull(row) ? nullValue : (values[row >>> 6] & (1L << row)) != 0;
+    }
+
+    @Override
+    public Object get(int row) {
+        return isNull(row) ? null : (values[row >>> 6] & (1L << row)) != 0;
+    }
+
+    @Override
+    public void set(int row, Object value) {
+        if (value != null && (Boolean) value) {
+            values[row >>> 6] |= 1L << row;
+        } else {
+            values[row >>> 6] &= ~(1L << row);
+        }
+        setPresent(row, value != null);
+    }
+
+    @Override
+    void grow(int capacity) {
+        super.grow(capacity);
+        values = Arrays.copyOf(values, words(capacity));
+    }
+
+}
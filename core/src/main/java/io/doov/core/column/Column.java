@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.column;
+
+import java.util.Arrays;
+
+import io.doov.core.FieldInfo;
+
+/**
+ * Values of one field for all the rows of a {@link ColumnStore}. The nulls are stored in a bitmap, where the bit of a
+ * row is set when the row has a value.
+ */
+public abstract class Column {
+
+    private final FieldInfo info;
+    long[] present;
+
+    Column(FieldInfo info, int capacity) {
+        this.info = info;
+        this.present = new long[words(capacity)];
+    }
+
+    /**
+     * Returns the column for the type of the field: a primitive array for int, long, double and boolean fields, a
+     * dictionary encoded column for string and enum fields, and an object array otherwise.
+     *
+     * @param info the field info
+     * @param capacity the initial capacity
+     * @return the column
+     */
+    static Column of(FieldInfo info, int capacity) {
+        final Class<?> type = info.type();
+        if (type == Integer.class || type == Integer.TYPE) {
+            return new IntColumn(info, capacity);
+        }
+        if (type == Long.class || type == Long.TYPE) {
+            return new LongColumn(info, capacity);
+        }
+        if (type == Double.class || type == Double.TYPE) {
+            return new DoubleColumn(info, capacity);
+        }
+        if (type == Boolean.class || type == Boolean.TYPE) {
+            return new BooleanColumn(info, capacity);
+        }
+        if (type == String.class || type.isEnum()) {
+            return new DictionaryColumn(info, capacity);
+        }
+        return new ObjectColumn(info, capacity);
+    }
+
+    static int words(int capacity) {
+        return (capacity + 63) >>> 6;
+    }
+
+    public FieldInfo info() {
+        return info;
+    }
+
+    public boolean isNull(int row) {
+        return (present[row >>> 6] & (1L << row)) == 0;
+    }
+
+    /**
+     * Returns the value of the row, boxed.
+     *
+     * @param row the row
+     * @return the value or null
+     */
+    public abstract Object get(int row);
+
+    /**
+     * Sets the value of the row.
+     *
+     * @param row the row
+     * @param value the value, null to clear the row
+     * @throws ClassCastException if the value is not of the field type
+     */
+    public abstract void set(int row, Object value);
+
+    final void setPresent(int row, boolean isPresent) {
+        if (isPresent) {
+            present[row >>> 6] |= 1L << row;
+        } else {
+            present[row >>> 6] &= ~(1L << row);
+        }
+    }
+
+    void grow(int capacity) {
+        present = Arrays.copyOf(present, words(capacity));
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.column;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import io.doov.core.*;
+import io.doov.core.serial.TypeAdapterRegistry;
+import io.doov.core.serial.TypeAdapters;
+
+/**
+ * {@link FieldModel} view of one row of a {@link ColumnStore}. The cursor holds no value, it reads and writes the
+ * columns of the store, and it can be moved to another row with {@link #moveTo(int)} to sweep the store without
+ * allocating.
+ */
+public class ColumnCursor implements FieldModel {
+
+    private final ColumnStore store;
+    private int row;
+
+    ColumnCursor(ColumnStore store, int row) {
+        this.store = store;
+        this.row = row;
+    }
+
+    public int row() {
+        return row;
+    }
+
+    /**
+     * Moves the cursor to the given row.
+     *
+     * @param row the row
+     * @return this cursor
+     * @throws IndexOutOfBoundsException if the row is not in the store
+     */
+    public ColumnCursor moveTo(int row) {
+        if (row < 0 || row >= store.size()) {
+            throw new IndexOutOfBoundsException("row " + row + ", size " + store.size());
+        }
+        this.row = row;
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(FieldId fieldId) {
+        return (T) store.get(row, fieldId);
+    }
+
+    @Override
+    public <T> void set(FieldId fieldId, T value) {
+        store.set(row, fieldId, value);
+    }
+
+    @Override
+    public int getInt(FieldId id, int nullValue) {
+        final Column column = store.column(id);
+        if (column instanceof IntColumn) {
+            return ((IntColumn) column).getInt(row, nullValue);
+        }
+        return FieldModel.super.getInt(id, nullValue);
+    }
+
+    @Override
+    public long getLong(FieldId id, long nullValue) {
+        final Column column = store.column(id);
+        if (column instanceof LongColumn) {
+            return ((LongColumn) column).getLong(row, nullValue);
+        }
+        return FieldModel.super.getLong(id, nullValue);
+    }
+
+    @Override
+    public double getDouble(FieldId id, double nullValue) {
+        final Column column = store.column(id);
+        if (column instanceof DoubleColumn) {
+            return ((DoubleColumn) column).getDouble(row, nullValue);
+        }
+        return FieldModel.super.getDouble(id, nullValue);
+    }
+
+    @Override
+    public boolean getBoolean(FieldId id, boolean nullValue) {
+        final Column column = store.column(id);
+        if (column instanceof BooleanColumn) {
+            return ((BooleanColumn) column).getBoolean(row, nullValue);
+        }
+        return FieldModel.super.getBoolean(id, nullValue);
+    }
+
+    @Override
+    public FieldInfo info(FieldId id) {
+        return store.info(id);
+    }
+
+    @Override
+    public List<FieldInfo> getFieldInfos() {
+        return store.getFieldInfos();
+    }
+
+    @Override
+    public TypeAdapterRegistry getTypeAdapterRegistry() {
+        return TypeAdapters.INSTANCE;
+    }
+
+    @Override
+    public Iterator<Map.Entry<FieldId, Object>> iterator() {
+        return entries().iterator();
+    }
+
+    @Override
+    public Spliterator<Map.Entry<FieldId, Object>> spliterator() {
+        return entries().spliterator();
+    }
+
+    @Override
+    public Stream<Map.Entry<FieldId, Object>> stream() {
+        return entries().stream();
+    }
+
+    @Override
+    public Stream<Map.Entry<FieldId, Object>> parallelStream() {
+        return entries().parallelStream();
+    }
+
+    private List<Map.Entry<FieldId, Object>> entries() {
+        final List<FieldInfo> infos = store.getFieldInfos();
+        final List<Map.Entry<FieldId, Object>> entries = new ArrayList<>(infos.size());
+        for (FieldInfo info : infos) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(info.id(), get(info.id())));
+        }
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        return "row " + row + " " + entries();
+    }
+
+}
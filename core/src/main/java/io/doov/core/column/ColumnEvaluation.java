@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.column;
+
+import static io.doov.core.dsl.meta.DefaultOperator.and;
+import static io.doov.core.dsl.meta.DefaultOperator.match_all;
+import static io.doov.core.dsl.meta.DefaultOperator.match_any;
+import static io.doov.core.dsl.meta.DefaultOperator.match_none;
+import static io.doov.core.dsl.meta.DefaultOperator.not;
+import static io.doov.core.dsl.meta.DefaultOperator.or;
+
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+import io.doov.core.dsl.DslField;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.impl.*;
+import io.doov.core.dsl.impl.num.PrimitiveComparison;
+import io.doov.core.dsl.lang.StepCondition;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.Operator;
+import io.doov.core.dsl.meta.predicate.BinaryPredicateMetadata;
+import io.doov.core.dsl.meta.predicate.NaryPredicateMetadata;
+import io.doov.core.dsl.meta.predicate.UnaryPredicateMetadata;
+
+/**
+ * Evaluates a step condition on all the rows of a {@link ColumnStore} at once, column by column, see
+ * {@link ColumnStore#testAll(ValidationRule)}.
+ * <p>
+ * The rows are selected with bitmaps of 64 rows per word. The and, or, not, match all, match any and match none
+ * nodes combine the bitmaps of their children, and only evaluate a child on the rows that can still change the
+ * result: the right side of an and on the rows selected by the left side, the right side of an or on the rows not
+ * selected by the left side. The leaves are evaluated by column kernels:
+ * <ul>
+ * <li>the primitive comparisons of the numeric fields ({@link PrimitiveComparison}) compare the primitive array of
+ * the column to the constant,</li>
+ * <li>the other leaves on a single field value ({@link LeafStepCondition#field()}) are evaluated once per distinct
+ * value on a dictionary or boolean column, and once per row on the other columns, without a model,</li>
+ * <li>the other leaves are evaluated row by row on a {@link ColumnCursor} with their compiled predicate.</li>
+ * </ul>
+ */
+public final class ColumnEvaluation {
+
+    private ColumnEvaluation() {
+        // static
+    }
+
+    /**
+     * Returns the rows of the store on which the validation rule evaluates to true, like
+     * {@link ValidationRule#test(DslModel)}.
+     *
+     * @param rule the rule to evaluate
+     * @param store the store
+     * @return the valid rows
+     */
+    public static BitSet testAll(ValidationRule rule, ColumnStore store) {
+        return testAll(rule.getStepWhen().stepCondition(), store);
+    }
+
+    /**
+     * Returns the rows of the store on which the condition evaluates to true.
+     *
+     * @param condition the condition to evaluate
+     * @param store the store
+     * @return the selected rows
+     */
+    public static BitSet testAll(StepCondition condition, ColumnStore store) {
+        final int size = store.size();
+        final long[] all = new long[Column.words(size)];
+        for (int word = 0; word < all.length; word++) {
+            final int remaining = size - (word << 6);
+            all[word] = remaining >= 64 ? -1L : (1L << remaining) - 1;
+        }
+        return BitSet.valueOf(evaluate(condition, store, all));
+    }
+
+    /**
+     * Evaluates the condition on the rows of the mask.
+     *
+     * @return the selected rows, a subset of the mask
+     */
+    static long[] evaluate(StepCondition condition, ColumnStore store, long[] mask) {
+        if (isEmpty(mask)) {
+            return mask;
+        }
+        if (condition instanceof LogicalBinaryCondition) {
+            final LogicalBinaryCondition binary = (LogicalBinaryCondition) condition;
+            final Operator operator = ((BinaryPredicateMetadata) binary.metadata()).getOperator();
+            if (operator == and) {
+                return evaluate(binary.right(), store, evaluate(binary.left(), store, mask));
+            } else if (operator == or) {
+                final long[] left = evaluate(binary.left(), store, mask);
+                return or(left, evaluate(binary.right(), store, andNot(mask, left)));
+            }
+        } else if (condition instanceof LogicalUnaryCondition) {
+            final LogicalUnaryCondition unary = (LogicalUnaryCondition) condition;
+            if (((UnaryPredicateMetadata) unary.metadata()).getOperator() == not) {
+                return andNot(mask, evaluate(unary.step(), store, mask));
+            }
+        } else if (condition instanceof LogicalNaryCondition) {
+            final LogicalNaryCondition nary = (LogicalNaryCondition) condition;
+            final Operator operator = ((NaryPredicateMetadata) nary.metadata()).getOperator();
+            if (operator == match_all) {
+                long[] selected = mask;
+                for (StepCondition step : nary.steps()) {
+                    selected = evaluate(step, store, selected);
+                }
+                return selected;
+            } else if (operator == match_any || operator == match_none) {
+                long[] selected = new long[mask.length];
+                for (StepCondition step : nary.steps()) {
+                    selected = or(selected, evaluate(step, store, andNot(mask, selected)));
+                }
+                return operator == match_any ? selected : andNot(mask, selected);
+            }
+        } else if (condition instanceof LeafStepCondition) {
+            return leaf((LeafStepCondition<?>) condition, store, mask);
+        }
+        return rowWise(condition.compile(), store, mask);
+    }
+
+    private static long[] leaf(LeafStepCondition<?> leaf, ColumnStore store, long[] mask) {
+        final Predicate<DslModel> compiled = leaf.compile();
+        if (compiled instanceof PrimitiveComparison) {
+            final PrimitiveComparison comparison = (PrimitiveComparison) compiled;
+            final Column column = store.column(comparison.fieldId());
+            if (column instanceof IntColumn && comparison.value() instanceof Integer) {
+                return compare((IntColumn) column, comparison, mask);
+            } else if (column instanceof LongColumn && comparison.value() instanceof Long) {
+                return compare((LongColumn) column, comparison, mask);
+            } else if (column instanceof DoubleColumn && comparison.value() instanceof Double) {
+                return compare((DoubleColumn) column, comparison, mask);
+            }
+        }
+        final DslField<?> field = leaf.field();
+        if (field == null) {
+            return rowWise(compiled, store, mask);
+        }
+        final Column column = store.column(field.id());
+        if (column == null) {
+            // the cursor reads a null value for a field that is not in the store
+            return leaf.testFieldValue(null) ? mask.clone() : new long[mask.length];
+        } else if (column instanceof DictionaryColumn) {
+            return dictionary((DictionaryColumn) column, leaf, mask);
+        } else if (column instanceof BooleanColumn) {
+            return booleans((BooleanColumn) column, leaf, mask);
+        }
+        return values(column, leaf, mask);
+    }
+
+    private static long[] compare(IntColumn column, PrimitiveComparison comparison, long[] mask) {
+        final int[] values = column.values;
+        final int right = comparison.value().intValue();
+        final long[] result = new long[mask.length];
+        for (int word = 0; word < mask.length; word++) {
+            if (mask[word] == 0) {
+                continue;
+            }
+            final int offset = word << 6;
+            final int length = Math.min(64, values.length - offset);
+            long bits = 0;
+            for (int bit = 0; bit < length; bit++) {
+                bits |= (comparison.comparison().test(values[offset + bit], right) ? 1L : 0L) << bit;
+            }
+            result[word] = bits & column.present[word] & mask[word];
+        }
+        return result;
+    }
+
+    private static long[] compare(LongColumn column, PrimitiveComparison comparison, long[] mask) {
+        final long[] values = column.values;
+        final long right = comparison.value().longValue();
+        final long[] result = new long[mask.length];
+        for (int word = 0; word < mask.length; word++) {
+            if (mask[word] == 0) {
+                continue;
+            }
+            final int offset = word << 6;
+            final int length = Math.min(64, values.length - offset);
+            long bits = 0;
+            for (int bit = 0; bit < length; bit++) {
+                bits |= (comparison.comparison().test(values[offset + bit], right) ? 1L : 0L) << bit;
+            }
+            result[word] = bits & column.present[word] & mask[word];
+        }
+        return result;
+    }
+
+    private static long[] compare(DoubleColumn column, PrimitiveComparison comparison, long[] mask) {
+        final double[] values = column.values;
+        final double right = comparison.value().doubleValue();
+        final long[] result = new long[mask.length];
+        for (int word = 0; word < mask.length; word++) {
+            if (mask[word] == 0) {
+                continue;
+            }
+            final int offset = word << 6;
+            final int length = Math.min(64, values.length - offset);
+            long bits = 0;
+            for (int bit = 0; bit < length; bit++) {
+                bits |= (comparison.comparison().test(values[offset + bit], right) ? 1L : 0L) << bit;
+            }
+            result[word] = bits & column.present[word] & mask[word];
+        }
+        return result;
+    }
+
+    private static long[] dictionary(DictionaryColumn column, LeafStepCondition<?> leaf, long[] mask) {
+        final int[] codes = column.codes;
+        // the null rows have the code 0, even when the dictionary is empty
+        final boolean[] selectedCodes = new boolean[Math.max(1, column.dictionary.size())];
+        for (int code = 0; code < column.dictionary.size(); code++) {
+            selectedCodes[code] = leaf.testFieldValue(column.dictionary.get(code));
+        }
+        final long nulls = leaf.testFieldValue(null) ? -1L : 0L;
+        final long[] result = new long[mask.length];
+        for (int word = 0; word < mask.length; word++) {
+            if (mask[word] == 0) {
+                continue;
+            }
+            final int offset = word << 6;
+            final int length = Math.min(64, codes.length - offset);
+            long bits = 0;
+            for (int bit = 0; bit < length; bit++) {
+                bits |= (selectedCodes[codes[offset + bit]] ? 1L : 0L) << bit;
+            }
+            final long present = column.present[word];
+            result[word] = ((bits & present) | (nulls & ~present)) & mask[word];
+        }
+        return result;
+    }
+
+    private static long[] booleans(BooleanColumn column, LeafStepCondition<?> leaf, long[] mask) {
+        final long trues = leaf.testFieldValue(Boolean.TRUE) ? -1L : 0L;
+        final long falses = leaf.testFieldValue(Boolean.FALSE) ? -1L : 0L;
+        final long nulls = leaf.testFieldValue(null) ? -1L : 0L;
+        final long[] result = new long[mask.length];
+        for (int word = 0; word < mask.length; word++) {
+            final long values = column.values[word];
+            final long present = column.present[word];
+            final long bits = (trues & values) | (falses & ~values);
+            result[word] = ((bits & present) | (nulls & ~present)) & mask[word];
+        }
+        return result;
+    }
+
+    private static long[] values(Column column, LeafStepCondition<?> leaf, long[] mask) {
+        final long[] result = new long[mask.length];
+        for (int word = 0; word < mask.length; word++) {
+            long bits = mask[word];
+            while (bits != 0) {
+                final int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (leaf.testFieldValue(column.get((word << 6) + bit))) {
+                    result[word] |= 1L << bit;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static long[] rowWise(Predicate<DslModel> predicate, ColumnStore store, long[] mask) {
+        final long[] result = new long[mask.length];
+        ColumnCursor cursor = null;
+        for (int word = 0; word < mask.length; word++) {
+            long bits = mask[word];
+            while (bits != 0) {
+                final int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                final int row = (word << 6) + bit;
+                cursor = cursor == null ? store.cursor(row) : cursor.moveTo(row);
+                if (predicate.test(cursor)) {
+                    result[word] |= 1L << bit;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isEmpty(long[] bitmap) {
+        for (long word : bitmap) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long[] or(long[] left, long[] right) {
+        final long[] result = new long[left.length];
+        for (int word = 0; word < result.length; word++) {
+            result[word] = left[word] | right[word];
+        }
+        return result;
+    }
+
+    private static long[] andNot(long[] left, long[] right) {
+        final long[] result = new long[left.length];
+        for (int word = 0; word < result.length; word++) {
+            result[word] = left[word] & ~right[word];
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.column;
+
+import java.util.*;
+
+import io.doov.core.FieldId;
+import io.doov.core.FieldInfo;
+import io.doov.core.FieldModel;
+import io.doov.core.dsl.lang.ValidationRule;
+
+/**
+ * Columnar store of many records of the same fields. Each field is stored in a {@link Column}: a primitive array for
+ * the int, long, double and boolean fields, a dictionary encoded column for the string and enum fields, and an object
+ * array otherwise, with a null bitmap. Compared to one {@link io.doov.core.BaseFieldModel} per record, there is no map
+ * entry nor boxed value per field, and a rule evaluated on all the rows sweeps contiguous arrays.
+ * <p>
+ * A row is read and written through a {@link ColumnCursor}, a lightweight {@link FieldModel} view of the row, so that
+ * validation and mapping rules run on the store without copying the records:
+ *
+ * <pre>
+ * ColumnStore store = new ColumnStore(fieldInfos);
+ * records.forEach(store::add);
+ * BitSet valid = store.testAll(rule);
+ * </pre>
+ *
+ * The store is not thread safe for writes, the rows can be read concurrently once loaded.
+ */
+public class ColumnStore {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final List<FieldInfo> fieldInfos;
+    private final Column[] columns;
+    private final Map<FieldId, Integer> indexes;
+    private final int[][] siblings;
+    private int size;
+    private int capacity;
+
+    public ColumnStore(List<FieldInfo> fieldInfos) {
+        this(fieldInfos, DEFAULT_CAPACITY);
+    }
+
+    public ColumnStore(List<FieldInfo> fieldInfos, int initialCapacity) {
+        this.fieldInfos = Collections.unmodifiableList(new ArrayList<>(fieldInfos));
+        this.capacity = Math.max(64, initialCapacity);
+        this.columns = new Column[fieldInfos.size()];
+        this.indexes = new HashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = Column.of(fieldInfos.get(i), capacity);
+            indexes.put(fieldInfos.get(i).id(), i);
+        }
+        this.siblings = new int[columns.length][];
+        for (int i = 0; i < columns.length; i++) {
+            siblings[i] = Arrays.stream(fieldInfos.get(i).siblings())
+                    .map(indexes::get)
+                    .filter(Objects::nonNull)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
+
+    public List<FieldInfo> getFieldInfos() {
+        return fieldInfos;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends a row with null values.
+     *
+     * @return the index of the new row
+     */
+    public int addRow() {
+        if (size == capacity) {
+            capacity = capacity + (capacity >> 1);
+            for (Column column : columns) {
+                column.grow(capacity);
+            }
+        }
+        return size++;
+    }
+
+    /**
+     * Appends a row with the values of the fields of the given model.
+     *
+     * @param model the model to copy
+     * @return the index of the new row
+     */
+    public int add(FieldModel model) {
+        final int row = addRow();
+        for (int i = 0; i < columns.length; i++) {
+            final Object value = model.get(fieldInfos.get(i).id());
+            if (value != null) {
+                columns[i].set(row, value);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Returns the column of the field.
+     *
+     * @param id the field id
+     * @return the column, or null if the field is not in the store
+     */
+    public Column column(FieldId id) {
+        final Integer index = indexes.get(id);
+        return index == null ? null : columns[index];
+    }
+
+    /**
+     * Returns the value of the field in the given row.
+     *
+     * @param row the row
+     * @param id the field id
+     * @return the value, or null if the field is not in the store
+     */
+    public Object get(int row, FieldId id) {
+        checkRow(row);
+        final Column column = column(id);
+        return column == null ? null : column.get(row);
+    }
+
+    /**
+     * Sets the value of the field, and of its siblings, in the given row. A field that is not in the store is ignored.
+     *
+     * @param row the row
+     * @param id the field id
+     * @param value the value
+     */
+    public void set(int row, FieldId id, Object value) {
+        checkRow(row);
+        final Integer index = indexes.get(id);
+        if (index == null) {
+            return;
+        }
+        columns[index].set(row, value);
+        for (int sibling : siblings[index]) {
+            columns[sibling].set(row, value);
+        }
+    }
+
+    /**
+     * Returns a cursor on the given row.
+     *
+     * @param row the row
+     * @return the cursor
+     */
+    public ColumnCursor cursor(int row) {
+        checkRow(row);
+        return new ColumnCursor(this, row);
+    }
+
+    /**
+     * Returns a random access list view of the rows, that creates a cursor for each accessed row.
+     *
+     * @return the rows
+     */
+    public List<ColumnCursor> rows() {
+        return new Rows();
+    }
+
+    /**
+     * Returns the rows on which the validation rule evaluates to true, evaluated column by column, see
+     * {@link ColumnEvaluation}.
+     *
+     * @param rule the rule to evaluate
+     * @return the valid rows
+     */
+    public BitSet testAll(ValidationRule rule) {
+        return ColumnEvaluation.testAll(rule, this);
+    }
+
+    FieldInfo info(FieldId id) {
+        final Integer index = indexes.get(id);
+        return index == null ? null : fieldInfos.get(index);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + ", size " + size);
+        }
+    }
+
+    private final class Rows extends AbstractList<ColumnCursor> implements RandomAccess {
+
+        @Override
+        public ColumnCursor get(int index) {
+            return cursor(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+    }
+
+}
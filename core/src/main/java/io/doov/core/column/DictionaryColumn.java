@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.column;
+
+import java.util.*;
+
+import io.doov.core.FieldInfo;
+
+/**
+ * Dictionary encoded column, for values with few distinct values like strings and enums. Each distinct value is
+ * stored once in the dictionary, and the rows store the int code of their value.
+ */
+final class DictionaryColumn extends Column {
+
+    int[] codes;
+    final List<Object> dictionary = new ArrayList<>();
+    private final Map<Object, Integer> codesByValue = new HashMap<>();
+
+    DictionaryColumn(FieldInfo info, int capacity) {
+        super(info, capacity);
+        this.codes = new int[capacity];
+    }
+
+    /**
+     * Returns the code of the value, or -1 if the value is not in the dictionary.
+     */
+    int codeOf(Object value) {
+        return codesByValue.getOrDefault(value, -1);
+    }
+
+    @Override
+    public Object get(int row) {
+        return isNull(row) ? null : dictionary.get(codes[row]);
+    }
+
+    @Override
+    public void set(int row, Object value) {
+        if (value == null) {
+            codes[row] = 0;
+            setPresent(row, false);
+            return;
+        }
+        info().type().cast(value);
+        codes[row] = codesByValue.computeIfAbsent(value, v -> {
+            dictionary.add(v);
+            return dictionary.size() - 1;
+        });
+        setPresent(row, true);
+    }
+
+    @Override
+    void grow(int capacity) {
+        super.grow(capacity);
+        codes = Arrays.copyOf(codes, capacity);
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.column;
+
+import java.util.Arrays;
+
+import io.doov.core.FieldInfo;
+
+/**
+ * Column of double values.
+ */
+final class DoubleColumn extends Column {
+
+    double[] values;
+
+    DoubleColumn(FieldInfo info, int capacity) {
+        super(info, capacity);
+        this.values = new double[capacity];
+    }
+
+    double getDouble(int row, double nullValue) {
+        return isNull(row) ? nullValue : values[row];
+    }
+
+    @Override
+    public Object get(int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    @Override
+    public void set(int row, Object value) {
+        values[row] = value == null ? 0.0 : (Double) value;
+        setPresent(row, value != null);
+    }
+
+    @Override
+    void grow(int capacity) {
+        super.grow(capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+
+}
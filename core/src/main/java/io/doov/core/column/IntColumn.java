@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.column;
+
+import java.util.Arrays;
+
+import io.doov.core.FieldInfo;
+
+/**
+ * Column of int values.
+ */
+final class IntColumn extends Column {
+
+    int[] values;
+
+    IntColumn(FieldInfo info, int capacity) {
+        super(info, capacity);
+        this.values = new int[capacity];
+    }
+
+    int getInt(int row, int nullValue) {
+        return isNull(row) ? nullValue : values[row];
+    }
+
+    @Override
+    public Object get(int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    @Override
+    public void set(int row, Object value) {
+        values[row] = value == null ? 0 : (Integer) value;
+        setPresent(row, value != null);
+    }
+
+    @Override
+    void grow(int capacity) {
+        super.grow(capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+
+}
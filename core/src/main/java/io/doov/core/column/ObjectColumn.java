@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.column;
+
+import java.util.Arrays;
+
+import io.doov.core.FieldInfo;
+
+/**
+ * Column of object values, for the types without a specialized column.
+ */
+final class ObjectColumn extends Column {
+
+    Object[] values;
+
+    ObjectColumn(FieldInfo info, int capacity) {
+        super(info, capacity);
+        this.values = new Object[capacity];
+    }
+
+    @Override
+    public Object get(int row) {
+        return values[row];
+    }
+
+    @Override
+    public void set(int row, Object value) {
+        values[row] = value;
+        setPresent(row, value != null);
+    }
+
+    @Override
+    void grow(int capacity) {
+        super.grow(capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+
+}
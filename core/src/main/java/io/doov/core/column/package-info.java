@@ -0,0 +1,4 @@
+/**
+ * Columnar storage of many records of the same fields, see {@link io.doov.core.column.ColumnStore}.
+ */
+package io.doov.core.column;
\ No newline at end of file
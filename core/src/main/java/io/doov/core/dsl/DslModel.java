@@ -34,4 +34,56 @@ public interface DslModel {
         set(field.id(), value);
     }
 
+    /**
+     * Returns the value of an int field, or the given null value when the field value is null. Models backed by
+     * primitive getters override it to read the value without boxing.
+     *
+     * @param id the field id
+     * @param nullValue the value returned when the field value is null
+     * @return the value
+     */
+    default int getInt(FieldId id, int nullValue) {
+        final Integer value = get(id);
+        return value == null ? nullValue : value;
+    }
+
+    /**
+     * Returns the value of a long field, or the given null value when the field value is null.
+     *
+     * @param id the field id
+     * @param nullValue the value returned when the field value is null
+     * @return the value
+     * @see #getInt(FieldId, int)
+     */
+    default long getLong(FieldId id, long nullValue) {
+        final Long value = get(id);
+        return value == null ? nullValue : value;
+    }
+
+    /**
+     * Returns the value of a double field, or the given null value when the field value is null.
+     *
+     * @param id the field id
+     * @param nullValue the value returned when the field value is null
+     * @return the value
+     * @see #getInt(FieldId, int)
+     */
+    default double getDouble(FieldId id, double nullValue) {
+        final Double value = get(id);
+        return value == null ? nullValue : value;
+    }
+
+    /**
+     * Returns the value of a boolean field, or the given null value when the field value is null.
+     *
+     * @param id the field id
+     * @param nullValue the value returned when the field value is null
+     * @return the value
+     * @see #getInt(FieldId, int)
+     */
+    default boolean getBoolean(FieldId id, boolean nullValue) {
+        final Boolean value = get(id);
+        return value == null ? nullValue : value;
+    }
+
 }
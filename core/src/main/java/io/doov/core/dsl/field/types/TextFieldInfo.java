@@ -15,7 +15,10 @@
  */
 package io.doov.core.dsl.field.types;
 
+import java.util.regex.Pattern;
+
 import io.doov.core.dsl.field.BaseFieldInfo;
+import io.doov.core.dsl.impl.DefaultCondition;
 import io.doov.core.dsl.impl.StringCondition;
 import io.doov.core.dsl.impl.StringFunction;
 import io.doov.core.dsl.impl.num.IntegerFunction;
@@ -50,6 +53,39 @@ public interface TextFieldInfo extends BaseFieldInfo<String> {
         return getStringCondition().matches(regex);
     }
 
+    /**
+     * See {@link StringCondition#matches(Pattern)}
+     *
+     * @param pattern the pattern
+     * @return the step condition
+     * @see StringCondition#matches(Pattern)
+     */
+    default StepCondition matches(Pattern pattern) {
+        return getStringCondition().matches(pattern);
+    }
+
+    /**
+     * See {@link StringCondition#matches(DefaultCondition)}
+     *
+     * @param regex the regex condition
+     * @return the step condition
+     * @see StringCondition#matches(DefaultCondition)
+     */
+    default StepCondition matches(DefaultCondition<String> regex) {
+        return getStringCondition().matches(regex);
+    }
+
+    /**
+     * See {@link StringCondition#find(Pattern)}
+     *
+     * @param pattern the pattern
+     * @return the step condition
+     * @see StringCondition#find(Pattern)
+     */
+    default StepCondition find(Pattern pattern) {
+        return getStringCondition().find(pattern);
+    }
+
     /**
      * See {@link StringCondition#startsWith(String)}
      *
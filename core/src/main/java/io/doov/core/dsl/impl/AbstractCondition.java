@@ -27,10 +27,17 @@ abstract class AbstractCondition<N> implements Condition<N> {
         return Optional.ofNullable(model.get(field.id()));
     }
 
+    protected final DslField<N> field;
     protected final PredicateMetadata metadata;
     protected final BiFunction<DslModel, Context, Optional<N>> function;
 
     protected AbstractCondition(PredicateMetadata metadata, BiFunction<DslModel, Context, Optional<N>> function) {
+        this(null, metadata, function);
+    }
+
+    protected AbstractCondition(DslField<N> field, PredicateMetadata metadata,
+            BiFunction<DslModel, Context, Optional<N>> function) {
+        this.field = field;
         this.metadata = metadata;
         this.function = function;
     }
@@ -39,6 +46,15 @@ abstract class AbstractCondition<N> implements Condition<N> {
         return function.apply(model, context);
     }
 
+    /**
+     * Returns the field when the value of this condition is the field value read from the model, null otherwise.
+     *
+     * @return the field or null
+     */
+    public DslField<N> getField() {
+        return field;
+    }
+
     public PredicateMetadata getMetadata() {
         return metadata;
     }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.lang.Context;
+import io.doov.core.dsl.lang.StepCondition;
+
+/**
+ * Evaluation order of the steps of a short-circuit nary condition, see {@link LogicalNaryCondition#withAdaptiveOrder()}.
+ * <p>
+ * The steps are evaluated until one of them returns the decisive value (false for match all, true for match any and
+ * match none). Every {@link #REORDER_PERIOD} executions, the steps are sorted by their expected cost to reach the
+ * decisive value, that is their average cost divided by their probability to be decisive, so that the cheapest and
+ * most decisive steps are evaluated first. The costs are measured on one execution out of {@link #COST_SAMPLING}.
+ * <p>
+ * The statistics are heuristics: they are updated without synchronization, a lost update only delays a reordering.
+ */
+final class AdaptiveOrder {
+
+    static final int REORDER_PERIOD = 1024;
+    static final int COST_SAMPLING = 16;
+
+    private final boolean decisiveValue;
+    private final int[] evaluations;
+    private final int[] decisions;
+    private final int[] timedEvaluations;
+    private final long[] costs;
+    private volatile int[] order;
+    private int executions;
+
+    AdaptiveOrder(int size, boolean decisiveValue) {
+        this.decisiveValue = decisiveValue;
+        this.evaluations = new int[size];
+        this.decisions = new int[size];
+        this.timedEvaluations = new int[size];
+        this.costs = new long[size];
+        this.order = IntStream.range(0, size).toArray();
+    }
+
+    /**
+     * Evaluates the steps in the current order until one of them returns the decisive value.
+     *
+     * @param steps the steps in declaration order
+     * @param model the model
+     * @param context the context
+     * @return true if a step returned the decisive value
+     */
+    boolean anyDecisive(List<StepCondition> steps, DslModel model, Context context) {
+        final boolean timed = execute();
+        for (int index : order) {
+            final long start = timed ? System.nanoTime() : 0L;
+            if (evaluated(index, steps.get(index).predicate().test(model, context), timed, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Evaluates the compiled steps in the current order until one of them returns the decisive value.
+     *
+     * @param predicates the compiled steps in declaration order
+     * @param model the model
+     * @return true if a step returned the decisive value
+     */
+    boolean anyDecisive(List<Predicate<DslModel>> predicates, DslModel model) {
+        final boolean timed = execute();
+        for (int index : order) {
+            final long start = timed ? System.nanoTime() : 0L;
+            if (evaluated(index, predicates.get(index).test(model), timed, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts an execution, and reorders the steps every {@link #REORDER_PERIOD} executions.
+     *
+     * @return true if the costs are measured during this execution
+     */
+    private boolean execute() {
+        final int execution = ++executions;
+        if (execution >= REORDER_PERIOD) {
+            executions = 0;
+            reorder();
+        }
+        return execution % COST_SAMPLING == 0;
+    }
+
+    /**
+     * Records the evaluation of a step.
+     *
+     * @return true if the value is decisive
+     */
+    private boolean evaluated(int index, boolean value, boolean timed, long start) {
+        if (timed) {
+            costs[index] += System.nanoTime() - start;
+            timedEvaluations[index]++;
+        }
+        evaluations[index]++;
+        if (value == decisiveValue) {
+            decisions[index]++;
+            return true;
+        }
+        return false;
+    }
+
+    int[] order() {
+        return order.clone();
+    }
+
+    private void reorder() {
+        final int size = evaluations.length;
+        final double[] scores = new double[size];
+        for (int i = 0; i < size; i++) {
+            // laplace smoothing, so that a step never evaluated has a probability of one half
+            final double probability = (decisions[i] + 1.0) / (evaluations[i] + 2.0);
+            final double cost = timedEvaluations[i] == 0 ? 1.0 : Math.max(1.0, (double) costs[i] / timedEvaluations[i]);
+            scores[i] = cost / probability;
+            // decay, so that the order follows the changes of the data
+            evaluations[i] >>>= 1;
+            decisions[i] >>>= 1;
+            timedEvaluations[i] >>>= 1;
+            costs[i] >>>= 1;
+        }
+        order = IntStream.range(0, size).boxed()
+                .sorted(Comparator.comparingDouble(i -> scores[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(order);
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.*;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.lang.Context;
+import io.doov.core.dsl.meta.Metadata;
+import io.doov.core.dsl.meta.MetadataIndex;
+
+/**
+ * Context backed by arrays indexed with the {@link MetadataIndex} of a rule: a bit set of the nodes evaluated to true
+ * and false, and an array of the evaluated values. The lookups of {@link #isEvalTrue(Metadata)} and
+ * {@link #isEvalFalse(Metadata)} are constant time, so that the reduction of the metadata tree is linear.
+ * <p>
+ * Unlike {@link DefaultContext}, a node evaluated several times is listed once in {@link #getEvalTrue()} and
+ * {@link #getEvalFalse()}, in index order. The nodes and fields that are not in the index are kept in lists and maps
+ * allocated on first use.
+ */
+public class ArrayContext implements Context {
+
+    private final MetadataIndex index;
+    private final boolean shortCircuit;
+    private final Metadata rootMetadata;
+    private final long[] evaluated;
+    private final Object[] values;
+    private List<Metadata> otherEvalTrue;
+    private List<Metadata> otherEvalFalse;
+    private Map<FieldId, Object> otherValues;
+
+    public ArrayContext(boolean shortCircuit, Metadata rootMetadata, MetadataIndex index) {
+        this.index = index;
+        this.shortCircuit = shortCircuit;
+        this.rootMetadata = rootMetadata;
+        // true bits in [0, size[, false bits in [size, 2 * size[
+        this.evaluated = new long[(2 * index.size() + 63) >>> 6];
+        this.values = new Object[index.fieldCount()];
+    }
+
+    @Override
+    public Metadata getRootMetadata() {
+        return rootMetadata;
+    }
+
+    @Override
+    public boolean isShortCircuit() {
+        return shortCircuit;
+    }
+
+    @Override
+    public boolean isEvalTrue(Metadata metadata) {
+        final int i = index.indexOf(metadata);
+        if (i < 0) {
+            return otherEvalTrue != null && otherEvalTrue.contains(metadata);
+        }
+        return isSet(i);
+    }
+
+    @Override
+    public boolean isEvalFalse(Metadata metadata) {
+        final int i = index.indexOf(metadata);
+        if (i < 0) {
+            return otherEvalFalse != null && otherEvalFalse.contains(metadata);
+        }
+        return isSet(index.size() + i);
+    }
+
+    @Override
+    public void addEvalTrue(Metadata metadata) {
+        final int i = index.indexOf(metadata);
+        if (i >= 0) {
+            set(i);
+        } else {
+            if (otherEvalTrue == null) {
+                otherEvalTrue = new ArrayList<>();
+            }
+            otherEvalTrue.add(metadata);
+        }
+    }
+
+    @Override
+    public void addEvalFalse(Metadata metadata) {
+        final int i = index.indexOf(metadata);
+        if (i >= 0) {
+            set(index.size() + i);
+        } else {
+            if (otherEvalFalse == null) {
+                otherEvalFalse = new ArrayList<>();
+            }
+            otherEvalFalse.add(metadata);
+        }
+    }
+
+    @Override
+    public void addEvalValue(FieldId id, Object value) {
+        putValue(id, value);
+    }
+
+    @Override
+    public void addSetValue(FieldId id, Object value) {
+        putValue(id, value);
+    }
+
+    private void putValue(FieldId id, Object value) {
+        final int i = index.fieldIndexOf(id);
+        if (i >= 0) {
+            values[i] = value;
+        } else {
+            if (otherValues == null) {
+                otherValues = new HashMap<>();
+            }
+            otherValues.put(id, value);
+        }
+    }
+
+    @Override
+    public Object getEvalValue(FieldId id) {
+        final int i = index.fieldIndexOf(id);
+        if (i >= 0) {
+            return values[i];
+        }
+        return otherValues == null ? null : otherValues.get(id);
+    }
+
+    @Override
+    public List<Metadata> getEvalTrue() {
+        return evaluated(0, otherEvalTrue);
+    }
+
+    @Override
+    public List<Metadata> getEvalFalse() {
+        return evaluated(index.size(), otherEvalFalse);
+    }
+
+    private List<Metadata> evaluated(int offset, List<Metadata> others) {
+        final List<Metadata> evaluated = new ArrayList<>();
+        for (int i = 0; i < index.size(); i++) {
+            if (isSet(offset + i)) {
+                evaluated.add(index.get(i));
+            }
+        }
+        if (others != null) {
+            evaluated.addAll(others);
+        }
+        return Collections.unmodifiableList(evaluated);
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(evaluated, 0L);
+        Arrays.fill(values, null);
+        otherEvalTrue = null;
+        otherEvalFalse = null;
+        otherValues = null;
+    }
+
+    private boolean isSet(int bit) {
+        return (evaluated[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private void set(int bit) {
+        evaluated[bit >>> 6] |= 1L << bit;
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+import io.doov.core.dsl.DslModel;
+
+/**
+ * Evaluates a predicate on a batch of models, see {@link io.doov.core.dsl.lang.ValidationRule#testAll(List)}.
+ * <p>
+ * The result is a {@link BitSet} where the bit at index {@code i} is set when the model at index {@code i} is valid.
+ * In parallel mode, the batch is split in chunks evaluated in the common {@link ForkJoinPool}. The chunk size is
+ * rounded up to a multiple of 64, so that each chunk writes its own words of the result vector. The sequential mode
+ * iterates over the list, the parallel mode copies a list without random access in an array list first.
+ */
+public final class BatchValidation {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private BatchValidation() {
+        // static
+    }
+
+    /**
+     * Evaluates the predicate on each model of the list.
+     *
+     * @param predicate the predicate
+     * @param models the models
+     * @param chunkSize the number of models evaluated by a fork join task
+     * @param parallel true to evaluate chunks in parallel
+     * @return the bit set of the valid models indexes
+     */
+    public static BitSet testAll(Predicate<DslModel> predicate, List<? extends DslModel> models, int chunkSize,
+            boolean parallel) {
+        final int size = models.size();
+        final long[] words = new long[wordCount(size)];
+        if (!parallel || size <= chunkSize) {
+            testIterator(predicate, models.iterator(), words);
+        } else {
+            final List<? extends DslModel> list = models instanceof RandomAccess ? models : new ArrayList<>(models);
+            ForkJoinPool.commonPool().invoke(new ListTask(predicate, list, 0, size, alignChunkSize(chunkSize),
+                    words));
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Evaluates the predicate on each model of the spliterator, in encounter order.
+     *
+     * @param predicate the predicate
+     * @param models the models
+     * @param chunkSize the number of models evaluated by a fork join task
+     * @param parallel true to evaluate chunks in parallel
+     * @return the bit set of the valid models indexes
+     */
+    public static BitSet testAll(Predicate<DslModel> predicate, Spliterator<? extends DslModel> models,
+            int chunkSize, boolean parallel) {
+        if (!parallel) {
+            final BitSet result = new BitSet();
+            final int[] index = new int[1];
+            models.forEachRemaining(model -> {
+                if (predicate.test(model)) {
+                    result.set(index[0]);
+                }
+                index[0]++;
+            });
+            return result;
+        }
+        final List<DslModel> buffer = new ArrayList<>();
+        models.forEachRemaining(buffer::add);
+        return testAll(predicate, buffer, chunkSize, true);
+    }
+
+    private static void testIterator(Predicate<DslModel> predicate, Iterator<? extends DslModel> models,
+            long[] words) {
+        for (int i = 0; models.hasNext(); i++) {
+            if (predicate.test(models.next())) {
+                words[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    private static void testRange(Predicate<DslModel> predicate, List<? extends DslModel> models, int from, int to,
+            long[] words) {
+        for (int i = from; i < to; i++) {
+            if (predicate.test(models.get(i))) {
+                words[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    private static int wordCount(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    private static int alignChunkSize(int chunkSize) {
+        return Math.max(64, (chunkSize + 63) & ~63);
+    }
+
+    private static final class ListTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Predicate<DslModel> predicate;
+        private final List<? extends DslModel> models;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final long[] words;
+
+        ListTask(Predicate<DslModel> predicate, List<? extends DslModel> models, int from, int to, int chunkSize,
+                long[] words) {
+            this.predicate = predicate;
+            this.models = models;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.words = words;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                testRange(predicate, models, from, to, words);
+                return;
+            }
+            // split on a chunk boundary, so that both tasks write distinct words
+            final int chunks = (to - from + chunkSize - 1) / chunkSize;
+            final int middle = from + chunks / 2 * chunkSize;
+            invokeAll(new ListTask(predicate, models, from, middle, chunkSize, words),
+                    new ListTask(predicate, models, middle, to, chunkSize, words));
+        }
+    }
+
+}
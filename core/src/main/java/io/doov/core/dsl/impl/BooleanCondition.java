@@ -20,6 +20,7 @@ import static java.lang.Boolean.TRUE;
 import java.util.Optional;
 import java.util.function.BiFunction;
 
+import io.doov.core.FieldId;
 import io.doov.core.dsl.DslField;
 import io.doov.core.dsl.DslModel;
 import io.doov.core.dsl.field.types.LogicalFieldInfo;
@@ -119,7 +120,9 @@ public class BooleanCondition extends DefaultCondition<Boolean> {
      * @return the step condition
      */
     public final StepCondition isTrue() {
-        return predicate(this, isMetadata(metadata, true), TRUE, Boolean::equals);
+        final FieldId id = field == null ? null : field.id();
+        return predicate(this, isMetadata(metadata, true), TRUE, Boolean::equals,
+                id == null ? null : model -> model.getBoolean(id, false));
     }
 
     /**
@@ -128,7 +131,9 @@ public class BooleanCondition extends DefaultCondition<Boolean> {
      * @return the step condition
      */
     public final StepCondition isFalse() {
-        return predicate(this, isMetadata(metadata, false), FALSE, Boolean::equals);
+        final FieldId id = field == null ? null : field.id();
+        return predicate(this, isMetadata(metadata, false), FALSE, Boolean::equals,
+                id == null ? null : model -> !model.getBoolean(id, true));
     }
 
 }
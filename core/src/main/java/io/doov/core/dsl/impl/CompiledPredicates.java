@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import io.doov.core.dsl.DslModel;
+
+/**
+ * Builds the compiled predicates of the logical conditions, see {@link io.doov.core.dsl.lang.StepCondition#compile()}.
+ * <p>
+ * Nested and / match all nodes are flattened in a single node, as well as nested or / match any nodes, so that a
+ * rule is evaluated as a short-circuit boolean expression over its leaves, without context and without streams.
+ */
+public final class CompiledPredicates {
+
+    private CompiledPredicates() {
+        // static
+    }
+
+    /**
+     * Returns a predicate that evaluates to true if both predicates evaluate to true.
+     *
+     * @param left the left predicate
+     * @param right the right predicate
+     * @return the compiled predicate
+     */
+    public static Predicate<DslModel> and(Predicate<DslModel> left, Predicate<DslModel> right) {
+        final List<Predicate<DslModel>> predicates = new ArrayList<>();
+        addAll(predicates, left);
+        addAll(predicates, right);
+        return allOf(predicates);
+    }
+
+    /**
+     * Returns a predicate that evaluates to true if one of the predicates evaluates to true.
+     *
+     * @param left the left predicate
+     * @param right the right predicate
+     * @return the compiled predicate
+     */
+    public static Predicate<DslModel> or(Predicate<DslModel> left, Predicate<DslModel> right) {
+        final List<Predicate<DslModel>> predicates = new ArrayList<>();
+        addAny(predicates, left);
+        addAny(predicates, right);
+        return anyOf(predicates);
+    }
+
+    /**
+     * Returns a predicate that negates the given predicate.
+     *
+     * @param predicate the predicate to negate
+     * @return the compiled predicate
+     */
+    public static Predicate<DslModel> not(Predicate<DslModel> predicate) {
+        if (predicate instanceof Not) {
+            return ((Not) predicate).predicate;
+        }
+        return new Not(predicate);
+    }
+
+    /**
+     * Returns a predicate that evaluates to true if all the predicates evaluate to true.
+     *
+     * @param steps the predicates to match
+     * @return the compiled predicate
+     */
+    public static Predicate<DslModel> matchAll(List<Predicate<DslModel>> steps) {
+        final List<Predicate<DslModel>> predicates = new ArrayList<>();
+        steps.forEach(p -> addAll(predicates, p));
+        return allOf(predicates);
+    }
+
+    /**
+     * Returns a predicate that evaluates to true if any of the predicates evaluates to true.
+     *
+     * @param steps the predicates to match
+     * @return the compiled predicate
+     */
+    public static Predicate<DslModel> matchAny(List<Predicate<DslModel>> steps) {
+        final List<Predicate<DslModel>> predicates = new ArrayList<>();
+        steps.forEach(p -> addAny(predicates, p));
+        return anyOf(predicates);
+    }
+
+    /**
+     * Returns a predicate that evaluates to true if none of the predicates evaluates to true.
+     *
+     * @param steps the predicates to match
+     * @return the compiled predicate
+     */
+    public static Predicate<DslModel> matchNone(List<Predicate<DslModel>> steps) {
+        return not(matchAny(steps));
+    }
+
+    private static void addAll(List<Predicate<DslModel>> predicates, Predicate<DslModel> predicate) {
+        if (predicate instanceof AllOf) {
+            for (Predicate<DslModel> p : ((AllOf) predicate).predicates) {
+                predicates.add(p);
+            }
+        } else if (predicate instanceof And) {
+            predicates.add(((And) predicate).left);
+            predicates.add(((And) predicate).right);
+        } else {
+            predicates.add(predicate);
+        }
+    }
+
+    private static void addAny(List<Predicate<DslModel>> predicates, Predicate<DslModel> predicate) {
+        if (predicate instanceof AnyOf) {
+            for (Predicate<DslModel> p : ((AnyOf) predicate).predicates) {
+                predicates.add(p);
+            }
+        } else if (predicate instanceof Or) {
+            predicates.add(((Or) predicate).left);
+            predicates.add(((Or) predicate).right);
+        } else {
+            predicates.add(predicate);
+        }
+    }
+
+    private static Predicate<DslModel> allOf(List<Predicate<DslModel>> predicates) {
+        switch (predicates.size()) {
+            case 0:
+                return model -> true;
+            case 1:
+                return predicates.get(0);
+            case 2:
+                return new And(predicates.get(0), predicates.get(1));
+            default:
+                return new AllOf(toArray(predicates));
+        }
+    }
+
+    private static Predicate<DslModel> anyOf(List<Predicate<DslModel>> predicates) {
+        switch (predicates.size()) {
+            case 0:
+                return model -> false;
+            case 1:
+                return predicates.get(0);
+            case 2:
+                return new Or(predicates.get(0), predicates.get(1));
+            default:
+                return new AnyOf(toArray(predicates));
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate<DslModel>[] toArray(List<Predicate<DslModel>> predicates) {
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private static final class And implements Predicate<DslModel> {
+        private final Predicate<DslModel> left;
+        private final Predicate<DslModel> right;
+
+        private And(Predicate<DslModel> left, Predicate<DslModel> right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean test(DslModel model) {
+            return left.test(model) && right.test(model);
+        }
+    }
+
+    private static final class Or implements Predicate<DslModel> {
+        private final Predicate<DslModel> left;
+        private final Predicate<DslModel> right;
+
+        private Or(Predicate<DslModel> left, Predicate<DslModel> right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean test(DslModel model) {
+            return left.test(model) || right.test(model);
+        }
+    }
+
+    private static final class Not implements Predicate<DslModel> {
+        private final Predicate<DslModel> predicate;
+
+        private Not(Predicate<DslModel> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean test(DslModel model) {
+            return !predicate.test(model);
+        }
+    }
+
+    private static final class AllOf implements Predicate<DslModel> {
+        private final Predicate<DslModel>[] predicates;
+
+        private AllOf(Predicate<DslModel>[] predicates) {
+            this.predicates = predicates;
+        }
+
+        @Override
+        public boolean test(DslModel model) {
+            for (Predicate<DslModel> predicate : predicates) {
+                if (!predicate.test(model)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class AnyOf implements Predicate<DslModel> {
+        private final Predicate<DslModel>[] predicates;
+
+        private AnyOf(Predicate<DslModel>[] predicates) {
+            this.predicates = predicates;
+        }
+
+        @Override
+        public boolean test(DslModel model) {
+            for (Predicate<DslModel> predicate : predicates) {
+                if (predicate.test(model)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+}
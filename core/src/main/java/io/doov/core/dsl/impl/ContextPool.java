@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+import io.doov.core.dsl.lang.Context;
+
+/**
+ * Bounded lock-free pool of reusable contexts, see {@link io.doov.core.dsl.lang.ValidationRule#executeOnPooled(
+ * io.doov.core.dsl.DslModel, java.util.function.Function)}.
+ * <p>
+ * The pool doesn't bind contexts to threads, so that it stays small with many short-lived threads: a context is taken
+ * from a free slot, starting at a slot derived from the thread id, or created when all the slots are empty. A released
+ * context is {@link Context#reset() reset} and dropped if all the slots are full.
+ *
+ * @param <C> the type of context
+ */
+public final class ContextPool<C extends Context> {
+
+    private static final int DEFAULT_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final Supplier<C> factory;
+    private final AtomicReferenceArray<C> slots;
+    private final int mask;
+
+    public ContextPool(Supplier<C> factory) {
+        this(factory, DEFAULT_SIZE);
+    }
+
+    /**
+     * @param factory the context factory
+     * @param size the number of slots, rounded up to a power of two
+     */
+    public ContextPool(Supplier<C> factory, int size) {
+        final int slotCount = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        this.factory = factory;
+        this.slots = new AtomicReferenceArray<>(slotCount);
+        this.mask = slotCount - 1;
+    }
+
+    /**
+     * Returns a context from the pool, or a new context if the pool is empty.
+     *
+     * @return the context
+     */
+    public C acquire() {
+        final int start = (int) Thread.currentThread().getId();
+        for (int i = 0; i <= mask; i++) {
+            final int slot = (start + i) & mask;
+            final C context = slots.get(slot);
+            if (context != null && slots.compareAndSet(slot, context, null)) {
+                return context;
+            }
+        }
+        return factory.get();
+    }
+
+    /**
+     * Resets the given context and returns it to the pool.
+     *
+     * @param context the context
+     */
+    public void release(C context) {
+        context.reset();
+        final int start = (int) Thread.currentThread().getId();
+        for (int i = 0; i <= mask; i++) {
+            if (slots.compareAndSet((start + i) & mask, null, context)) {
+                return;
+            }
+        }
+    }
+
+}
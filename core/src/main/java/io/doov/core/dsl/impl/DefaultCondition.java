@@ -15,6 +15,7 @@
  */
 package io.doov.core.dsl.impl;
 
+import static io.doov.core.dsl.impl.LeafStepCondition.equality;
 import static io.doov.core.dsl.impl.LeafStepCondition.predicate;
 import static io.doov.core.dsl.meta.function.MapFunctionMetadata.mapAsMetadata;
 import static io.doov.core.dsl.meta.function.MapFunctionMetadata.mapToIntMetadata;
@@ -22,6 +23,7 @@ import static io.doov.core.dsl.meta.function.MapFunctionMetadata.mapToStringMeta
 import static io.doov.core.dsl.meta.function.MapFunctionMetadata.mapUsingMetadata;
 import static io.doov.core.dsl.meta.predicate.LeafPredicateMetadata.*;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 
 import java.util.*;
 import java.util.function.*;
@@ -33,6 +35,7 @@ import io.doov.core.dsl.field.types.Condition;
 import io.doov.core.dsl.impl.num.IntegerFunction;
 import io.doov.core.dsl.lang.Context;
 import io.doov.core.dsl.lang.StepCondition;
+import io.doov.core.dsl.meta.predicate.LeafPredicateMetadata;
 import io.doov.core.dsl.meta.predicate.PredicateMetadata;
 
 /**
@@ -46,7 +49,7 @@ import io.doov.core.dsl.meta.predicate.PredicateMetadata;
 public class DefaultCondition<T> extends AbstractCondition<T> {
 
     public DefaultCondition(DslField<T> field) {
-        this(fieldMetadata(field), (model, context) -> valueModel(model, field));
+        super(field, fieldMetadata(field), (model, context) -> valueModel(model, field));
     }
 
     public DefaultCondition(PredicateMetadata metadata, BiFunction<DslModel, Context, Optional<T>> value) {
@@ -78,6 +81,9 @@ public class DefaultCondition<T> extends AbstractCondition<T> {
      * @return the step condition
      */
     public final StepCondition eq(T value) {
+        if (value != null) {
+            return equality(this, equalsMetadata(metadata, value), singletonList(value), false);
+        }
         return predicate(this, equalsMetadata(metadata, value), value, Object::equals);
     }
 
@@ -118,6 +124,9 @@ public class DefaultCondition<T> extends AbstractCondition<T> {
      * @return the step condition
      */
     public final StepCondition notEq(T value) {
+        if (value != null) {
+            return equality(this, notEqualsMetadata(metadata, value), singletonList(value), true);
+        }
         return predicate(this, notEqualsMetadata(metadata, value), value, (l, r) -> !l.equals(r));
     }
 
@@ -159,19 +168,19 @@ public class DefaultCondition<T> extends AbstractCondition<T> {
      */
     @SafeVarargs
     public final StepCondition anyMatch(T... values) {
-        return predicate(this, matchAnyMetadata(metadata, asList(values)),
-                value -> Arrays.stream(values).anyMatch(value::equals));
+        return equality(this, matchAnyMetadata(metadata, asList(values)), asList(values), false);
     }
 
     /**
-     * Returns a step condition checking if the node value matches any of the given values.
+     * Returns a step condition checking if the node value matches any of the given values. The values are copied
+     * when the condition is built.
      *
      * @param values the values to match
      * @return the step condition
      */
     public final StepCondition anyMatch(Collection<T> values) {
-        return predicate(this, matchAnyMetadata(metadata, values),
-                value -> values.stream().anyMatch(value::equals));
+        final List<T> copy = new ArrayList<>(values);
+        return equality(this, matchAnyMetadata(metadata, copy), copy, false);
     }
 
     /**
@@ -193,19 +202,19 @@ public class DefaultCondition<T> extends AbstractCondition<T> {
      */
     @SafeVarargs
     public final StepCondition allMatch(T... values) {
-        return predicate(this, matchAllMetadata(metadata, asList(values)),
-                value -> Arrays.stream(values).allMatch(value::equals));
+        return allMatch(matchAllMetadata(metadata, asList(values)), asList(values));
     }
 
     /**
-     * Returns a step condition checking if the node value matches all of the given values.
+     * Returns a step condition checking if the node value matches all of the given values. The values are copied
+     * when the condition is built.
      *
      * @param values the values to match
      * @return the step condition
      */
     public final StepCondition allMatch(Collection<T> values) {
-        return predicate(this, matchAllMetadata(metadata, values),
-                value -> values.stream().allMatch(value::equals));
+        final List<T> copy = new ArrayList<>(values);
+        return allMatch(matchAllMetadata(metadata, copy), copy);
     }
 
     /**
@@ -227,19 +236,19 @@ public class DefaultCondition<T> extends AbstractCondition<T> {
      */
     @SafeVarargs
     public final StepCondition noneMatch(T... values) {
-        return predicate(this, matchNoneMetadata(metadata, asList(values)),
-                value -> Arrays.stream(values).noneMatch(value::equals));
+        return equality(this, matchNoneMetadata(metadata, asList(values)), asList(values), true);
     }
 
     /**
-     * Returns a step condition checking if the node value matches none of the given values.
+     * Returns a step condition checking if the node value matches none of the given values. The values are copied
+     * when the condition is built.
      *
      * @param values the values to match
      * @return the step condition
      */
     public final StepCondition noneMatch(Collection<T> values) {
-        return predicate(this, matchNoneMetadata(metadata, values),
-                value -> values.stream().noneMatch(value::equals));
+        final List<T> copy = new ArrayList<>(values);
+        return equality(this, matchNoneMetadata(metadata, copy), copy, true);
     }
 
     /**
@@ -253,6 +262,20 @@ public class DefaultCondition<T> extends AbstractCondition<T> {
                 value -> values.stream().noneMatch(v -> v.test(value)));
     }
 
+    /**
+     * Returns the all match condition of the given values: true for any value when there are no values, an equality
+     * when all the values are equal, and false otherwise.
+     */
+    private StepCondition allMatch(LeafPredicateMetadata<?> mergeMetadata, Collection<T> values) {
+        final Set<T> distinct = new HashSet<>(values);
+        if (distinct.isEmpty()) {
+            return predicate(this, mergeMetadata, value -> true);
+        } else if (distinct.size() == 1 && !distinct.contains(null)) {
+            return equality(this, mergeMetadata, distinct, false);
+        }
+        return predicate(this, mergeMetadata, value -> false);
+    }
+
     /**
      * Returns an integer step condition that returns the node value mapped by the given mapper.
      *
@@ -90,4 +90,11 @@ public class DefaultContext implements Context {
         return Collections.unmodifiableList(evalFalse);
     }
 
+    @Override
+    public void reset() {
+        evalTrue.clear();
+        evalFalse.clear();
+        values.clear();
+    }
+
 }
@@ -12,7 +12,10 @@
  */
 package io.doov.core.dsl.impl;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 import io.doov.core.dsl.DslModel;
 import io.doov.core.dsl.lang.*;
@@ -39,13 +42,28 @@ public class DefaultStepCondition extends AbstractDSLBuilder implements StepCond
         return (model, context) -> {
             final boolean test = predicate.test(new ModelInterceptor(model, context), context);
             if (test) {
-                metadata.incTrueEval();
+                metadata.statistics().incTrue();
                 context.addEvalTrue(metadata);
             } else {
-                metadata.incFalseEval();
+                metadata.statistics().incFalse();
                 context.addEvalFalse(metadata);
             }
             return test;
         };
     }
+
+    /**
+     * Returns the direct children of this step condition, used by the optimization passes.
+     *
+     * @return the children
+     */
+    List<StepCondition> children() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Predicate<DslModel> compile() {
+        final BiPredicate<DslModel, Context> predicate = this.predicate;
+        return model -> predicate.test(model, UntracedContext.INSTANCE);
+    }
 }
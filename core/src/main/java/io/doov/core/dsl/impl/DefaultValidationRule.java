@@ -1,8 +1,12 @@
 package io.doov.core.dsl.impl;
 
+import java.util.function.Function;
+import java.util.function.Predicate;
+
 import io.doov.core.dsl.DslModel;
 import io.doov.core.dsl.lang.*;
 import io.doov.core.dsl.meta.Metadata;
+import io.doov.core.dsl.meta.MetadataIndex;
 import io.doov.core.dsl.meta.RuleMetadata;
 
 public class DefaultValidationRule extends AbstractDSLBuilder implements ValidationRule {
@@ -10,15 +14,27 @@ public class DefaultValidationRule extends AbstractDSLBuilder implements Validat
     private final RuleMetadata metadata;
     private final StepWhen stepWhen;
     private final boolean shortCircuit;
+    private final MetadataIndex index;
+    private final ContextPool<ArrayContext> contextPool;
+    private final Subexpressions subexpressions;
+    private Predicate<DslModel> compiled;
 
     public DefaultValidationRule(StepWhen stepWhen) {
         this(stepWhen, true);
     }
 
     public DefaultValidationRule(StepWhen stepWhen, boolean shortCircuit) {
+        this(stepWhen, shortCircuit, Subexpressions.analyze(stepWhen.stepCondition()));
+    }
+
+    private DefaultValidationRule(StepWhen stepWhen, boolean shortCircuit, Subexpressions subexpressions) {
         this.metadata = RuleMetadata.rule(stepWhen.metadata());
         this.stepWhen = stepWhen;
         this.shortCircuit = shortCircuit;
+        this.subexpressions = subexpressions;
+        this.index = MetadataIndex.of(stepWhen.stepCondition().metadata());
+        this.contextPool = new ContextPool<>(
+                () -> new ArrayContext(shortCircuit, stepWhen.stepCondition().metadata(), index));
     }
 
     protected boolean isShortCircuit() {
@@ -32,20 +48,54 @@ public class DefaultValidationRule extends AbstractDSLBuilder implements Validat
 
     @Override
     public ValidationRule withShortCircuit(boolean shortCircuit) {
-        return new DefaultValidationRule(stepWhen, shortCircuit);
+        return new DefaultValidationRule(stepWhen, shortCircuit, subexpressions);
     }
 
     @Override
     public Result executeOn(DslModel model) {
-        return executeOn(model, new DefaultContext(shortCircuit, stepWhen.stepCondition().metadata()));
+        return executeOn(model, new ArrayContext(shortCircuit, stepWhen.stepCondition().metadata(), index));
     }
 
     @Override
     public Result executeOn(DslModel model, Context context) {
-        boolean valid = stepWhen.stepCondition().predicate().test(model, context);
+        boolean valid = stepWhen.stepCondition().predicate().test(memoized(model), context);
         return new DefaultResult(valid, context);
     }
 
+    @Override
+    public <T> T executeOnPooled(DslModel model, Function<Result, T> consumer) {
+        final ArrayContext context = contextPool.acquire();
+        try {
+            return consumer.apply(executeOn(model, context));
+        } finally {
+            contextPool.release(context);
+        }
+    }
+
+    /**
+     * Wraps the model to memoize the repeated field reads and functions of this rule during the execution, see
+     * {@link Subexpressions}. The subexpressions are analyzed when the rule is built, a rule without any repeated
+     * subexpression executes on the model itself.
+     */
+    private DslModel memoized(DslModel model) {
+        return model == null || subexpressions.isEmpty() ? model : new MemoizedModel(model, subexpressions);
+    }
+
+    @Override
+    public Predicate<DslModel> compile() {
+        return stepWhen.stepCondition().compile();
+    }
+
+    @Override
+    public boolean test(DslModel model) {
+        Predicate<DslModel> predicate = compiled;
+        if (predicate == null) {
+            // the compiled predicate is immutable, compiling it twice on concurrent first calls is harmless
+            predicate = compiled = compile();
+        }
+        return predicate.test(model);
+    }
+
     @Override
     public ValidationRule registerOn(RuleRegistry registry) {
         registry.register(this);
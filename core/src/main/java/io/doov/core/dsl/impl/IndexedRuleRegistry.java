@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.DslField;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.lang.Result;
+import io.doov.core.dsl.lang.RuleRegistry;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.Element;
+import io.doov.core.dsl.meta.Metadata;
+
+/**
+ * Rule registry that indexes the rules by the fields they read, so that only the rules affected by a set of changed
+ * fields are executed, see {@link #executeAffected(DslModel, Set)}.
+ * <p>
+ * The fields of a rule are the {@link io.doov.core.dsl.meta.ElementType#FIELD} elements of its metadata tree, as well
+ * as the value elements that are fields (for example {@code a.eq(b)}). A rule without field (for example a rule on a
+ * supplier) can't be indexed, and is always considered affected.
+ * <p>
+ * The registry is thread-safe: the rules can be registered while other threads stream or execute them, the streams
+ * see the rules registered when they are created.
+ */
+public class IndexedRuleRegistry implements RuleRegistry {
+
+    private final List<ValidationRule> rules = new ArrayList<>();
+    private final Map<ValidationRule, Integer> positions = new IdentityHashMap<>();
+    private final Map<FieldId, List<ValidationRule>> rulesByField = new HashMap<>();
+    private final List<ValidationRule> unindexedRules = new ArrayList<>();
+
+    @Override
+    public synchronized void register(ValidationRule rule) {
+        if (positions.containsKey(rule)) {
+            return;
+        }
+        positions.put(rule, rules.size());
+        rules.add(rule);
+        final Set<FieldId> fields = fieldsOf(rule.metadata());
+        if (fields.isEmpty()) {
+            unindexedRules.add(rule);
+        } else {
+            fields.forEach(id -> rulesByField.computeIfAbsent(id, k -> new ArrayList<>()).add(rule));
+        }
+    }
+
+    @Override
+    public Stream<ValidationRule> stream() {
+        final List<ValidationRule> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(rules);
+        }
+        return snapshot.stream();
+    }
+
+    /**
+     * Returns the rules that read one of the given fields, in registration order.
+     *
+     * @param changedFields the changed fields
+     * @return the affected rules
+     */
+    public synchronized List<ValidationRule> rulesAffectedBy(Set<FieldId> changedFields) {
+        final Set<ValidationRule> affected = Collections.newSetFromMap(new IdentityHashMap<>());
+        affected.addAll(unindexedRules);
+        for (FieldId id : changedFields) {
+            affected.addAll(rulesByField.getOrDefault(id, Collections.emptyList()));
+        }
+        final List<ValidationRule> ordered = new ArrayList<>(affected);
+        ordered.sort(Comparator.comparingInt(positions::get));
+        return ordered;
+    }
+
+    /**
+     * Executes the rules that read one of the given fields on the model.
+     *
+     * @param model the model
+     * @param changedFields the changed fields
+     * @return the results of the affected rules, in registration order
+     * @see #rulesAffectedBy(Set)
+     */
+    public Map<ValidationRule, Result> executeAffected(DslModel model, Set<FieldId> changedFields) {
+        final Map<ValidationRule, Result> results = new LinkedHashMap<>();
+        for (ValidationRule rule : rulesAffectedBy(changedFields)) {
+            results.put(rule, rule.executeOn(model));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the ids of the fields read in the given metadata tree.
+     *
+     * @param metadata the metadata
+     * @return the field ids
+     */
+    public static Set<FieldId> fieldsOf(Metadata metadata) {
+        final Set<FieldId> fields = new HashSet<>();
+        for (Element element : metadata.flatten()) {
+            // field elements, and value elements that are fields
+            if (element.getReadable() instanceof DslField) {
+                final FieldId id = ((DslField<?>) element.getReadable()).id();
+                if (id != null) {
+                    fields.add(id);
+                }
+            }
+        }
+        return fields;
+    }
+
+}
@@ -16,30 +16,160 @@
 package io.doov.core.dsl.impl;
 
 import static io.doov.core.dsl.impl.AbstractCondition.valueModel;
+import static io.doov.core.dsl.impl.Subexpressions.memoizable;
 import static io.doov.core.dsl.meta.predicate.LeafPredicateMetadata.notNullMetadata;
 import static io.doov.core.dsl.meta.predicate.LeafPredicateMetadata.nullMetadata;
 
-import java.util.Optional;
+import java.util.*;
 import java.util.function.*;
 
+import io.doov.core.dsl.DslField;
 import io.doov.core.dsl.DslModel;
 import io.doov.core.dsl.field.BaseFieldInfo;
+import io.doov.core.dsl.impl.Subexpressions.MemoizedFunction;
 import io.doov.core.dsl.lang.Context;
 import io.doov.core.dsl.meta.predicate.LeafPredicateMetadata;
 import io.doov.core.dsl.meta.predicate.PredicateMetadata;
 
 public class LeafStepCondition<N> extends DefaultStepCondition {
 
+    private final Predicate<DslModel> compiled;
+    private final List<MemoizedFunction<?>> functions;
+    private final DslField<?> field;
+    private final Predicate<Object> fieldValuePredicate;
+    private final Collection<?> equalityValues;
+    private final boolean notEquality;
+
+    private LeafStepCondition(PredicateMetadata metadata, BiFunction<DslModel, Context, Optional<N>> value,
+            Function<N, Boolean> predicate, Predicate<DslModel> compiled, DslField<?> field,
+            Predicate<Object> fieldValuePredicate) {
+        this(metadata, value, predicate, compiled, field, fieldValuePredicate, null, false);
+    }
+
     private LeafStepCondition(PredicateMetadata metadata, BiFunction<DslModel, Context, Optional<N>> value,
-            Function<N, Boolean> predicate) {
+            Function<N, Boolean> predicate, Predicate<DslModel> compiled, DslField<?> field,
+            Predicate<Object> fieldValuePredicate, Collection<?> equalityValues, boolean notEquality) {
         super(metadata, (model, context) -> value.apply(model, context).map(predicate).orElse(false));
+        this.compiled = compiled;
+        this.functions = functions(value);
+        this.field = field;
+        this.fieldValuePredicate = fieldValuePredicate;
+        this.equalityValues = equalityValues;
+        this.notEquality = notEquality;
     }
 
     private LeafStepCondition(PredicateMetadata metadata, BiFunction<DslModel, Context, Optional<N>> left,
-            BiFunction<DslModel, Context, Optional<N>> right, BiFunction<N, N, Boolean> predicate) {
+            BiFunction<DslModel, Context, Optional<N>> right, BiFunction<N, N, Boolean> predicate,
+            Predicate<DslModel> compiled, DslField<?> field, Predicate<Object> fieldValuePredicate) {
         super(metadata, (model, context) -> left.apply(model, context)
                 .flatMap(l -> right.apply(model, context).map(r -> predicate.apply(l, r)))
                 .orElse(false));
+        this.compiled = compiled;
+        this.functions = functions(left, right);
+        this.field = field;
+        this.fieldValuePredicate = fieldValuePredicate;
+        this.equalityValues = null;
+        this.notEquality = false;
+    }
+
+    private static List<MemoizedFunction<?>> functions(BiFunction<?, ?, ?>... values) {
+        final List<MemoizedFunction<?>> functions = new ArrayList<>(values.length);
+        for (BiFunction<?, ?, ?> value : values) {
+            if (value instanceof MemoizedFunction) {
+                functions.add((MemoizedFunction<?>) value);
+            }
+        }
+        return functions.isEmpty() ? Collections.emptyList() : functions;
+    }
+
+    /**
+     * Returns the functions evaluated by this leaf that can be memoized, see {@link Subexpressions}.
+     */
+    List<MemoizedFunction<?>> functions() {
+        return functions;
+    }
+
+    /**
+     * Returns the compiled predicate of this leaf. When the node value is read from a field, the compiled predicate
+     * reads the value directly from the model without wrapping it in an {@link Optional}, so its evaluation doesn't
+     * allocate.
+     */
+    @Override
+    public Predicate<DslModel> compile() {
+        return compiled != null ? compiled : super.compile();
+    }
+
+    /**
+     * Returns the field of this leaf when the leaf only depends on the value of this field, for example
+     * {@code name.startsWith("a")} or {@code age.isNull()}, and null otherwise, see {@link #testFieldValue(Object)}.
+     *
+     * @return the field or null
+     */
+    public DslField<?> field() {
+        return fieldValuePredicate == null ? null : field;
+    }
+
+    /**
+     * Evaluates this leaf on the given value of its {@link #field()}, without a model. This lets a leaf be evaluated
+     * once per distinct value, or on values that are not stored in a model.
+     *
+     * @param value the field value, can be null
+     * @return the leaf value
+     * @throws IllegalStateException if the leaf doesn't only depend on a field value
+     */
+    public boolean testFieldValue(Object value) {
+        if (fieldValuePredicate == null) {
+            throw new IllegalStateException("not a field value predicate: " + readable());
+        }
+        return fieldValuePredicate.test(value);
+    }
+
+    /**
+     * Returns the values compared to the value of the {@link #field()} when this leaf is an equality test, for
+     * example {@code name.eq("a")} or {@code name.notEq("a")}, and null otherwise, see {@link RuleRewriter}.
+     */
+    Collection<?> equalityValues() {
+        return field() == null ? null : equalityValues;
+    }
+
+    /**
+     * Returns true if this leaf is true when the field value is not null and not equal to any of the
+     * {@link #equalityValues()}, false if it is true when the field value is equal to one of them.
+     */
+    boolean isNotEquality() {
+        return notEquality;
+    }
+
+    /**
+     * Returns a step condition checking if the node value is equal to one of the given values, or when
+     * {@code notEquality} is true, if the node value is not equal to any of the given values. In both cases the
+     * condition is false when the node value is null. The values are copied in a {@link ValueLookup} when the
+     * condition is built.
+     *
+     * @param <N> the type of the node value
+     * @param condition the node value
+     * @param mergeMetadata the metadata of the predicate
+     * @param values the non-null values to compare
+     * @param notEquality true to check that the node value is not equal to any of the values
+     * @return the step condition
+     */
+    public static <N> LeafStepCondition<N> equality(AbstractCondition<N> condition,
+            LeafPredicateMetadata<?> mergeMetadata, Collection<? extends N> values, boolean notEquality) {
+        final DslField<N> field = condition.getField();
+        final List<N> copy = new ArrayList<>(values);
+        final Predicate<Object> equals;
+        if (copy.size() == 1) {
+            final N value = copy.get(0);
+            equals = left -> left.equals(value);
+        } else {
+            equals = ValueLookup.of(copy)::contains;
+        }
+        final Predicate<Object> test = left -> left != null && notEquality != equals.test(left);
+        return new LeafStepCondition<>(condition.getMetadata().merge(mergeMetadata),
+                memoizable(condition),
+                test::test,
+                field == null ? null : model -> test.test(model.get(field.id())),
+                field, test, copy, notEquality);
     }
 
     /**
@@ -50,9 +180,12 @@ public class LeafStepCondition<N> extends DefaultStepCondition {
      * @return the step condition
      */
     public static <N> LeafStepCondition<Optional<N>> isNull(DefaultCondition<N> condition) {
+        final DslField<N> field = condition.getField();
         return new LeafStepCondition<>(nullMetadata(condition.getMetadata()),
                 (model, context) -> Optional.of(condition.value(model, context)),
-                t -> !t.isPresent());
+                t -> !t.isPresent(),
+                field == null ? null : model -> model.get(field.id()) == null,
+                field, Objects::isNull);
     }
 
     /**
@@ -63,47 +196,114 @@ public class LeafStepCondition<N> extends DefaultStepCondition {
      * @return the step condition
      */
     public static <N> LeafStepCondition<Optional<N>> isNotNull(DefaultCondition<N> condition) {
+        final DslField<N> field = condition.getField();
         return new LeafStepCondition<>(notNullMetadata(condition.getMetadata()),
                 (model, context) -> Optional.of(condition.value(model, context)),
-                Optional::isPresent);
+                Optional::isPresent,
+                field == null ? null : model -> model.get(field.id()) != null,
+                field, Objects::nonNull);
     }
 
+    @SuppressWarnings("unchecked")
     public static <N> LeafStepCondition<N> predicate(AbstractCondition<N> condition,
             LeafPredicateMetadata<?> mergeMetadata, Function<N, Boolean> predicate) {
+        final DslField<N> field = condition.getField();
         return new LeafStepCondition<>(condition.getMetadata().merge(mergeMetadata),
-                condition.getFunction(), predicate);
+                memoizable(condition), predicate,
+                field == null ? null : model -> {
+                    final N value = model.get(field.id());
+                    return value != null && predicate.apply(value);
+                },
+                field, value -> value != null && predicate.apply((N) value));
     }
 
     public static <N> LeafStepCondition<N> predicate(AbstractCondition<N> condition,
             LeafPredicateMetadata<?> mergeMetadata, BaseFieldInfo<N> value, BiFunction<N, N, Boolean> predicate) {
+        final DslField<N> field = condition.getField();
         return new LeafStepCondition<>(condition.getMetadata().merge(mergeMetadata),
-                condition.getFunction(),
+                memoizable(condition),
                 (model, context) -> valueModel(model, value),
-                predicate);
+                predicate,
+                field == null ? null : model -> {
+                    final N left = model.get(field.id());
+                    if (left == null) {
+                        return false;
+                    }
+                    final N right = model.get(value.id());
+                    return right != null && predicate.apply(left, right);
+                },
+                null, null);
     }
 
     public static <N> LeafStepCondition<N> predicate(AbstractCondition<N> condition,
             LeafPredicateMetadata<?> mergeMetadata, N value, BiFunction<N, N, Boolean> predicate) {
+        return predicate(condition, mergeMetadata, value, predicate, null);
+    }
+
+    /**
+     * Returns a step condition comparing the node value to the given value, evaluated by the given compiled predicate
+     * in {@link #compile()}, for example a predicate reading the field with a primitive accessor of the model.
+     *
+     * @param <N> the type of the node value
+     * @param condition the node value
+     * @param mergeMetadata the metadata of the predicate
+     * @param value the right side value
+     * @param predicate the predicate
+     * @param compiled the compiled predicate, or null to compile the predicate on the boxed values
+     * @return the step condition
+     */
+    @SuppressWarnings("unchecked")
+    public static <N> LeafStepCondition<N> predicate(AbstractCondition<N> condition,
+            LeafPredicateMetadata<?> mergeMetadata, N value, BiFunction<N, N, Boolean> predicate,
+            Predicate<DslModel> compiled) {
+        final DslField<N> field = condition.getField();
+        final Optional<N> right = Optional.ofNullable(value);
         return new LeafStepCondition<>(condition.getMetadata().merge(mergeMetadata),
-                condition.getFunction(),
-                (model, context) -> Optional.ofNullable(value),
-                predicate);
+                memoizable(condition),
+                (model, context) -> right,
+                predicate,
+                compiled != null ? compiled : field == null ? null : value == null ? model -> false : model -> {
+                    final N left = model.get(field.id());
+                    return left != null && predicate.apply(left, value);
+                },
+                field, left -> left != null && value != null && predicate.apply((N) left, value));
     }
 
     public static <N> LeafStepCondition<N> predicate(AbstractCondition<N> condition,
             LeafPredicateMetadata<?> mergeMetadata, Supplier<N> value, BiFunction<N, N, Boolean> predicate) {
+        final DslField<N> field = condition.getField();
         return new LeafStepCondition<>(condition.getMetadata().merge(mergeMetadata),
-                condition.getFunction(),
+                memoizable(condition),
                 (model, context) -> Optional.ofNullable(value.get()),
-                predicate);
+                predicate,
+                field == null ? null : model -> {
+                    final N left = model.get(field.id());
+                    if (left == null) {
+                        return false;
+                    }
+                    final N right = value.get();
+                    return right != null && predicate.apply(left, right);
+                },
+                null, null);
     }
 
     public static <N> LeafStepCondition<N> predicate(AbstractCondition<N> condition,
             LeafPredicateMetadata<?> mergeMetadata, AbstractCondition<N> value, BiFunction<N, N, Boolean> predicate) {
+        final DslField<N> field = condition.getField();
+        final DslField<N> valueField = value.getField();
         return new LeafStepCondition<>(condition.getMetadata().merge(mergeMetadata),
-                condition.getFunction(),
-                value.getFunction(),
-                predicate);
+                memoizable(condition),
+                memoizable(value),
+                predicate,
+                field == null || valueField == null ? null : model -> {
+                    final N left = model.get(field.id());
+                    if (left == null) {
+                        return false;
+                    }
+                    final N right = model.get(valueField.id());
+                    return right != null && predicate.apply(left, right);
+                },
+                null, null);
     }
 
 }
@@ -15,10 +15,14 @@
  */
 package io.doov.core.dsl.impl;
 
+import static io.doov.core.dsl.meta.DefaultOperator.and;
 import static io.doov.core.dsl.meta.predicate.BinaryPredicateMetadata.andMetadata;
 import static io.doov.core.dsl.meta.predicate.BinaryPredicateMetadata.orMetadata;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 import io.doov.core.dsl.DslModel;
 import io.doov.core.dsl.lang.Context;
@@ -30,8 +34,35 @@ import io.doov.core.dsl.meta.predicate.BinaryPredicateMetadata;
  */
 public class LogicalBinaryCondition extends DefaultStepCondition {
 
-    private LogicalBinaryCondition(BinaryPredicateMetadata metadata, BiPredicate<DslModel, Context> predicate) {
+    private final StepCondition left;
+    private final StepCondition right;
+
+    private LogicalBinaryCondition(BinaryPredicateMetadata metadata, StepCondition left, StepCondition right,
+            BiPredicate<DslModel, Context> predicate) {
         super(metadata, predicate);
+        this.left = left;
+        this.right = right;
+    }
+
+    public StepCondition left() {
+        return left;
+    }
+
+    public StepCondition right() {
+        return right;
+    }
+
+    @Override
+    List<StepCondition> children() {
+        return Arrays.asList(left, right);
+    }
+
+    @Override
+    public Predicate<DslModel> compile() {
+        if (((BinaryPredicateMetadata) metadata()).getOperator() == and) {
+            return CompiledPredicates.and(left.compile(), right.compile());
+        }
+        return CompiledPredicates.or(left.compile(), right.compile());
     }
 
     /**
@@ -45,7 +76,7 @@ public class LogicalBinaryCondition extends DefaultStepCondition {
      * @return the binary condition
      */
     public static LogicalBinaryCondition and(StepCondition left, StepCondition right) {
-        return new LogicalBinaryCondition(andMetadata(left.metadata(), right.metadata()),
+        return new LogicalBinaryCondition(andMetadata(left.metadata(), right.metadata()), left, right,
                         (model, context) -> context.isShortCircuit()
                                         ? andShortCircuit(left, right, model, context)
                                         : and(left, right, model, context));
@@ -72,7 +103,7 @@ public class LogicalBinaryCondition extends DefaultStepCondition {
      * @return the binary condition
      */
     public static LogicalBinaryCondition or(StepCondition left, StepCondition right) {
-        return new LogicalBinaryCondition(orMetadata(left.metadata(), right.metadata()),
+        return new LogicalBinaryCondition(orMetadata(left.metadata(), right.metadata()), left, right,
                         (model, context) -> context.isShortCircuit()
                                         ? orShortCircuit(left, right, model, context)
                                         : or(left, right, model, context));
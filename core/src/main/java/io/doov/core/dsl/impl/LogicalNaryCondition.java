@@ -15,6 +15,8 @@
  */
 package io.doov.core.dsl.impl;
 
+import static io.doov.core.dsl.meta.DefaultOperator.match_all;
+import static io.doov.core.dsl.meta.DefaultOperator.match_any;
 import static io.doov.core.dsl.meta.predicate.NaryPredicateMetadata.countMetadata;
 import static io.doov.core.dsl.meta.predicate.NaryPredicateMetadata.matchAllMetadata;
 import static io.doov.core.dsl.meta.predicate.NaryPredicateMetadata.matchAnyMetadata;
@@ -24,12 +26,14 @@ import static java.util.stream.Collectors.toList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 import io.doov.core.dsl.DslModel;
 import io.doov.core.dsl.impl.num.IntegerFunction;
 import io.doov.core.dsl.lang.Context;
 import io.doov.core.dsl.lang.StepCondition;
 import io.doov.core.dsl.meta.Metadata;
+import io.doov.core.dsl.meta.Operator;
 import io.doov.core.dsl.meta.predicate.NaryPredicateMetadata;
 
 /**
@@ -37,8 +41,74 @@ import io.doov.core.dsl.meta.predicate.NaryPredicateMetadata;
  */
 public class LogicalNaryCondition extends DefaultStepCondition {
 
-    private LogicalNaryCondition(NaryPredicateMetadata metadata, BiPredicate<DslModel, Context> predicate) {
+    private final List<StepCondition> steps;
+    private final AdaptiveOrder adaptiveOrder;
+
+    private LogicalNaryCondition(NaryPredicateMetadata metadata, List<StepCondition> steps,
+            BiPredicate<DslModel, Context> predicate) {
+        this(metadata, steps, predicate, null);
+    }
+
+    private LogicalNaryCondition(NaryPredicateMetadata metadata, List<StepCondition> steps,
+            BiPredicate<DslModel, Context> predicate, AdaptiveOrder adaptiveOrder) {
         super(metadata, predicate);
+        this.steps = steps;
+        this.adaptiveOrder = adaptiveOrder;
+    }
+
+    public List<StepCondition> steps() {
+        return steps;
+    }
+
+    @Override
+    List<StepCondition> children() {
+        return steps;
+    }
+
+    @Override
+    public Predicate<DslModel> compile() {
+        final List<Predicate<DslModel>> predicates = steps.stream().map(StepCondition::compile).collect(toList());
+        final Operator operator = ((NaryPredicateMetadata) metadata()).getOperator();
+        if (adaptiveOrder != null) {
+            return operator == match_any
+                    ? model -> adaptiveOrder.anyDecisive(predicates, model)
+                    : model -> !adaptiveOrder.anyDecisive(predicates, model);
+        }
+        if (operator == match_all) {
+            return CompiledPredicates.matchAll(predicates);
+        } else if (operator == match_any) {
+            return CompiledPredicates.matchAny(predicates);
+        }
+        return CompiledPredicates.matchNone(predicates);
+    }
+
+    /**
+     * Returns a copy of this match all, match any or match none condition that periodically reorders the evaluation
+     * of its steps in short-circuit mode, by observed selectivity and cost, see {@link AdaptiveOrder}. The compiled
+     * predicate of the copy, see {@link #compile()}, shares the same adaptive order. The steps are evaluated in
+     * declaration order when the context is not short-circuit, and the metadata and its reduction stay in
+     * declaration order.
+     *
+     * @return the adaptive nary condition
+     */
+    public LogicalNaryCondition withAdaptiveOrder() {
+        final Operator operator = ((NaryPredicateMetadata) metadata()).getOperator();
+        final AdaptiveOrder order = new AdaptiveOrder(steps.size(), operator != match_all);
+        final BiPredicate<DslModel, Context> exhaustive;
+        if (operator == match_all) {
+            exhaustive = (model, context) -> matchAll(steps, model, context);
+        } else if (operator == match_any) {
+            exhaustive = (model, context) -> matchAny(steps, model, context);
+        } else {
+            exhaustive = (model, context) -> matchNone(steps, model, context);
+        }
+        return new LogicalNaryCondition((NaryPredicateMetadata) metadata(), steps, (model, context) -> {
+            if (!context.isShortCircuit()) {
+                return exhaustive.test(model, context);
+            }
+            final boolean decided = order.anyDecisive(steps, model, context);
+            return operator == match_any ? decided : !decided;
+        }, order);
     }
 
     /**
@@ -67,7 +137,7 @@ public class LogicalNaryCondition extends DefaultStepCondition {
      * @return the nary condition
      */
     public static LogicalNaryCondition matchAny(List<StepCondition> steps) {
-        return new LogicalNaryCondition(matchAnyMetadata(getMetadatas(steps)),
+        return new LogicalNaryCondition(matchAnyMetadata(getMetadatas(steps)), steps,
                         (model, context) -> context.isShortCircuit()
                                         ? matchAnyShortCircuit(steps, model, context)
                                         : matchAny(steps, model, context));
@@ -92,7 +162,7 @@ public class LogicalNaryCondition extends DefaultStepCondition {
      * @return the nary condition
      */
     public static LogicalNaryCondition matchAll(List<StepCondition> steps) {
-        return new LogicalNaryCondition(matchAllMetadata(getMetadatas(steps)),
+        return new LogicalNaryCondition(matchAllMetadata(getMetadatas(steps)), steps,
                         (model, context) -> context.isShortCircuit()
                                         ? matchAllShortCircuit(steps, model, context)
                                         : matchAll(steps, model, context));
@@ -117,7 +187,7 @@ public class LogicalNaryCondition extends DefaultStepCondition {
      * @return the nary condition
      */
     public static LogicalNaryCondition matchNone(List<StepCondition> steps) {
-        return new LogicalNaryCondition(matchNoneMetadata(getMetadatas(steps)),
+        return new LogicalNaryCondition(matchNoneMetadata(getMetadatas(steps)), steps,
                         (model, context) -> context.isShortCircuit()
                                         ? matchNoneShortCircuit(steps, model, context)
                                         : matchNone(steps, model, context));
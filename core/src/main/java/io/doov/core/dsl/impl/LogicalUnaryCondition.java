@@ -17,7 +17,10 @@ package io.doov.core.dsl.impl;
 
 import static io.doov.core.dsl.meta.predicate.UnaryPredicateMetadata.notMetadata;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 import io.doov.core.dsl.DslModel;
 import io.doov.core.dsl.lang.Context;
@@ -29,8 +32,26 @@ import io.doov.core.dsl.meta.predicate.UnaryPredicateMetadata;
  */
 public class LogicalUnaryCondition extends DefaultStepCondition {
 
-    private LogicalUnaryCondition(UnaryPredicateMetadata metadata, BiPredicate<DslModel, Context> predicate) {
+    private final StepCondition step;
+
+    private LogicalUnaryCondition(UnaryPredicateMetadata metadata, StepCondition step,
+            BiPredicate<DslModel, Context> predicate) {
         super(metadata, predicate);
+        this.step = step;
+    }
+
+    public StepCondition step() {
+        return step;
+    }
+
+    @Override
+    List<StepCondition> children() {
+        return Collections.singletonList(step);
+    }
+
+    @Override
+    public Predicate<DslModel> compile() {
+        return CompiledPredicates.not(step.compile());
     }
 
     /**
@@ -40,7 +61,7 @@ public class LogicalUnaryCondition extends DefaultStepCondition {
      * @return the unary condition
      */
     public static LogicalUnaryCondition negate(StepCondition step) {
-        return new LogicalUnaryCondition(notMetadata(step.metadata()),
+        return new LogicalUnaryCondition(notMetadata(step.metadata()), step,
                         (model, context) -> step.predicate().negate().test(model, context));
     }
 
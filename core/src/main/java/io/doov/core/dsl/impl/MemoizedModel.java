@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.lang.Context;
+
+/**
+ * Model wrapper of one execution that memoizes the common subexpressions of a rule in a slot array, see
+ * {@link Subexpressions}. It sits under the {@link ModelInterceptor}, so that every read is still traced in the
+ * context.
+ */
+final class MemoizedModel implements DslModel {
+
+    private static final Object UNSET = new Object();
+
+    private final DslModel model;
+    private final Subexpressions subexpressions;
+    private final Object[] values;
+
+    MemoizedModel(DslModel model, Subexpressions subexpressions) {
+        this.model = model;
+        this.subexpressions = subexpressions;
+        this.values = new Object[subexpressions.size()];
+        Arrays.fill(values, UNSET);
+    }
+
+    /**
+     * Returns the memoized model under the given model interceptors, or null.
+     *
+     * @param model the model
+     * @return the memoized model or null
+     */
+    static MemoizedModel unwrap(DslModel model) {
+        DslModel current = model;
+        while (current instanceof ModelInterceptor) {
+            current = ((ModelInterceptor) current).getModel();
+        }
+        return current instanceof MemoizedModel ? (MemoizedModel) current : null;
+    }
+
+    Subexpressions subexpressions() {
+        return subexpressions;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(FieldId id) {
+        final int slot = subexpressions.fieldSlot(id);
+        if (slot < 0) {
+            return model.get(id);
+        }
+        Object value = values[slot];
+        if (value == UNSET) {
+            value = values[slot] = model.get(id);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public <T> void set(FieldId fieldId, T value) {
+        model.set(fieldId, value);
+        // the functions may depend on the field
+        Arrays.fill(values, UNSET);
+    }
+
+    @SuppressWarnings("unchecked")
+    <N> Optional<N> value(int slot, DslModel model, Context context, AbstractCondition<N> condition) {
+        if (slot < 0) {
+            return condition.value(model, context);
+        }
+        Object value = values[slot];
+        if (value == UNSET) {
+            value = values[slot] = condition.value(model, context);
+        }
+        return (Optional<N>) value;
+    }
+
+}
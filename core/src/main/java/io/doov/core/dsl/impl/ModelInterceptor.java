@@ -16,6 +16,10 @@ public final class ModelInterceptor implements DslModel {
         this.context = context;
     }
 
+    DslModel getModel() {
+        return model;
+    }
+
     @Override
     public <T> T get(FieldId id) {
         final T value = model.get(id);
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded cache of the compiled regular expressions shared by the string conditions, see
+ * {@link StringCondition#matches(String)}.
+ * <p>
+ * Constant expressions are compiled once when the condition is built, the cache is mostly useful for the expressions
+ * computed on each evaluation, for example with {@link StringCondition#matches(DefaultCondition)}. When the cache is
+ * full, it is cleared rather than evicted entry by entry, so that lookups stay lock free.
+ */
+public final class PatternCache {
+
+    public static final int MAX_SIZE = 512;
+
+    private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+    private PatternCache() {
+        // static
+    }
+
+    /**
+     * Returns the compiled pattern of the given regular expression.
+     *
+     * @param regex the regular expression
+     * @return the pattern
+     */
+    public static Pattern compile(String regex) {
+        final Pattern pattern = PATTERNS.get(regex);
+        if (pattern != null) {
+            return pattern;
+        }
+        if (PATTERNS.size() >= MAX_SIZE) {
+            PATTERNS.clear();
+        }
+        return PATTERNS.computeIfAbsent(regex, Pattern::compile);
+    }
+
+    static int size() {
+        return PATTERNS.size();
+    }
+
+}
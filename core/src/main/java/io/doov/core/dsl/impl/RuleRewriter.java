@@ -0,0 +1,354 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.meta.DefaultOperator.always_false;
+import static io.doov.core.dsl.meta.DefaultOperator.always_true;
+import static io.doov.core.dsl.meta.DefaultOperator.and;
+import static io.doov.core.dsl.meta.DefaultOperator.match_all;
+import static io.doov.core.dsl.meta.DefaultOperator.match_any;
+import static io.doov.core.dsl.meta.DefaultOperator.not;
+import static io.doov.core.dsl.meta.DefaultOperator.or;
+import static io.doov.core.dsl.meta.ElementType.OPERATOR;
+import static java.util.stream.Collectors.toList;
+
+import java.util.*;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.lang.Context;
+import io.doov.core.dsl.lang.StepCondition;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.*;
+import io.doov.core.dsl.meta.predicate.*;
+
+/**
+ * Rewrites the syntax tree of a step condition into an equivalent normalized tree, so that the equivalent shapes of
+ * a condition compile to the same fast predicate. The rewriting rules are:
+ * <ul>
+ * <li>the nested and, or, match all and match any nodes are flattened, and match none is the negation of match
+ * any,</li>
+ * <li>the always true and always false leaves are folded: {@code alwaysTrue().and(x)} is {@code x},
+ * {@code alwaysFalse().and(x)} is false, and the negation of a constant is a constant,</li>
+ * <li>the double negations are eliminated: {@code x.not().not()} is {@code x},</li>
+ * <li>the equality leaves of the same field in an or, for example {@code a.eq(1).or(a.eq(2))}, are folded in a single
+ * {@link ValueLookup} membership test, and so are the not equal leaves of the same field in an and, for example
+ * {@code a.notEq(1).and(a.notEq(2))}.</li>
+ * </ul>
+ * The rewritten condition keeps the metadata and the traced predicate of the original condition, so it renders the
+ * same readable and {@link ValidationRule#executeOn(DslModel)} updates the same metadata counters. Only its compiled
+ * predicate, used by {@link ValidationRule#test(DslModel)}, evaluates the rewritten tree.
+ * <p>
+ * The leaves that read a supplier, like {@code date.before(LocalDate::now)}, are not folded: a supplier can't be
+ * proven constant.
+ */
+public final class RuleRewriter {
+
+    private RuleRewriter() {
+        // static
+    }
+
+    /**
+     * Returns a copy of the validation rule whose compiled predicate evaluates the rewritten condition.
+     *
+     * @param rule the rule to rewrite
+     * @return the rewritten rule
+     */
+    public static ValidationRule rewrite(ValidationRule rule) {
+        final boolean shortCircuit = !(rule instanceof DefaultValidationRule)
+                || ((DefaultValidationRule) rule).isShortCircuit();
+        return new DefaultValidationRule(new DefaultStepWhen(rewrite(rule.getStepWhen().stepCondition())),
+                shortCircuit);
+    }
+
+    /**
+     * Returns a condition with the metadata and the traced predicate of the given condition, whose compiled
+     * predicate evaluates the rewritten condition.
+     *
+     * @param condition the condition to rewrite
+     * @return the rewritten condition
+     */
+    public static StepCondition rewrite(StepCondition condition) {
+        if (condition instanceof RewrittenCondition) {
+            return condition;
+        }
+        return new RewrittenCondition(condition, normalize(condition).compile());
+    }
+
+    /**
+     * Returns the normalized term of the condition.
+     */
+    static Term normalize(StepCondition condition) {
+        if (condition instanceof RewrittenCondition) {
+            return normalize(((RewrittenCondition) condition).original);
+        } else if (condition instanceof LogicalBinaryCondition) {
+            final LogicalBinaryCondition binary = (LogicalBinaryCondition) condition;
+            final Operator operator = ((BinaryPredicateMetadata) binary.metadata()).getOperator();
+            final List<Term> terms = Arrays.asList(normalize(binary.left()), normalize(binary.right()));
+            if (operator == and) {
+                return all(terms);
+            } else if (operator == or) {
+                return any(terms);
+            }
+        } else if (condition instanceof LogicalUnaryCondition) {
+            final LogicalUnaryCondition unary = (LogicalUnaryCondition) condition;
+            if (((UnaryPredicateMetadata) unary.metadata()).getOperator() == not) {
+                return negate(normalize(unary.step()));
+            }
+        } else if (condition instanceof LogicalNaryCondition) {
+            final LogicalNaryCondition nary = (LogicalNaryCondition) condition;
+            final Operator operator = ((NaryPredicateMetadata) nary.metadata()).getOperator();
+            final List<Term> terms = nary.steps().stream().map(RuleRewriter::normalize).collect(toList());
+            if (operator == match_all) {
+                return all(terms);
+            } else if (operator == match_any) {
+                return any(terms);
+            }
+            return negate(any(terms));
+        } else if (condition instanceof LeafStepCondition) {
+            final LeafStepCondition<?> leaf = (LeafStepCondition<?>) condition;
+            if (leaf.equalityValues() != null) {
+                return new Membership(leaf.field().id(), leaf.equalityValues(), leaf.isNotEquality());
+            }
+        } else if (isConstant(condition, always_true)) {
+            return Constant.TRUE;
+        } else if (isConstant(condition, always_false)) {
+            return Constant.FALSE;
+        }
+        return new Leaf(condition);
+    }
+
+    private static boolean isConstant(StepCondition condition, Operator operator) {
+        if (condition.getClass() != DefaultStepCondition.class
+                || !(condition.metadata() instanceof LeafPredicateMetadata)) {
+            return false;
+        }
+        final List<Element> elements = ((LeafPredicateMetadata<?>) condition.metadata()).elementsAsList();
+        return !elements.isEmpty() && elements.get(0).getType() == OPERATOR
+                && elements.get(0).getReadable() == operator;
+    }
+
+    private static Term negate(Term term) {
+        if (term instanceof Not) {
+            return ((Not) term).term;
+        } else if (term instanceof Constant) {
+            return term == Constant.TRUE ? Constant.FALSE : Constant.TRUE;
+        }
+        return new Not(term);
+    }
+
+    private static Term all(List<Term> terms) {
+        final List<Term> flat = new ArrayList<>();
+        for (Term term : terms) {
+            if (term == Constant.FALSE) {
+                return Constant.FALSE;
+            } else if (term instanceof All) {
+                flat.addAll(((All) term).terms);
+            } else if (term != Constant.TRUE) {
+                flat.add(term);
+            }
+        }
+        final List<Term> folded = foldMemberships(flat, true);
+        if (folded.isEmpty()) {
+            return Constant.TRUE;
+        }
+        return folded.size() == 1 ? folded.get(0) : new All(folded);
+    }
+
+    private static Term any(List<Term> terms) {
+        final List<Term> flat = new ArrayList<>();
+        for (Term term : terms) {
+            if (term == Constant.TRUE) {
+                return Constant.TRUE;
+            } else if (term instanceof Any) {
+                flat.addAll(((Any) term).terms);
+            } else if (term != Constant.FALSE) {
+                flat.add(term);
+            }
+        }
+        final List<Term> folded = foldMemberships(flat, false);
+        if (folded.isEmpty()) {
+            return Constant.FALSE;
+        }
+        return folded.size() == 1 ? folded.get(0) : new Any(folded);
+    }
+
+    /**
+     * Merges the memberships of the same field: the not equal ones in an and, the equal ones in an or. The merged
+     * membership takes the place of the first one.
+     */
+    private static List<Term> foldMemberships(List<Term> terms, boolean notEquality) {
+        final Map<FieldId, Membership> memberships = new HashMap<>();
+        final List<Term> folded = new ArrayList<>(terms.size());
+        for (Term term : terms) {
+            if (term instanceof Membership && ((Membership) term).notEquality == notEquality) {
+                final Membership membership = (Membership) term;
+                final Membership previous = memberships.get(membership.fieldId);
+                if (previous != null) {
+                    previous.values.addAll(membership.values);
+                    continue;
+                }
+                final Membership merged = new Membership(membership.fieldId, membership.values, notEquality);
+                memberships.put(membership.fieldId, merged);
+                folded.add(merged);
+            } else {
+                folded.add(term);
+            }
+        }
+        return folded;
+    }
+
+    /**
+     * Node of the normalized tree.
+     */
+    abstract static class Term {
+
+        abstract Predicate<DslModel> compile();
+
+    }
+
+    static final class Constant extends Term {
+
+        static final Constant TRUE = new Constant(true);
+        static final Constant FALSE = new Constant(false);
+
+        private final boolean value;
+
+        private Constant(boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        Predicate<DslModel> compile() {
+            return value ? model -> true : model -> false;
+        }
+
+    }
+
+    static final class Leaf extends Term {
+
+        private final StepCondition condition;
+
+        Leaf(StepCondition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        Predicate<DslModel> compile() {
+            return condition.compile();
+        }
+
+    }
+
+    static final class Membership extends Term {
+
+        private final FieldId fieldId;
+        private final List<Object> values;
+        private final boolean notEquality;
+
+        Membership(FieldId fieldId, Collection<?> values, boolean notEquality) {
+            this.fieldId = fieldId;
+            this.values = new ArrayList<>(values);
+            this.notEquality = notEquality;
+        }
+
+        @Override
+        Predicate<DslModel> compile() {
+            final FieldId fieldId = this.fieldId;
+            final ValueLookup values = ValueLookup.of(this.values);
+            final boolean notEquality = this.notEquality;
+            return model -> {
+                final Object value = model.get(fieldId);
+                return value != null && notEquality != values.contains(value);
+            };
+        }
+
+    }
+
+    static final class Not extends Term {
+
+        private final Term term;
+
+        Not(Term term) {
+            this.term = term;
+        }
+
+        @Override
+        Predicate<DslModel> compile() {
+            return CompiledPredicates.not(term.compile());
+        }
+
+    }
+
+    static final class All extends Term {
+
+        private final List<Term> terms;
+
+        All(List<Term> terms) {
+            this.terms = terms;
+        }
+
+        @Override
+        Predicate<DslModel> compile() {
+            return CompiledPredicates.matchAll(terms.stream().map(Term::compile).collect(toList()));
+        }
+
+    }
+
+    static final class Any extends Term {
+
+        private final List<Term> terms;
+
+        Any(List<Term> terms) {
+            this.terms = terms;
+        }
+
+        @Override
+        Predicate<DslModel> compile() {
+            return CompiledPredicates.matchAny(terms.stream().map(Term::compile).collect(toList()));
+        }
+
+    }
+
+    /**
+     * Condition with the metadata and the traced predicate of the original condition, and the compiled predicate of
+     * the rewritten condition.
+     */
+    static final class RewrittenCondition extends DefaultStepCondition {
+
+        private final StepCondition original;
+        private final Predicate<DslModel> compiled;
+
+        private RewrittenCondition(StepCondition original, Predicate<DslModel> compiled) {
+            super(original.metadata() instanceof PredicateMetadata ? (PredicateMetadata) original.metadata() : null,
+                    original.predicate());
+            this.original = original;
+            this.compiled = compiled;
+        }
+
+        @Override
+        public Metadata metadata() {
+            return original.metadata();
+        }
+
+        @Override
+        public BiPredicate<DslModel, Context> predicate() {
+            return original.predicate();
+        }
+
+        @Override
+        List<StepCondition> children() {
+            return Collections.singletonList(original);
+        }
+
+        @Override
+        public Predicate<DslModel> compile() {
+            return compiled;
+        }
+
+    }
+
+}
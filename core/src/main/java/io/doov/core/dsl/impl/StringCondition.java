@@ -15,11 +15,13 @@ package io.doov.core.dsl.impl;
 import static io.doov.core.dsl.impl.LeafStepCondition.predicate;
 import static io.doov.core.dsl.meta.function.StringFunctionMetadata.containsMetadata;
 import static io.doov.core.dsl.meta.function.StringFunctionMetadata.endsWithMetadata;
+import static io.doov.core.dsl.meta.function.StringFunctionMetadata.findMetadata;
 import static io.doov.core.dsl.meta.function.StringFunctionMetadata.matchesMetadata;
 import static io.doov.core.dsl.meta.function.StringFunctionMetadata.startsWithMetadata;
 
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.regex.Pattern;
 
 import io.doov.core.dsl.DslField;
 import io.doov.core.dsl.DslModel;
@@ -55,13 +57,53 @@ public class StringCondition extends DefaultCondition<String> {
     }
 
     /**
-     * Returns a condition checking if the node value matches the given value.
+     * Returns a condition checking if the node value matches the given value. The regular expression is compiled
+     * once, when the condition is built.
      *
      * @param value the value
      * @return the step condition
      */
     public final StepCondition matches(String value) {
-        return predicate(this, matchesMetadata(metadata, value), value, String::matches);
+        if (value == null) {
+            return predicate(this, matchesMetadata(metadata, value), value, String::matches);
+        }
+        return matches(matchesMetadata(metadata, value), PatternCache.compile(value));
+    }
+
+    /**
+     * Returns a condition checking if the node value matches the given pattern.
+     *
+     * @param pattern the pattern
+     * @return the step condition
+     */
+    public final StepCondition matches(Pattern pattern) {
+        return matches(matchesMetadata(metadata, pattern.pattern()), pattern);
+    }
+
+    /**
+     * Returns a condition checking if the node value matches the regular expression value of the given condition,
+     * for example a field mapped with {@code mapToString}. The patterns are looked up in the {@link PatternCache}.
+     *
+     * @param value the regular expression condition
+     * @return the step condition
+     */
+    public final StepCondition matches(DefaultCondition<String> value) {
+        return predicate(this, matchesMetadata(metadata, value), value,
+                (s, regex) -> PatternCache.compile(regex).matcher(s).matches());
+    }
+
+    /**
+     * Returns a condition checking if the node value contains a subsequence matching the given pattern.
+     *
+     * @param pattern the pattern
+     * @return the step condition
+     */
+    public final StepCondition find(Pattern pattern) {
+        return predicate(this, findMetadata(metadata, pattern.pattern()), s -> pattern.matcher(s).find());
+    }
+
+    private StepCondition matches(LeafPredicateMetadata<?> mergeMetadata, Pattern pattern) {
+        return predicate(this, mergeMetadata, s -> pattern.matcher(s).matches());
     }
 
     /**
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.meta.DefaultOperator.as;
+import static io.doov.core.dsl.meta.ElementType.UNKNOWN;
+
+import java.util.*;
+import java.util.function.BiFunction;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.DslField;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.lang.Context;
+import io.doov.core.dsl.lang.DSLBuilder;
+import io.doov.core.dsl.lang.Readable;
+import io.doov.core.dsl.lang.StepCondition;
+import io.doov.core.dsl.meta.Element;
+import io.doov.core.dsl.meta.LeafMetadata.SupplierReadable;
+import io.doov.core.dsl.meta.Metadata;
+
+/**
+ * Common subexpressions of a step condition: the fields read more than once, and the functions (like
+ * {@code ageAt(today())} or {@code length()}) evaluated more than once. Each of them is given a slot number, used to
+ * memoize its value during one execution, see {@link MemoizedModel}.
+ * <p>
+ * Functions are identified by their readable metadata, when it is built from fields, operators and literal values
+ * only. A function with an unknown element (like {@code mapToString(mapper)}), a caller supplied description (like
+ * {@code map("normalized", mapper)}) or a supplied value in its metadata can't be identified and is never memoized.
+ */
+final class Subexpressions {
+
+    static final Subexpressions NONE = new Subexpressions(new FieldId[0], Collections.emptyMap());
+
+    /**
+     * The repeated fields, the slot of a field is its index. Rules read few fields more than once, so a linear scan
+     * is cheaper than a hash lookup on each read.
+     */
+    private final FieldId[] fields;
+    private final Map<String, Integer> functionSlots;
+
+    private Subexpressions(FieldId[] fields, Map<String, Integer> functionSlots) {
+        this.fields = fields;
+        this.functionSlots = functionSlots;
+    }
+
+    /**
+     * Finds the repeated field reads and functions of the given condition.
+     *
+     * @param condition the step condition
+     * @return the subexpressions, or {@link #NONE} if nothing is repeated
+     */
+    static Subexpressions analyze(StepCondition condition) {
+        final Map<FieldId, Integer> fieldCounts = new HashMap<>();
+        for (Element element : condition.metadata().flatten()) {
+            if (element.getReadable() instanceof DslField) {
+                fieldCounts.merge(((DslField<?>) element.getReadable()).id(), 1, Integer::sum);
+            }
+        }
+        final Map<String, Integer> functionCounts = new HashMap<>();
+        collectFunctions(condition, functionCounts);
+
+        final List<FieldId> fields = new ArrayList<>();
+        for (Map.Entry<FieldId, Integer> entry : fieldCounts.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() > 1) {
+                fields.add(entry.getKey());
+            }
+        }
+        final Map<String, Integer> functionSlots = new HashMap<>();
+        int slot = fields.size();
+        for (Map.Entry<String, Integer> entry : functionCounts.entrySet()) {
+            if (entry.getValue() > 1) {
+                functionSlots.put(entry.getKey(), slot++);
+            }
+        }
+        return slot == 0 ? NONE : new Subexpressions(fields.toArray(new FieldId[0]), functionSlots);
+    }
+
+    private static void collectFunctions(StepCondition condition, Map<String, Integer> functionCounts) {
+        if (condition instanceof LeafStepCondition) {
+            for (MemoizedFunction<?> function : ((LeafStepCondition<?>) condition).functions()) {
+                final String key = function.key();
+                if (key != null) {
+                    functionCounts.merge(key, 1, Integer::sum);
+                }
+            }
+        } else if (condition instanceof DefaultStepCondition) {
+            ((DefaultStepCondition) condition).children().forEach(c -> collectFunctions(c, functionCounts));
+        }
+    }
+
+    /**
+     * Returns the value function of the given condition, memoized during an execution if it is a function.
+     *
+     * @param <N> the type of the value
+     * @param condition the condition
+     * @return the value function
+     */
+    static <N> BiFunction<DslModel, Context, Optional<N>> memoizable(AbstractCondition<N> condition) {
+        if (condition.getField() != null) {
+            // field reads are memoized by the model
+            return condition.getFunction();
+        }
+        return new MemoizedFunction<>(condition);
+    }
+
+    boolean isEmpty() {
+        return this == NONE;
+    }
+
+    int size() {
+        return fields.length + functionSlots.size();
+    }
+
+    int fieldSlot(FieldId id) {
+        for (int slot = 0; slot < fields.length; slot++) {
+            if (fields[slot] == id || fields[slot].equals(id)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    int functionSlot(String key) {
+        final Integer slot = key == null ? null : functionSlots.get(key);
+        return slot == null ? -1 : slot;
+    }
+
+    static final class MemoizedFunction<N> implements BiFunction<DslModel, Context, Optional<N>> {
+        private final AbstractCondition<N> condition;
+        private volatile String key;
+        private volatile boolean identified;
+
+        private MemoizedFunction(AbstractCondition<N> condition) {
+            this.condition = condition;
+        }
+
+        /**
+         * Returns the key of the function, or null when the function can't be identified.
+         */
+        String key() {
+            if (!identified) {
+                key = isIdentified(condition.getMetadata()) ? condition.getMetadata().readable(Locale.ROOT) : null;
+                identified = true;
+            }
+            return key;
+        }
+
+        private static boolean isIdentified(Metadata metadata) {
+            for (Element element : metadata.flatten()) {
+                final Readable readable = element.getReadable();
+                if (element.getType() == UNKNOWN || readable == as || readable instanceof SupplierReadable) {
+                    return false;
+                }
+                if (readable instanceof AbstractCondition
+                        && !isIdentified(((AbstractCondition<?>) readable).getMetadata())) {
+                    return false;
+                }
+                if (readable instanceof DSLBuilder && !isIdentified(((DSLBuilder) readable).metadata())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Optional<N> apply(DslModel model, Context context) {
+            final MemoizedModel memoizedModel = MemoizedModel.unwrap(model);
+            if (memoizedModel == null) {
+                return condition.value(model, context);
+            }
+            return memoizedModel.value(functionSlot(memoizedModel), model, context, condition);
+        }
+
+        private int functionSlot(MemoizedModel memoizedModel) {
+            return memoizedModel.subexpressions().functionSlot(key());
+        }
+    }
+
+}
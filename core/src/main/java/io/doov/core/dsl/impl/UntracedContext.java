@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.Collections;
+import java.util.List;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.lang.Context;
+import io.doov.core.dsl.meta.Metadata;
+
+/**
+ * Context that discards the evaluation trace. It is used by compiled predicates, see
+ * {@link io.doov.core.dsl.lang.StepCondition#compile()}, where only the predicate value matters.
+ */
+public final class UntracedContext implements Context {
+
+    public static final Context INSTANCE = new UntracedContext();
+
+    private UntracedContext() {
+    }
+
+    @Override
+    public Metadata getRootMetadata() {
+        return null;
+    }
+
+    @Override
+    public boolean isShortCircuit() {
+        return true;
+    }
+
+    @Override
+    public void addEvalFalse(Metadata metadata) {
+    }
+
+    @Override
+    public void addEvalTrue(Metadata metadata) {
+    }
+
+    @Override
+    public void addEvalValue(FieldId id, Object value) {
+    }
+
+    @Override
+    public void addSetValue(FieldId id, Object value) {
+    }
+
+    @Override
+    public Object getEvalValue(FieldId id) {
+        return null;
+    }
+
+    @Override
+    public boolean isEvalTrue(Metadata metadata) {
+        return false;
+    }
+
+    @Override
+    public boolean isEvalFalse(Metadata metadata) {
+        return false;
+    }
+
+    @Override
+    public List<Metadata> getEvalTrue() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<Metadata> getEvalFalse() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void reset() {
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.*;
+
+/**
+ * Immutable set of values built once when a condition is built, that tests in constant or logarithmic time and
+ * without allocation if a value is equal to one of its values, see {@link LeafStepCondition#equality}. The lookup
+ * structure depends on the values:
+ * <ul>
+ * <li>an {@link EnumSet} for the values of the same enum,</li>
+ * <li>a sorted primitive array for the integer and long values,</li>
+ * <li>an open addressing hash table with linear probing for the other values.</li>
+ * </ul>
+ * The null values are ignored, a null value is never contained.
+ */
+abstract class ValueLookup {
+
+    private static final ValueLookup EMPTY = new ValueLookup() {
+        @Override
+        boolean contains(Object value) {
+            return false;
+        }
+    };
+
+    /**
+     * Returns true if the value is equal to one of the values of this lookup, with {@link Object#equals(Object)}.
+     *
+     * @param value the value to test, can be null
+     * @return true if the value is in this lookup
+     */
+    abstract boolean contains(Object value);
+
+    /**
+     * Returns the lookup of the given values.
+     *
+     * @param values the values, can contain null
+     * @return the lookup
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static ValueLookup of(Collection<?> values) {
+        final List<Object> nonNull = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value != null) {
+                nonNull.add(value);
+            }
+        }
+        if (nonNull.isEmpty()) {
+            return EMPTY;
+        }
+        final Class<?> type = nonNull.get(0) instanceof Enum ? ((Enum<?>) nonNull.get(0)).getDeclaringClass()
+                : nonNull.get(0).getClass();
+        if (!nonNull.stream().allMatch(value -> sameType(type, value))) {
+            return new HashLookup(nonNull);
+        } else if (type.isEnum()) {
+            return new EnumLookup(EnumSet.copyOf((Collection) nonNull));
+        } else if (type == Integer.class) {
+            return new IntLookup(nonNull.stream().mapToInt(value -> (Integer) value).sorted().distinct().toArray());
+        } else if (type == Long.class) {
+            return new LongLookup(nonNull.stream().mapToLong(value -> (Long) value).sorted().distinct().toArray());
+        }
+        return new HashLookup(nonNull);
+    }
+
+    private static boolean sameType(Class<?> type, Object value) {
+        return value instanceof Enum ? ((Enum<?>) value).getDeclaringClass() == type : value.getClass() == type;
+    }
+
+    private static final class EnumLookup extends ValueLookup {
+
+        private final EnumSet<?> values;
+
+        private EnumLookup(EnumSet<?> values) {
+            this.values = values;
+        }
+
+        @Override
+        boolean contains(Object value) {
+            return values.contains(value);
+        }
+
+    }
+
+    private static final class IntLookup extends ValueLookup {
+
+        private final int[] values;
+
+        private IntLookup(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        boolean contains(Object value) {
+            return value instanceof Integer && Arrays.binarySearch(values, (Integer) value) >= 0;
+        }
+
+    }
+
+    private static final class LongLookup extends ValueLookup {
+
+        private final long[] values;
+
+        private LongLookup(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        boolean contains(Object value) {
+            return value instanceof Long && Arrays.binarySearch(values, (Long) value) >= 0;
+        }
+
+    }
+
+    private static final class HashLookup extends ValueLookup {
+
+        private final Object[] table;
+        private final int mask;
+
+        private HashLookup(List<Object> values) {
+            // at most half full, so the probe sequences stay short
+            int capacity = 2;
+            while (capacity < values.size() * 2) {
+                capacity <<= 1;
+            }
+            this.table = new Object[capacity];
+            this.mask = capacity - 1;
+            for (Object value : values) {
+                if (!contains(value)) {
+                    int slot = hash(value) & mask;
+                    while (table[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    table[slot] = value;
+                }
+            }
+        }
+
+        private static int hash(Object value) {
+            final int hash = value.hashCode();
+            return hash ^ (hash >>> 16);
+        }
+
+        @Override
+        boolean contains(Object value) {
+            if (value == null) {
+                return false;
+            }
+            int slot = hash(value) & mask;
+            Object candidate;
+            while ((candidate = table[slot]) != null) {
+                if (value.equals(candidate)) {
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -6,6 +6,8 @@ package io.doov.core.dsl.impl.num;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 
+import io.doov.core.dsl.DslField;
+
 public interface DoubleOperators extends NumericOperators<Double> {
     @Override
     default BiFunction<Double, Double, Boolean> lesserThanFunction() {
@@ -46,4 +48,10 @@ public interface DoubleOperators extends NumericOperators<Double> {
     default Double identity() {
         return 0d;
     }
+
+    @Override
+    default PrimitiveComparison primitiveComparison(DslField<Double> field, Double value,
+            NumericComparison comparison) {
+        return PrimitiveComparison.ofDouble(field.id(), value, comparison);
+    }
 }
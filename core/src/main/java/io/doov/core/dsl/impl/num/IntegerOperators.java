@@ -6,6 +6,8 @@ package io.doov.core.dsl.impl.num;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 
+import io.doov.core.dsl.DslField;
+
 public interface IntegerOperators extends NumericOperators<Integer> {
 
     @Override
@@ -47,4 +49,10 @@ public interface IntegerOperators extends NumericOperators<Integer> {
     default Integer identity() {
         return 0;
     }
+
+    @Override
+    default PrimitiveComparison primitiveComparison(DslField<Integer> field, Integer value,
+            NumericComparison comparison) {
+        return PrimitiveComparison.ofInt(field.id(), value, comparison);
+    }
 }
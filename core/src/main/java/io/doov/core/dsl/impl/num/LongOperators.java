@@ -6,6 +6,8 @@ package io.doov.core.dsl.impl.num;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 
+import io.doov.core.dsl.DslField;
+
 public interface LongOperators extends NumericOperators<Long> {
     @Override
     default BiFunction<Long, Long, Boolean> lesserThanFunction() {
@@ -46,4 +48,10 @@ public interface LongOperators extends NumericOperators<Long> {
     default Long identity() {
         return 0L;
     }
+
+    @Override
+    default PrimitiveComparison primitiveComparison(DslField<Long> field, Long value,
+            NumericComparison comparison) {
+        return PrimitiveComparison.ofLong(field.id(), value, comparison);
+    }
 }
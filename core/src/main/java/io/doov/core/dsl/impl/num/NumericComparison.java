@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl.num;
+
+/**
+ * Comparison of primitive numeric values, with the semantic of the java operators, see
+ * {@link NumericOperators#primitiveComparison(io.doov.core.dsl.DslField, Number, NumericComparison)}.
+ */
+public enum NumericComparison {
+    LESSER_THAN, LESSER_OR_EQUALS, GREATER_THAN, GREATER_OR_EQUALS;
+
+    public boolean test(int left, int right) {
+        switch (this) {
+            case LESSER_THAN:
+                return left < right;
+            case LESSER_OR_EQUALS:
+                return left <= right;
+            case GREATER_THAN:
+                return left > right;
+            default:
+                return left >= right;
+        }
+    }
+
+    public boolean test(long left, long right) {
+        switch (this) {
+            case LESSER_THAN:
+                return left < right;
+            case LESSER_OR_EQUALS:
+                return left <= right;
+            case GREATER_THAN:
+                return left > right;
+            default:
+                return left >= right;
+        }
+    }
+
+    public boolean test(double left, double right) {
+        switch (this) {
+            case LESSER_THAN:
+                return left < right;
+            case LESSER_OR_EQUALS:
+                return left <= right;
+            case GREATER_THAN:
+                return left > right;
+            default:
+                return left >= right;
+        }
+    }
+
+}
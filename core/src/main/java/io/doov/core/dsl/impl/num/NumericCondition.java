@@ -21,6 +21,7 @@ import static io.doov.core.dsl.meta.predicate.LeafPredicateMetadata.whenMetadata
 
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Predicate;
 
 import io.doov.core.dsl.DslField;
 import io.doov.core.dsl.DslModel;
@@ -51,6 +52,10 @@ public abstract class NumericCondition<N extends Number> extends DefaultConditio
     protected abstract NumericCondition<N> numericCondition(PredicateMetadata metadata,
             BiFunction<DslModel, Context, Optional<N>> value);
 
+    private Predicate<DslModel> compiled(N value, NumericComparison comparison) {
+        return field == null || value == null ? null : primitiveComparison(field, value, comparison);
+    }
+
     /**
      * Returns a step condition checking if the node value is lesser than the given value.
      *
@@ -59,7 +64,8 @@ public abstract class NumericCondition<N extends Number> extends DefaultConditio
      */
     public final StepCondition lesserThan(N value) {
         return predicate(this, lesserThanMetadata(metadata, value), value,
-                (l, r) -> lesserThanFunction().apply(l, r));
+                (l, r) -> lesserThanFunction().apply(l, r),
+                compiled(value, NumericComparison.LESSER_THAN));
     }
 
     /**
@@ -81,7 +87,8 @@ public abstract class NumericCondition<N extends Number> extends DefaultConditio
      */
     public final StepCondition lesserOrEquals(N value) {
         return predicate(this, lesserOrEqualsMetadata(metadata, value), value,
-                (l, r) -> lesserOrEqualsFunction().apply(l, r));
+                (l, r) -> lesserOrEqualsFunction().apply(l, r),
+                compiled(value, NumericComparison.LESSER_OR_EQUALS));
     }
 
     /**
@@ -103,7 +110,8 @@ public abstract class NumericCondition<N extends Number> extends DefaultConditio
      */
     public final StepCondition greaterThan(N value) {
         return predicate(this, greaterThanMetadata(metadata, value), value,
-                (l, r) -> greaterThanFunction().apply(l, r));
+                (l, r) -> greaterThanFunction().apply(l, r),
+                compiled(value, NumericComparison.GREATER_THAN));
     }
 
     /**
@@ -125,7 +133,8 @@ public abstract class NumericCondition<N extends Number> extends DefaultConditio
      */
     public final StepCondition greaterOrEquals(N value) {
         return predicate(this, greaterOrEqualsMetadata(metadata, value), value,
-                (l, r) -> greaterOrEqualsFunction().apply(l, r));
+                (l, r) -> greaterOrEqualsFunction().apply(l, r),
+                compiled(value, NumericComparison.GREATER_OR_EQUALS));
     }
 
     /**
@@ -6,6 +6,9 @@ package io.doov.core.dsl.impl.num;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 
+import io.doov.core.dsl.DslField;
+import io.doov.core.dsl.DslModel;
+
 public interface NumericOperators<N extends Number> {
 
     BiFunction<N, N, Boolean> lesserThanFunction();
@@ -23,4 +26,17 @@ public interface NumericOperators<N extends Number> {
     BiFunction<N, Integer, N> timesFunction();
 
     N identity();
+
+    /**
+     * Returns the compiled predicate comparing the field value to the given value with a primitive accessor of the
+     * model, such as {@link DslModel#getInt(io.doov.core.FieldId, int)}, or null to compare the boxed values.
+     *
+     * @param field the field, not null
+     * @param value the right side value, not null
+     * @param comparison the comparison
+     * @return the compiled comparison or null
+     */
+    default PrimitiveComparison primitiveComparison(DslField<N> field, N value, NumericComparison comparison) {
+        return null;
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl.num;
+
+import java.util.function.Predicate;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.DslModel;
+
+/**
+ * Compiled predicate comparing a field value to a constant with a primitive accessor of the model, see
+ * {@link NumericOperators#primitiveComparison}. The field, the comparison and the constant are exposed so that the
+ * comparison can also be evaluated on a whole column of values.
+ */
+public abstract class PrimitiveComparison implements Predicate<DslModel> {
+
+    private final FieldId fieldId;
+    private final NumericComparison comparison;
+
+    private PrimitiveComparison(FieldId fieldId, NumericComparison comparison) {
+        this.fieldId = fieldId;
+        this.comparison = comparison;
+    }
+
+    public FieldId fieldId() {
+        return fieldId;
+    }
+
+    public NumericComparison comparison() {
+        return comparison;
+    }
+
+    /**
+     * Returns the right side value.
+     *
+     * @return the value
+     */
+    public abstract Number value();
+
+    public static PrimitiveComparison ofInt(FieldId fieldId, int value, NumericComparison comparison) {
+        return new IntComparison(fieldId, value, comparison);
+    }
+
+    public static PrimitiveComparison ofLong(FieldId fieldId, long value, NumericComparison comparison) {
+        return new LongComparison(fieldId, value, comparison);
+    }
+
+    public static PrimitiveComparison ofDouble(FieldId fieldId, double value, NumericComparison comparison) {
+        return new DoubleComparison(fieldId, value, comparison);
+    }
+
+    private static final class IntComparison extends PrimitiveComparison {
+        private final int right;
+
+        IntComparison(FieldId fieldId, int right, NumericComparison comparison) {
+            super(fieldId, comparison);
+            this.right = right;
+        }
+
+        @Override
+        public Number value() {
+            return right;
+        }
+
+        @Override
+        public boolean test(DslModel model) {
+            final int left = model.getInt(fieldId(), Integer.MIN_VALUE);
+            if (left == Integer.MIN_VALUE && model.get(fieldId()) == null) {
+                return false;
+            }
+            return comparison().test(left, right);
+        }
+    }
+
+    private static final class LongComparison extends PrimitiveComparison {
+        private final long right;
+
+        LongComparison(FieldId fieldId, long right, NumericComparison comparison) {
+            super(fieldId, comparison);
+            this.right = right;
+        }
+
+        @Override
+        public Number value() {
+            return right;
+        }
+
+        @Override
+        public boolean test(DslModel model) {
+            final long left = model.getLong(fieldId(), Long.MIN_VALUE);
+            if (left == Long.MIN_VALUE && model.get(fieldId()) == null) {
+                return false;
+            }
+            return comparison().test(left, right);
+        }
+    }
+
+    private static final class DoubleComparison extends PrimitiveComparison {
+        private final double right;
+
+        DoubleComparison(FieldId fieldId, double right, NumericComparison comparison) {
+            super(fieldId, comparison);
+            this.right = right;
+        }
+
+        @Override
+        public Number value() {
+            return right;
+        }
+
+        @Override
+        public boolean test(DslModel model) {
+            // a null value reads as NaN, and any comparison with NaN is false
+            return comparison().test(model.getDouble(fieldId(), Double.NaN), right);
+        }
+    }
+
+}
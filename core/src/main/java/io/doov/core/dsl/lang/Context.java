@@ -107,4 +107,14 @@ public interface Context {
      */
     List<Metadata> getEvalFalse();
 
+    /**
+     * Clears the evaluated nodes and values of this context, so that it can be reused for another execution of the same
+     * rule. The context must not retain any reference to the previous model or its values.
+     *
+     * @throws UnsupportedOperationException if this context can't be reused
+     */
+    default void reset() {
+        throw new UnsupportedOperationException(getClass().getName() + " can't be reset");
+    }
+
 }
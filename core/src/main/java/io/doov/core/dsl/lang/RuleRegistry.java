@@ -15,8 +15,15 @@
  */
 package io.doov.core.dsl.lang;
 
+import static java.util.stream.Collectors.toMap;
+
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.impl.BatchValidation;
+
 /**
  * Interface for the rules registry.
  * <p>
@@ -38,4 +45,57 @@ public interface RuleRegistry {
      */
     Stream<ValidationRule> stream();
 
+    /**
+     * Evaluates the rules of this registry on each of the given models, see {@link ValidationRule#testAll(List)}.
+     *
+     * @param models the models
+     * @return the bit set of the valid models indexes by rule, in registration order
+     */
+    default Map<ValidationRule, BitSet> testAll(List<? extends DslModel> models) {
+        return testAll(models, BatchValidation.DEFAULT_CHUNK_SIZE, false);
+    }
+
+    /**
+     * Evaluates the rules of this registry on each of the given models, see
+     * {@link ValidationRule#testAll(List, int, boolean)}.
+     *
+     * @param models the models
+     * @param chunkSize the chunk size
+     * @param parallel true to evaluate the chunks in parallel
+     * @return the bit set of the valid models indexes by rule, in registration order
+     */
+    default Map<ValidationRule, BitSet> testAll(List<? extends DslModel> models, int chunkSize, boolean parallel) {
+        return stream().distinct().collect(toMap(Function.identity(), rule -> rule.testAll(models, chunkSize, parallel),
+                (r1, r2) -> r1, LinkedHashMap::new));
+    }
+
+    /**
+     * Evaluates the rules of this registry on each model of the given stream, in encounter order, see
+     * {@link ValidationRule#testAll(Stream)}. The models are evaluated in parallel if the stream is parallel.
+     *
+     * @param models the models
+     * @return the bit set of the valid models indexes by rule, in registration order
+     */
+    default Map<ValidationRule, BitSet> testAll(Stream<? extends DslModel> models) {
+        final boolean parallel = models.isParallel();
+        return testAll(models.spliterator(), BatchValidation.DEFAULT_CHUNK_SIZE, parallel);
+    }
+
+    /**
+     * Evaluates the rules of this registry on each model of the given spliterator, in encounter order, see
+     * {@link ValidationRule#testAll(Spliterator, int, boolean)}. The models are collected in a list first, since
+     * each rule evaluates all of them.
+     *
+     * @param models the models
+     * @param chunkSize the chunk size
+     * @param parallel true to evaluate the chunks in parallel
+     * @return the bit set of the valid models indexes by rule, in registration order
+     */
+    default Map<ValidationRule, BitSet> testAll(Spliterator<? extends DslModel> models, int chunkSize,
+            boolean parallel) {
+        final List<DslModel> buffer = new ArrayList<>();
+        models.forEachRemaining(buffer::add);
+        return testAll(buffer, chunkSize, parallel);
+    }
+
 }
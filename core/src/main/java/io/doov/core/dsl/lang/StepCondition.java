@@ -13,10 +13,12 @@
 package io.doov.core.dsl.lang;
 
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 import io.doov.core.dsl.DslModel;
 import io.doov.core.dsl.impl.LogicalBinaryCondition;
 import io.doov.core.dsl.impl.LogicalUnaryCondition;
+import io.doov.core.dsl.impl.UntracedContext;
 
 /**
  * Interface for the condition which corresponds to a node in the syntax tree.
@@ -32,6 +34,18 @@ public interface StepCondition extends DSLBuilder {
      */
     BiPredicate<DslModel, Context> predicate();
 
+    /**
+     * Returns the compiled predicate for this node value. The compiled predicate evaluates the syntax tree with
+     * short-circuit and without tracing the evaluation in a {@link Context}, so the node values and the metadata
+     * counters are not updated.
+     *
+     * @return the compiled predicate
+     */
+    default Predicate<DslModel> compile() {
+        final BiPredicate<DslModel, Context> predicate = predicate();
+        return model -> predicate.test(model, UntracedContext.INSTANCE);
+    }
+
     /**
      * Returns a condition checking if the node predicate and the given condition predicate evaluate to true.
      *
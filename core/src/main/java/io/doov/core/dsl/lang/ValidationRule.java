@@ -1,6 +1,14 @@
 package io.doov.core.dsl.lang;
 
+import java.util.BitSet;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
 import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.impl.BatchValidation;
 
 /**
  * Interface for the validation rule that encapsulates the validation algorithm and data.
@@ -42,7 +50,8 @@ public interface ValidationRule extends DSLBuilder {
     Result executeOn(DslModel model);
 
     /**
-     * Executes the validation rule on the given model.
+     * Executes the validation rule on the given model. A reusable context must be {@link Context#reset() reset}
+     * between executions.
      *
      * @param model the model
      * @param context custom context
@@ -50,6 +59,84 @@ public interface ValidationRule extends DSLBuilder {
      */
     Result executeOn(DslModel model, Context context);
 
+    /**
+     * Executes the validation rule on the given model with a context taken from a pool owned by this rule, and
+     * returns the value computed by the consumer from the result. The context is reset and released when the consumer
+     * returns, so the result must not be retained by the consumer.
+     *
+     * @param <T> the type of the consumed value
+     * @param model the model
+     * @param consumer the result consumer
+     * @return the consumed value
+     */
+    <T> T executeOnPooled(DslModel model, Function<Result, T> consumer);
+
+    /**
+     * Compiles the validation rule in a predicate. The logical nodes of the syntax tree are flattened in a short-circuit
+     * boolean expression over the leaves, evaluated without {@link Context}: the result can't be reduced, use
+     * {@link #executeOn(DslModel)} when the evaluation trace is needed.
+     *
+     * @return the compiled predicate
+     * @see StepCondition#compile()
+     */
+    Predicate<DslModel> compile();
+
+    /**
+     * Evaluates the validation rule on the given model with the compiled predicate, see {@link #compile()}. This fast
+     * path doesn't create a {@link Context} and doesn't trace the evaluation, so it only returns the predicate value.
+     *
+     * @param model the model
+     * @return true if the model is valid
+     */
+    boolean test(DslModel model);
+
+    /**
+     * Evaluates the validation rule on each of the given models with {@link #test(DslModel)}.
+     *
+     * @param models the models
+     * @return the bit set of the valid models indexes
+     */
+    default BitSet testAll(List<? extends DslModel> models) {
+        return testAll(models, BatchValidation.DEFAULT_CHUNK_SIZE, false);
+    }
+
+    /**
+     * Evaluates the validation rule on each of the given models with {@link #test(DslModel)}. In parallel, the models
+     * are split in chunks of the given size that are evaluated in the common fork join pool.
+     *
+     * @param models the models
+     * @param chunkSize the chunk size
+     * @param parallel true to evaluate the chunks in parallel
+     * @return the bit set of the valid models indexes
+     */
+    default BitSet testAll(List<? extends DslModel> models, int chunkSize, boolean parallel) {
+        return BatchValidation.testAll(this::test, models, chunkSize, parallel);
+    }
+
+    /**
+     * Evaluates the validation rule on each model of the given stream, in encounter order. The models are evaluated in
+     * parallel if the stream is parallel.
+     *
+     * @param models the models
+     * @return the bit set of the valid models indexes
+     */
+    default BitSet testAll(Stream<? extends DslModel> models) {
+        return testAll(models.spliterator(), BatchValidation.DEFAULT_CHUNK_SIZE, models.isParallel());
+    }
+
+    /**
+     * Evaluates the validation rule on each model of the given spliterator, in encounter order.
+     *
+     * @param models the models
+     * @param chunkSize the chunk size
+     * @param parallel true to evaluate the chunks in parallel
+     * @return the bit set of the valid models indexes
+     * @see #testAll(List, int, boolean)
+     */
+    default BitSet testAll(Spliterator<? extends DslModel> models, int chunkSize, boolean parallel) {
+        return BatchValidation.testAll(this::test, models, chunkSize, parallel);
+    }
+
     /**
      * Registers this rule on the given registry.
      *
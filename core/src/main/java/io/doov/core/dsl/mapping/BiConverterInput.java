@@ -27,6 +27,18 @@ public class BiConverterInput<U, S, T> extends AbstractDSLBuilder implements Map
         this.metadata = inputMetadata(metadataInput(mappingInput1.metadata(), mappingInput2.metadata()), converter.metadata());
     }
 
+    MappingInput<U> input1() {
+        return mappingInput1;
+    }
+
+    MappingInput<S> input2() {
+        return mappingInput2;
+    }
+
+    BiTypeConverter<U, S, T> converter() {
+        return converter;
+    }
+
     @Override
     public boolean validate(FieldModel inModel) {
         return mappingInput1.validate(inModel) && mappingInput2.validate(inModel);
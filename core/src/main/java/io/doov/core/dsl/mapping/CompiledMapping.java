@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.mapping;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import io.doov.core.*;
+import io.doov.core.dsl.DslField;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.impl.UntracedContext;
+import io.doov.core.dsl.lang.*;
+import io.doov.core.dsl.runtime.RuntimeField;
+import io.doov.core.dsl.runtime.RuntimeModel;
+
+/**
+ * Flat copy plan of a mapping registry, see {@link MappingRegistry#compile(List, List)}.
+ * <p>
+ * Each mapping rule is resolved once in a step made of a source, an optional converter and a target. The sources and
+ * targets are the field infos of the in and out models, the converters are called with an untraced context, and the
+ * steps are executed without model interceptor nor {@link Context}. A plain field to field mapping collapses to a
+ * copy step, that calls the getter and the setter of the {@link RuntimeField}s of two {@link RuntimeModel}s, or the
+ * {@code get} and {@code set} of the models otherwise, which are the generated getter and setter switches of a
+ * generated wrapper. The conditional rules evaluate the compiled predicate of their condition, see
+ * {@link ValidationRule#compile()}. The rules that can't be resolved are executed as is, with an untraced context.
+ * <p>
+ * A plan is executed on models whose field infos are the ones it is compiled with. It doesn't update the evaluation
+ * counters of the metadata.
+ */
+public final class CompiledMapping {
+
+    private final Step[] steps;
+
+    CompiledMapping(List<MappingRule> rules, List<FieldInfo> inFieldInfos, List<FieldInfo> outFieldInfos) {
+        this(rules, index(inFieldInfos), index(outFieldInfos));
+    }
+
+    private CompiledMapping(List<MappingRule> rules, Map<FieldId, FieldInfo> in, Map<FieldId, FieldInfo> out) {
+        this.steps = rules.stream().map(rule -> step(rule, in, out)).toArray(Step[]::new);
+    }
+
+    /**
+     * Executes the plan on the given models.
+     *
+     * @param inModel in model
+     * @param outModel out model
+     */
+    public void executeOn(FieldModel inModel, FieldModel outModel) {
+        for (Step step : steps) {
+            step.execute(inModel, outModel);
+        }
+    }
+
+    /**
+     * Returns the steps of the plan.
+     */
+    List<Step> steps() {
+        return Arrays.asList(steps);
+    }
+
+    private static Map<FieldId, FieldInfo> index(List<FieldInfo> fieldInfos) {
+        final Map<FieldId, FieldInfo> index = new HashMap<>();
+        fieldInfos.forEach(info -> index.putIfAbsent(info.id(), info));
+        return index;
+    }
+
+    private static Step step(MappingRule rule, Map<FieldId, FieldInfo> in, Map<FieldId, FieldInfo> out) {
+        if (rule instanceof DefaultMappingRule) {
+            final DefaultMappingRule<?> mapping = (DefaultMappingRule<?>) rule;
+            final Source source = source(mapping.input(), in);
+            final Target target = target(mapping.output(), out);
+            if (source instanceof FieldSource && target instanceof FieldTarget) {
+                return new CopyStep(((FieldSource) source).info, ((FieldTarget) target).info);
+            } else if (source != null && target != null) {
+                return new ConvertStep(source, target);
+            }
+        } else if (rule instanceof DefaultConditionalMappingRule) {
+            final DefaultConditionalMappingRule conditional = (DefaultConditionalMappingRule) rule;
+            return new ConditionalStep(conditional.validation().compile(),
+                    new CompiledMapping(conditional.thenRules().stream().collect(toList()), in, out),
+                    new CompiledMapping(conditional.elseRules().stream().collect(toList()), in, out));
+        }
+        return new RuleStep(rule);
+    }
+
+    private static FieldInfo resolve(DslField<?> field, Map<FieldId, FieldInfo> fieldInfos, String side) {
+        final FieldInfo info = fieldInfos.get(field.id());
+        if (info == null) {
+            throw new IllegalArgumentException("cannot find field " + field.id() + " in the " + side + " field infos");
+        }
+        return info;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Source source(MappingInput<?> input, Map<FieldId, FieldInfo> in) {
+        if (input instanceof FieldInput) {
+            return new FieldSource(resolve(((FieldInput<?>) input).field(), in, "in"));
+        } else if (input instanceof StaticInput) {
+            final Supplier<?> supplier = ((StaticInput<?>) input).valueSupplier();
+            return model -> supplier.get();
+        } else if (input instanceof ConverterInput) {
+            final ConverterInput converterInput = (ConverterInput) input;
+            final Source source = source(converterInput.sourceInput(), in);
+            final TypeConverter converter = converterInput.typeConverter();
+            return source == null ? null
+                    : model -> converter.convert(model, UntracedContext.INSTANCE, source.read(model));
+        } else if (input instanceof BiConverterInput) {
+            final BiConverterInput biConverterInput = (BiConverterInput) input;
+            final Source source1 = source(biConverterInput.input1(), in);
+            final Source source2 = source(biConverterInput.input2(), in);
+            final BiTypeConverter converter = biConverterInput.converter();
+            return source1 == null || source2 == null ? null
+                    : model -> converter.convert(model, UntracedContext.INSTANCE, source1.read(model),
+                            source2.read(model));
+        } else if (input instanceof NaryConverterInput) {
+            final NaryConverterInput<?> naryInput = (NaryConverterInput<?>) input;
+            final NaryTypeConverter<?> converter = naryInput.converter();
+            final DslField<?>[] fields = naryInput.fields().toArray(new DslField<?>[0]);
+            return model -> converter.convert(model, UntracedContext.INSTANCE, fields);
+        } else if (input instanceof FunctionInput) {
+            final FunctionInput<?> functionInput = (FunctionInput<?>) input;
+            return model -> functionInput.valueFunction().apply(model, UntracedContext.INSTANCE);
+        }
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Target target(MappingOutput<?> output, Map<FieldId, FieldInfo> out) {
+        if (output instanceof FieldOutput) {
+            return new FieldTarget(resolve(((FieldOutput<?>) output).field(), out, "out"));
+        } else if (output instanceof ConsumerOutput) {
+            final TriConsumer consumer = ((ConsumerOutput<?>) output).outputFunction();
+            return (model, value) -> consumer.accept(model, UntracedContext.INSTANCE, value);
+        }
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object read(FieldInfo info, FieldModel model) {
+        if (info instanceof RuntimeField && model instanceof RuntimeModel) {
+            return ((RuntimeField) info).get(((RuntimeModel) model).getModel());
+        }
+        return model.get(info.id());
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static void write(FieldInfo info, FieldModel model, Object value) {
+        if (info instanceof RuntimeField && model instanceof RuntimeModel) {
+            ((RuntimeField) info).set(((RuntimeModel) model).getModel(), value);
+        } else {
+            model.set(info.id(), value);
+        }
+    }
+
+    /**
+     * Reads the value of a step in the in model.
+     */
+    @FunctionalInterface
+    interface Source {
+
+        Object read(FieldModel model);
+
+    }
+
+    /**
+     * Writes the value of a step in the out model.
+     */
+    @FunctionalInterface
+    interface Target {
+
+        void write(FieldModel model, Object value);
+
+    }
+
+    static final class FieldSource implements Source {
+
+        private final FieldInfo info;
+
+        FieldSource(FieldInfo info) {
+            this.info = info;
+        }
+
+        @Override
+        public Object read(FieldModel model) {
+            return CompiledMapping.read(info, model);
+        }
+
+    }
+
+    static final class FieldTarget implements Target {
+
+        private final FieldInfo info;
+
+        FieldTarget(FieldInfo info) {
+            this.info = info;
+        }
+
+        @Override
+        public void write(FieldModel model, Object value) {
+            CompiledMapping.write(info, model, value);
+        }
+
+    }
+
+    /**
+     * Step of the plan.
+     */
+    abstract static class Step {
+
+        abstract void execute(FieldModel inModel, FieldModel outModel);
+
+    }
+
+    static final class CopyStep extends Step {
+
+        private final FieldInfo source;
+        private final FieldInfo target;
+
+        CopyStep(FieldInfo source, FieldInfo target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        void execute(FieldModel inModel, FieldModel outModel) {
+            write(target, outModel, read(source, inModel));
+        }
+
+    }
+
+    static final class ConvertStep extends Step {
+
+        private final Source source;
+        private final Target target;
+
+        ConvertStep(Source source, Target target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        void execute(FieldModel inModel, FieldModel outModel) {
+            target.write(outModel, source.read(inModel));
+        }
+
+    }
+
+    static final class ConditionalStep extends Step {
+
+        private final Predicate<DslModel> condition;
+        private final CompiledMapping then;
+        private final CompiledMapping otherwise;
+
+        ConditionalStep(Predicate<DslModel> condition, CompiledMapping then, CompiledMapping otherwise) {
+            this.condition = condition;
+            this.then = then;
+            this.otherwise = otherwise;
+        }
+
+        @Override
+        void execute(FieldModel inModel, FieldModel outModel) {
+            if (condition.test(inModel)) {
+                then.executeOn(inModel, outModel);
+            } else {
+                otherwise.executeOn(inModel, outModel);
+            }
+        }
+
+    }
+
+    static final class RuleStep extends Step {
+
+        private final MappingRule rule;
+
+        RuleStep(MappingRule rule) {
+            this.rule = rule;
+        }
+
+        @Override
+        void execute(FieldModel inModel, FieldModel outModel) {
+            rule.executeOn(inModel, outModel, UntracedContext.INSTANCE);
+        }
+
+    }
+
+}
@@ -22,6 +22,10 @@ public class ConsumerOutput<T> extends AbstractDSLBuilder implements MappingOutp
         this(MappingMetadata.functionOutput(), outputFunction);
     }
 
+    TriConsumer<DslModel, Context, T> outputFunction() {
+        return outputFunction;
+    }
+
     @Override
     public boolean validate(FieldModel outModel) {
         return true;
@@ -20,6 +20,14 @@ public class ConverterInput<S, T> extends AbstractDSLBuilder implements MappingI
         this.metadata = MappingInputMetadata.inputMetadata(sourceInput.metadata(), typeConverter.metadata());
     }
 
+    MappingInput<S> sourceInput() {
+        return sourceInput;
+    }
+
+    TypeConverter<S, T> typeConverter() {
+        return typeConverter;
+    }
+
     @Override
     public boolean validate(FieldModel inModel) {
         return sourceInput.validate(inModel);
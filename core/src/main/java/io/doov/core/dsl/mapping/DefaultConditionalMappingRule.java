@@ -51,6 +51,14 @@ public class DefaultConditionalMappingRule extends AbstractDSLBuilder implements
         return validationRule;
     }
 
+    MappingRegistry thenRules() {
+        return mappingRules;
+    }
+
+    MappingRegistry elseRules() {
+        return elseMappingRules;
+    }
+
     @Override
     public ConditionalMappingRule otherwise(MappingRule... elseRules) {
         return new DefaultConditionalMappingRule(stepWhen, mappingRules, elseRules);
@@ -19,6 +19,10 @@ public class FieldInput<T> extends AbstractDSLBuilder implements MappingInput<T>
         this.metadata = MappingMetadata.fieldInput(field);
     }
 
+    DslField<T> field() {
+        return field;
+    }
+
     @Override
     public boolean validate(FieldModel inModel) {
         return inModel.getFieldInfos().stream().anyMatch(f -> f.id() == field.id());
@@ -20,6 +20,10 @@ public class FieldOutput<T> implements MappingOutput<T> {
         this.metadata = MappingMetadata.fieldOutput(field);
     }
 
+    DslField<T> field() {
+        return field;
+    }
+
     @Override
     public boolean validate(FieldModel outModel) {
         return outModel.getFieldInfos().stream().anyMatch(f -> f.id() == field.id());
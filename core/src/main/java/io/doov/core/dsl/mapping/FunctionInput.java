@@ -24,6 +24,10 @@ public class FunctionInput<T> extends AbstractDSLBuilder implements MappingInput
         this(MappingMetadata.functionInput(), valueFunction);
     }
 
+    BiFunction<DslModel, Context, T> valueFunction() {
+        return valueFunction;
+    }
+
     @Override
     public boolean validate(FieldModel inModel) {
         return true;
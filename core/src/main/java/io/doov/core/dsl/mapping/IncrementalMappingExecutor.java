@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.mapping;
+
+import java.util.*;
+
+import io.doov.core.FieldId;
+import io.doov.core.FieldModel;
+import io.doov.core.dsl.lang.Context;
+import io.doov.core.dsl.lang.MappingRule;
+
+/**
+ * Executes the rules of a mapping registry that read a changed field, see {@link MappingRegistry#executeIncremental}.
+ * <p>
+ * The fields read and written by each rule are the {@link MappingDependencies} computed once per registry. A rule is
+ * executed when it reads one of the changed fields, or when its dependencies are unknown. A conditional rule is
+ * executed as a whole when its condition reads a changed field, since the branch can change. Otherwise its
+ * condition is evaluated and only the rules of the selected branch that read a changed field are executed. When the
+ * in and out models are the same, the fields written by an executed rule are changed for the rules after it, and
+ * all the fields are changed after a rule with unknown dependencies.
+ */
+final class IncrementalMappingExecutor {
+
+    private final List<MappingRule> rules;
+    private final MappingDependencies[] dependencies;
+    private final List<Set<FieldId>> conditionFields;
+
+    IncrementalMappingExecutor(List<MappingRule> rules) {
+        this.rules = rules;
+        this.dependencies = rules.stream().map(MappingDependencies::of).toArray(MappingDependencies[]::new);
+        this.conditionFields = new ArrayList<>(rules.size());
+        for (MappingRule rule : rules) {
+            conditionFields.add(rule instanceof DefaultConditionalMappingRule
+                    ? MappingDependencies.conditionFields((DefaultConditionalMappingRule) rule)
+                    : Collections.emptySet());
+        }
+    }
+
+    <C extends Context> C executeOn(FieldModel inModel, FieldModel outModel, Set<FieldId> changedFields,
+            C context) {
+        execute(inModel, outModel, new Changes(changedFields, inModel == outModel), context);
+        return context;
+    }
+
+    private void execute(FieldModel inModel, FieldModel outModel, Changes changes, Context context) {
+        for (int i = 0; i < rules.size(); i++) {
+            final MappingRule rule = rules.get(i);
+            final MappingDependencies ruleDependencies = dependencies[i];
+            if (rule instanceof DefaultConditionalMappingRule && !changes.touches(conditionFields.get(i))) {
+                if (ruleDependencies.isUnknown() || changes.touches(ruleDependencies.reads())) {
+                    executeBranch((DefaultConditionalMappingRule) rule, inModel, outModel, changes, context);
+                }
+            } else if (ruleDependencies.isUnknown()) {
+                rule.executeOn(inModel, outModel, context);
+                changes.writeAll();
+            } else if (changes.touches(ruleDependencies.reads())) {
+                rule.executeOn(inModel, outModel, context);
+                changes.write(ruleDependencies.writes());
+            }
+        }
+    }
+
+    private static void executeBranch(DefaultConditionalMappingRule rule, FieldModel inModel, FieldModel outModel,
+            Changes changes, Context context) {
+        final MappingRegistry branch = rule.validation().executeOn(inModel, context).value() ? rule.thenRules()
+                : rule.elseRules();
+        branch.incrementalExecutor().execute(inModel, outModel, changes, context);
+    }
+
+    /**
+     * Changed fields, updated with the fields written by the executed rules when the in and out models are the same.
+     */
+    private static final class Changes {
+
+        private final Set<FieldId> fields;
+        private final boolean sameModel;
+        private boolean all;
+
+        Changes(Set<FieldId> fields, boolean sameModel) {
+            this.fields = new HashSet<>(fields);
+            this.sameModel = sameModel;
+        }
+
+        boolean touches(Set<FieldId> reads) {
+            if (all) {
+                return true;
+            }
+            for (FieldId read : reads) {
+                if (fields.contains(read)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void write(Set<FieldId> writes) {
+            if (sameModel) {
+                fields.addAll(writes);
+            }
+        }
+
+        void writeAll() {
+            if (sameModel) {
+                all = true;
+            }
+        }
+
+    }
+
+}
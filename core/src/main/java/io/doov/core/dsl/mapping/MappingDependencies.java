@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.mapping;
+
+import static io.doov.core.dsl.impl.IndexedRuleRegistry.fieldsOf;
+
+import java.util.*;
+
+import io.doov.core.FieldId;
+import io.doov.core.FieldInfo;
+import io.doov.core.dsl.lang.MappingInput;
+import io.doov.core.dsl.lang.MappingRule;
+import io.doov.core.dsl.mapping.converter.DefaultBiTypeConverter;
+import io.doov.core.dsl.mapping.converter.DefaultNaryTypeConverter;
+import io.doov.core.dsl.mapping.converter.DefaultTypeConverter;
+import io.doov.core.dsl.meta.Metadata;
+
+/**
+ * Fields read and written by a mapping rule, extracted from the field elements of its metadata.
+ * <p>
+ * The dependencies of a rule are unknown when it reads or writes the models with code that is not described by its
+ * metadata: a function input, a consumer output, a custom converter that receives the model, a context-aware
+ * converter that can read the values added to the context by the other rules, or a rule that is not a
+ * {@link DefaultMappingRule}, a {@link DefaultConditionalMappingRule} or a {@link MappingRegistry}. The fields written
+ * by a rule include the siblings of its output fields, that the models set with them. The dependencies of a
+ * conditional rule are the fields of its condition and the dependencies of both its branches.
+ */
+final class MappingDependencies {
+
+    private static final MappingDependencies UNKNOWN = new MappingDependencies(Collections.emptySet(),
+            Collections.emptySet(), true);
+
+    private final Set<FieldId> reads;
+    private final Set<FieldId> writes;
+    private final boolean unknown;
+
+    private MappingDependencies(Set<FieldId> reads, Set<FieldId> writes, boolean unknown) {
+        this.reads = reads;
+        this.writes = writes;
+        this.unknown = unknown;
+    }
+
+    /**
+     * Returns the fields read by the rule, meaningless if the dependencies are unknown.
+     */
+    Set<FieldId> reads() {
+        return reads;
+    }
+
+    /**
+     * Returns the fields written by the rule, meaningless if the dependencies are unknown.
+     */
+    Set<FieldId> writes() {
+        return writes;
+    }
+
+    /**
+     * Returns true if the rule can read or write fields that are not in its metadata.
+     */
+    boolean isUnknown() {
+        return unknown;
+    }
+
+    /**
+     * Returns the dependencies of the mapping rule.
+     *
+     * @param rule the rule
+     * @return the dependencies
+     */
+    static MappingDependencies of(MappingRule rule) {
+        if (rule instanceof DefaultMappingRule) {
+            final DefaultMappingRule<?> mapping = (DefaultMappingRule<?>) rule;
+            if (!isDescribed(mapping.input()) || !(mapping.output() instanceof FieldOutput)) {
+                return UNKNOWN;
+            }
+            return new MappingDependencies(fields(mapping.input().metadata()),
+                    writes((FieldOutput<?>) mapping.output()), false);
+        } else if (rule instanceof DefaultConditionalMappingRule) {
+            final DefaultConditionalMappingRule conditional = (DefaultConditionalMappingRule) rule;
+            final MappingDependencies dependencies = new MappingDependencies(
+                    conditionFields(conditional), new HashSet<>(), false);
+            return dependencies.merge(of(conditional.thenRules())).merge(of(conditional.elseRules()));
+        } else if (rule instanceof MappingRegistry) {
+            MappingDependencies dependencies = new MappingDependencies(new HashSet<>(), new HashSet<>(), false);
+            final Iterator<MappingRule> children = rule.stream().iterator();
+            while (children.hasNext()) {
+                dependencies = dependencies.merge(of(children.next()));
+            }
+            return dependencies;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Returns the fields read by the condition of the conditional rule.
+     *
+     * @param rule the conditional rule
+     * @return the field ids
+     */
+    static Set<FieldId> conditionFields(DefaultConditionalMappingRule rule) {
+        return fields(rule.validation().metadata());
+    }
+
+    /**
+     * Returns the fields of the metadata tree: the mapping inputs only flatten their children.
+     */
+    private static Set<FieldId> fields(Metadata metadata) {
+        final Set<FieldId> fields = fieldsOf(metadata);
+        metadata.children().forEach(child -> fields.addAll(fields(child)));
+        return fields;
+    }
+
+    /**
+     * Returns the fields written by the output, with their siblings.
+     */
+    private static Set<FieldId> writes(FieldOutput<?> output) {
+        final Set<FieldId> fields = fields(output.metadata());
+        if (output.field() instanceof FieldInfo) {
+            final FieldId[] siblings = ((FieldInfo) output.field()).siblings();
+            if (siblings != null) {
+                fields.addAll(Arrays.asList(siblings));
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Returns true if the input only reads the fields of its metadata, without the context.
+     */
+    private static boolean isDescribed(MappingInput<?> input) {
+        if (input instanceof FieldInput || input instanceof StaticInput) {
+            return true;
+        } else if (input instanceof NaryConverterInput) {
+            final NaryConverterInput<?> converter = (NaryConverterInput<?>) input;
+            return converter.converter() instanceof DefaultNaryTypeConverter
+                    && !((DefaultNaryTypeConverter<?>) converter.converter()).isContextAware();
+        } else if (input instanceof ConverterInput) {
+            final ConverterInput<?, ?> converter = (ConverterInput<?, ?>) input;
+            return converter.typeConverter() instanceof DefaultTypeConverter
+                    && !((DefaultTypeConverter<?, ?>) converter.typeConverter()).isContextAware()
+                    && isDescribed(converter.sourceInput());
+        } else if (input instanceof BiConverterInput) {
+            final BiConverterInput<?, ?, ?> converter = (BiConverterInput<?, ?, ?>) input;
+            return converter.converter() instanceof DefaultBiTypeConverter
+                    && !((DefaultBiTypeConverter<?, ?, ?>) converter.converter()).isContextAware()
+                    && isDescribed(converter.input1()) && isDescribed(converter.input2());
+        }
+        return false;
+    }
+
+    private MappingDependencies merge(MappingDependencies other) {
+        if (unknown || other.unknown) {
+            return UNKNOWN;
+        }
+        reads.addAll(other.reads);
+        writes.addAll(other.writes);
+        return this;
+    }
+
+}
@@ -5,9 +5,14 @@ package io.doov.core.dsl.mapping;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import io.doov.core.FieldId;
+import io.doov.core.FieldInfo;
 import io.doov.core.FieldModel;
 import io.doov.core.dsl.impl.DefaultContext;
 import io.doov.core.dsl.lang.*;
@@ -20,6 +25,8 @@ public class MappingRegistry extends AbstractDSLBuilder implements MappingRule {
 
     private final List<MappingRule> mappingRules;
     private final MappingRegistryMetadata metadata;
+    private volatile ParallelMappingExecutor parallelExecutor;
+    private volatile IncrementalMappingExecutor incrementalExecutor;
 
     public static MappingRegistry mappings(MappingRule... mappingRules) {
         return new MappingRegistry(mappingRules);
@@ -99,6 +106,102 @@ public class MappingRegistry extends AbstractDSLBuilder implements MappingRule {
         return this.executeOn(inModel, outModel, new DefaultContext(metadata()));
     }
 
+    /**
+     * Compile the rules of this registry in a flat copy plan between models with the given field infos, executed
+     * without model interceptor nor context. See {@link CompiledMapping}.
+     *
+     * @param inFieldInfos field infos of the in model
+     * @param outFieldInfos field infos of the out model
+     * @return the compiled plan
+     * @throws IllegalArgumentException if a field mapping reads or writes a field that is not in the field infos
+     */
+    public CompiledMapping compile(List<FieldInfo> inFieldInfos, List<FieldInfo> outFieldInfos) {
+        return new CompiledMapping(mappingRules, inFieldInfos, outFieldInfos);
+    }
+
+    /**
+     * Execute rules in this registry on given models, the independent rules being executed concurrently in the
+     * common {@link ForkJoinPool}. See {@link #executeParallel(FieldModel, FieldModel, Context, Executor)}.
+     *
+     * @param inModel in model
+     * @param outModel out model
+     * @return context
+     */
+    public Context executeParallel(FieldModel inModel, FieldModel outModel) {
+        return executeParallel(inModel, outModel, new DefaultContext(metadata()), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Execute rules in this registry on given models, the independent rules being executed concurrently with the
+     * given executor. The rules are grouped in levels of the graph of their read after write and write after write
+     * dependencies on fields, as described by their metadata. The rules of a level write in buffers that are applied
+     * to the out model, and record context calls that are replayed on the context, in registry order: the out model
+     * and the context are the same as with {@link #executeOn(FieldModel, FieldModel, Context)}. The rules whose
+     * inputs or outputs are functions, or whose converters are context-aware, are executed alone, after the rules
+     * before them.
+     * <p>
+     * The in model must support concurrent reads.
+     *
+     * @param inModel in model
+     * @param outModel out model
+     * @param context context
+     * @param executor executor of the rules of a level
+     * @param <C> context type
+     * @return context
+     */
+    public <C extends Context> C executeParallel(FieldModel inModel, FieldModel outModel, C context,
+                    Executor executor) {
+        ParallelMappingExecutor parallel = parallelExecutor;
+        if (parallel == null) {
+            parallelExecutor = parallel = new ParallelMappingExecutor(mappingRules);
+        }
+        return parallel.executeOn(inModel, outModel, context, executor);
+    }
+
+    /**
+     * Execute the rules in this registry that read one of the given changed fields, for example the fields of
+     * {@link io.doov.core.ChangeTrackingFieldModel#changedFields()} after small edits of a model that was already
+     * mapped. See {@link #executeIncremental(FieldModel, FieldModel, Set, Context)}.
+     *
+     * @param inModel in model
+     * @param outModel out model
+     * @param changedFields the fields changed since the last execution
+     * @return context
+     */
+    public Context executeIncremental(FieldModel inModel, FieldModel outModel, Set<FieldId> changedFields) {
+        return executeIncremental(inModel, outModel, changedFields, new DefaultContext(metadata()));
+    }
+
+    /**
+     * Execute the rules in this registry that read one of the given changed fields, in registry order. The fields
+     * read by a rule are the fields of its input metadata, as for
+     * {@link #executeParallel(FieldModel, FieldModel, Context, Executor)}. A conditional rule whose condition reads
+     * a changed field is executed as a whole, otherwise only the rules of its selected branch that read a changed
+     * field are executed. The rules whose inputs or outputs are functions are always executed. When the in and out
+     * models are the same, a field written by an executed rule is changed for the rules after it.
+     * <p>
+     * The rules without field input, like static values, are not executed again.
+     *
+     * @param inModel in model
+     * @param outModel out model
+     * @param changedFields the fields changed since the last execution
+     * @param context context
+     * @param <C> context type
+     * @return context
+     */
+    public <C extends Context> C executeIncremental(FieldModel inModel, FieldModel outModel,
+                    Set<FieldId> changedFields, C context) {
+        return incrementalExecutor().executeOn(inModel, outModel, changedFields, context);
+    }
+
+    IncrementalMappingExecutor incrementalExecutor() {
+        IncrementalMappingExecutor incremental = incrementalExecutor;
+        if (incremental == null) {
+            incrementalExecutor = incremental = new IncrementalMappingExecutor(mappingRules);
+        }
+        return incremental;
+    }
+
     @Override
     public Stream<MappingRule> stream() {
         return mappingRules.stream();
@@ -28,6 +28,15 @@ public class NaryConverterInput<T> extends AbstractDSLBuilder implements Mapping
         this.converter = converter;
     }
 
+    @SuppressWarnings("unchecked")
+    List<DslField<?>> fields() {
+        return (List<DslField<?>>) (List<?>) fields;
+    }
+
+    NaryTypeConverter<T> converter() {
+        return converter;
+    }
+
     @Override
     public boolean validate(FieldModel inModel) {
         return fields.stream().allMatch(f -> inModel.getFieldIds().contains(f.id()));
@@ -0,0 +1,333 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.mapping;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import io.doov.core.*;
+import io.doov.core.dsl.lang.Context;
+import io.doov.core.dsl.lang.MappingRule;
+import io.doov.core.dsl.meta.Metadata;
+import io.doov.core.serial.TypeAdapterRegistry;
+
+/**
+ * Executes the rules of a mapping registry level by level, see {@link MappingRegistry#executeParallel}.
+ * <p>
+ * The rules are sorted in levels of a dependency graph built from their {@link MappingDependencies}: a rule is in a
+ * level after the rules before it that write a field it reads (read after write) or a field it writes (write after
+ * write), and in a level not before the rules before it that read a field it writes (write after read). The written
+ * fields include the siblings of the output fields. A rule with unknown dependencies, such as a rule with a
+ * context-aware converter, is alone in its level, after all the rules before it, and before all the rules after it. The
+ * rules of a level are executed concurrently, each one writes in its own buffer model and records its calls to the
+ * context, then the buffers and the context calls are applied in registry order, so that the output model and the
+ * context are the same as with a sequential execution. A write after read can share the level of the read: a rule reads
+ * the output model as it is at the start of its level plus its own writes, and the writes of the later rules of its
+ * level are applied after it. A level of a single rule is executed directly on the models.
+ */
+final class ParallelMappingExecutor {
+
+    private final List<List<MappingRule>> levels;
+
+    ParallelMappingExecutor(List<MappingRule> rules) {
+        final int[] ruleLevels = levels(rules.stream().map(MappingDependencies::of)
+                .toArray(MappingDependencies[]::new));
+        final List<List<MappingRule>> levels = new ArrayList<>();
+        for (int i = 0; i < ruleLevels.length; i++) {
+            while (levels.size() <= ruleLevels[i]) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(ruleLevels[i]).add(rules.get(i));
+        }
+        this.levels = levels;
+    }
+
+    /**
+     * Returns the level of each rule in the dependency graph, in registry order.
+     *
+     * @param dependencies the dependencies of the rules
+     * @return the levels, from 0
+     */
+    static int[] levels(MappingDependencies[] dependencies) {
+        final int[] levels = new int[dependencies.length];
+        // the level of the last rule writing each field, which is the highest level writing the field
+        final Map<FieldId, Integer> writers = new HashMap<>();
+        // the highest level reading each field
+        final Map<FieldId, Integer> readers = new HashMap<>();
+        int barrier = -1;
+        int maxLevel = -1;
+        for (int i = 0; i < dependencies.length; i++) {
+            final MappingDependencies rule = dependencies[i];
+            int level;
+            if (rule.isUnknown()) {
+                level = maxLevel + 1;
+                barrier = level;
+            } else {
+                level = barrier + 1;
+                for (FieldId read : rule.reads()) {
+                    level = Math.max(level, writers.getOrDefault(read, -1) + 1);
+                }
+                for (FieldId write : rule.writes()) {
+                    level = Math.max(level, writers.getOrDefault(write, -1) + 1);
+                    level = Math.max(level, readers.getOrDefault(write, -1));
+                }
+                for (FieldId read : rule.reads()) {
+                    readers.merge(read, level, Math::max);
+                }
+                for (FieldId write : rule.writes()) {
+                    writers.put(write, level);
+                }
+            }
+            levels[i] = level;
+            maxLevel = Math.max(maxLevel, level);
+        }
+        return levels;
+    }
+
+    /**
+     * Returns the number of levels.
+     */
+    int levelCount() {
+        return levels.size();
+    }
+
+    <C extends Context> C executeOn(FieldModel inModel, FieldModel outModel, C context, Executor executor) {
+        for (List<MappingRule> level : levels) {
+            if (level.size() == 1) {
+                level.get(0).executeOn(inModel, outModel, context);
+            } else {
+                executeLevel(level, inModel, outModel, context, executor);
+            }
+        }
+        return context;
+    }
+
+    private static void executeLevel(List<MappingRule> level, FieldModel inModel, FieldModel outModel,
+            Context context, Executor executor) {
+        final int size = level.size();
+        final BufferModel[] buffers = new BufferModel[size];
+        final RecordingContext[] contexts = new RecordingContext[size];
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buffers[i] = new BufferModel(outModel);
+            contexts[i] = new RecordingContext(context);
+            final MappingRule rule = level.get(i);
+            final FieldModel in = inModel == outModel ? buffers[i] : inModel;
+            final FieldModel out = buffers[i];
+            final Context recorder = contexts[i];
+            // the first rule is executed by the calling thread, once the others are submitted
+            tasks.add(i == 0 ? new CompletableFuture<>()
+                    : CompletableFuture.runAsync(() -> rule.executeOn(in, out, recorder), executor));
+        }
+        try {
+            level.get(0).executeOn(inModel == outModel ? buffers[0] : inModel, buffers[0], contexts[0]);
+            tasks.get(0).complete(null);
+        } catch (RuntimeException | Error e) {
+            tasks.get(0).completeExceptionally(e);
+        }
+        // wait for all the rules, so that none is still reading the models when this method returns
+        final Throwable[] failures = new Throwable[size];
+        for (int i = 0; i < size; i++) {
+            try {
+                tasks.get(i).join();
+            } catch (CompletionException e) {
+                failures[i] = e.getCause();
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (failures[i] instanceof RuntimeException) {
+                // as with a sequential execution, the rules after the failed one are not applied
+                throw (RuntimeException) failures[i];
+            } else if (failures[i] instanceof Error) {
+                throw (Error) failures[i];
+            }
+            buffers[i].applyTo(outModel);
+            contexts[i].replayOn(context);
+        }
+    }
+
+    /**
+     * Model that reads through to a target model and buffers the writes. The siblings of a written field read the
+     * written value, like in a {@link BaseFieldModel}, but only the field itself is applied to the target model, that
+     * updates its siblings.
+     */
+    private static final class BufferModel implements FieldModel {
+
+        private final FieldModel target;
+        private final List<FieldId> ids = new ArrayList<>();
+        private final List<Object> values = new ArrayList<>();
+        // the indexes of the sibling entries, that are not applied
+        private final BitSet siblings = new BitSet();
+
+        BufferModel(FieldModel target) {
+            this.target = target;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(FieldId fieldId) {
+            for (int i = ids.size() - 1; i >= 0; i--) {
+                if (ids.get(i) == fieldId) {
+                    return (T) values.get(i);
+                }
+            }
+            return target.get(fieldId);
+        }
+
+        @Override
+        public <T> void set(FieldId fieldId, T value) {
+            ids.add(fieldId);
+            values.add(value);
+            final FieldInfo info = target.info(fieldId);
+            if (info != null && info.siblings() != null) {
+                for (FieldId sibling : info.siblings()) {
+                    siblings.set(ids.size());
+                    ids.add(sibling);
+                    values.add(value);
+                }
+            }
+        }
+
+        void applyTo(FieldModel model) {
+            for (int i = 0; i < ids.size(); i++) {
+                if (!siblings.get(i)) {
+                    model.set(ids.get(i), values.get(i));
+                }
+            }
+        }
+
+        @Override
+        public FieldInfo info(FieldId id) {
+            return target.info(id);
+        }
+
+        @Override
+        public List<FieldInfo> getFieldInfos() {
+            return target.getFieldInfos();
+        }
+
+        @Override
+        public TypeAdapterRegistry getTypeAdapterRegistry() {
+            return target.getTypeAdapterRegistry();
+        }
+
+        @Override
+        public Iterator<Map.Entry<FieldId, Object>> iterator() {
+            return entries().iterator();
+        }
+
+        @Override
+        public Spliterator<Map.Entry<FieldId, Object>> spliterator() {
+            return entries().spliterator();
+        }
+
+        @Override
+        public Stream<Map.Entry<FieldId, Object>> stream() {
+            return entries().stream();
+        }
+
+        @Override
+        public Stream<Map.Entry<FieldId, Object>> parallelStream() {
+            return entries().parallelStream();
+        }
+
+        private List<Map.Entry<FieldId, Object>> entries() {
+            final List<FieldInfo> infos = getFieldInfos();
+            final List<Map.Entry<FieldId, Object>> entries = new ArrayList<>(infos.size());
+            for (FieldInfo info : infos) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(info.id(), get(info.id())));
+            }
+            return entries;
+        }
+
+    }
+
+    /**
+     * Context that records the calls made by a rule, to replay them on the target context in registry order. The
+     * queries see the target context as it is at the start of the level, plus the recorded calls.
+     */
+    private static final class RecordingContext implements Context {
+
+        private final Context target;
+        private final List<Consumer<Context>> calls = new ArrayList<>();
+        private final List<Metadata> evalTrue = new ArrayList<>();
+        private final List<Metadata> evalFalse = new ArrayList<>();
+        private final Map<FieldId, Object> values = new HashMap<>();
+
+        RecordingContext(Context target) {
+            this.target = target;
+        }
+
+        void replayOn(Context context) {
+            calls.forEach(call -> call.accept(context));
+        }
+
+        @Override
+        public Metadata getRootMetadata() {
+            return target.getRootMetadata();
+        }
+
+        @Override
+        public boolean isShortCircuit() {
+            return target.isShortCircuit();
+        }
+
+        @Override
+        public void addEvalFalse(Metadata metadata) {
+            evalFalse.add(metadata);
+            calls.add(context -> context.addEvalFalse(metadata));
+        }
+
+        @Override
+        public void addEvalTrue(Metadata metadata) {
+            evalTrue.add(metadata);
+            calls.add(context -> context.addEvalTrue(metadata));
+        }
+
+        @Override
+        public void addEvalValue(FieldId id, Object value) {
+            values.put(id, value);
+            calls.add(context -> context.addEvalValue(id, value));
+        }
+
+        @Override
+        public void addSetValue(FieldId id, Object value) {
+            values.put(id, value);
+            calls.add(context -> context.addSetValue(id, value));
+        }
+
+        @Override
+        public Object getEvalValue(FieldId id) {
+            return values.containsKey(id) ? values.get(id) : target.getEvalValue(id);
+        }
+
+        @Override
+        public boolean isEvalTrue(Metadata metadata) {
+            return evalTrue.contains(metadata) || target.isEvalTrue(metadata);
+        }
+
+        @Override
+        public boolean isEvalFalse(Metadata metadata) {
+            return evalFalse.contains(metadata) || target.isEvalFalse(metadata);
+        }
+
+        @Override
+        public List<Metadata> getEvalTrue() {
+            final List<Metadata> all = new ArrayList<>(target.getEvalTrue());
+            all.addAll(evalTrue);
+            return Collections.unmodifiableList(all);
+        }
+
+        @Override
+        public List<Metadata> getEvalFalse() {
+            final List<Metadata> all = new ArrayList<>(target.getEvalFalse());
+            all.addAll(evalFalse);
+            return Collections.unmodifiableList(all);
+        }
+
+    }
+
+}
@@ -20,6 +20,10 @@ public class StaticInput<T> extends AbstractDSLBuilder implements MappingInput<T
         this.metadata = MappingMetadata.valueInput(valueSupplier);
     }
 
+    Supplier<T> valueSupplier() {
+        return valueSupplier;
+    }
+
     @Override
     public boolean validate(FieldModel inModel) {
         return true;
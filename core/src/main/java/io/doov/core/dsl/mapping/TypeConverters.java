@@ -45,13 +45,14 @@ public class TypeConverters {
      * type converter throws {@code IllegalStateException} when no type adapters accepts to convert value.
      */
     public static <I> TypeConverter<I, String> asString(TypeAdapterRegistry typeAdapters) {
-        return new DefaultTypeConverter<>((context, i) ->
-                i.map(value -> typeAdapters.stream()
-                        .filter(t -> t.accept(value))
-                        .findFirst()
-                        .orElseThrow(() -> new IllegalStateException("cannot convert value " + value + " to string."))
-                        .toString(value))
-                        .orElse("null"), "as string");
+        return new DefaultTypeConverter<>(i ->
+                i.map(value -> {
+                    final TypeAdapter adapter = typeAdapters.adapterForValue(value);
+                    if (adapter == null) {
+                        throw new IllegalStateException("cannot convert value " + value + " to string.");
+                    }
+                    return adapter.toString(value);
+                }).orElse("null"), "as string");
     }
 
     /**
@@ -66,11 +67,11 @@ public class TypeConverters {
      */
     public static <O, T extends DslField<O> & FieldInfo> TypeConverter<String, O> fromString(T fieldInfo,
             TypeAdapterRegistry typeAdapters) {
-        final TypeAdapter adapter = typeAdapters.stream()
-                .filter(t -> t.accept(fieldInfo))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("cannot find type adapter for field " + fieldInfo.id()));
-        return new DefaultTypeConverter<>((context, i) ->
+        final TypeAdapter adapter = typeAdapters.adapterFor(fieldInfo);
+        if (adapter == null) {
+            throw new IllegalArgumentException("cannot find type adapter for field " + fieldInfo.id());
+        }
+        return new DefaultTypeConverter<>(i ->
                 i.map(value -> (O) adapter.fromString(fieldInfo, value))
                         .orElse(null), "from string");
     }
@@ -87,7 +88,7 @@ public class TypeConverters {
      */
     public static <I, O> TypeConverter<I, O> converter(Function<I, O> converter, O nullCase,
             String description) {
-        return new DefaultTypeConverter<>(i -> i.map(converter).orElse(nullCase), description);
+        return new DefaultTypeConverter<>(converter, nullCase, description);
     }
 
     // BiConverters
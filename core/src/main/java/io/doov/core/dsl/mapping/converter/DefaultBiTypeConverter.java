@@ -12,11 +12,18 @@ public class DefaultBiTypeConverter<I, J, O> extends AbstractDSLBuilder implemen
 
     private TriFunction<Context, Optional<I>, Optional<J>, O> function;
     private ConverterMetadata metadata;
+    private final boolean contextAware;
 
     public DefaultBiTypeConverter(TriFunction<Context, Optional<I>, Optional<J>, O> function,
                     ConverterMetadata metadata) {
+        this(function, metadata, true);
+    }
+
+    private DefaultBiTypeConverter(TriFunction<Context, Optional<I>, Optional<J>, O> function,
+                    ConverterMetadata metadata, boolean contextAware) {
         this.function = function;
         this.metadata = metadata;
+        this.contextAware = contextAware;
     }
 
     public DefaultBiTypeConverter(TriFunction<Context, Optional<I>, Optional<J>, O> converter, String description) {
@@ -24,7 +31,16 @@ public class DefaultBiTypeConverter<I, J, O> extends AbstractDSLBuilder implemen
     }
 
     public DefaultBiTypeConverter(BiFunction<Optional<I>, Optional<J>, O> function, String description) {
-        this((c, i, j) -> function.apply(i, j), description);
+        this((c, i, j) -> function.apply(i, j), ConverterMetadata.metadata(description), false);
+    }
+
+    /**
+     * Returns true if the converter function receives the context, and can read the values added to it.
+     *
+     * @return true if the converter is context-aware
+     */
+    public boolean isContextAware() {
+        return contextAware;
     }
 
     @Override
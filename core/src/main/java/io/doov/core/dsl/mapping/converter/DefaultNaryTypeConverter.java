@@ -14,11 +14,18 @@ public class DefaultNaryTypeConverter<O> extends AbstractDSLBuilder implements N
 
     private final TriFunction<DslModel, Context, List<DslField>, O> function;
     private final ConverterMetadata metadata;
+    private final boolean contextAware;
 
     public DefaultNaryTypeConverter(TriFunction<DslModel, Context, List<DslField>, O> function,
                     ConverterMetadata metadata) {
+        this(function, metadata, true);
+    }
+
+    private DefaultNaryTypeConverter(TriFunction<DslModel, Context, List<DslField>, O> function,
+                    ConverterMetadata metadata, boolean contextAware) {
         this.function = function;
         this.metadata = metadata;
+        this.contextAware = contextAware;
     }
 
     public DefaultNaryTypeConverter(TriFunction<DslModel, Context, List<DslField>, O> function, String description) {
@@ -26,7 +33,16 @@ public class DefaultNaryTypeConverter<O> extends AbstractDSLBuilder implements N
     }
 
     public DefaultNaryTypeConverter(BiFunction<DslModel, List<DslField>, O> function, String description) {
-        this((m, c, f) -> function.apply(m, f), description);
+        this((m, c, f) -> function.apply(m, f), ConverterMetadata.metadata(description), false);
+    }
+
+    /**
+     * Returns true if the converter function receives the context, and can read the values added to it.
+     *
+     * @return true if the converter is context-aware
+     */
+    public boolean isContextAware() {
+        return contextAware;
     }
 
     @Override
@@ -12,10 +12,12 @@ import io.doov.core.dsl.meta.Metadata;
 public class DefaultTypeConverter<I, O> extends AbstractDSLBuilder implements TypeConverter<I, O> {
 
     private static final TypeConverter<?, ?> IDENTITY = new DefaultTypeConverter<>((context, i) -> i.orElse(null),
-                    ConverterMetadata.identity());
+                    ConverterMetadata.identity(), null, false);
 
     private final BiFunction<Context, Optional<I>, O> function;
     private final ConverterMetadata metadata;
+    private final Function<I, O> nullSafeFunction;
+    private final boolean contextAware;
 
     @SuppressWarnings("unchecked")
     public static <T> TypeConverter<T, T> identity() {
@@ -23,8 +25,15 @@ public class DefaultTypeConverter<I, O> extends AbstractDSLBuilder implements Ty
     }
 
     public DefaultTypeConverter(BiFunction<Context, Optional<I>, O> function, ConverterMetadata metadata) {
+        this(function, metadata, null, true);
+    }
+
+    private DefaultTypeConverter(BiFunction<Context, Optional<I>, O> function, ConverterMetadata metadata,
+                    Function<I, O> nullSafeFunction, boolean contextAware) {
         this.function = function;
         this.metadata = metadata;
+        this.nullSafeFunction = nullSafeFunction;
+        this.contextAware = contextAware;
     }
 
     public DefaultTypeConverter(BiFunction<Context, Optional<I>, O> function, String description) {
@@ -32,7 +41,37 @@ public class DefaultTypeConverter<I, O> extends AbstractDSLBuilder implements Ty
     }
 
     public DefaultTypeConverter(Function<Optional<I>, O> function, String description) {
-        this((context, i) -> function.apply(i), description);
+        this((context, i) -> function.apply(i), ConverterMetadata.metadata(description), null, false);
+    }
+
+    /**
+     * Creates a converter that returns the null case when the input or the converted value is null. The input is not
+     * wrapped in an {@link Optional}.
+     *
+     * @param function the function applied to a non null input
+     * @param nullCase the value returned when the input or the converted value is null
+     * @param description the description
+     */
+    public DefaultTypeConverter(Function<I, O> function, O nullCase, String description) {
+        this.function = (context, i) -> i.map(function).orElse(nullCase);
+        this.metadata = ConverterMetadata.metadata(description);
+        this.nullSafeFunction = input -> {
+            if (input == null) {
+                return nullCase;
+            }
+            final O value = function.apply(input);
+            return value == null ? nullCase : value;
+        };
+        this.contextAware = false;
+    }
+
+    /**
+     * Returns true if the converter function receives the context, and can read the values added to it.
+     *
+     * @return true if the converter is context-aware
+     */
+    public boolean isContextAware() {
+        return contextAware;
     }
 
     @Override
@@ -42,6 +81,9 @@ public class DefaultTypeConverter<I, O> extends AbstractDSLBuilder implements Ty
 
     @Override
     public O convert(DslModel fieldModel, Context context, I input) {
+        if (nullSafeFunction != null) {
+            return nullSafeFunction.apply(input);
+        }
         return function.apply(context, Optional.ofNullable(input));
     }
 }
@@ -38,6 +38,7 @@ public enum DefaultOperator implements Operator {
     before("before"), //
     before_or_equals("before or equals"), //
     matches("matches"), //
+    find("contains pattern"), //
     contains("contains"), //
     starts_with("starts with"), //
     ends_with("ends with"), //
@@ -86,7 +86,7 @@ public class LeafMetadata<M extends LeafMetadata<M>> extends AbstractMetadata {
     }
 
     public M valueSupplier(Supplier<?> readable) {
-        return add(readable == null ? null : new Element(() -> String.valueOf(readable.get()), VALUE));
+        return add(readable == null ? null : new Element(new SupplierReadable(readable), VALUE));
     }
 
     public M valueUnknown(String readable) {
@@ -117,4 +117,21 @@ public class LeafMetadata<M extends LeafMetadata<M>> extends AbstractMetadata {
     private static String formatListObject(Collection<?> readables) {
         return readables.stream().map(Object::toString).collect(COLLECTOR_LIST);
     }
+
+    /**
+     * Readable of a value given by a supplier, the supplier is called each time the value is read.
+     */
+    public static final class SupplierReadable implements Readable {
+        private final Supplier<?> supplier;
+
+        SupplierReadable(Supplier<?> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public String readable() {
+            return String.valueOf(supplier.get());
+        }
+    }
+
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.meta;
+
+import java.util.*;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.DslField;
+import io.doov.core.dsl.meta.predicate.PredicateMetadata;
+
+/**
+ * Dense index of the predicate nodes and of the fields of a metadata tree, built once when a rule is built, see
+ * {@link io.doov.core.dsl.impl.ArrayContext}.
+ * <p>
+ * The predicate nodes are indexed in post-order, children before parents and from left to right, that is the order
+ * in which a short-circuit evaluation completes them. A node shared by several rules has an index in each of them.
+ */
+public final class MetadataIndex {
+
+    private final Map<Metadata, Integer> indexes = new IdentityHashMap<>();
+    private final List<Metadata> nodes = new ArrayList<>();
+    private final Map<FieldId, Integer> fieldIndexes = new HashMap<>();
+
+    private MetadataIndex(Metadata root) {
+        if (root != null) {
+            indexNodes(root);
+            for (Element element : root.flatten()) {
+                if (element.getReadable() instanceof DslField) {
+                    final FieldId id = ((DslField<?>) element.getReadable()).id();
+                    if (id != null) {
+                        fieldIndexes.putIfAbsent(id, fieldIndexes.size());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the given metadata tree.
+     *
+     * @param root the root of the tree
+     * @return the index
+     */
+    public static MetadataIndex of(Metadata root) {
+        return new MetadataIndex(root);
+    }
+
+    private void indexNodes(Metadata metadata) {
+        metadata.children().forEach(this::indexNodes);
+        if (metadata instanceof PredicateMetadata && !indexes.containsKey(metadata)) {
+            indexes.put(metadata, nodes.size());
+            nodes.add(metadata);
+        }
+    }
+
+    /**
+     * Returns the number of indexed predicate nodes.
+     *
+     * @return the size
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Returns the index of the given node, or -1 if the node is not in the tree.
+     *
+     * @param metadata the node
+     * @return the index
+     */
+    public int indexOf(Metadata metadata) {
+        final Integer index = indexes.get(metadata);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the node at the given index.
+     *
+     * @param index the index
+     * @return the node
+     */
+    public Metadata get(int index) {
+        return nodes.get(index);
+    }
+
+    /**
+     * Returns the number of indexed fields.
+     *
+     * @return the field count
+     */
+    public int fieldCount() {
+        return fieldIndexes.size();
+    }
+
+    /**
+     * Returns the index of the given field, or -1 if the field is not in the tree.
+     *
+     * @param id the field id
+     * @return the index
+     */
+    public int fieldIndexOf(FieldId id) {
+        final Integer index = fieldIndexes.get(id);
+        return index == null ? -1 : index;
+    }
+
+}
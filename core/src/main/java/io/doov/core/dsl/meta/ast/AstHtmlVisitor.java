@@ -115,12 +115,11 @@ public class AstHtmlVisitor extends AbstractAstVisitor {
     }
 
     private String exclusionBar(PredicateMetadata metadata, ExclusionBar cssClass) {
-        final int nbTrue = metadata.trueEvalCount();
-        final int nbFalse = metadata.falseEvalCount();
-        if (nbTrue == 0 && nbFalse == 0) {
+        final EvalStatistics.Snapshot statistics = metadata.statistics().snapshot();
+        if (statistics.isEmpty()) {
             return formatExclusionBar(cssClass);
         }
-        final double percentage = floor((nbTrue / ((double) nbTrue + nbFalse)) * 1000) / 10.0;
+        final double percentage = floor((statistics.trueCount() / (double) statistics.total()) * 1000) / 10.0;
         return formatExclusionBar(cssClass, percentage);
     }
 
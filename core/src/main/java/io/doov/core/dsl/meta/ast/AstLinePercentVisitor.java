@@ -59,13 +59,11 @@ public class AstLinePercentVisitor extends AstLineVisitor {
     }
 
     private String percentage(PredicateMetadata metadata) {
-        int t = metadata.trueEvalCount();
-        int f = metadata.falseEvalCount();
-
-        if (f == 0 && t == 0) {
+        final EvalStatistics.Snapshot statistics = metadata.statistics().snapshot();
+        if (statistics.isEmpty()) {
             return "[n/a]";
         } else {
-            return "[" + formatter.format((t / ((double) t + f)) * 100) + "]";
+            return "[" + formatter.format((statistics.trueCount() / (double) statistics.total()) * 100) + "]";
         }
     }
 }
@@ -6,6 +6,7 @@ package io.doov.core.dsl.meta.function;
 import static io.doov.core.dsl.meta.DefaultOperator.*;
 import static io.doov.core.dsl.meta.MetadataType.FIELD_PREDICATE;
 
+import io.doov.core.dsl.impl.DefaultCondition;
 import io.doov.core.dsl.meta.Metadata;
 import io.doov.core.dsl.meta.MetadataType;
 import io.doov.core.dsl.meta.predicate.LeafPredicateMetadata;
@@ -24,6 +25,14 @@ public class StringFunctionMetadata extends LeafPredicateMetadata<StringFunction
         return new StringFunctionMetadata(metadata, FIELD_PREDICATE).operator(matches).valueString(value);
     }
 
+    public static StringFunctionMetadata matchesMetadata(Metadata metadata, DefaultCondition<?> value) {
+        return new StringFunctionMetadata(metadata, FIELD_PREDICATE).operator(matches).valueCondition(value);
+    }
+
+    public static StringFunctionMetadata findMetadata(Metadata metadata, String value) {
+        return new StringFunctionMetadata(metadata, FIELD_PREDICATE).operator(find).valueString(value);
+    }
+
     public static StringFunctionMetadata containsMetadata(Metadata metadata, String value) {
         return new StringFunctionMetadata(metadata, FIELD_PREDICATE).operator(contains).valueString(value);
     }
@@ -8,7 +8,6 @@ import static io.doov.core.dsl.meta.ElementType.TEMPORAL_UNIT;
 import static io.doov.core.dsl.meta.MetadataType.FIELD_PREDICATE;
 import static io.doov.core.dsl.meta.MetadataType.LEAF_PREDICATE;
 
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import io.doov.core.dsl.DslField;
@@ -17,9 +16,6 @@ import io.doov.core.dsl.meta.*;
 import io.doov.core.dsl.meta.predicate.LeafPredicateMetadata;
 
 public class TemporalFunctionMetadata extends LeafPredicateMetadata<TemporalFunctionMetadata> {
-    private final AtomicInteger evalTrue = new AtomicInteger();
-    private final AtomicInteger evalFalse = new AtomicInteger();
-
     public TemporalFunctionMetadata(MetadataType type) {
         super(type);
     }
@@ -28,16 +24,6 @@ public class TemporalFunctionMetadata extends LeafPredicateMetadata<TemporalFunc
         super(metadata, type);
     }
 
-    @Override
-    public AtomicInteger evalTrue() {
-        return evalTrue;
-    }
-
-    @Override
-    public AtomicInteger evalFalse() {
-        return evalFalse;
-    }
-
     // minus
 
     public static TemporalFunctionMetadata minusMetadata(Metadata metadata, int value, Object unit) {
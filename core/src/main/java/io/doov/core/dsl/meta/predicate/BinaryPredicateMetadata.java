@@ -17,28 +17,20 @@ import static io.doov.core.dsl.meta.DefaultOperator.count;
 import static io.doov.core.dsl.meta.DefaultOperator.or;
 import static io.doov.core.dsl.meta.MetadataType.NARY_PREDICATE;
 
-import java.util.concurrent.atomic.AtomicInteger;
-
 import io.doov.core.dsl.lang.Context;
 import io.doov.core.dsl.lang.ReduceType;
 import io.doov.core.dsl.meta.*;
 
 public class BinaryPredicateMetadata extends BinaryMetadata implements PredicateMetadata {
-    private final AtomicInteger evalTrue = new AtomicInteger();
-    private final AtomicInteger evalFalse = new AtomicInteger();
+    private final EvalStatistics statistics = new EvalStatistics();
 
     BinaryPredicateMetadata(Metadata left, Operator operator, Metadata right) {
         super(left, operator, right);
     }
 
     @Override
-    public AtomicInteger evalTrue() {
-        return evalTrue;
-    }
-
-    @Override
-    public AtomicInteger evalFalse() {
-        return evalFalse;
+    public EvalStatistics statistics() {
+        return statistics;
     }
 
     public static BinaryPredicateMetadata andMetadata(Metadata left, Metadata right) {
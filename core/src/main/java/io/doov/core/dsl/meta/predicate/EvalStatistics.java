@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.meta.predicate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluation statistics of a predicate node, see {@link PredicateMetadata#statistics()}.
+ * <p>
+ * The counters are striped {@link LongAdder}, so that concurrent evaluations of a shared rule don't contend on a
+ * single cache line. The statistics can be disabled or sampled globally with {@link #setSampling(int)}: with a
+ * sampling of n, one evaluation out of n (chosen at random) is counted, the counts are then approximate but the
+ * percentages stay meaningful.
+ */
+public final class EvalStatistics {
+
+    private static volatile int sampling = 1;
+
+    private final LongAdder evalTrue = new LongAdder();
+    private final LongAdder evalFalse = new LongAdder();
+
+    /**
+     * Sets the sampling of all the statistics: 0 disables the statistics, 1 counts every evaluation (the default), n
+     * counts one evaluation out of n.
+     *
+     * @param sampling the sampling
+     */
+    public static void setSampling(int sampling) {
+        if (sampling < 0) {
+            throw new IllegalArgumentException("negative sampling " + sampling);
+        }
+        EvalStatistics.sampling = sampling;
+    }
+
+    /**
+     * Returns the sampling of all the statistics, see {@link #setSampling(int)}.
+     *
+     * @return the sampling
+     */
+    public static int getSampling() {
+        return sampling;
+    }
+
+    /**
+     * Disables all the statistics, see {@link #setSampling(int)}.
+     */
+    public static void disable() {
+        setSampling(0);
+    }
+
+    private static boolean sampled() {
+        final int sampling = EvalStatistics.sampling;
+        return sampling == 1 || sampling > 1 && ThreadLocalRandom.current().nextInt(sampling) == 0;
+    }
+
+    public void incTrue() {
+        if (sampled()) {
+            evalTrue.increment();
+        }
+    }
+
+    public void incFalse() {
+        if (sampled()) {
+            evalFalse.increment();
+        }
+    }
+
+    public long trueCount() {
+        return evalTrue.sum();
+    }
+
+    public long falseCount() {
+        return evalFalse.sum();
+    }
+
+    public void reset() {
+        evalTrue.reset();
+        evalFalse.reset();
+    }
+
+    /**
+     * Returns a snapshot of the counters. The snapshot isn't atomic with respect to concurrent evaluations.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(evalTrue.sum(), evalFalse.sum());
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * Immutable snapshot of the evaluation statistics of a predicate node.
+     */
+    public static final class Snapshot {
+        private final long trueCount;
+        private final long falseCount;
+
+        Snapshot(long trueCount, long falseCount) {
+            this.trueCount = trueCount;
+            this.falseCount = falseCount;
+        }
+
+        public long trueCount() {
+            return trueCount;
+        }
+
+        public long falseCount() {
+            return falseCount;
+        }
+
+        public long total() {
+            return trueCount + falseCount;
+        }
+
+        public boolean isEmpty() {
+            return total() == 0;
+        }
+
+        /**
+         * Returns the percentage of true evaluations, between 0 and 100, or {@link Double#NaN} if the node was never
+         * evaluated.
+         *
+         * @return the percentage
+         */
+        public double truePercentage() {
+            return isEmpty() ? Double.NaN : trueCount * 100.0 / total();
+        }
+
+        @Override
+        public String toString() {
+            return "true=" + trueCount + ", false=" + falseCount;
+        }
+    }
+
+}
@@ -20,7 +20,6 @@ import static io.doov.core.dsl.meta.MetadataType.FIELD_PREDICATE_MATCH_ANY;
 import static io.doov.core.dsl.meta.MetadataType.LEAF_PREDICATE;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import io.doov.core.dsl.DslField;
@@ -31,8 +30,7 @@ import io.doov.core.dsl.meta.*;
 
 public class LeafPredicateMetadata<M extends LeafPredicateMetadata<M>> extends LeafMetadata<M>
         implements PredicateMetadata {
-    private final AtomicInteger evalTrue = new AtomicInteger();
-    private final AtomicInteger evalFalse = new AtomicInteger();
+    private final EvalStatistics statistics = new EvalStatistics();
 
     private LeafPredicateMetadata(Deque<Element> elements, MetadataType type) {
         super(elements, type);
@@ -51,13 +49,8 @@ public class LeafPredicateMetadata<M extends LeafPredicateMetadata<M>> extends L
     }
 
     @Override
-    public AtomicInteger evalTrue() {
-        return evalTrue;
-    }
-
-    @Override
-    public AtomicInteger evalFalse() {
-        return evalFalse;
+    public EvalStatistics statistics() {
+        return statistics;
     }
 
     @Override
@@ -28,7 +28,6 @@ import static java.util.stream.Collectors.toList;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import io.doov.core.dsl.DslField;
@@ -44,21 +43,15 @@ import io.doov.core.dsl.meta.Operator;
 
 public class NaryPredicateMetadata extends NaryMetadata implements PredicateMetadata {
 
-    private final AtomicInteger evalTrue = new AtomicInteger();
-    private final AtomicInteger evalFalse = new AtomicInteger();
+    private final EvalStatistics statistics = new EvalStatistics();
 
     private NaryPredicateMetadata(Operator operator, List<Metadata> values) {
         super(operator, values);
     }
 
     @Override
-    public AtomicInteger evalTrue() {
-        return evalTrue;
-    }
-
-    @Override
-    public AtomicInteger evalFalse() {
-        return evalFalse;
+    public EvalStatistics statistics() {
+        return statistics;
     }
 
     public static NaryPredicateMetadata matchAnyMetadata(List<Metadata> values) {
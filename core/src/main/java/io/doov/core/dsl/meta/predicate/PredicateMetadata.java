@@ -10,9 +10,12 @@ import io.doov.core.dsl.meta.Metadata;
 
 public interface PredicateMetadata extends Metadata {
 
-    AtomicInteger evalTrue();
-
-    AtomicInteger evalFalse();
+    /**
+     * Returns the evaluation statistics of this node.
+     *
+     * @return the statistics
+     */
+    EvalStatistics statistics();
 
     /**
      * Merges the node with the given node.
@@ -24,24 +27,73 @@ public interface PredicateMetadata extends Metadata {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns a copy of the number of evaluations to true.
+     *
+     * @return a new atomic integer, updating it doesn't change the statistics
+     * @deprecated use {@link #statistics()}, the counters are no longer atomic integers
+     */
+    @Deprecated
+    default AtomicInteger evalTrue() {
+        return new AtomicInteger(trueEvalCount());
+    }
+
+    /**
+     * Returns a copy of the number of evaluations to false.
+     *
+     * @return a new atomic integer, updating it doesn't change the statistics
+     * @deprecated use {@link #statistics()}, the counters are no longer atomic integers
+     */
+    @Deprecated
+    default AtomicInteger evalFalse() {
+        return new AtomicInteger(falseEvalCount());
+    }
+
+    /**
+     * Counts an evaluation to true.
+     *
+     * @return the number of evaluations to true
+     * @deprecated use {@link EvalStatistics#incTrue()}, that doesn't sum the counter
+     */
+    @Deprecated
     default int incTrueEval() {
-        return evalTrue().incrementAndGet();
+        statistics().incTrue();
+        return trueEvalCount();
     }
 
+    /**
+     * Counts an evaluation to false.
+     *
+     * @return the number of evaluations to false
+     * @deprecated use {@link EvalStatistics#incFalse()}, that doesn't sum the counter
+     */
+    @Deprecated
     default int incFalseEval() {
-        return evalFalse().incrementAndGet();
+        statistics().incFalse();
+        return falseEvalCount();
     }
 
+    /**
+     * Returns the number of evaluations to true, or {@link Integer#MAX_VALUE} if it doesn't fit in an int, see
+     * {@link EvalStatistics#trueCount()}.
+     *
+     * @return the number of evaluations to true
+     */
     default int trueEvalCount() {
-        return evalTrue().get();
+        return (int) Math.min(Integer.MAX_VALUE, statistics().trueCount());
     }
 
+    /**
+     * Returns the number of evaluations to false, or {@link Integer#MAX_VALUE} if it doesn't fit in an int, see
+     * {@link EvalStatistics#falseCount()}.
+     *
+     * @return the number of evaluations to false
+     */
     default int falseEvalCount() {
-        return evalFalse().get();
+        return (int) Math.min(Integer.MAX_VALUE, statistics().falseCount());
     }
-    
+
     default void resetCounters() {
-        evalTrue().set(0);
-        evalFalse().set(0);
+        statistics().reset();
     }
 }
@@ -14,8 +14,6 @@ package io.doov.core.dsl.meta.predicate;
 
 import static io.doov.core.dsl.meta.DefaultOperator.not;
 
-import java.util.concurrent.atomic.AtomicInteger;
-
 import io.doov.core.dsl.lang.Context;
 import io.doov.core.dsl.lang.ReduceType;
 import io.doov.core.dsl.meta.Metadata;
@@ -23,21 +21,15 @@ import io.doov.core.dsl.meta.Operator;
 import io.doov.core.dsl.meta.UnaryMetadata;
 
 public class UnaryPredicateMetadata extends UnaryMetadata implements PredicateMetadata {
-    private final AtomicInteger evalTrue = new AtomicInteger();
-    private final AtomicInteger evalFalse = new AtomicInteger();
+    private final EvalStatistics statistics = new EvalStatistics();
 
     private UnaryPredicateMetadata(Operator operator, Metadata value) {
         super(operator, value);
     }
 
     @Override
-    public AtomicInteger evalTrue() {
-        return evalTrue;
-    }
-
-    @Override
-    public AtomicInteger evalFalse() {
-        return evalFalse;
+    public EvalStatistics statistics() {
+        return statistics;
     }
 
     public static UnaryPredicateMetadata notMetadata(Metadata value) {
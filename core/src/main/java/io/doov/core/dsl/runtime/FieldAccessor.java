@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.runtime;
+
+import java.util.List;
+
+/**
+ * Null-safe getter/setter of a {@link RuntimeField}, specialized on the length of its path. The links are held in
+ * final fields and the walk is unrolled, instead of iterating over the chain list, see
+ * {@link RuntimeField#compiled()}.
+ *
+ * @param <B> model entry type
+ * @param <R> field type
+ */
+abstract class FieldAccessor<B, R> {
+
+    abstract R get(B model);
+
+    abstract void set(B model, R value);
+
+    @SuppressWarnings("unchecked")
+    static <B, R> FieldAccessor<B, R> of(List<PathMethod<Object, Object>> chain, PathMethod<Object, R> lastLink) {
+        switch (chain.size()) {
+            case 0:
+                return new Direct<>(lastLink);
+            case 1:
+                return new Path1<>(chain.get(0), lastLink);
+            case 2:
+                return new Path2<>(chain.get(0), chain.get(1), lastLink);
+            case 3:
+                return new Path3<>(chain.get(0), chain.get(1), chain.get(2), lastLink);
+            default:
+                return new PathN<>(chain.toArray((PathMethod<Object, Object>[]) new PathMethod<?, ?>[0]), lastLink);
+        }
+    }
+
+    private static Object step(PathMethod<Object, Object> link, Object node, boolean create) {
+        final Object next = link.get(node);
+        if (next != null || !create) {
+            return next;
+        }
+        return link.create(node);
+    }
+
+    private static final class Direct<B, R> extends FieldAccessor<B, R> {
+        private final PathMethod<Object, R> last;
+
+        Direct(PathMethod<Object, R> last) {
+            this.last = last;
+        }
+
+        @Override
+        R get(B model) {
+            return model == null ? null : last.get(model);
+        }
+
+        @Override
+        void set(B model, R value) {
+            if (model != null) {
+                last.set(model, value);
+            }
+        }
+    }
+
+    private static final class Path1<B, R> extends FieldAccessor<B, R> {
+        private final PathMethod<Object, Object> link0;
+        private final PathMethod<Object, R> last;
+
+        Path1(PathMethod<Object, Object> link0, PathMethod<Object, R> last) {
+            this.link0 = link0;
+            this.last = last;
+        }
+
+        @Override
+        R get(B model) {
+            if (model == null) {
+                return null;
+            }
+            final Object node0 = link0.get(model);
+            return node0 == null ? null : last.get(node0);
+        }
+
+        @Override
+        void set(B model, R value) {
+            if (model == null) {
+                return;
+            }
+            final boolean create = value != null;
+            final Object node0 = step(link0, model, create);
+            if (node0 != null) {
+                last.set(node0, value);
+            }
+        }
+    }
+
+    private static final class Path2<B, R> extends FieldAccessor<B, R> {
+        private final PathMethod<Object, Object> link0;
+        private final PathMethod<Object, Object> link1;
+        private final PathMethod<Object, R> last;
+
+        Path2(PathMethod<Object, Object> link0, PathMethod<Object, Object> link1, PathMethod<Object, R> last) {
+            this.link0 = link0;
+            this.link1 = link1;
+            this.last = last;
+        }
+
+        @Override
+        R get(B model) {
+            if (model == null) {
+                return null;
+            }
+            final Object node0 = link0.get(model);
+            if (node0 == null) {
+                return null;
+            }
+            final Object node1 = link1.get(node0);
+            return node1 == null ? null : last.get(node1);
+        }
+
+        @Override
+        void set(B model, R value) {
+            if (model == null) {
+                return;
+            }
+            final boolean create = value != null;
+            final Object node0 = step(link0, model, create);
+            if (node0 == null) {
+                return;
+            }
+            final Object node1 = step(link1, node0, create);
+            if (node1 != null) {
+                last.set(node1, value);
+            }
+        }
+    }
+
+    private static final class Path3<B, R> extends FieldAccessor<B, R> {
+        private final PathMethod<Object, Object> link0;
+        private final PathMethod<Object, Object> link1;
+        private final PathMethod<Object, Object> link2;
+        private final PathMethod<Object, R> last;
+
+        Path3(PathMethod<Object, Object> link0, PathMethod<Object, Object> link1, PathMethod<Object, Object> link2,
+                PathMethod<Object, R> last) {
+            this.link0 = link0;
+            this.link1 = link1;
+            this.link2 = link2;
+            this.last = last;
+        }
+
+        @Override
+        R get(B model) {
+            if (model == null) {
+                return null;
+            }
+            final Object node0 = link0.get(model);
+            if (node0 == null) {
+                return null;
+            }
+            final Object node1 = link1.get(node0);
+            if (node1 == null) {
+                return null;
+            }
+            final Object node2 = link2.get(node1);
+            return node2 == null ? null : last.get(node2);
+        }
+
+        @Override
+        void set(B model, R value) {
+            if (model == null) {
+                return;
+            }
+            final boolean create = value != null;
+            final Object node0 = step(link0, model, create);
+            if (node0 == null) {
+                return;
+            }
+            final Object node1 = step(link1, node0, create);
+            if (node1 == null) {
+                return;
+            }
+            final Object node2 = step(link2, node1, create);
+            if (node2 != null) {
+                last.set(node2, value);
+            }
+        }
+    }
+
+    private static final class PathN<B, R> extends FieldAccessor<B, R> {
+        private final PathMethod<Object, Object>[] links;
+        private final PathMethod<Object, R> last;
+
+        PathN(PathMethod<Object, Object>[] links, PathMethod<Object, R> last) {
+            this.links = links;
+            this.last = last;
+        }
+
+        @Override
+        R get(B model) {
+            Object node = model;
+            for (int i = 0; node != null && i < links.length; i++) {
+                node = links[i].get(node);
+            }
+            return node == null ? null : last.get(node);
+        }
+
+        @Override
+        void set(B model, R value) {
+            final boolean create = value != null;
+            Object node = model;
+            for (int i = 0; node != null && i < links.length; i++) {
+                node = step(links[i], node, create);
+            }
+            if (node != null) {
+                last.set(node, value);
+            }
+        }
+    }
+
+}
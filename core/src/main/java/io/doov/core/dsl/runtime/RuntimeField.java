@@ -31,6 +31,7 @@ public class RuntimeField<B, R> implements DslField<R>, FieldInfo, Function<B, R
     private boolean isCodeLookup;
     private boolean isCodeValuable;
     private boolean isTransient;
+    private final FieldAccessor<B, R> accessor;
 
     public RuntimeField(List<PathMethod<Object, Object>> chain,
                     PathMethod<Object, R> lastLink,
@@ -50,6 +51,39 @@ public class RuntimeField<B, R> implements DslField<R>, FieldInfo, Function<B, R
         this.isCodeLookup = CodeLookup.class.isAssignableFrom(type);
         this.isCodeValuable = CodeValuable.class.isAssignableFrom(type);
         this.isTransient = isTransient;
+        this.accessor = null;
+    }
+
+    private RuntimeField(RuntimeField<B, R> field, FieldAccessor<B, R> accessor) {
+        this.chain = field.chain;
+        this.lastLink = field.lastLink;
+        this.id = field.id;
+        this.readable = field.readable;
+        this.siblings = field.siblings;
+        this.type = field.type;
+        this.genericTypes = field.genericTypes;
+        this.isCodeLookup = field.isCodeLookup;
+        this.isCodeValuable = field.isCodeValuable;
+        this.isTransient = field.isTransient;
+        this.accessor = accessor;
+    }
+
+    /**
+     * Returns a copy of this field that reads and writes the model with an accessor specialized on the length of the
+     * path, instead of iterating over the chain of {@link PathMethod}s.
+     *
+     * @return the compiled field
+     * @see RuntimeFieldRegistry#RuntimeFieldRegistry(List, boolean)
+     */
+    public RuntimeField<B, R> compiled() {
+        if (accessor != null) {
+            return this;
+        }
+        return new RuntimeField<>(this, FieldAccessor.of(chain, lastLink));
+    }
+
+    public boolean isCompiled() {
+        return accessor != null;
     }
 
     @Override
@@ -73,6 +107,9 @@ public class RuntimeField<B, R> implements DslField<R>, FieldInfo, Function<B, R
     }
 
     public R get(B model) {
+        if (accessor != null) {
+            return accessor.get(model);
+        }
         if (model == null) {
             return null;
         }
@@ -92,6 +129,10 @@ public class RuntimeField<B, R> implements DslField<R>, FieldInfo, Function<B, R
     }
 
     public void set(B model, R value) {
+        if (accessor != null) {
+            accessor.set(model, value);
+            return;
+        }
         if (model == null) {
             return;
         }
@@ -11,37 +11,62 @@ import io.doov.core.FieldInfo;
 
 /**
  * Runtime field registry optimized for searching {@link RuntimeField}s via Enum {@link FieldId}s.
- * This implementation initializes a list of enum maps according to FieldId's of given list of RuntimeFields.
+ * Each registered field has a dense slot, its index in {@link #runtimeFields()}. The slots of the enum FieldId's are
+ * stored in one table indexed by the ordinal of the enum constant plus the offset of its enum class, so that
+ * {@link #slotOf(FieldId)} is a single array read once the enum class is found.
  *
  * @param <M> model entry type
  */
 public class RuntimeFieldRegistry<M> {
 
     private final List<RuntimeField<M, Object>> runtimeFields;
-    private final List<Class<?>> fieldIdTypes;
-    private final List<EnumMap<?, RuntimeField<M, Object>>> enumFieldMaps;
-    private final Map<FieldId, RuntimeField<M, Object>> nonEnumFieldMap;
+    private final RuntimeField<M, Object>[] fieldsBySlot;
+    private final Class<?>[] fieldIdTypes;
+    private final int[] fieldIdTypeOffsets;
+    private final int[] slotsByOrdinal;
+    private final Map<FieldId, Integer> nonEnumSlots;
 
-    @SuppressWarnings("unchecked")
     public RuntimeFieldRegistry(List<RuntimeField<M, Object>> runtimeFieldList) {
-        runtimeFields = new ArrayList<>();
-        fieldIdTypes = new ArrayList<>();
-        enumFieldMaps = new ArrayList<>();
-        nonEnumFieldMap = new HashMap<>();
-        runtimeFieldList.stream()
+        this(runtimeFieldList, false);
+    }
+
+    /**
+     * @param runtimeFieldList the runtime fields
+     * @param compileAccessors true to register the {@link RuntimeField#compiled()} copy of the fields, that walk their
+     *            path without iterating over the chain of path methods
+     */
+    @SuppressWarnings("unchecked")
+    public RuntimeFieldRegistry(List<RuntimeField<M, Object>> runtimeFieldList, boolean compileAccessors) {
+        runtimeFields = runtimeFieldList.stream()
+                        .map(r -> compileAccessors ? r.compiled() : r)
                         .sorted(comparing(r -> r.id().code()))
-                        .peek(runtimeFields::add)
-                        .collect(Collectors.groupingBy(r -> r.id().getClass()))
-                        .forEach((c, fields) -> {
-                            if (c.isEnum()) {
-                                fieldIdTypes.add(c);
-                                final EnumMap enumMap = new EnumMap(c);
-                                fields.forEach(f -> enumMap.put((Enum) f.id(), f));
-                                enumFieldMaps.add(enumMap);
-                            } else {
-                                fields.forEach(f -> nonEnumFieldMap.put(f.id(), f));
-                            }
-                        });
+                        .collect(Collectors.toList());
+        fieldsBySlot = runtimeFields.toArray((RuntimeField<M, Object>[]) new RuntimeField<?, ?>[0]);
+        final List<Class<?>> enumTypes = new ArrayList<>();
+        final List<Integer> enumOffsets = new ArrayList<>();
+        int tableSize = 0;
+        for (RuntimeField<M, Object> field : runtimeFields) {
+            final Class<?> type = field.id().getClass();
+            if (type.isEnum() && !enumTypes.contains(type)) {
+                enumTypes.add(type);
+                enumOffsets.add(tableSize);
+                tableSize += type.getEnumConstants().length;
+            }
+        }
+        fieldIdTypes = enumTypes.toArray(new Class<?>[0]);
+        fieldIdTypeOffsets = enumOffsets.stream().mapToInt(Integer::intValue).toArray();
+        slotsByOrdinal = new int[tableSize];
+        Arrays.fill(slotsByOrdinal, -1);
+        nonEnumSlots = new HashMap<>();
+        for (int slot = 0; slot < fieldsBySlot.length; slot++) {
+            final FieldId id = fieldsBySlot[slot].id();
+            final int typeIndex = enumTypes.indexOf(id.getClass());
+            if (typeIndex >= 0) {
+                slotsByOrdinal[fieldIdTypeOffsets[typeIndex] + ((Enum<?>) id).ordinal()] = slot;
+            } else {
+                nonEnumSlots.put(id, slot);
+            }
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -58,18 +83,44 @@ public class RuntimeFieldRegistry<M> {
     }
 
     public RuntimeField<M, Object> get(FieldId fieldId) {
-        int classIndex = -1;
-        for (int i = 0; i < fieldIdTypes.size(); i++) {
-            Class<?> type = fieldIdTypes.get(i);
-            if (fieldId.getClass() == type) {
-                classIndex = i;
-                break;
+        final int slot = slotOf(fieldId);
+        return slot < 0 ? null : fieldsBySlot[slot];
+    }
+
+    /**
+     * Returns the field at the given slot.
+     *
+     * @param slot the slot, see {@link #slotOf(FieldId)}
+     * @return the runtime field
+     * @throws ArrayIndexOutOfBoundsException if the slot is not in the registry
+     */
+    public RuntimeField<M, Object> get(int slot) {
+        return fieldsBySlot[slot];
+    }
+
+    /**
+     * Returns the dense slot of the field, that is its index in {@link #runtimeFields()}.
+     *
+     * @param fieldId the field id
+     * @return the slot, or -1 if the field is not in the registry
+     */
+    public int slotOf(FieldId fieldId) {
+        final Class<?> type = fieldId.getClass();
+        for (int i = 0; i < fieldIdTypes.length; i++) {
+            if (type == fieldIdTypes[i]) {
+                return slotsByOrdinal[fieldIdTypeOffsets[i] + ((Enum<?>) fieldId).ordinal()];
             }
         }
-        if (classIndex >= 0) {
-            return enumFieldMaps.get(classIndex).get(fieldId);
-        }
-        return nonEnumFieldMap.getOrDefault(fieldId, null);
+        return nonEnumSlots.getOrDefault(fieldId, -1);
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return the number of registered fields
+     */
+    public int size() {
+        return fieldsBySlot.length;
     }
 
 }
@@ -26,6 +26,10 @@ public class RuntimeModel<M> implements FieldModel {
         this.model = model;
     }
 
+    public M getModel() {
+        return model;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> T get(FieldId id) {
@@ -44,6 +48,40 @@ public class RuntimeModel<M> implements FieldModel {
         }
     }
 
+    /**
+     * Returns the value of the field at the given slot, without looking up the field id.
+     *
+     * @param slot the slot, see {@link #slotOf(FieldId)}
+     * @param <T> the field type
+     * @return the value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(int slot) {
+        return (T) fieldRegistry.get(slot).get(model);
+    }
+
+    /**
+     * Sets the value of the field at the given slot, without looking up the field id.
+     *
+     * @param slot the slot, see {@link #slotOf(FieldId)}
+     * @param value the value
+     * @param <T> the field type
+     */
+    public <T> void set(int slot, T value) {
+        fieldRegistry.get(slot).set(model, value);
+    }
+
+    /**
+     * Returns the slot of the field in the registry of this model.
+     *
+     * @param fieldId the field id
+     * @return the slot, or -1 if the field is not in the registry
+     * @see RuntimeFieldRegistry#slotOf(FieldId)
+     */
+    public int slotOf(FieldId fieldId) {
+        return fieldRegistry.slotOf(fieldId);
+    }
+
     @Override
     public Stream<Map.Entry<FieldId, Object>> stream() {
         return fieldRegistry.stream().map(e -> new SupplierEntry<>(e, model));
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.mapped;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.stream.Stream;
+
+import io.doov.core.*;
+import io.doov.core.mapped.Slot.*;
+import io.doov.core.serial.TypeAdapterRegistry;
+import io.doov.core.serial.TypeAdapters;
+
+/**
+ * {@link FieldModel} cursor on a record of {@link MappedRecords}. The values are decoded from the mapped bytes on
+ * each read and encoded on each write, the primitive getters such as {@link #getInt(FieldId, int)} don't box the
+ * values. A field that is not in the layout reads as null and its writes are ignored.
+ */
+public class MappedRecord implements FieldModel {
+
+    private final MappedRecords records;
+    private final RecordLayout layout;
+    private long index;
+    private ByteBuffer buffer;
+    private int position;
+
+    MappedRecord(MappedRecords records) {
+        this.records = records;
+        this.layout = records.layout();
+    }
+
+    public long index() {
+        return index;
+    }
+
+    /**
+     * Moves the cursor to the given record.
+     *
+     * @param index the index of the record
+     * @return this cursor
+     * @throws IndexOutOfBoundsException if the record is not in the file
+     */
+    public MappedRecord moveTo(long index) {
+        if (index < 0 || index >= records.size()) {
+            throw new IndexOutOfBoundsException("record " + index + ", size " + records.size());
+        }
+        this.index = index;
+        this.buffer = records.chunk(index);
+        this.position = records.position(index);
+        return this;
+    }
+
+    private boolean isNull(Slot slot) {
+        return (buffer.get(position + (slot.index() >>> 3)) & (1 << (slot.index() & 7))) == 0;
+    }
+
+    private void setPresent(Slot slot, boolean present) {
+        final int bitmap = position + (slot.index() >>> 3);
+        final int bit = 1 << (slot.index() & 7);
+        final byte bits = buffer.get(bitmap);
+        buffer.put(bitmap, (byte) (present ? bits | bit : bits & ~bit));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(FieldId fieldId) {
+        final Slot slot = layout.slot(fieldId);
+        if (slot == null || isNull(slot)) {
+            return null;
+        }
+        return (T) slot.get(buffer, position + slot.offset());
+    }
+
+    @Override
+    public <T> void set(FieldId fieldId, T value) {
+        final Slot slot = layout.slot(fieldId);
+        if (slot == null) {
+            return;
+        }
+        if (value != null) {
+            slot.put(buffer, position + slot.offset(), value);
+        }
+        setPresent(slot, value != null);
+    }
+
+    @Override
+    public int getInt(FieldId id, int nullValue) {
+        final Slot slot = layout.slot(id);
+        if (slot instanceof IntSlot) {
+            return isNull(slot) ? nullValue : buffer.getInt(position + slot.offset());
+        }
+        return FieldModel.super.getInt(id, nullValue);
+    }
+
+    @Override
+    public long getLong(FieldId id, long nullValue) {
+        final Slot slot = layout.slot(id);
+        if (slot instanceof LongSlot) {
+            return isNull(slot) ? nullValue : buffer.getLong(position + slot.offset());
+        }
+        return FieldModel.super.getLong(id, nullValue);
+    }
+
+    @Override
+    public double getDouble(FieldId id, double nullValue) {
+        final Slot slot = layout.slot(id);
+        if (slot instanceof DoubleSlot) {
+            return isNull(slot) ? nullValue : buffer.getDouble(position + slot.offset());
+        }
+        return FieldModel.super.getDouble(id, nullValue);
+    }
+
+    @Override
+    public boolean getBoolean(FieldId id, boolean nullValue) {
+        final Slot slot = layout.slot(id);
+        if (slot instanceof BooleanSlot) {
+            return isNull(slot) ? nullValue : buffer.get(position + slot.offset()) != 0;
+        }
+        return FieldModel.super.getBoolean(id, nullValue);
+    }
+
+    @Override
+    public FieldInfo info(FieldId id) {
+        final Slot slot = layout.slot(id);
+        return slot == null ? null : slot.info();
+    }
+
+    @Override
+    public List<FieldInfo> getFieldInfos() {
+        return layout.getFieldInfos();
+    }
+
+    @Override
+    public TypeAdapterRegistry getTypeAdapterRegistry() {
+        return TypeAdapters.INSTANCE;
+    }
+
+    @Override
+    public Iterator<Map.Entry<FieldId, Object>> iterator() {
+        return entries().iterator();
+    }
+
+    @Override
+    public Spliterator<Map.Entry<FieldId, Object>> spliterator() {
+        return entries().spliterator();
+    }
+
+    @Override
+    public Stream<Map.Entry<FieldId, Object>> stream() {
+        return entries().stream();
+    }
+
+    @Override
+    public Stream<Map.Entry<FieldId, Object>> parallelStream() {
+        return entries().parallelStream();
+    }
+
+    private List<Map.Entry<FieldId, Object>> entries() {
+        final List<FieldInfo> infos = layout.getFieldInfos();
+        final List<Map.Entry<FieldId, Object>> entries = new ArrayList<>(infos.size());
+        for (FieldInfo info : infos) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(info.id(), get(info.id())));
+        }
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        return "record " + index + " " + entries();
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.mapped;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * File of fixed width records, mapped in memory with {@link FileChannel#map}. The records stay off-heap: they are
+ * read and written in place through a {@link MappedRecord} cursor, a {@link io.doov.core.FieldModel} on which the
+ * validation and mapping rules run without deserializing the records.
+ *
+ * <pre>
+ * MappedRecords records = MappedRecords.open(file, new RecordLayout(fieldInfos));
+ * MappedRecord record = records.cursor(0);
+ * for (long i = 0; i &lt; records.size(); i++) {
+ *     rule.test(record.moveTo(i));
+ * }
+ * </pre>
+ *
+ * A mapping is limited to 2GB, so the file is mapped in several chunks holding a whole number of records. The
+ * records can be read concurrently with one cursor per thread.
+ */
+public class MappedRecords {
+
+    private final RecordLayout layout;
+    private final MappedByteBuffer[] chunks;
+    private final long recordsPerChunk;
+    private final long size;
+
+    private MappedRecords(RecordLayout layout, FileChannel channel, FileChannel.MapMode mode, long size)
+            throws IOException {
+        this.layout = layout;
+        this.size = size;
+        this.recordsPerChunk = Integer.MAX_VALUE / layout.recordSize();
+        this.chunks = new MappedByteBuffer[(int) ((size + recordsPerChunk - 1) / recordsPerChunk)];
+        for (int i = 0; i < chunks.length; i++) {
+            final long first = i * recordsPerChunk;
+            final long records = Math.min(recordsPerChunk, size - first);
+            chunks[i] = channel.map(mode, first * layout.recordSize(), records * layout.recordSize());
+        }
+    }
+
+    /**
+     * Creates or overwrites the file with the given number of records, all the fields of the records being null.
+     *
+     * @param file the file
+     * @param layout the record layout
+     * @param size the number of records
+     * @return the writable records
+     * @throws IOException if the file cannot be mapped
+     */
+    public static MappedRecords create(Path file, RecordLayout layout, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE)) {
+            channel.truncate(0);
+            return new MappedRecords(layout, channel, READ_WRITE, size);
+        }
+    }
+
+    /**
+     * Maps the records of an existing file in read only mode.
+     *
+     * @param file the file
+     * @param layout the record layout used to write the file
+     * @return the read only records
+     * @throws IOException if the file cannot be mapped
+     */
+    public static MappedRecords open(Path file, RecordLayout layout) throws IOException {
+        return open(file, layout, false);
+    }
+
+    /**
+     * Maps the records of an existing file.
+     *
+     * @param file the file
+     * @param layout the record layout used to write the file
+     * @param writable whether the records can be written
+     * @return the records
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalArgumentException if the file size is not a multiple of the record size
+     */
+    public static MappedRecords open(Path file, RecordLayout layout, boolean writable) throws IOException {
+        try (FileChannel channel = writable ? FileChannel.open(file, READ, WRITE) : FileChannel.open(file, READ)) {
+            final long length = channel.size();
+            if (length % layout.recordSize() != 0) {
+                throw new IllegalArgumentException("file size " + length + " is not a multiple of the record size "
+                        + layout.recordSize());
+            }
+            return new MappedRecords(layout, channel, writable ? READ_WRITE : READ_ONLY,
+                    length / layout.recordSize());
+        }
+    }
+
+    public RecordLayout layout() {
+        return layout;
+    }
+
+    /**
+     * Returns the number of records.
+     *
+     * @return the size
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns a cursor on the given record.
+     *
+     * @param index the index of the record
+     * @return the cursor
+     */
+    public MappedRecord cursor(long index) {
+        return new MappedRecord(this).moveTo(index);
+    }
+
+    /**
+     * Writes the modified records to the file.
+     */
+    public void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    MappedByteBuffer chunk(long index) {
+        return chunks[(int) (index / recordsPerChunk)];
+    }
+
+    int position(long index) {
+        return (int) (index % recordsPerChunk) * layout.recordSize();
+    }
+
+}
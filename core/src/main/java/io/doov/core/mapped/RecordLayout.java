@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.mapped;
+
+import java.util.*;
+
+import io.doov.core.FieldId;
+import io.doov.core.FieldInfo;
+
+/**
+ * Fixed width layout of a record, generated from a list of fields. A record starts with a null bitmap of one bit per
+ * field, followed by one slot per field in the order of the list, with a width chosen from the field type:
+ * <ul>
+ * <li>4 bytes for int, float and enum (ordinal) fields, 8 bytes for long and double fields,</li>
+ * <li>1 byte for boolean fields, 2 bytes for char fields,</li>
+ * <li>8 bytes for local date (epoch day) and local time (nano of day) fields, 16 bytes for local date time
+ * fields,</li>
+ * <li>2 bytes of length and the string width for the UTF-8 bytes of string fields.</li>
+ * </ul>
+ * The layout is not stored in the file, the same list of fields must be used to write and read a file.
+ */
+public class RecordLayout {
+
+    public static final int DEFAULT_STRING_WIDTH = 32;
+
+    private final List<FieldInfo> fieldInfos;
+    private final Map<FieldId, Slot> slots;
+    private final int recordSize;
+
+    public RecordLayout(List<FieldInfo> fieldInfos) {
+        this(fieldInfos, DEFAULT_STRING_WIDTH);
+    }
+
+    /**
+     * @param fieldInfos the fields of the records
+     * @param stringWidth the maximum length in bytes of the UTF-8 encoded string values
+     * @throws IllegalArgumentException if there is no field or if a field type has no fixed width encoding
+     */
+    public RecordLayout(List<FieldInfo> fieldInfos, int stringWidth) {
+        if (fieldInfos.isEmpty()) {
+            throw new IllegalArgumentException("no field");
+        }
+        if (stringWidth < 0 || stringWidth > 0xFFFF) {
+            throw new IllegalArgumentException("string width " + stringWidth);
+        }
+        this.fieldInfos = Collections.unmodifiableList(new ArrayList<>(fieldInfos));
+        this.slots = new HashMap<>();
+        int offset = (fieldInfos.size() + 7) >>> 3;
+        for (int i = 0; i < fieldInfos.size(); i++) {
+            final Slot slot = Slot.of(fieldInfos.get(i), i, offset, stringWidth);
+            slots.put(slot.info().id(), slot);
+            offset += slot.width();
+        }
+        this.recordSize = offset;
+    }
+
+    public List<FieldInfo> getFieldInfos() {
+        return fieldInfos;
+    }
+
+    /**
+     * Returns the size of a record in bytes, null bitmap included.
+     *
+     * @return the record size
+     */
+    public int recordSize() {
+        return recordSize;
+    }
+
+    Slot slot(FieldId id) {
+        return slots.get(id);
+    }
+
+}
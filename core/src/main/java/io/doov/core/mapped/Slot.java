@@ -0,0 +1,342 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.mapped;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+
+import io.doov.core.FieldInfo;
+
+/**
+ * Fixed width slot of a field in a record, that reads and writes the non-null values of the field at an absolute
+ * position of a buffer, see {@link RecordLayout}.
+ */
+abstract class Slot {
+
+    private final FieldInfo info;
+    private final int index;
+    private final int offset;
+
+    Slot(FieldInfo info, int index, int offset) {
+        this.info = info;
+        this.index = index;
+        this.offset = offset;
+    }
+
+    FieldInfo info() {
+        return info;
+    }
+
+    /**
+     * Returns the index of the field, which is also its bit in the null bitmap of the record.
+     */
+    int index() {
+        return index;
+    }
+
+    int offset() {
+        return offset;
+    }
+
+    abstract int width();
+
+    abstract Object get(ByteBuffer buffer, int position);
+
+    abstract void put(ByteBuffer buffer, int position, Object value);
+
+    /**
+     * Returns the slot for the type of the field.
+     *
+     * @throws IllegalArgumentException if the field type has no fixed width encoding
+     */
+    static Slot of(FieldInfo info, int index, int offset, int stringWidth) {
+        final Class<?> type = info.type();
+        if (type == Integer.class || type == Integer.TYPE) {
+            return new IntSlot(info, index, offset);
+        } else if (type == Long.class || type == Long.TYPE) {
+            return new LongSlot(info, index, offset);
+        } else if (type == Double.class || type == Double.TYPE) {
+            return new DoubleSlot(info, index, offset);
+        } else if (type == Float.class || type == Float.TYPE) {
+            return new FloatSlot(info, index, offset);
+        } else if (type == Boolean.class || type == Boolean.TYPE) {
+            return new BooleanSlot(info, index, offset);
+        } else if (type == Character.class || type == Character.TYPE) {
+            return new CharSlot(info, index, offset);
+        } else if (type == String.class) {
+            return new StringSlot(info, index, offset, stringWidth);
+        } else if (type.isEnum()) {
+            return new EnumSlot(info, index, offset);
+        } else if (type == LocalDate.class) {
+            return new LocalDateSlot(info, index, offset);
+        } else if (type == LocalTime.class) {
+            return new LocalTimeSlot(info, index, offset);
+        } else if (type == LocalDateTime.class) {
+            return new LocalDateTimeSlot(info, index, offset);
+        }
+        throw new IllegalArgumentException("no fixed width slot for field " + info.id().code() + " of type "
+                + type.getName());
+    }
+
+    static final class IntSlot extends Slot {
+        IntSlot(FieldInfo info, int index, int offset) {
+            super(info, index, offset);
+        }
+
+        @Override
+        int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        Object get(ByteBuffer buffer, int position) {
+            return buffer.getInt(position);
+        }
+
+        @Override
+        void put(ByteBuffer buffer, int position, Object value) {
+            buffer.putInt(position, (Integer) value);
+        }
+    }
+
+    static final class LongSlot extends Slot {
+        LongSlot(FieldInfo info, int index, int offset) {
+            super(info, index, offset);
+        }
+
+        @Override
+        int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        Object get(ByteBuffer buffer, int position) {
+            return buffer.getLong(position);
+        }
+
+        @Override
+        void put(ByteBuffer buffer, int position, Object value) {
+            buffer.putLong(position, (Long) value);
+        }
+    }
+
+    static final class DoubleSlot extends Slot {
+        DoubleSlot(FieldInfo info, int index, int offset) {
+            super(info, index, offset);
+        }
+
+        @Override
+        int width() {
+            return Double.BYTES;
+        }
+
+        @Override
+        Object get(ByteBuffer buffer, int position) {
+            return buffer.getDouble(position);
+        }
+
+        @Override
+        void put(ByteBuffer buffer, int position, Object value) {
+            buffer.putDouble(position, (Double) value);
+        }
+    }
+
+    static final class FloatSlot extends Slot {
+        FloatSlot(FieldInfo info, int index, int offset) {
+            super(info, index, offset);
+        }
+
+        @Override
+        int width() {
+            return Float.BYTES;
+        }
+
+        @Override
+        Object get(ByteBuffer buffer, int position) {
+            return buffer.getFloat(position);
+        }
+
+        @Override
+        void put(ByteBuffer buffer, int position, Object value) {
+            buffer.putFloat(position, (Float) value);
+        }
+    }
+
+    static final class BooleanSlot extends Slot {
+        BooleanSlot(FieldInfo info, int index, int offset) {
+            super(info, index, offset);
+        }
+
+        @Override
+        int width() {
+            return 1;
+        }
+
+        @Override
+        Object get(ByteBuffer buffer, int position) {
+            return buffer.get(position) != 0;
+        }
+
+        @Override
+        void put(ByteBuffer buffer, int position, Object value) {
+            buffer.put(position, (byte) ((Boolean) value ? 1 : 0));
+        }
+    }
+
+    static final class CharSlot extends Slot {
+        CharSlot(FieldInfo info, int index, int offset) {
+            super(info, index, offset);
+        }
+
+        @Override
+        int width() {
+            return Character.BYTES;
+        }
+
+        @Override
+        Object get(ByteBuffer buffer, int position) {
+            return buffer.getChar(position);
+        }
+
+        @Override
+        void put(ByteBuffer buffer, int position, Object value) {
+            buffer.putChar(position, (Character) value);
+        }
+    }
+
+    /**
+     * UTF-8 bytes of the string, prefixed by their length on 2 bytes.
+     */
+    static final class StringSlot extends Slot {
+        private final int maxBytes;
+
+        StringSlot(FieldInfo info, int index, int offset, int maxBytes) {
+            super(info, index, offset);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        int width() {
+            return Short.BYTES + maxBytes;
+        }
+
+        @Override
+        Object get(ByteBuffer buffer, int position) {
+            final int length = buffer.getShort(position) & 0xFFFF;
+            final byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(position + Short.BYTES + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        void put(ByteBuffer buffer, int position, Object value) {
+            final byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > maxBytes) {
+                throw new IllegalArgumentException("value of field " + info().id().code() + " is " + bytes.length
+                        + " bytes long, the slot width is " + maxBytes + " bytes");
+            }
+            buffer.putShort(position, (short) bytes.length);
+            for (int i = 0; i < bytes.length; i++) {
+                buffer.put(position + Short.BYTES + i, bytes[i]);
+            }
+        }
+    }
+
+    /**
+     * Ordinal of the enum constant.
+     */
+    static final class EnumSlot extends Slot {
+        private final Object[] constants;
+
+        EnumSlot(FieldInfo info, int index, int offset) {
+            super(info, index, offset);
+            this.constants = info.type().getEnumConstants();
+        }
+
+        @Override
+        int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        Object get(ByteBuffer buffer, int position) {
+            return constants[buffer.getInt(position)];
+        }
+
+        @Override
+        void put(ByteBuffer buffer, int position, Object value) {
+            buffer.putInt(position, ((Enum<?>) info().type().cast(value)).ordinal());
+        }
+    }
+
+    static final class LocalDateSlot extends Slot {
+        LocalDateSlot(FieldInfo info, int index, int offset) {
+            super(info, index, offset);
+        }
+
+        @Override
+        int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        Object get(ByteBuffer buffer, int position) {
+            return LocalDate.ofEpochDay(buffer.getLong(position));
+        }
+
+        @Override
+        void put(ByteBuffer buffer, int position, Object value) {
+            buffer.putLong(position, ((LocalDate) value).toEpochDay());
+        }
+    }
+
+    static final class LocalTimeSlot extends Slot {
+        LocalTimeSlot(FieldInfo info, int index, int offset) {
+            super(info, index, offset);
+        }
+
+        @Override
+        int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        Object get(ByteBuffer buffer, int position) {
+            return LocalTime.ofNanoOfDay(buffer.getLong(position));
+        }
+
+        @Override
+        void put(ByteBuffer buffer, int position, Object value) {
+            buffer.putLong(position, ((LocalTime) value).toNanoOfDay());
+        }
+    }
+
+    static final class LocalDateTimeSlot extends Slot {
+        LocalDateTimeSlot(FieldInfo info, int index, int offset) {
+            super(info, index, offset);
+        }
+
+        @Override
+        int width() {
+            return 2 * Long.BYTES;
+        }
+
+        @Override
+        Object get(ByteBuffer buffer, int position) {
+            return LocalDateTime.of(LocalDate.ofEpochDay(buffer.getLong(position)),
+                    LocalTime.ofNanoOfDay(buffer.getLong(position + Long.BYTES)));
+        }
+
+        @Override
+        void put(ByteBuffer buffer, int position, Object value) {
+            final LocalDateTime dateTime = (LocalDateTime) value;
+            buffer.putLong(position, dateTime.toLocalDate().toEpochDay());
+            buffer.putLong(position + Long.BYTES, dateTime.toLocalTime().toNanoOfDay());
+        }
+    }
+
+}
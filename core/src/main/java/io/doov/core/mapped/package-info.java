@@ -0,0 +1,4 @@
+/**
+ * Off-heap storage of fixed width records in memory-mapped files, see {@link io.doov.core.mapped.MappedRecords}.
+ */
+package io.doov.core.mapped;
@@ -0,0 +1,476 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.serial;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.*;
+import java.util.*;
+
+import io.doov.core.CodeValuable;
+import io.doov.core.FieldInfo;
+import io.doov.core.FieldModel;
+
+/**
+ * Compact binary codec of the snapshots of field models, for a given list of field infos. A record is, for each
+ * non-null field by increasing ordinal, the varint ordinal of the field in the list plus one, the type tag of the field
+ * and the value, followed by a zero:
+ * <ul>
+ * <li>the integers, longs, shorts, bytes and characters are zig-zag varints,</li>
+ * <li>the doubles and floats are their IEEE 754 bits,</li>
+ * <li>the booleans have no value, their tag is either {@code TRUE} or {@code FALSE},</li>
+ * <li>the strings are the varint length of their UTF-8 bytes followed by the bytes,</li>
+ * <li>the enums are their code, {@link CodeValuable#getCode()} or the name of the other enums, written as a string,
+ * so that the records don't depend on the declaration order of the constants nor on the constants added later,</li>
+ * <li>the local dates are the varint epoch day, the local times the varint nano of day and the local date times
+ * both,</li>
+ * <li>the other values are written as strings with the type adapter of their field.</li>
+ * </ul>
+ * The encoding of each field is resolved once, when the codec is created, from {@link FieldInfo#type()}. The codec
+ * writes to and reads from the buffer directly, the only objects created on reads are the values themselves.
+ *
+ * <pre>
+ * BinaryCodec codec = new BinaryCodec(model.getFieldInfos());
+ * codec.write(model, buffer);
+ * buffer.flip();
+ * codec.read(buffer, otherModel);
+ * </pre>
+ *
+ * The codec is immutable and can be shared between threads.
+ */
+public final class BinaryCodec {
+
+    private static final int END = 0;
+
+    private static final byte TAG_INT = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_DOUBLE = 3;
+    private static final byte TAG_FLOAT = 4;
+    private static final byte TAG_TRUE = 5;
+    private static final byte TAG_FALSE = 6;
+    private static final byte TAG_CHAR = 7;
+    private static final byte TAG_STRING = 8;
+    private static final byte TAG_ENUM = 9;
+    private static final byte TAG_LOCAL_DATE = 10;
+    private static final byte TAG_LOCAL_TIME = 11;
+    private static final byte TAG_LOCAL_DATE_TIME = 12;
+    private static final byte TAG_SHORT = 13;
+    private static final byte TAG_BYTE = 14;
+    private static final byte TAG_ADAPTER = 15;
+
+    private final FieldInfo[] fieldInfos;
+    private final byte[] tags;
+    private final Object[][] constants;
+    private final byte[][][] codes;
+    private final TypeAdapter[] adapters;
+
+    /**
+     * Creates a codec of the given fields, with the default type adapters.
+     *
+     * @param fieldInfos the fields of the records
+     * @throws IllegalArgumentException if a field has no binary encoding and no type adapter
+     */
+    public BinaryCodec(List<FieldInfo> fieldInfos) {
+        this(fieldInfos, TypeAdapters.INSTANCE);
+    }
+
+    /**
+     * Creates a codec of the given fields, with the type adapters of the given registry for the fields without a
+     * binary encoding.
+     *
+     * @param fieldInfos the fields of the records
+     * @param typeAdapters the type adapters registry
+     * @throws IllegalArgumentException if a field has no binary encoding and no type adapter, or if two constants of
+     *             an enum field have the same code
+     */
+    public BinaryCodec(List<FieldInfo> fieldInfos, TypeAdapterRegistry typeAdapters) {
+        this.fieldInfos = fieldInfos.toArray(new FieldInfo[0]);
+        this.tags = new byte[this.fieldInfos.length];
+        this.constants = new Object[this.fieldInfos.length][];
+        this.codes = new byte[this.fieldInfos.length][][];
+        this.adapters = new TypeAdapter[this.fieldInfos.length];
+        for (int i = 0; i < this.fieldInfos.length; i++) {
+            final FieldInfo info = this.fieldInfos[i];
+            // the tag of a boolean field is the tag of its true value
+            tags[i] = tagOf(info.type());
+            if (tags[i] == TAG_ENUM) {
+                // the constants and the UTF-8 bytes of their codes, by ordinal
+                constants[i] = info.type().getEnumConstants();
+                codes[i] = new byte[constants[i].length][];
+                final Set<String> distinct = new HashSet<>();
+                for (int ordinal = 0; ordinal < constants[i].length; ordinal++) {
+                    final String code = codeOf(constants[i][ordinal]);
+                    if (!distinct.add(code)) {
+                        throw new IllegalArgumentException("duplicate code " + code + " for field "
+                                + info.id().code() + " of type " + info.type().getName());
+                    }
+                    codes[i][ordinal] = code.getBytes(UTF_8);
+                }
+            } else if (tags[i] == TAG_ADAPTER) {
+                adapters[i] = typeAdapters.adapterFor(info);
+                if (adapters[i] == null) {
+                    throw new IllegalArgumentException("no binary encoding for field " + info.id().code()
+                            + " of type " + info.type().getName());
+                }
+            }
+        }
+    }
+
+    private static String codeOf(Object constant) {
+        return constant instanceof CodeValuable ? ((CodeValuable) constant).getCode() : ((Enum<?>) constant).name();
+    }
+
+    private static byte tagOf(Class<?> type) {
+        if (type == Integer.class || type == Integer.TYPE) {
+            return TAG_INT;
+        } else if (type == Long.class || type == Long.TYPE) {
+            return TAG_LONG;
+        } else if (type == Double.class || type == Double.TYPE) {
+            return TAG_DOUBLE;
+        } else if (type == Float.class || type == Float.TYPE) {
+            return TAG_FLOAT;
+        } else if (type == Boolean.class || type == Boolean.TYPE) {
+            return TAG_TRUE;
+        } else if (type == Character.class || type == Character.TYPE) {
+            return TAG_CHAR;
+        } else if (type == Short.class || type == Short.TYPE) {
+            return TAG_SHORT;
+        } else if (type == Byte.class || type == Byte.TYPE) {
+            return TAG_BYTE;
+        } else if (type == String.class) {
+            return TAG_STRING;
+        } else if (type.isEnum()) {
+            return TAG_ENUM;
+        } else if (type == LocalDate.class) {
+            return TAG_LOCAL_DATE;
+        } else if (type == LocalTime.class) {
+            return TAG_LOCAL_TIME;
+        } else if (type == LocalDateTime.class) {
+            return TAG_LOCAL_DATE_TIME;
+        }
+        return TAG_ADAPTER;
+    }
+
+    /**
+     * Returns the fields of the records.
+     *
+     * @return the field infos
+     */
+    public List<FieldInfo> getFieldInfos() {
+        return Collections.unmodifiableList(Arrays.asList(fieldInfos));
+    }
+
+    /**
+     * Writes the non-null fields of the model as a record, at the position of the buffer. If the record does not fit
+     * in the buffer, the position of the buffer is left unchanged.
+     *
+     * @param model the model to write
+     * @param buffer the buffer
+     * @throws BufferOverflowException if the record does not fit in the remaining bytes of the buffer
+     */
+    public void write(FieldModel model, ByteBuffer buffer) {
+        final int start = buffer.position();
+        try {
+            for (int i = 0; i < fieldInfos.length; i++) {
+                final Object value = model.get(fieldInfos[i].id());
+                if (value != null) {
+                    putVarint(buffer, i + 1);
+                    putValue(buffer, i, value);
+                }
+            }
+            putVarint(buffer, END);
+        } catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a record from the position of the buffer in the model. All the fields of the codec are set, to null for
+     * the fields that are not in the record, so the same model can be reused for all the records.
+     *
+     * @param buffer the buffer
+     * @param model the model to set
+     * @throws BufferUnderflowException if the buffer ends in the middle of the record
+     * @throws IllegalStateException if the record does not match the fields of the codec
+     */
+    public void read(ByteBuffer buffer, FieldModel model) {
+        int next = 0;
+        int ordinal;
+        while ((ordinal = getVarint(buffer) - 1) >= 0) {
+            if (ordinal < next || ordinal >= fieldInfos.length) {
+                throw new IllegalStateException("unexpected field ordinal " + ordinal);
+            }
+            for (; next < ordinal; next++) {
+                model.set(fieldInfos[next].id(), null);
+            }
+            model.set(fieldInfos[ordinal].id(), getValue(buffer, ordinal));
+            next = ordinal + 1;
+        }
+        for (; next < fieldInfos.length; next++) {
+            model.set(fieldInfos[next].id(), null);
+        }
+    }
+
+    private void putValue(ByteBuffer buffer, int field, Object value) {
+        final byte tag = tags[field];
+        switch (tag) {
+            case TAG_INT:
+                buffer.put(tag);
+                putVarint(buffer, zigZag((Integer) value));
+                return;
+            case TAG_LONG:
+                buffer.put(tag);
+                putVarlong(buffer, zigZag((Long) value));
+                return;
+            case TAG_DOUBLE:
+                buffer.put(tag).putDouble((Double) value);
+                return;
+            case TAG_FLOAT:
+                buffer.put(tag).putFloat((Float) value);
+                return;
+            case TAG_TRUE:
+                buffer.put((Boolean) value ? TAG_TRUE : TAG_FALSE);
+                return;
+            case TAG_CHAR:
+                buffer.put(tag);
+                putVarint(buffer, (Character) value);
+                return;
+            case TAG_SHORT:
+                buffer.put(tag);
+                putVarint(buffer, zigZag((Short) value));
+                return;
+            case TAG_BYTE:
+                buffer.put(tag).put((Byte) value);
+                return;
+            case TAG_STRING:
+                buffer.put(tag);
+                putString(buffer, (String) value);
+                return;
+            case TAG_ENUM:
+                buffer.put(tag);
+                final byte[] code = codes[field][((Enum<?>) value).ordinal()];
+                putVarint(buffer, code.length);
+                buffer.put(code);
+                return;
+            case TAG_LOCAL_DATE:
+                buffer.put(tag);
+                putVarlong(buffer, zigZag(((LocalDate) value).toEpochDay()));
+                return;
+            case TAG_LOCAL_TIME:
+                buffer.put(tag);
+                putVarlong(buffer, ((LocalTime) value).toNanoOfDay());
+                return;
+            case TAG_LOCAL_DATE_TIME:
+                buffer.put(tag);
+                putVarlong(buffer, zigZag(((LocalDateTime) value).toLocalDate().toEpochDay()));
+                putVarlong(buffer, ((LocalDateTime) value).toLocalTime().toNanoOfDay());
+                return;
+            default:
+                buffer.put(tag);
+                putString(buffer, adapters[field].toString(value));
+        }
+    }
+
+    private Object getValue(ByteBuffer buffer, int field) {
+        final byte tag = buffer.get();
+        if (tag != tags[field] && !(tag == TAG_FALSE && tags[field] == TAG_TRUE)) {
+            throw new IllegalStateException("unexpected type tag " + tag + " for field "
+                    + fieldInfos[field].id().code());
+        }
+        switch (tag) {
+            case TAG_INT:
+                return unZigZag(getVarint(buffer));
+            case TAG_LONG:
+                return unZigZag(getVarlong(buffer));
+            case TAG_DOUBLE:
+                return buffer.getDouble();
+            case TAG_FLOAT:
+                return buffer.getFloat();
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_CHAR:
+                return (char) getVarint(buffer);
+            case TAG_SHORT:
+                return (short) unZigZag(getVarint(buffer));
+            case TAG_BYTE:
+                return buffer.get();
+            case TAG_STRING:
+                return getString(buffer);
+            case TAG_ENUM:
+                return getEnum(buffer, field);
+            case TAG_LOCAL_DATE:
+                return LocalDate.ofEpochDay(unZigZag(getVarlong(buffer)));
+            case TAG_LOCAL_TIME:
+                return LocalTime.ofNanoOfDay(getVarlong(buffer));
+            case TAG_LOCAL_DATE_TIME:
+                return LocalDateTime.of(LocalDate.ofEpochDay(unZigZag(getVarlong(buffer))),
+                        LocalTime.ofNanoOfDay(getVarlong(buffer)));
+            default:
+                return adapters[field].fromString(fieldInfos[field], getString(buffer));
+        }
+    }
+
+    private Object getEnum(ByteBuffer buffer, int field) {
+        final int length = getVarint(buffer);
+        if (buffer.remaining() < length) {
+            throw new BufferUnderflowException();
+        }
+        final int position = buffer.position();
+        final byte[][] fieldCodes = codes[field];
+        for (int ordinal = 0; ordinal < fieldCodes.length; ordinal++) {
+            if (matches(buffer, position, length, fieldCodes[ordinal])) {
+                buffer.position(position + length);
+                return constants[field][ordinal];
+            }
+        }
+        throw new IllegalStateException("unknown code " + getString(buffer, length) + " for field "
+                + fieldInfos[field].id().code());
+    }
+
+    private static boolean matches(ByteBuffer buffer, int position, int length, byte[] code) {
+        if (code.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(position + i) != code[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static void putVarlong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("malformed varint");
+    }
+
+    private static long getVarlong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("malformed varlong");
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        final int length = value.length();
+        int bytes = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 3;
+            } else if (isSurrogatePair(value, i)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes++;
+            }
+        }
+        putVarint(buffer, bytes);
+        if (buffer.remaining() < bytes) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (!Character.isSurrogate(c)) {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (isSurrogatePair(value, i)) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                // like String#getBytes, an unpaired surrogate is replaced
+                buffer.put((byte) '?');
+            }
+        }
+    }
+
+    private static boolean isSurrogatePair(String value, int index) {
+        return Character.isHighSurrogate(value.charAt(index)) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1));
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        return getString(buffer, getVarint(buffer));
+    }
+
+    private static String getString(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() < bytes) {
+            throw new BufferUnderflowException();
+        }
+        final String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), bytes, UTF_8);
+        } else {
+            final byte[] array = new byte[bytes];
+            buffer.duplicate().get(array);
+            value = new String(array, UTF_8);
+        }
+        buffer.position(buffer.position() + bytes);
+        return value;
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.serial;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.*;
+
+import io.doov.core.FieldInfo;
+
+/**
+ * Columns of a flat file, read by {@link FlatFileReader} and written by {@link FlatFileWriter}: either delimited
+ * columns with quoted values like CSV, or fixed width columns. Each line of the file is a record, and each column
+ * holds the string value of a field, converted by its {@link TypeAdapter}. An empty value is a null value.
+ */
+public final class FlatFileLayout {
+
+    private final List<FieldInfo> columns;
+    private final char separator;
+    private final int[] widths;
+    private final boolean header;
+    private final Charset charset;
+
+    private FlatFileLayout(List<FieldInfo> columns, char separator, int[] widths, boolean header, Charset charset) {
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+        this.separator = separator;
+        this.widths = widths;
+        this.header = header;
+        this.charset = charset;
+    }
+
+    /**
+     * Returns a layout of columns delimited by the separator, with the values containing the separator, a quote or a
+     * line break between double quotes, and the quotes doubled.
+     *
+     * @param columns the field of each column
+     * @param separator the column separator
+     * @return the layout
+     */
+    public static FlatFileLayout delimited(List<FieldInfo> columns, char separator) {
+        if (separator == '"' || separator == '\n' || separator == '\r') {
+            throw new IllegalArgumentException("invalid separator " + separator);
+        }
+        return new FlatFileLayout(columns, separator, null, false, UTF_8);
+    }
+
+    /**
+     * Returns a layout of fixed width columns, with the values padded with spaces on the right.
+     *
+     * @param columns the field of each column
+     * @param widths the width of each column in characters
+     * @return the layout
+     */
+    public static FlatFileLayout fixedWidth(List<FieldInfo> columns, int... widths) {
+        if (widths.length != columns.size()) {
+            throw new IllegalArgumentException(columns.size() + " columns and " + widths.length + " widths");
+        }
+        return new FlatFileLayout(columns, (char) 0, widths.clone(), false, UTF_8);
+    }
+
+    /**
+     * Returns a copy of this delimited layout with a first line holding the codes of the fields, which is skipped
+     * when reading.
+     *
+     * @return the layout
+     */
+    public FlatFileLayout withHeader() {
+        if (isFixedWidth()) {
+            throw new IllegalStateException("no header in a fixed width layout");
+        }
+        return new FlatFileLayout(columns, separator, widths, true, charset);
+    }
+
+    /**
+     * Returns a copy of this layout with the given charset, UTF-8 by default.
+     *
+     * @param charset the charset of the file
+     * @return the layout
+     */
+    public FlatFileLayout withCharset(Charset charset) {
+        return new FlatFileLayout(columns, separator, widths, header, charset);
+    }
+
+    /**
+     * Returns the columns listed in a field CSV file generated with the model wrapper, with its
+     * {@code Path;Id;Type} lines, in the order of the file. The lines whose id is not the id of one of the given
+     * fields are skipped.
+     *
+     * @param fieldCsv the field CSV file
+     * @param fieldInfos the fields of the model
+     * @return the columns
+     * @throws IOException if the file cannot be read
+     */
+    public static List<FieldInfo> fieldCsvColumns(Reader fieldCsv, List<FieldInfo> fieldInfos) throws IOException {
+        final Map<String, FieldInfo> infos = new HashMap<>();
+        fieldInfos.forEach(info -> infos.putIfAbsent(info.id().toString(), info));
+        final List<FieldInfo> columns = new ArrayList<>();
+        final BufferedReader reader = new BufferedReader(fieldCsv);
+        // the first line is the header
+        String line = reader.readLine();
+        while ((line = reader.readLine()) != null) {
+            final String[] values = line.split(";");
+            final FieldInfo info = values.length > 1 ? infos.get(values[1]) : null;
+            if (info != null) {
+                columns.add(info);
+            }
+        }
+        return columns;
+    }
+
+    public List<FieldInfo> getColumns() {
+        return columns;
+    }
+
+    public boolean isFixedWidth() {
+        return widths != null;
+    }
+
+    public boolean hasHeader() {
+        return header;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    char separator() {
+        return separator;
+    }
+
+    int width(int column) {
+        return widths[column];
+    }
+
+}
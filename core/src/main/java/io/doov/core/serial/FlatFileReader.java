@@ -0,0 +1,274 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.serial;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.doov.core.FieldInfo;
+import io.doov.core.FieldModel;
+
+/**
+ * Streaming reader of the records of a flat file into field models, see {@link FlatFileLayout}. The bytes are decoded
+ * in a buffer and parsed column by column, and the type adapter of each column is resolved once, when the reader is
+ * created.
+ *
+ * <pre>
+ * try (FlatFileReader reader = new FlatFileReader(channel, layout, TypeAdapters.INSTANCE)) {
+ *     FieldModel model = ...;
+ *     while (reader.next(model)) {
+ *         rule.executeOn(model);
+ *     }
+ * }
+ * </pre>
+ *
+ * The reader expects a blocking channel, and closes it when closed.
+ */
+public class FlatFileReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ReadableByteChannel channel;
+    private final FlatFileLayout layout;
+    private final FieldInfo[] columns;
+    private final TypeAdapter[] adapters;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final StringBuilder value = new StringBuilder();
+    private boolean endOfInput;
+    private boolean flushed;
+    private int pushback = -1;
+    private long line;
+
+    /**
+     * @param channel the channel to read
+     * @param layout the layout of the file
+     * @param typeAdapters the registry of the type adapters of the columns
+     * @throws IllegalStateException if there is no type adapter for a column
+     */
+    public FlatFileReader(ReadableByteChannel channel, FlatFileLayout layout, TypeAdapterRegistry typeAdapters) {
+        this.channel = channel;
+        this.layout = layout;
+        final List<FieldInfo> infos = layout.getColumns();
+        this.columns = infos.toArray(new FieldInfo[0]);
+        this.adapters = new TypeAdapter[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            adapters[i] = typeAdapters.adapterFor(columns[i]);
+            if (adapters[i] == null) {
+                throw new IllegalStateException("cannot find type adapter for field " + columns[i].id());
+            }
+        }
+        this.decoder = layout.getCharset().newDecoder();
+        this.chars.flip();
+    }
+
+    /**
+     * Reads the next record in the given model. The fields of the columns are all set, to null for the empty values,
+     * so the same model can be reused for all the records.
+     *
+     * @param model the model to set
+     * @return false if there is no more record
+     * @throws IOException if the channel cannot be read
+     * @throws IllegalStateException if a record is malformed
+     */
+    public boolean next(FieldModel model) throws IOException {
+        if (line == 0 && layout.hasHeader()) {
+            skipLine();
+        }
+        final int first = read();
+        if (first < 0) {
+            return false;
+        }
+        line++;
+        pushback = first;
+        if (layout.isFixedWidth()) {
+            readFixedWidth(model);
+        } else {
+            readDelimited(model);
+        }
+        return true;
+    }
+
+    /**
+     * Returns a sequential stream of the remaining records, each one read in a new model. Closing the stream closes
+     * this reader.
+     *
+     * @param modelFactory the factory of the models
+     * @return the stream of models
+     */
+    public Stream<FieldModel> stream(Supplier<? extends FieldModel> modelFactory) {
+        final Spliterator<FieldModel> records = new Spliterators.AbstractSpliterator<FieldModel>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super FieldModel> action) {
+                final FieldModel model = modelFactory.get();
+                try {
+                    if (!next(model)) {
+                        return false;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                action.accept(model);
+                return true;
+            }
+        };
+        return StreamSupport.stream(records, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void readDelimited(FieldModel model) throws IOException {
+        final char separator = layout.separator();
+        int column = 0;
+        int c;
+        do {
+            value.setLength(0);
+            c = read();
+            boolean quoted = false;
+            if (c == '"') {
+                quoted = true;
+                while (true) {
+                    c = read();
+                    if (c < 0) {
+                        throw new IllegalStateException("unterminated quoted value at line " + line);
+                    } else if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            break;
+                        }
+                    }
+                    value.append((char) c);
+                }
+                if (c >= 0 && c != separator && c != '\n' && c != '\r') {
+                    throw new IllegalStateException("unexpected character after quoted value at line " + line);
+                }
+            } else {
+                while (c >= 0 && c != separator && c != '\n' && c != '\r') {
+                    value.append((char) c);
+                    c = read();
+                }
+            }
+            if (column < columns.length) {
+                set(model, column, quoted);
+            }
+            column++;
+        } while (c == separator);
+        endOfLine(c);
+        for (; column < columns.length; column++) {
+            model.set(columns[column].id(), null);
+        }
+    }
+
+    private void readFixedWidth(FieldModel model) throws IOException {
+        for (int column = 0; column < columns.length; column++) {
+            value.setLength(0);
+            final int width = layout.width(column);
+            for (int i = 0; i < width; i++) {
+                final int c = read();
+                if (c < 0 || c == '\n' || c == '\r') {
+                    throw new IllegalStateException("line " + line + " is shorter than the layout");
+                }
+                value.append((char) c);
+            }
+            int length = value.length();
+            while (length > 0 && value.charAt(length - 1) == ' ') {
+                length--;
+            }
+            value.setLength(length);
+            set(model, column, false);
+        }
+        final int c = read();
+        if (c >= 0 && c != '\n' && c != '\r') {
+            throw new IllegalStateException("line " + line + " is longer than the layout");
+        }
+        endOfLine(c);
+    }
+
+    private void set(FieldModel model, int column, boolean quoted) {
+        final FieldInfo info = columns[column];
+        if (value.length() == 0 && !quoted) {
+            model.set(info.id(), null);
+        } else {
+            model.set(info.id(), adapters[column].fromString(info, value.toString()));
+        }
+    }
+
+    private void endOfLine(int c) throws IOException {
+        if (c == '\r') {
+            c = read();
+            if (c >= 0 && c != '\n') {
+                // line ending of a single carriage return
+                pushback = c;
+            }
+        }
+    }
+
+    private void skipLine() throws IOException {
+        int c = read();
+        while (c >= 0 && c != '\n') {
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushback >= 0) {
+            final int c = pushback;
+            pushback = -1;
+            return c;
+        }
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get();
+    }
+
+    private boolean fill() throws IOException {
+        chars.clear();
+        while (chars.position() == 0 && !flushed) {
+            if (!endOfInput && channel.read(bytes) < 0) {
+                endOfInput = true;
+            }
+            bytes.flip();
+            check(decoder.decode(bytes, chars, endOfInput));
+            bytes.compact();
+            if (endOfInput) {
+                check(decoder.flush(chars));
+                flushed = true;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+
+    private static void check(CoderResult result) throws IOException {
+        if (result.isError()) {
+            result.throwException();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.serial;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.util.List;
+
+import io.doov.core.FieldInfo;
+import io.doov.core.FieldModel;
+
+/**
+ * Streaming writer of field models as the records of a flat file, see {@link FlatFileLayout}. The type adapter of each
+ * column is resolved once, when the writer is created, and the records are encoded in a buffer. The writer closes the
+ * channel when closed.
+ */
+public class FlatFileWriter implements Closeable, Flushable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final WritableByteChannel channel;
+    private final FlatFileLayout layout;
+    private final FieldInfo[] columns;
+    private final TypeAdapter[] adapters;
+    private final CharsetEncoder encoder;
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private boolean started;
+
+    /**
+     * @param channel the channel to write
+     * @param layout the layout of the file
+     * @param typeAdapters the registry of the type adapters of the columns
+     * @throws IllegalStateException if there is no type adapter for a column
+     */
+    public FlatFileWriter(WritableByteChannel channel, FlatFileLayout layout, TypeAdapterRegistry typeAdapters) {
+        this.channel = channel;
+        this.layout = layout;
+        final List<FieldInfo> infos = layout.getColumns();
+        this.columns = infos.toArray(new FieldInfo[0]);
+        this.adapters = new TypeAdapter[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            adapters[i] = typeAdapters.adapterFor(columns[i]);
+            if (adapters[i] == null) {
+                throw new IllegalStateException("cannot find type adapter for field " + columns[i].id());
+            }
+        }
+        this.encoder = layout.getCharset().newEncoder();
+    }
+
+    /**
+     * Writes the fields of the model as a record.
+     *
+     * @param model the model to write
+     * @throws IOException if the channel cannot be written
+     * @throws IllegalArgumentException if a value is longer than its fixed width column
+     */
+    public void write(FieldModel model) throws IOException {
+        if (!started) {
+            started = true;
+            if (layout.hasHeader()) {
+                writeHeader();
+            }
+        }
+        for (int column = 0; column < columns.length; column++) {
+            final Object value = model.get(columns[column].id());
+            final String string = value == null ? null : adapters[column].toString(value);
+            if (layout.isFixedWidth()) {
+                writeFixedWidth(column, string);
+            } else {
+                if (column > 0) {
+                    append(layout.separator());
+                }
+                writeDelimited(string);
+            }
+        }
+        append('\n');
+    }
+
+    private void writeHeader() throws IOException {
+        for (int column = 0; column < columns.length; column++) {
+            if (column > 0) {
+                append(layout.separator());
+            }
+            writeDelimited(columns[column].id().code());
+        }
+        append('\n');
+    }
+
+    private void writeDelimited(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && !needsQuotes(value)) {
+            append(value);
+            return;
+        }
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"') {
+                append('"');
+            }
+            append(c);
+        }
+        append('"');
+    }
+
+    private boolean needsQuotes(String value) {
+        final char separator = layout.separator();
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == separator || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeFixedWidth(int column, String value) throws IOException {
+        final int width = layout.width(column);
+        final int length = value == null ? 0 : value.length();
+        if (length > width) {
+            throw new IllegalArgumentException("value of field " + columns[column].id().code() + " is " + length
+                    + " characters long, the column width is " + width);
+        }
+        if (value != null) {
+            append(value);
+        }
+        for (int i = length; i < width; i++) {
+            append(' ');
+        }
+    }
+
+    private void append(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            append(value.charAt(i));
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (!chars.hasRemaining()) {
+            encode(false);
+        }
+        chars.put(c);
+    }
+
+    private void encode(boolean endOfInput) throws IOException {
+        chars.flip();
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+            drain();
+        } while (result.isOverflow());
+        chars.compact();
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Writes the buffered records to the channel.
+     *
+     * @throws IOException if the channel cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        encode(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            encode(true);
+            encoder.flush(bytes);
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+}
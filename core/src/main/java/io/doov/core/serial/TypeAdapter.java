@@ -26,6 +26,18 @@ public interface TypeAdapter {
      */
     boolean accept(Object value);
 
+    /**
+     * Called before {@link #toString(Object)} to find the type adapter of all the objects of a class, see
+     * {@link TypeAdapterRegistry#adapterFor(Class)}. The default implementation returns false, and the objects are
+     * then checked one by one with {@link #accept(Object)}.
+     *
+     * @param type value class
+     * @return true if this type adapter accepts to serialize all the objects of this class
+     */
+    default boolean acceptType(Class<?> type) {
+        return false;
+    }
+
     /**
      * Serialize
      *
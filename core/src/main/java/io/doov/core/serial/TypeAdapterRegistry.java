@@ -5,6 +5,8 @@ package io.doov.core.serial;
 
 import java.util.stream.Stream;
 
+import io.doov.core.FieldInfo;
+
 /**
  * Registry for type adapters.
  * The getAsString/setAsString will call Type adapters in the order returned by this registry.
@@ -17,4 +19,37 @@ public interface TypeAdapterRegistry {
      * @return the stream of type adapters
      */
     Stream<TypeAdapter> stream();
+
+    /**
+     * Returns the first type adapter that accepts to deserialize the field, see {@link TypeAdapter#accept(FieldInfo)}.
+     *
+     * @param info field info
+     * @return the type adapter, or null if no type adapter accepts the field
+     */
+    default TypeAdapter adapterFor(FieldInfo info) {
+        return stream().filter(a -> a.accept(info)).findFirst().orElse(null);
+    }
+
+    /**
+     * Returns the first type adapter that accepts to serialize all the objects of the class, see
+     * {@link TypeAdapter#acceptType(Class)}.
+     *
+     * @param type value class
+     * @return the type adapter, or null if no type adapter accepts the class
+     */
+    default TypeAdapter adapterFor(Class<?> type) {
+        return stream().filter(a -> a.acceptType(type)).findFirst().orElse(null);
+    }
+
+    /**
+     * Returns the first type adapter that serializes the value, because it accepts the class of the value, see
+     * {@link TypeAdapter#acceptType(Class)}, or the value itself, see {@link TypeAdapter#accept(Object)}.
+     *
+     * @param value value, not null
+     * @return the type adapter, or null if no type adapter accepts the value
+     */
+    default TypeAdapter adapterForValue(Object value) {
+        final Class<?> type = value.getClass();
+        return stream().filter(a -> a.acceptType(type) || a.accept(value)).findFirst().orElse(null);
+    }
 }
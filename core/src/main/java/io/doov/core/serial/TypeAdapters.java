@@ -3,14 +3,18 @@
  */
 package io.doov.core.serial;
 
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
 
+import io.doov.core.FieldInfo;
+
 import io.doov.core.serial.adapter.*;
 
 /**
- * Default implementation of Type adapter registry
+ * Default implementation of Type adapter registry. The type adapters found by field info and by value class are
+ * cached, so the type adapters must not depend on anything else.
  */
 public class TypeAdapters implements TypeAdapterRegistry {
 
@@ -28,9 +32,56 @@ public class TypeAdapters implements TypeAdapterRegistry {
                     new CodeValuableEnumTypeAdapter()
     );
 
+    // weak keys, the field infos of the runtime models are created with the models. The models based on a
+    // FieldInfoIndex resolve the type adapters of their fields once in the index, without this map.
+    private final Map<FieldInfo, Optional<TypeAdapter>> adaptersByField = Collections
+            .synchronizedMap(new WeakHashMap<>());
+    private final ConcurrentMap<Class<?>, Optional<TypeAdapter>> adaptersByType = new ConcurrentHashMap<>();
+    // the type adapters to check in order for the values of a class, up to the first one accepting the class, or
+    // followed by null if no type adapter accepts the class
+    private final ConcurrentMap<Class<?>, TypeAdapter[]> valueAdaptersByType = new ConcurrentHashMap<>();
+
     @Override
     public Stream<TypeAdapter> stream() {
         return TYPE_ADAPTERS.stream();
     }
 
+    @Override
+    public TypeAdapter adapterFor(FieldInfo info) {
+        return adaptersByField.computeIfAbsent(info,
+                i -> Optional.ofNullable(TypeAdapterRegistry.super.adapterFor(i))).orElse(null);
+    }
+
+    @Override
+    public TypeAdapter adapterFor(Class<?> type) {
+        return adaptersByType.computeIfAbsent(type,
+                t -> Optional.ofNullable(TypeAdapterRegistry.super.adapterFor(t))).orElse(null);
+    }
+
+    @Override
+    public TypeAdapter adapterForValue(Object value) {
+        final TypeAdapter[] adapters = valueAdaptersByType.computeIfAbsent(value.getClass(), this::valueAdapters);
+        final int last = adapters.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (adapters[i].accept(value)) {
+                return adapters[i];
+            }
+        }
+        return adapters[last];
+    }
+
+    private TypeAdapter[] valueAdapters(Class<?> type) {
+        final List<TypeAdapter> adapters = new ArrayList<>();
+        final Iterator<TypeAdapter> iterator = stream().iterator();
+        while (iterator.hasNext()) {
+            final TypeAdapter adapter = iterator.next();
+            adapters.add(adapter);
+            if (adapter.acceptType(type)) {
+                return adapters.toArray(new TypeAdapter[0]);
+            }
+        }
+        adapters.add(null);
+        return adapters.toArray(new TypeAdapter[0]);
+    }
+
 }
@@ -18,6 +18,11 @@ public class BooleanTypeAdapter implements TypeAdapter {
         return value instanceof Boolean;
     }
 
+    @Override
+    public boolean acceptType(Class<?> type) {
+        return Boolean.class.isAssignableFrom(type);
+    }
+
     @Override
     public String toString(Object value) {
         return String.valueOf(value);
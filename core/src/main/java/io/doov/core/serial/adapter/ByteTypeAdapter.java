@@ -18,6 +18,11 @@ public class ByteTypeAdapter implements TypeAdapter {
         return value instanceof Byte;
     }
 
+    @Override
+    public boolean acceptType(Class<?> type) {
+        return Byte.class.isAssignableFrom(type);
+    }
+
     @Override
     public String toString(Object value) {
         return ((Byte) value).toString();
@@ -18,6 +18,11 @@ public class CharacterTypeAdapter implements TypeAdapter {
         return value instanceof Character;
     }
 
+    @Override
+    public boolean acceptType(Class<?> type) {
+        return Character.class.isAssignableFrom(type);
+    }
+
     @Override
     public String toString(Object value) {
         return String.valueOf(value);
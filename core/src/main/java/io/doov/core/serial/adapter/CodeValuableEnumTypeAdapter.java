@@ -18,6 +18,11 @@ public class CodeValuableEnumTypeAdapter implements TypeAdapter {
         return value instanceof CodeValuable;
     }
 
+    @Override
+    public boolean acceptType(Class<?> type) {
+        return CodeValuable.class.isAssignableFrom(type);
+    }
+
     @Override
     public String toString(Object value) {
         return ((CodeValuable) value).getCode();
@@ -22,6 +22,11 @@ public class DateTypeAdapter implements TypeAdapter {
         return value instanceof Date;
     }
 
+    @Override
+    public boolean acceptType(Class<?> type) {
+        return Date.class.isAssignableFrom(type);
+    }
+
     @Override
     @SuppressWarnings("deprecation")
     public String toString(Object value) {
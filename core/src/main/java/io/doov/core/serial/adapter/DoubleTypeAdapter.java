@@ -18,6 +18,11 @@ public class DoubleTypeAdapter implements TypeAdapter {
         return value instanceof Double;
     }
 
+    @Override
+    public boolean acceptType(Class<?> type) {
+        return Double.class.isAssignableFrom(type);
+    }
+
     @Override
     public String toString(Object value) {
         return String.valueOf(value);
@@ -18,6 +18,11 @@ public class FloatTypeAdapter implements TypeAdapter {
         return value instanceof Float;
     }
 
+    @Override
+    public boolean acceptType(Class<?> type) {
+        return Float.class.isAssignableFrom(type);
+    }
+
     @Override
     public String toString(Object value) {
         return String.valueOf(value);
@@ -18,6 +18,11 @@ public class IntegerTypeAdapter implements TypeAdapter {
         return value instanceof Integer;
     }
 
+    @Override
+    public boolean acceptType(Class<?> type) {
+        return Integer.class.isAssignableFrom(type);
+    }
+
     @Override
     public String toString(Object value) {
         return String.valueOf(value);
@@ -20,6 +20,11 @@ public class LocalDateTypeAdapter implements TypeAdapter {
         return value instanceof LocalDate;
     }
 
+    @Override
+    public boolean acceptType(Class<?> type) {
+        return LocalDate.class.isAssignableFrom(type);
+    }
+
     @Override
     public String toString(Object value) {
         return value.toString();
@@ -18,6 +18,11 @@ public class LongTypeAdapter implements TypeAdapter {
         return value instanceof Long;
     }
 
+    @Override
+    public boolean acceptType(Class<?> type) {
+        return Long.class.isAssignableFrom(type);
+    }
+
     @Override
     public String toString(Object value) {
         return String.valueOf(value);
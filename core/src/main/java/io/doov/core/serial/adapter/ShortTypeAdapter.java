@@ -18,6 +18,11 @@ public class ShortTypeAdapter implements TypeAdapter {
         return value instanceof Short;
     }
 
+    @Override
+    public boolean acceptType(Class<?> type) {
+        return Short.class.isAssignableFrom(type);
+    }
+
     @Override
     public String toString(Object value) {
         return String.valueOf(value);
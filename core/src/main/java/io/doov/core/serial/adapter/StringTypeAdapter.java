@@ -18,6 +18,11 @@ public class StringTypeAdapter implements TypeAdapter {
         return value instanceof String;
     }
 
+    @Override
+    public boolean acceptType(Class<?> type) {
+        return String.class.isAssignableFrom(type);
+    }
+
     @Override
     public String toString(Object value) {
         return value.toString();
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core;
+
+import static io.doov.core.dsl.runtime.FieldChainBuilder.from;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.runtime.FieldAccessorTest.Node;
+import io.doov.core.serial.*;
+import io.doov.core.serial.adapter.StringTypeAdapter;
+
+/**
+ * @see ArrayFieldModel
+ * @see FieldInfoIndex
+ */
+public class ArrayFieldModelTest {
+
+    private final List<FieldInfo> fieldInfos = asList(
+            from(Node.class, TestFieldId.NAME).siblings(TestFieldId.ALIAS)
+                    .field(Node::getValue, Node::setValue, String.class),
+            from(Node.class, TestFieldId.ALIAS).siblings(TestFieldId.NAME)
+                    .field(Node::getValue, Node::setValue, String.class),
+            from(Node.class, TestFieldId.AGE).field(Node::getValue, Node::setValue, String.class));
+
+    @Test
+    void index() {
+        FieldInfoIndex index = FieldInfoIndex.of(fieldInfos);
+
+        assertThat(FieldInfoIndex.of(new ArrayList<>(fieldInfos))).isSameAs(index);
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.positionOf(TestFieldId.AGE)).isEqualTo(2);
+        assertThat(index.positionOf(TestFieldId.UNKNOWN)).isEqualTo(-1);
+        assertThat(index.info(TestFieldId.ALIAS)).isSameAs(fieldInfos.get(1));
+        assertThat(index.info(TestFieldId.UNKNOWN)).isNull();
+        assertThat(index.siblings(TestFieldId.NAME)).containsExactly(TestFieldId.ALIAS);
+        assertThat(index.siblings(TestFieldId.UNKNOWN)).isEmpty();
+        assertThat(index.siblingPositions(0)).containsExactly(1);
+    }
+
+    @Test
+    void index_by_identity() {
+        AtomicInteger hashes = new AtomicInteger();
+        List<FieldInfo> list = new ArrayList<FieldInfo>(fieldInfos) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public int hashCode() {
+                hashes.incrementAndGet();
+                return super.hashCode();
+            }
+        };
+
+        FieldInfoIndex index = FieldInfoIndex.of(list);
+        int first = hashes.get();
+        for (int i = 0; i < 10; i++) {
+            new ArrayFieldModel(list);
+            new BaseFieldModel(list);
+        }
+
+        assertThat(FieldInfoIndex.of(list)).isSameAs(index);
+        assertThat(hashes.get()).isEqualTo(first);
+    }
+
+    @Test
+    void index_adapters() {
+        AtomicInteger lookups = new AtomicInteger();
+        TypeAdapters registry = new TypeAdapters() {
+            @Override
+            public TypeAdapter adapterFor(FieldInfo info) {
+                lookups.incrementAndGet();
+                return super.adapterFor(info);
+            }
+        };
+        List<FieldInfo> list = new ArrayList<>(fieldInfos);
+
+        for (int i = 0; i < 10; i++) {
+            BaseFieldModel model = new BaseFieldModel(list) {
+                @Override
+                public TypeAdapterRegistry getTypeAdapterRegistry() {
+                    return registry;
+                }
+            };
+            model.setAsString(TestFieldId.AGE, String.valueOf(i));
+            assertThat(model.<String> get(TestFieldId.AGE)).isEqualTo(String.valueOf(i));
+        }
+
+        assertThat(lookups.get()).isEqualTo(fieldInfos.size());
+        assertThat(FieldInfoIndex.of(list).adapterFor(2, registry)).isInstanceOf(StringTypeAdapter.class);
+        assertThat(lookups.get()).isEqualTo(fieldInfos.size());
+    }
+
+    @Test
+    void base_field_model() {
+        BaseFieldModel model = new BaseFieldModel(fieldInfos);
+
+        model.set(TestFieldId.NAME, "kermit");
+        model.set(TestFieldId.UNKNOWN, "gonzo");
+
+        assertThat(model.<String> get(TestFieldId.ALIAS)).isEqualTo("kermit");
+        assertThat(model.<String> get(TestFieldId.UNKNOWN)).isEqualTo("gonzo");
+        assertThat(model.info(TestFieldId.AGE)).isSameAs(fieldInfos.get(2));
+    }
+
+    @Test
+    void array_field_model() {
+        ArrayFieldModel model = new ArrayFieldModel(fieldInfos);
+
+        model.set(TestFieldId.NAME, "kermit");
+        model.set(TestFieldId.UNKNOWN, "gonzo");
+        model.setAsString(TestFieldId.AGE, "42");
+
+        assertThat(model.<String> get(TestFieldId.NAME)).isEqualTo("kermit");
+        assertThat(model.<String> get(TestFieldId.ALIAS)).isEqualTo("kermit");
+        assertThat(model.<String> get(TestFieldId.AGE)).isEqualTo("42");
+        assertThat(model.<String> get(TestFieldId.UNKNOWN)).isNull();
+        assertThat(model.info(TestFieldId.AGE)).isSameAs(fieldInfos.get(2));
+        assertThat(model.asMap()).containsOnlyKeys(TestFieldId.NAME, TestFieldId.ALIAS, TestFieldId.AGE);
+        assertThat(model.stream().count()).isEqualTo(3);
+
+        ArrayFieldModel copy = new ArrayFieldModel(model);
+        assertThat(copy.asMap()).isEqualTo(model.asMap());
+
+        model.set(TestFieldId.ALIAS, null);
+        assertThat(model.<String> get(TestFieldId.NAME)).isNull();
+        assertThat(model.asMap()).containsOnlyKeys(TestFieldId.AGE);
+        model.clear();
+        assertThat(model.iterator().hasNext()).isFalse();
+        assertThat(copy.<String> get(TestFieldId.NAME)).isEqualTo("kermit");
+    }
+
+    enum TestFieldId implements FieldId {
+        NAME, ALIAS, AGE, UNKNOWN;
+
+        @Override
+        public String code() {
+            return name();
+        }
+    }
+
+}
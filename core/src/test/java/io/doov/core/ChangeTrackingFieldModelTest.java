@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core;
+
+import static io.doov.core.dsl.runtime.FieldChainBuilder.from;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.ArrayFieldModelTest.TestFieldId;
+import io.doov.core.dsl.runtime.FieldAccessorTest.Node;
+
+/**
+ * @see ChangeTrackingFieldModel
+ */
+public class ChangeTrackingFieldModelTest {
+
+    private final List<FieldInfo> fieldInfos = asList(
+            from(Node.class, TestFieldId.NAME).siblings(TestFieldId.ALIAS)
+                    .field(Node::getValue, Node::setValue, String.class),
+            from(Node.class, TestFieldId.ALIAS).siblings(TestFieldId.NAME)
+                    .field(Node::getValue, Node::setValue, String.class),
+            from(Node.class, TestFieldId.AGE).field(Node::getValue, Node::setValue, String.class));
+
+    @Test
+    void changes() {
+        ArrayFieldModel model = new ArrayFieldModel(fieldInfos);
+        ChangeTrackingFieldModel tracking = model.trackChanges();
+
+        assertThat(tracking.hasChanges()).isFalse();
+        tracking.set(TestFieldId.AGE, "42");
+        tracking.set(TestFieldId.UNKNOWN, "gonzo");
+
+        assertThat(model.<String> get(TestFieldId.AGE)).isEqualTo("42");
+        assertThat(tracking.hasChanges()).isTrue();
+        assertThat(tracking.isChanged(TestFieldId.AGE)).isTrue();
+        assertThat(tracking.isChanged(TestFieldId.NAME)).isFalse();
+        assertThat(tracking.changedFields()).containsOnly(TestFieldId.AGE, TestFieldId.UNKNOWN);
+
+        tracking.clearChanges();
+        assertThat(tracking.hasChanges()).isFalse();
+        assertThat(tracking.changedFields()).isEmpty();
+        assertThat(tracking.isChanged(TestFieldId.UNKNOWN)).isFalse();
+    }
+
+    @Test
+    void siblings_and_defaults() {
+        ChangeTrackingFieldModel tracking = new ArrayFieldModel(fieldInfos).trackChanges();
+
+        tracking.set(TestFieldId.NAME, "kermit");
+        assertThat(tracking.changedFields()).containsOnly(TestFieldId.NAME, TestFieldId.ALIAS);
+
+        tracking.clearChanges();
+        tracking.setAsString(TestFieldId.AGE, "42");
+        assertThat(tracking.changedFields()).containsOnly(TestFieldId.AGE);
+
+        tracking.clearChanges();
+        tracking.clear();
+        assertThat(tracking.changedFields()).containsOnly(TestFieldId.NAME, TestFieldId.ALIAS, TestFieldId.AGE);
+        assertThat(tracking.<String> get(TestFieldId.NAME)).isNull();
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.column;
+
+import static io.doov.core.dsl.DOOV.matchAll;
+import static io.doov.core.dsl.DOOV.matchAny;
+import static io.doov.core.dsl.DOOV.matchNone;
+import static io.doov.core.dsl.DOOV.when;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.*;
+import io.doov.core.dsl.impl.LeafStepCondition;
+import io.doov.core.dsl.impl.num.PrimitiveComparison;
+import io.doov.core.dsl.lang.StepCondition;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see ColumnEvaluation
+ */
+public class ColumnEvaluationTest {
+    private GenericModel model = new GenericModel();
+    private IntegerFieldInfo age = model.intField(18, "age");
+    private LongFieldInfo count = model.longField(5L, "count");
+    private DoubleFieldInfo rate = model.doubleField(2.5, "rate");
+    private BooleanFieldInfo valid = model.booleanField(true, "valid");
+    private StringFieldInfo name = model.stringField("kermit", "name");
+    private EnumFieldInfo<TimeUnit> unit = model.enumField(TimeUnit.SECONDS, "unit");
+    private LocalDateFieldInfo date = model.localDateField(LocalDate.of(2000, 1, 1), "date");
+    private ColumnStore store;
+
+    @BeforeEach
+    void load() {
+        store = new ColumnStore(model.getFieldInfos());
+        Random random = new Random(42);
+        String[] names = { "kermit", "gonzo", "miss piggy", "animal" };
+        for (int i = 0; i < 300; i++) {
+            model.set(age.id(), random.nextInt(10) == 0 ? null : random.nextInt(100));
+            model.set(count.id(), random.nextInt(10) == 0 ? null : (long) random.nextInt(10));
+            model.set(rate.id(), random.nextInt(10) == 0 ? null : random.nextDouble() * 5);
+            model.set(valid.id(), random.nextInt(10) == 0 ? null : random.nextBoolean());
+            model.set(name.id(), random.nextInt(10) == 0 ? null : names[random.nextInt(names.length)]);
+            model.set(unit.id(), random.nextInt(10) == 0 ? null : TimeUnit.values()[random.nextInt(3)]);
+            model.set(date.id(), LocalDate.of(2000, 1, 1).plusDays(random.nextInt(10)));
+            store.add(model);
+        }
+    }
+
+    @Test
+    void leaves() {
+        assertRowWise(age.greaterOrEquals(18), age.lesserThan(50), count.lesserOrEquals(3L), rate.greaterThan(2.5),
+                valid.isTrue(), valid.isFalse(), valid.isNull(), name.startsWith("k"), name.eq("gonzo"),
+                name.isNull(), name.isNotNull(), unit.eq(TimeUnit.SECONDS), unit.anyMatch(TimeUnit.NANOSECONDS,
+                        TimeUnit.MILLISECONDS), age.eq(42), age.isNull(),
+                date.after(LocalDate.of(2000, 1, 5)), date.isNotNull());
+    }
+
+    @Test
+    void opaque_leaves() {
+        assertRowWise(count.mapToInt(Long::intValue).greaterThan(3), name.length().greaterThan(5),
+                age.times(2).lesserThan(60), name.eq(() -> "kermit"));
+    }
+
+    @Test
+    void logical_nodes() {
+        assertRowWise(age.greaterOrEquals(18).and(name.startsWith("k")),
+                age.lesserThan(18).or(valid.isTrue()),
+                age.greaterThan(50).not(),
+                matchAll(age.isNotNull(), rate.lesserThan(4.0), unit.eq(TimeUnit.MICROSECONDS)),
+                matchAny(name.eq("animal"), count.greaterThan(7L), age.times(2).lesserThan(20)),
+                matchNone(valid.isFalse(), name.isNull()),
+                matchAny(age.greaterOrEquals(18).and(name.length().greaterThan(5)).not(), valid.isNull()));
+    }
+
+    @Test
+    void column_kernels() {
+        assertThat(age.greaterOrEquals(18).compile()).isInstanceOf(PrimitiveComparison.class);
+        assertThat(((LeafStepCondition<?>) name.startsWith("k")).field()).isSameAs(name);
+        assertThat(((LeafStepCondition<?>) unit.eq(TimeUnit.SECONDS)).field()).isSameAs(unit);
+        assertThat(((LeafStepCondition<?>) valid.isNull()).testFieldValue(null)).isTrue();
+        assertThat(((LeafStepCondition<?>) name.eq(() -> "kermit")).field()).isNull();
+        assertThat(((LeafStepCondition<?>) name.length().greaterThan(5)).field()).isNull();
+    }
+
+    @Test
+    void empty_store() {
+        ColumnStore empty = new ColumnStore(model.getFieldInfos());
+
+        assertThat(empty.testAll(when(name.startsWith("k").or(valid.isTrue())).validate()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void null_column() {
+        ColumnStore nulls = new ColumnStore(model.getFieldInfos());
+        nulls.addRow();
+        nulls.addRow();
+
+        assertThat(nulls.testAll(when(name.isNull()).validate()).cardinality()).isEqualTo(2);
+        assertThat(nulls.testAll(when(name.eq("kermit")).validate()).isEmpty()).isTrue();
+        assertThat(nulls.testAll(when(age.lesserThan(18)).validate()).isEmpty()).isTrue();
+    }
+
+    private void assertRowWise(StepCondition... conditions) {
+        for (StepCondition condition : conditions) {
+            ValidationRule rule = when(condition).validate();
+            BitSet rowWise = new BitSet();
+            for (int row = 0; row < store.size(); row++) {
+                rowWise.set(row, rule.executeOn(store.cursor(row)).value());
+            }
+            assertThat(store.testAll(rule)).as(rule.readable()).isEqualTo(rowWise);
+        }
+    }
+
+}
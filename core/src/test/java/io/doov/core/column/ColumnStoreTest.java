@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.column;
+
+import static io.doov.core.dsl.DOOV.when;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.*;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see ColumnStore
+ */
+public class ColumnStoreTest {
+    private GenericModel model = new GenericModel();
+    private IntegerFieldInfo age = model.intField(18, "age");
+    private LongFieldInfo count = model.longField(5L, "count");
+    private DoubleFieldInfo rate = model.doubleField(2.5, "rate");
+    private BooleanFieldInfo valid = model.booleanField(true, "valid");
+    private StringFieldInfo name = model.stringField("kermit", "name");
+    private EnumFieldInfo<TimeUnit> unit = model.enumField(TimeUnit.SECONDS, "unit");
+    private LocalDateFieldInfo date = model.localDateField(LocalDate.of(2000, 1, 1), "date");
+
+    @Test
+    void columns() {
+        ColumnStore store = new ColumnStore(model.getFieldInfos());
+
+        assertThat(store.column(age.id())).isInstanceOf(IntColumn.class);
+        assertThat(store.column(count.id())).isInstanceOf(LongColumn.class);
+        assertThat(store.column(rate.id())).isInstanceOf(DoubleColumn.class);
+        assertThat(store.column(valid.id())).isInstanceOf(BooleanColumn.class);
+        assertThat(store.column(name.id())).isInstanceOf(DictionaryColumn.class);
+        assertThat(store.column(unit.id())).isInstanceOf(DictionaryColumn.class);
+        assertThat(store.column(date.id())).isInstanceOf(ObjectColumn.class);
+        assertThat(store.column(() -> "unknown")).isNull();
+    }
+
+    @Test
+    void add_get_set() {
+        ColumnStore store = new ColumnStore(model.getFieldInfos(), 1);
+        // grows past the initial capacity
+        for (int i = 0; i < 200; i++) {
+            model.set(age.id(), i);
+            model.set(name.id(), i % 2 == 0 ? "kermit" : "gonzo");
+            store.add(model);
+        }
+        int empty = store.addRow();
+
+        assertThat(store.size()).isEqualTo(201);
+        ColumnCursor cursor = store.cursor(150);
+        assertThat(cursor.<Integer> get(age.id())).isEqualTo(150);
+        assertThat(cursor.<String> get(name.id())).isEqualTo("kermit");
+        assertThat(cursor.<Long> get(count.id())).isEqualTo(5L);
+        assertThat(cursor.<Double> get(rate.id())).isEqualTo(2.5);
+        assertThat(cursor.<Boolean> get(valid.id())).isTrue();
+        assertThat(cursor.<TimeUnit> get(unit.id())).isEqualTo(TimeUnit.SECONDS);
+        assertThat(cursor.<LocalDate> get(date.id())).isEqualTo(LocalDate.of(2000, 1, 1));
+        assertThat(cursor.moveTo(151).<String> get(name.id())).isEqualTo("gonzo");
+        assertThat(((DictionaryColumn) store.column(name.id())).codeOf("gonzo")).isEqualTo(1);
+
+        cursor.moveTo(empty);
+        assertThat(cursor.<Integer> get(age.id())).isNull();
+        assertThat(cursor.getInt(age.id(), -1)).isEqualTo(-1);
+        assertThat(cursor.getBoolean(valid.id(), false)).isFalse();
+
+        cursor.set(age.id(), 42);
+        cursor.set(valid.id(), true);
+        cursor.set(() -> "unknown", 42);
+        assertThat(cursor.getInt(age.id(), -1)).isEqualTo(42);
+        assertThat(cursor.getBoolean(valid.id(), false)).isTrue();
+        cursor.set(age.id(), null);
+        assertThat(store.column(age.id()).isNull(empty)).isTrue();
+    }
+
+    @Test
+    void test_all_rows() {
+        ColumnStore store = new ColumnStore(model.getFieldInfos());
+        for (int i = 0; i < 100; i++) {
+            model.set(age.id(), i);
+            store.add(model);
+        }
+        ValidationRule rule = when(age.greaterOrEquals(18).and(name.isNotNull())).validate();
+
+        BitSet result = rule.testAll(store.rows());
+
+        assertThat(result.cardinality()).isEqualTo(82);
+        assertThat(result.nextSetBit(0)).isEqualTo(18);
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.DOOV.when;
+import static io.doov.core.dsl.lang.ReduceType.FAILURE;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.StringFieldInfo;
+import io.doov.core.dsl.lang.Result;
+import io.doov.core.dsl.lang.StepCondition;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.predicate.PredicateMetadata;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see AdaptiveOrder
+ */
+public class AdaptiveOrderTest {
+    private static final Locale LOCALE = Locale.US;
+    private GenericModel model = new GenericModel();
+    private StringFieldInfo A = model.stringField("value", "A");
+    private IntegerFieldInfo B = model.intField(18, "B");
+
+    @Test
+    void order() {
+        AdaptiveOrder order = new AdaptiveOrder(2, false);
+        StepCondition first = A.eq("value");
+        StepCondition second = B.isNull();
+        for (int i = 0; i < AdaptiveOrder.REORDER_PERIOD; i++) {
+            assertThat(order.anyDecisive(asList(first, second), model, new DefaultContext(null))).isTrue();
+        }
+        assertThat(order.order()).containsExactly(1, 0);
+    }
+
+    @Test
+    void match_all() {
+        StepCondition first = A.eq("value");
+        StepCondition second = B.isNull();
+        ValidationRule rule = when(LogicalNaryCondition.matchAll(asList(first, second)).withAdaptiveOrder())
+                .validate();
+        for (int i = 0; i <= AdaptiveOrder.REORDER_PERIOD; i++) {
+            assertThat(rule.executeOn(model).value()).isFalse();
+        }
+        int firstEvaluations = evalCount(first);
+        Result result = rule.executeOn(model);
+
+        assertThat(result.value()).isFalse();
+        assertThat(evalCount(first)).isEqualTo(firstEvaluations);
+        assertThat(rule.readable(LOCALE)).isEqualTo("rule when match all [A = 'value', B is null] validate");
+        assertThat(result.reduce(FAILURE).readable(LOCALE)).isEqualTo("B is null");
+        assertThat(rule.withShortCircuit(false).executeOn(model).value()).isFalse();
+        assertThat(evalCount(first)).isEqualTo(firstEvaluations + 1);
+    }
+
+    @Test
+    void match_any_none() {
+        StepCondition first = A.isNull();
+        StepCondition second = B.eq(18);
+        ValidationRule any = when(LogicalNaryCondition.matchAny(asList(first, second)).withAdaptiveOrder())
+                .validate();
+        ValidationRule none = when(LogicalNaryCondition.matchNone(asList(first, second)).withAdaptiveOrder())
+                .validate();
+        for (int i = 0; i <= AdaptiveOrder.REORDER_PERIOD; i++) {
+            assertThat(any.executeOn(model).value()).isTrue();
+            assertThat(none.executeOn(model).value()).isFalse();
+        }
+        assertThat(any.test(model)).isTrue();
+        assertThat(none.test(model)).isFalse();
+    }
+
+    @Test
+    void compiled() {
+        List<FieldId> reads = new ArrayList<>();
+        DslModel readingModel = new DslModel() {
+            @Override
+            public <T> T get(FieldId id) {
+                reads.add(id);
+                return model.get(id);
+            }
+
+            @Override
+            public <T> void set(FieldId id, T value) {
+                model.set(id, value);
+            }
+        };
+        ValidationRule rule = when(LogicalNaryCondition.matchAll(asList(A.eq("value"), B.isNull()))
+                .withAdaptiveOrder()).validate();
+        for (int i = 0; i <= AdaptiveOrder.REORDER_PERIOD; i++) {
+            assertThat(rule.test(readingModel)).isFalse();
+        }
+        reads.clear();
+
+        assertThat(rule.test(readingModel)).isFalse();
+        assertThat(reads).containsExactly(B.id());
+    }
+
+    private static int evalCount(StepCondition condition) {
+        return ((PredicateMetadata) condition.metadata()).trueEvalCount()
+                + ((PredicateMetadata) condition.metadata()).falseEvalCount();
+    }
+
+}
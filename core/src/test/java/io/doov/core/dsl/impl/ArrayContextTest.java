@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.DOOV.*;
+import static io.doov.core.dsl.lang.ReduceType.FAILURE;
+import static io.doov.core.dsl.lang.ReduceType.SUCCESS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.StringFieldInfo;
+import io.doov.core.dsl.lang.Context;
+import io.doov.core.dsl.lang.Result;
+import io.doov.core.dsl.lang.StepCondition;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.Metadata;
+import io.doov.core.dsl.meta.MetadataIndex;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see ArrayContext
+ */
+public class ArrayContextTest {
+    private static final Locale LOCALE = Locale.US;
+    private GenericModel model = new GenericModel();
+    private StringFieldInfo A = model.stringField("value", "A");
+    private IntegerFieldInfo B = model.intField(18, "B");
+    private StringFieldInfo C = model.stringField(null, "C");
+
+    @Test
+    void index() {
+        StepCondition left = A.eq("value");
+        StepCondition right = B.greaterThan(20);
+        StepCondition condition = left.and(right);
+        MetadataIndex index = MetadataIndex.of(condition.metadata());
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.indexOf(left.metadata())).isEqualTo(0);
+        assertThat(index.indexOf(right.metadata())).isEqualTo(1);
+        assertThat(index.indexOf(condition.metadata())).isEqualTo(2);
+        assertThat(index.fieldCount()).isEqualTo(2);
+        assertThat(index.fieldIndexOf(C.id())).isEqualTo(-1);
+    }
+
+    @Test
+    void same_reduce_as_default_context() {
+        assertSameReduce(A.eq("value").and(B.greaterThan(20)));
+        assertSameReduce(A.eq("other").or(B.lesserThan(19)));
+        assertSameReduce(matchAll(A.isNotNull(), B.greaterThan(20), C.isNotNull()));
+        assertSameReduce(matchAny(A.isNull(), B.greaterThan(20), C.isNotNull()));
+        assertSameReduce(matchAll(matchAny(A.isNull(), B.eq(18)), A.contains("al").and(C.isNotNull())));
+        assertSameReduce(count(A.isNotNull(), B.greaterThan(10), C.isNotNull()).greaterOrEquals(3));
+        assertSameReduce(not(A.startsWith("v")));
+    }
+
+    @Test
+    void values_and_unknown_nodes() {
+        StepCondition condition = A.eq("value");
+        Metadata other = B.eq(18).metadata();
+        Context context = new ArrayContext(true, condition.metadata(), MetadataIndex.of(condition.metadata()));
+
+        context.addEvalTrue(other);
+        context.addEvalValue(A.id(), "value");
+        context.addEvalValue(B.id(), 18);
+
+        assertThat(context.isEvalTrue(other)).isTrue();
+        assertThat(context.isEvalFalse(other)).isFalse();
+        assertThat(context.isEvalTrue(condition.metadata())).isFalse();
+        assertThat(context.getEvalTrue()).containsExactly(other);
+        assertThat(context.getEvalValue(A.id())).isEqualTo("value");
+        assertThat(context.getEvalValue(B.id())).isEqualTo(18);
+        assertThat(context.getEvalValue(C.id())).isNull();
+    }
+
+    private void assertSameReduce(StepCondition condition) {
+        for (boolean shortCircuit : new boolean[] { true, false }) {
+            ValidationRule rule = when(condition).validate().withShortCircuit(shortCircuit);
+            Result expected = rule.executeOn(model, new DefaultContext(shortCircuit, condition.metadata()));
+            Result actual = rule.executeOn(model);
+
+            assertThat(actual.getContext()).isInstanceOf(ArrayContext.class);
+            assertThat(actual.value()).isEqualTo(expected.value());
+            assertThat(actual.reduce(FAILURE).readable(LOCALE)).isEqualTo(expected.reduce(FAILURE).readable(LOCALE));
+            assertThat(actual.reduce(SUCCESS).readable(LOCALE)).isEqualTo(expected.reduce(SUCCESS).readable(LOCALE));
+            assertThat(actual.getContext().getEvalFalse())
+                    .containsExactlyElementsOf(expected.getContext().getEvalFalse());
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.DOOV.when;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.lang.RuleRegistry;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see BatchValidation
+ */
+public class BatchValidationTest {
+    private static final int SIZE = 1000;
+
+    private GenericModel model = new GenericModel();
+    private IntegerFieldInfo value = model.intField(0, "value");
+    private ValidationRule rule = when(value.greaterThan(10).and(value.lesserThan(900))).validate();
+    private List<DslModel> models = IntStream.range(0, SIZE).mapToObj(this::model).collect(toList());
+
+    @Test
+    void sequential() {
+        assertThat(rule.testAll(models)).isEqualTo(expected(rule));
+        assertThat(rule.testAll(new LinkedList<>(models))).isEqualTo(expected(rule));
+        assertThat(rule.testAll(sequentialAccess(models))).isEqualTo(expected(rule));
+        assertThat(rule.testAll(sequentialAccess(models), models.size(), true)).isEqualTo(expected(rule));
+        assertThat(rule.testAll(models.stream())).isEqualTo(expected(rule));
+    }
+
+    @Test
+    void parallel() {
+        assertThat(rule.testAll(models, 1, true)).isEqualTo(expected(rule));
+        assertThat(rule.testAll(models, 100, true)).isEqualTo(expected(rule));
+        assertThat(rule.testAll(models, 128, true)).isEqualTo(expected(rule));
+        assertThat(rule.testAll(new LinkedList<>(models), 64, true)).isEqualTo(expected(rule));
+        assertThat(rule.testAll(sequentialAccess(models), 64, true)).isEqualTo(expected(rule));
+        assertThat(rule.testAll(models.parallelStream())).isEqualTo(expected(rule));
+    }
+
+    @Test
+    void empty() {
+        assertThat(rule.testAll(new LinkedList<>()).isEmpty()).isTrue();
+        assertThat(rule.testAll(models.subList(0, 0), 64, true).isEmpty()).isTrue();
+    }
+
+    @Test
+    void registry() {
+        ValidationRule other = when(value.eq(42)).validate();
+        RuleRegistry registry = new DefaultRuleRegistry();
+        rule.registerOn(registry);
+        other.registerOn(registry);
+
+        Map<ValidationRule, BitSet> results = registry.testAll(models, 64, true);
+        assertThat(results).containsOnlyKeys(rule, other);
+        assertThat(results.get(rule)).isEqualTo(expected(rule));
+        assertThat(results.get(other).cardinality()).isEqualTo(1);
+        assertThat(results.get(other).get(42)).isTrue();
+        assertThat(registry.testAll(models.stream())).isEqualTo(results);
+        assertThat(registry.testAll(models.parallelStream())).isEqualTo(results);
+    }
+
+    private BitSet expected(ValidationRule rule) {
+        BitSet expected = new BitSet();
+        for (int i = 0; i < models.size(); i++) {
+            if (rule.executeOn(models.get(i)).value()) {
+                expected.set(i);
+            }
+        }
+        return expected;
+    }
+
+    /** a list that fails on indexed access, to check that the models are iterated */
+    private static List<DslModel> sequentialAccess(List<DslModel> models) {
+        return new LinkedList<DslModel>(models) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public DslModel get(int index) {
+                throw new AssertionError("indexed access on a sequential list");
+            }
+        };
+    }
+
+    private DslModel model(int i) {
+        GenericModel m = new GenericModel();
+        m.set(value.id(), i);
+        return m;
+    }
+
+}
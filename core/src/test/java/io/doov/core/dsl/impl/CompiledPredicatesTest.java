@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.DOOV.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.StringFieldInfo;
+import io.doov.core.dsl.lang.StepCondition;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.predicate.PredicateMetadata;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see CompiledPredicates
+ */
+public class CompiledPredicatesTest {
+    private GenericModel model = new GenericModel();
+    private StringFieldInfo A = model.stringField("value", "A");
+    private IntegerFieldInfo B = model.intField(18, "B");
+    private StringFieldInfo C = model.stringField(null, "C");
+
+    @Test
+    void and_or_not() {
+        assertSameValue(A.eq("value").and(B.greaterOrEquals(18)));
+        assertSameValue(A.eq("value").and(B.greaterOrEquals(19)));
+        assertSameValue(A.eq("other").or(B.lesserThan(19)));
+        assertSameValue(A.eq("other").or(C.isNotNull()));
+        assertSameValue(A.eq("value").and(B.greaterOrEquals(18)).and(C.isNull()).not());
+        assertSameValue(not(not(A.startsWith("v"))));
+    }
+
+    @Test
+    void nary() {
+        assertSameValue(matchAll(A.isNotNull(), B.greaterThan(10), C.isNull()));
+        assertSameValue(matchAll(A.isNotNull(), B.greaterThan(20), C.isNull()));
+        assertSameValue(matchAny(A.isNull(), B.greaterThan(20), C.isNull()));
+        assertSameValue(matchAny(A.isNull(), B.greaterThan(20), C.isNotNull()));
+        assertSameValue(matchNone(A.isNull(), B.greaterThan(20), C.isNotNull()));
+        assertSameValue(matchNone(A.isNull(), B.greaterThan(20), C.isNull()));
+        assertSameValue(matchAll(matchAny(A.isNull(), B.eq(18)), A.contains("al").and(C.isNull())));
+    }
+
+    @Test
+    void count_steps() {
+        assertSameValue(count(A.isNotNull(), B.greaterThan(10), C.isNotNull()).greaterOrEquals(2));
+        assertSameValue(count(A.isNotNull(), B.greaterThan(10), C.isNotNull()).greaterOrEquals(3));
+    }
+
+    @Test
+    void field_leaves() {
+        assertSameValue(A.eq(C));
+        assertSameValue(A.notEq(C));
+        assertSameValue(A.notEq("other"));
+        assertSameValue(C.notEq("other"));
+        assertSameValue(B.eq(() -> 18));
+        assertSameValue(B.greaterThan(B));
+        assertSameValue(B.lesserOrEquals((Integer) null));
+        assertSameValue(C.isNull().and(A.isNotNull()));
+    }
+
+    @Test
+    void compiled_does_not_trace() {
+        StepCondition condition = A.eq("value").and(B.greaterOrEquals(18));
+        ValidationRule rule = when(condition).validate();
+
+        assertThat(rule.compile().test(model)).isTrue();
+        assertThat(((PredicateMetadata) condition.metadata()).trueEvalCount()).isEqualTo(0);
+        assertThat(rule.executeOn(model).value()).isTrue();
+        assertThat(((PredicateMetadata) condition.metadata()).trueEvalCount()).isEqualTo(1);
+    }
+
+    private void assertSameValue(StepCondition condition) {
+        ValidationRule rule = when(condition).validate();
+        assertThat(rule.compile().test(model)).as(rule.readable())
+                .isEqualTo(rule.test(model))
+                .isEqualTo(rule.executeOn(model).value())
+                .isEqualTo(rule.withShortCircuit(false).executeOn(model).value());
+    }
+
+}
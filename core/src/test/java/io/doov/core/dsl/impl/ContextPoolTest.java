@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.DOOV.when;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.StringFieldInfo;
+import io.doov.core.dsl.lang.Context;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see ContextPool
+ */
+public class ContextPoolTest {
+    private static final Locale LOCALE = Locale.US;
+    private GenericModel model = new GenericModel();
+    private StringFieldInfo A = model.stringField("value", "A");
+    private IntegerFieldInfo B = model.intField(18, "B");
+    private ValidationRule rule = when(A.eq("value").and(B.greaterThan(20))).validate();
+
+    @Test
+    void acquire_release() {
+        ContextPool<DefaultContext> pool = new ContextPool<>(() -> new DefaultContext(null), 2);
+        DefaultContext first = pool.acquire();
+        DefaultContext second = pool.acquire();
+        assertThat(second).isNotSameAs(first);
+
+        first.addEvalValue(A.id(), "value");
+        pool.release(first);
+        assertThat(first.getEvalValue(A.id())).isNull();
+        assertThat(pool.acquire()).isSameAs(first);
+    }
+
+    @Test
+    void execute_pooled() {
+        AtomicReference<Context> previous = new AtomicReference<>();
+        for (int i = 0; i < 3; i++) {
+            String failureCause = rule.executeOnPooled(model, result -> {
+                assertThat(result.value()).isFalse();
+                assertThat(result.getContext().getEvalValue(B.id())).isEqualTo(18);
+                if (previous.get() != null) {
+                    assertThat(result.getContext()).isSameAs(previous.get());
+                }
+                previous.set(result.getContext());
+                return result.getFailureCause(LOCALE);
+            });
+            assertThat(failureCause).isEqualTo("B > 20");
+        }
+        assertThat(previous.get().getEvalValue(B.id())).isNull();
+        assertThat(previous.get().getEvalFalse()).isEmpty();
+    }
+
+    @Test
+    void execute_pooled_parallel() {
+        assertThat(IntStream.range(0, 10_000).parallel()
+                .filter(i -> rule.executeOnPooled(model, result -> result.value() == rule.test(model)))
+                .count()).isEqualTo(10_000);
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.DOOV.alwaysTrue;
+import static io.doov.core.dsl.DOOV.matchAny;
+import static io.doov.core.dsl.DOOV.when;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.StringFieldInfo;
+import io.doov.core.dsl.lang.Result;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see IndexedRuleRegistry
+ */
+public class IndexedRuleRegistryTest {
+    private GenericModel model = new GenericModel();
+    private StringFieldInfo A = model.stringField("value", "A");
+    private IntegerFieldInfo B = model.intField(18, "B");
+    private StringFieldInfo C = model.stringField(null, "C");
+
+    private IndexedRuleRegistry registry = new IndexedRuleRegistry();
+    private ValidationRule ruleA = when(A.startsWith("v")).validate().registerOn(registry);
+    private ValidationRule ruleB = when(B.greaterThan(10)).validate().registerOn(registry);
+    private ValidationRule ruleAC = when(matchAny(A.isNull(), C.isNotNull())).validate().registerOn(registry);
+    private ValidationRule ruleBC = when(B.eq(18).and(A.eq(C))).validate().registerOn(registry);
+
+    @Test
+    void fields_of() {
+        assertThat(IndexedRuleRegistry.fieldsOf(ruleA.metadata())).containsOnly(A.id());
+        assertThat(IndexedRuleRegistry.fieldsOf(ruleAC.metadata())).containsOnly(A.id(), C.id());
+        assertThat(IndexedRuleRegistry.fieldsOf(ruleBC.metadata())).containsOnly(A.id(), B.id(), C.id());
+    }
+
+    @Test
+    void rules_affected_by() {
+        assertThat(registry.rulesAffectedBy(emptySet())).isEmpty();
+        assertThat(registry.rulesAffectedBy(singleton(A.id()))).containsExactly(ruleA, ruleAC, ruleBC);
+        assertThat(registry.rulesAffectedBy(singleton(B.id()))).containsExactly(ruleB, ruleBC);
+        assertThat(registry.rulesAffectedBy(new HashSet<>(Arrays.asList(C.id(), B.id()))))
+                .containsExactly(ruleB, ruleAC, ruleBC);
+    }
+
+    @Test
+    void unindexed_rules_are_always_affected() {
+        ValidationRule always = when(alwaysTrue()).validate();
+        IndexedRuleRegistry registry = new IndexedRuleRegistry();
+        ruleA.registerOn(registry);
+        ruleA.registerOn(registry);
+        always.registerOn(registry);
+
+        assertThat(registry.stream()).containsExactly(ruleA, always);
+        assertThat(IndexedRuleRegistry.fieldsOf(always.metadata())).isEmpty();
+        assertThat(registry.rulesAffectedBy(singleton(C.id()))).containsExactly(always);
+        assertThat(registry.rulesAffectedBy(singleton(A.id()))).containsExactly(ruleA, always);
+    }
+
+    @Test
+    void register_while_streaming() {
+        ValidationRule always = when(alwaysTrue()).validate();
+        IndexedRuleRegistry registry = new IndexedRuleRegistry();
+        ruleA.registerOn(registry);
+        Stream<ValidationRule> stream = registry.stream();
+
+        registry.stream().forEach(rule -> always.registerOn(registry));
+
+        assertThat(stream).containsExactly(ruleA);
+        assertThat(registry.stream()).containsExactly(ruleA, always);
+    }
+
+    @Test
+    void execute_affected() {
+        Map<ValidationRule, Result> results = registry.executeAffected(model, singleton(C.id()));
+        assertThat(results).containsOnlyKeys(ruleAC, ruleBC);
+        assertThat(results.get(ruleAC).value()).isFalse();
+        assertThat(results.get(ruleBC).value()).isFalse();
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.DOOV.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.StringFieldInfo;
+import io.doov.core.dsl.impl.RuleRewriter.*;
+import io.doov.core.dsl.lang.StepCondition;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.predicate.PredicateMetadata;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see RuleRewriter
+ */
+public class RuleRewriterTest {
+    private GenericModel model = new GenericModel();
+    private StringFieldInfo A = model.stringField("a", "A");
+    private IntegerFieldInfo B = model.intField(18, "B");
+
+    @Test
+    void equality_chains() {
+        assertEquivalent(A.eq("a").or(A.eq("b")).or(A.eq("c")));
+        assertEquivalent(A.eq("a").or(B.eq(18).or(A.eq("b"))));
+        assertEquivalent(A.notEq("a").and(A.notEq("b")));
+        assertEquivalent(A.eq("a").or(A.eq("b")).not());
+        assertEquivalent(matchNone(A.eq("a"), A.eq("b")));
+        assertEquivalent(A.noneMatch("a", "b"));
+        assertEquivalent(A.eq("a").and(A.eq("b")));
+
+        assertThat(RuleRewriter.normalize(A.eq("a").or(A.eq("b")).or(A.eq("c")))).isInstanceOf(Membership.class);
+        assertThat(RuleRewriter.normalize(A.notEq("a").and(B.notEq(1)).and(A.notEq("b"))))
+                .isInstanceOf(All.class);
+    }
+
+    @Test
+    void double_negation() {
+        assertEquivalent(not(not(A.startsWith("a"))));
+        assertEquivalent(A.startsWith("a").not().not().not());
+
+        assertThat(RuleRewriter.normalize(not(not(A.startsWith("a"))))).isInstanceOf(Leaf.class);
+    }
+
+    @Test
+    void constants() {
+        assertEquivalent(alwaysTrue().and(A.eq("a")));
+        assertEquivalent(alwaysFalse().and(A.eq("a")));
+        assertEquivalent(alwaysFalse().or(B.greaterThan(10)));
+        assertEquivalent(alwaysTrue().or(B.greaterThan(10)));
+        assertEquivalent(alwaysTrue("custom").not());
+        assertEquivalent(matchAll(alwaysTrue(), alwaysTrue()));
+
+        assertThat(RuleRewriter.normalize(alwaysTrue().and(A.eq("a")))).isInstanceOf(Membership.class);
+        assertThat(RuleRewriter.normalize(alwaysFalse().and(A.eq("a")))).isSameAs(Constant.FALSE);
+        assertThat(RuleRewriter.normalize(matchAny(alwaysFalse(), alwaysTrue().not()))).isSameAs(Constant.FALSE);
+    }
+
+    @Test
+    void nested_match_all() {
+        StepCondition condition = matchAll(B.greaterThan(10), matchAll(A.isNotNull(), matchAll(B.lesserThan(20))),
+                A.startsWith("a").and(B.notEq(15)));
+        assertEquivalent(condition);
+
+        assertThat(RuleRewriter.normalize(condition)).isInstanceOf(All.class);
+    }
+
+    @Test
+    void keeps_readable_and_trace() {
+        StepCondition condition = A.eq("a").or(A.eq("b")).not();
+        ValidationRule rule = when(condition).validate();
+        ValidationRule rewritten = RuleRewriter.rewrite(rule);
+
+        assertThat(rewritten.readable()).isEqualTo(rule.readable());
+        assertThat(rewritten.getStepWhen().stepCondition().metadata()).isSameAs(condition.metadata());
+        assertThat(rewritten.test(model)).isFalse();
+        assertThat(((PredicateMetadata) condition.metadata()).falseEvalCount()).isEqualTo(0);
+        assertThat(rewritten.executeOn(model).value()).isFalse();
+        assertThat(((PredicateMetadata) condition.metadata()).falseEvalCount()).isEqualTo(1);
+        assertThat(RuleRewriter.rewrite(rewritten.getStepWhen().stepCondition()))
+                .isSameAs(rewritten.getStepWhen().stepCondition());
+    }
+
+    private void assertEquivalent(StepCondition condition) {
+        ValidationRule rule = when(condition).validate();
+        ValidationRule rewritten = RuleRewriter.rewrite(rule);
+        for (String a : new String[] { null, "a", "b", "c" }) {
+            for (Integer b : new Integer[] { null, 1, 15, 18, 25 }) {
+                model.set(A.id(), a);
+                model.set(B.id(), b);
+                assertThat(rewritten.test(model)).as(rule.readable() + " A=" + a + " B=" + b)
+                        .isEqualTo(rule.executeOn(model).value());
+            }
+        }
+        assertThat(rewritten.readable()).isEqualTo(rule.readable());
+    }
+
+}
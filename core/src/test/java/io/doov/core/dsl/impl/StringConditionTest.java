@@ -7,8 +7,10 @@ import static io.doov.core.dsl.DOOV.when;
 import static io.doov.core.dsl.lang.ReduceType.FAILURE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Locale;
+import java.util.regex.Pattern;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -27,6 +29,7 @@ public class StringConditionTest {
     private ValidationRule rule;
     private GenericModel model = new GenericModel();
     private StringFieldInfo A = model.stringField("value", "A");
+    private StringFieldInfo B = model.stringField("va", "B");
     private Result result;
     private Metadata reduce;
 
@@ -52,6 +55,41 @@ public class StringConditionTest {
         assertThat(result.getFailureCause(LOCALE)).isEqualTo("A matches 'z+'");
     }
 
+    @Test
+    void matches_pattern() {
+        rule = when(A.matches(Pattern.compile("v.*e"))).validate();
+        result = rule.executeOn(model);
+        reduce = result.reduce(FAILURE);
+
+        assertTrue(result.value());
+        assertThat(rule.readable(LOCALE)).isEqualTo("rule when A matches 'v.*e' validate");
+        assertThat(result.getFailureCause(LOCALE)).isNull();
+    }
+
+    @Test
+    void matches_condition() {
+        rule = when(A.matches(B.mapToString(s -> s + ".*"))).validate();
+        result = rule.executeOn(model);
+        reduce = result.reduce(FAILURE);
+
+        assertTrue(result.value());
+        assertTrue(rule.test(model));
+        assertThat(rule.readable(LOCALE)).startsWith("rule when A matches B as a string");
+        assertThat(PatternCache.compile("va.*")).isSameAs(PatternCache.compile("va.*"));
+    }
+
+    @Test
+    void find() {
+        rule = when(A.find(Pattern.compile("z+"))).validate();
+        result = rule.executeOn(model);
+        reduce = result.reduce(FAILURE);
+
+        assertFalse(result.value());
+        assertThat(rule.readable(LOCALE)).isEqualTo("rule when A contains pattern 'z+' validate");
+        assertThat(result.getFailureCause(LOCALE)).isEqualTo("A contains pattern 'z+'");
+        assertTrue(when(A.find(Pattern.compile("al"))).validate().test(model));
+    }
+
     @Test
     void startsWith() {
         rule = when(A.startsWith("zz")).validate();
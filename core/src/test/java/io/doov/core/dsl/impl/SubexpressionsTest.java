@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.DOOV.matchAll;
+import static io.doov.core.dsl.DOOV.when;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.StringFieldInfo;
+import io.doov.core.dsl.lang.Result;
+import io.doov.core.dsl.lang.StepCondition;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see Subexpressions
+ */
+public class SubexpressionsTest {
+    private GenericModel model = new GenericModel();
+    private StringFieldInfo A = model.stringField("value", "A");
+    private IntegerFieldInfo B = model.intField(18, "B");
+    private CountingModel countingModel = new CountingModel(model);
+
+    @Test
+    void repeated_fields() {
+        StepCondition condition = matchAll(A.startsWith("v"), A.endsWith("e"), B.greaterThan(10), B.lesserThan(20));
+        Subexpressions subexpressions = Subexpressions.analyze(condition);
+        assertThat(subexpressions.size()).isEqualTo(2);
+        assertThat(subexpressions.fieldSlot(A.id())).isNotNegative();
+        assertThat(subexpressions.fieldSlot(B.id())).isNotNegative();
+
+        Result result = when(condition).validate().executeOn(countingModel);
+        assertThat(result.value()).isTrue();
+        assertThat(countingModel.reads).containsEntry(A.id(), 1).containsEntry(B.id(), 1);
+        assertThat(result.getContext().getEvalValue(A.id())).isEqualTo("value");
+    }
+
+    @Test
+    void repeated_functions() {
+        StepCondition condition = A.length().greaterThan(2).and(A.length().lesserThan(10))
+                .and(B.eq(18));
+        Subexpressions subexpressions = Subexpressions.analyze(condition);
+        assertThat(subexpressions.size()).isEqualTo(2);
+        assertThat(subexpressions.fieldSlot(A.id())).isNotNegative();
+        assertThat(subexpressions.fieldSlot(B.id())).isNegative();
+
+        ValidationRule rule = when(condition).validate();
+        assertThat(rule.executeOn(countingModel).value()).isTrue();
+        assertThat(countingModel.reads).containsEntry(A.id(), 1).containsEntry(B.id(), 1);
+        assertThat(rule.withShortCircuit(false).executeOn(countingModel).value()).isTrue();
+    }
+
+    @Test
+    void unknown_functions_are_not_memoized() {
+        StepCondition condition = A.mapToString(s -> s + "1").eq("value1")
+                .and(A.mapToString(s -> s + "2").eq("value2"));
+        Subexpressions subexpressions = Subexpressions.analyze(condition);
+        assertThat(subexpressions.size()).isEqualTo(1);
+        assertThat(when(condition).validate().executeOn(countingModel).value()).isTrue();
+    }
+
+    @Test
+    void described_functions_are_not_memoized() {
+        model.set(A.id(), " abc ");
+        StepCondition condition = A.getDefaultCondition().map("normalized", String::trim).eq("abc")
+                .and(A.getDefaultCondition().map("normalized", String::toUpperCase).eq(" ABC "));
+        Subexpressions subexpressions = Subexpressions.analyze(condition);
+        assertThat(subexpressions.size()).isEqualTo(1);
+        assertThat(subexpressions.fieldSlot(A.id())).isNotNegative();
+
+        ValidationRule rule = when(condition).validate();
+        assertThat(rule.test(model)).isTrue();
+        assertThat(rule.executeOn(model).value()).isTrue();
+    }
+
+    @Test
+    void nothing_repeated() {
+        assertThat(Subexpressions.analyze(A.startsWith("v").and(B.greaterThan(10))).isEmpty()).isTrue();
+        assertThat(when(A.startsWith("v").and(B.greaterThan(10))).validate().executeOn(model).value()).isTrue();
+    }
+
+    private static final class CountingModel implements DslModel {
+        private final DslModel model;
+        private final Map<FieldId, Integer> reads = new HashMap<>();
+
+        private CountingModel(DslModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public <T> T get(FieldId id) {
+            reads.merge(id, 1, Integer::sum);
+            return model.get(id);
+        }
+
+        @Override
+        public <T> void set(FieldId fieldId, T value) {
+            model.set(fieldId, value);
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.DOOV.when;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.*;
+import io.doov.core.dsl.lang.StepCondition;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see ValueLookup
+ */
+public class ValueLookupTest {
+    private GenericModel model = new GenericModel();
+    private StringFieldInfo postalCode = model.stringField("75001", "postal code");
+    private IntegerFieldInfo age = model.intField(18, "age");
+    private LongFieldInfo id = model.longField(42L, "id");
+    private EnumFieldInfo<TimeUnit> unit = model.enumField(TimeUnit.SECONDS, "unit");
+
+    @Test
+    void lookups() {
+        assertLookup(asList("a", "b", "c", null), "a", "c", "d", null, 1);
+        assertLookup(asList(1, 5, -3, 5), 1, 5, -3, 2, 5L, "1", null);
+        assertLookup(asList(1L, Long.MAX_VALUE, Long.MIN_VALUE), 1L, Long.MAX_VALUE, 1, 0L);
+        assertLookup(asList(TimeUnit.SECONDS, TimeUnit.DAYS), TimeUnit.SECONDS, TimeUnit.HOURS, "SECONDS", null);
+        assertLookup(asList(1, 1L, "1", TimeUnit.DAYS), 1, 1L, "1", TimeUnit.DAYS, 2, TimeUnit.HOURS);
+        assertLookup(Collections.emptyList(), "a", 1, null);
+        assertLookup(Collections.singletonList(null), "a", null);
+    }
+
+    @Test
+    void large_lookup() {
+        List<String> codes = IntStream.range(0, 5000).mapToObj(i -> String.format("%05d", i * 7))
+                .collect(Collectors.toList());
+        ValueLookup lookup = ValueLookup.of(codes);
+
+        for (int i = 0; i < 35000; i++) {
+            String code = String.format("%05d", i);
+            assertThat(lookup.contains(code)).as(code).isEqualTo(i % 7 == 0);
+        }
+    }
+
+    @Test
+    void match_conditions() {
+        List<String> codes = asList("75001", "75002", "69001");
+        for (String value : asList("75001", "69001", "13001", null)) {
+            model.set(postalCode.id(), value);
+            assertSameValue(postalCode.anyMatch(codes), value != null && codes.contains(value));
+            assertSameValue(postalCode.anyMatch("75001", "75002", "69001"), value != null && codes.contains(value));
+            assertSameValue(postalCode.noneMatch(codes), value != null && !codes.contains(value));
+            assertSameValue(postalCode.noneMatch("75001", "75002", "69001"), value != null && !codes.contains(value));
+            assertSameValue(postalCode.allMatch("75001", "75001"), "75001".equals(value));
+            assertSameValue(postalCode.allMatch(codes), false);
+            assertSameValue(postalCode.allMatch(Collections.emptyList()), value != null);
+        }
+        for (Integer value : asList(18, 20, null)) {
+            model.set(age.id(), value);
+            assertSameValue(age.anyMatch(10, 18, 30), value != null && value == 18);
+            assertSameValue(age.noneMatch(10, 18, 30), value != null && value != 18);
+        }
+        model.set(id.id(), 42L);
+        assertSameValue(id.anyMatch(41L, 42L), true);
+        model.set(unit.id(), TimeUnit.DAYS);
+        assertSameValue(unit.anyMatch(TimeUnit.DAYS, TimeUnit.HOURS), true);
+        assertSameValue(unit.noneMatch(TimeUnit.DAYS, TimeUnit.HOURS), false);
+    }
+
+    @Test
+    void values_are_copied() {
+        List<String> codes = new ArrayList<>(asList("75001", "75002"));
+        ValidationRule rule = when(postalCode.anyMatch(codes)).validate();
+        String readable = rule.readable();
+        codes.clear();
+
+        assertThat(rule.test(model)).isTrue();
+        assertThat(rule.executeOn(model).value()).isTrue();
+        assertThat(rule.readable()).isEqualTo(readable);
+    }
+
+    private void assertLookup(Collection<?> values, Object... tested) {
+        ValueLookup lookup = ValueLookup.of(values);
+        for (Object value : tested) {
+            boolean expected = value != null && values.stream().anyMatch(value::equals);
+            assertThat(lookup.contains(value)).as(values + " contains " + value).isEqualTo(expected);
+        }
+    }
+
+    private void assertSameValue(StepCondition condition, boolean expected) {
+        ValidationRule rule = when(condition).validate();
+        assertThat(rule.test(model)).as(rule.readable()).isEqualTo(expected);
+        assertThat(rule.executeOn(model).value()).as(rule.readable()).isEqualTo(expected);
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl.num;
+
+import static io.doov.core.dsl.DOOV.when;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.field.types.*;
+import io.doov.core.dsl.lang.StepCondition;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see NumericOperators#primitiveComparison
+ */
+public class PrimitiveComparisonTest {
+    private GenericModel model = new GenericModel();
+    private IntegerFieldInfo A = model.intField(18, "A");
+    private IntegerFieldInfo MIN = model.intField(Integer.MIN_VALUE, "min");
+    private LongFieldInfo B = model.longField(5L, "B");
+    private DoubleFieldInfo C = model.doubleField(2.5, "C");
+    private DoubleFieldInfo NAN = model.doubleField(Double.NaN, "nan");
+    private BooleanFieldInfo D = model.booleanField(true, "D");
+    private BooleanFieldInfo E = model.booleanField(false, "E");
+
+    @Test
+    void int_comparisons() {
+        assertSameValue(A.lesserThan(18), A.lesserThan(19), A.lesserOrEquals(18), A.lesserOrEquals(17));
+        assertSameValue(A.greaterThan(18), A.greaterThan(17), A.greaterOrEquals(18), A.greaterOrEquals(19));
+        assertSameValue(A.between(10, 20), A.between(18, 18));
+        // the null sentinel is a valid value
+        assertSameValue(MIN.lesserThan(0), MIN.greaterOrEquals(Integer.MIN_VALUE), MIN.greaterThan(0));
+    }
+
+    @Test
+    void long_comparisons() {
+        assertSameValue(B.lesserThan(5L), B.lesserOrEquals(5L), B.greaterThan(4L), B.greaterOrEquals(6L));
+    }
+
+    @Test
+    void double_comparisons() {
+        assertSameValue(C.lesserThan(2.5), C.lesserOrEquals(2.5), C.greaterThan(2.0), C.greaterOrEquals(3.0));
+        assertSameValue(NAN.lesserThan(1.0), NAN.greaterThan(1.0), NAN.greaterOrEquals(Double.NaN));
+    }
+
+    @Test
+    void boolean_comparisons() {
+        assertSameValue(D.isTrue(), D.isFalse(), E.isTrue(), E.isFalse());
+    }
+
+    @Test
+    void null_values() {
+        model.set(A.id(), null);
+        model.set(B.id(), null);
+        model.set(C.id(), null);
+        model.set(D.id(), null);
+
+        assertSameValue(A.lesserThan(18), A.greaterOrEquals(Integer.MIN_VALUE), A.lesserOrEquals(Integer.MIN_VALUE));
+        assertSameValue(B.greaterOrEquals(Long.MIN_VALUE), B.lesserThan(0L));
+        assertSameValue(C.lesserThan(1.0), C.greaterThan(1.0));
+        assertSameValue(D.isTrue(), D.isFalse());
+    }
+
+    @Test
+    void compiled_uses_primitive_accessors() {
+        PrimitiveModel primitiveModel = new PrimitiveModel(model);
+        ValidationRule rule = when(A.greaterOrEquals(18)
+                .and(B.lesserThan(10L))
+                .and(C.greaterThan(1.0))
+                .and(D.isTrue())).validate();
+
+        assertThat(rule.test(primitiveModel)).isTrue();
+        assertThat(primitiveModel.primitiveReads).isEqualTo(4);
+        assertThat(primitiveModel.boxedReads).isEqualTo(0);
+    }
+
+    private void assertSameValue(StepCondition... conditions) {
+        for (StepCondition condition : conditions) {
+            ValidationRule rule = when(condition).validate();
+            assertThat(rule.test(model)).as(rule.readable()).isEqualTo(rule.executeOn(model).value());
+        }
+    }
+
+    private static final class PrimitiveModel implements DslModel {
+        private final DslModel model;
+        private int primitiveReads;
+        private int boxedReads;
+
+        private PrimitiveModel(DslModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public <T> T get(FieldId id) {
+            boxedReads++;
+            return model.get(id);
+        }
+
+        @Override
+        public <T> void set(FieldId fieldId, T value) {
+            model.set(fieldId, value);
+        }
+
+        @Override
+        public int getInt(FieldId id, int nullValue) {
+            primitiveReads++;
+            return model.getInt(id, nullValue);
+        }
+
+        @Override
+        public long getLong(FieldId id, long nullValue) {
+            primitiveReads++;
+            return model.getLong(id, nullValue);
+        }
+
+        @Override
+        public double getDouble(FieldId id, double nullValue) {
+            primitiveReads++;
+            return model.getDouble(id, nullValue);
+        }
+
+        @Override
+        public boolean getBoolean(FieldId id, boolean nullValue) {
+            primitiveReads++;
+            return model.getBoolean(id, nullValue);
+        }
+    }
+
+}
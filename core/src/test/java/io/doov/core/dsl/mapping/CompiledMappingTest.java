@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.mapping;
+
+import static io.doov.core.dsl.DOOV.*;
+import static io.doov.core.dsl.mapping.TypeConverters.biConverter;
+import static io.doov.core.dsl.mapping.TypeConverters.converter;
+import static io.doov.core.dsl.mapping.TypeConverters.counter;
+import static io.doov.core.dsl.runtime.FieldChainBuilder.from;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.FieldId;
+import io.doov.core.FieldInfo;
+import io.doov.core.FieldModel;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.StringFieldInfo;
+import io.doov.core.dsl.lang.Context;
+import io.doov.core.dsl.lang.MappingOutput;
+import io.doov.core.dsl.mapping.CompiledMapping.*;
+import io.doov.core.dsl.meta.MappingMetadata;
+import io.doov.core.dsl.meta.Metadata;
+import io.doov.core.dsl.runtime.*;
+import io.doov.core.dsl.runtime.FieldAccessorTest.Node;
+
+/**
+ * @see CompiledMapping
+ */
+public class CompiledMappingTest {
+    private GenericModel model = new GenericModel();
+    private StringFieldInfo A = model.stringField("a", "A");
+    private StringFieldInfo B = model.stringField(null, "B");
+    private StringFieldInfo C = model.stringField("c", "C");
+    private IntegerFieldInfo F = model.intField(1, "F");
+    private IntegerFieldInfo G = model.intField(0, "G");
+
+    @Test
+    void same_as_execute() {
+        List<String> consumed = new ArrayList<>();
+        MappingRegistry mappings = mappings(
+                map(A).to(B),
+                map(B).using(converter(String::length, -1, "length")).to(G),
+                map(A, C).using(biConverter((a, c) -> a + c, "", "", "concat")).to(B),
+                map(A, B, C).using(counter("count")).to(F),
+                map(() -> "static").to(C),
+                map((in, context) -> in.<Integer> get(F.id()) * 10).to(G),
+                when(F.greaterThan(2)).then(map(A).to(C)).otherwise(map(B).to(C), mapNull(A)),
+                map(C).to((out, context, value) -> consumed.add(value)),
+                map(C).to(new UpperCaseOutput(B)));
+
+        for (String a : Arrays.asList("a", null, "abc")) {
+            model.set(A.id(), a);
+            GenericModel expected = new GenericModel();
+            mappings.executeOn(model, expected);
+            GenericModel actual = new GenericModel();
+            mappings.compile(model.getFieldInfos(), model.getFieldInfos()).executeOn(model, actual);
+
+            for (FieldInfo info : model.getFieldInfos()) {
+                assertThat(actual.<Object> get(info.id())).as(info.readable())
+                        .isEqualTo(expected.<Object> get(info.id()));
+            }
+        }
+        assertThat(consumed).hasSize(6);
+        assertThat(consumed.subList(0, 3)).isEqualTo(consumed.subList(3, 6));
+    }
+
+    @Test
+    void steps() {
+        MappingRegistry mappings = mappings(
+                map(A).to(B),
+                map(B).using(converter(String::length, -1, "length")).to(G),
+                when(F.greaterThan(2)).then(map(A).to(C)),
+                map(C).to(new UpperCaseOutput(B)));
+
+        List<Step> steps = mappings.compile(model.getFieldInfos(), model.getFieldInfos()).steps();
+
+        assertThat(steps).hasSize(4);
+        assertThat(steps.get(0)).isInstanceOf(CopyStep.class);
+        assertThat(steps.get(1)).isInstanceOf(ConvertStep.class);
+        assertThat(steps.get(2)).isInstanceOf(ConditionalStep.class);
+        assertThat(steps.get(3)).isInstanceOf(RuleStep.class);
+    }
+
+    @Test
+    void runtime_models() {
+        FieldId value = () -> "VALUE";
+        FieldId nextValue = () -> "NEXT_VALUE";
+        List<RuntimeField<Node, Object>> fields = new ArrayList<>();
+        RuntimeField<Node, String> valueField = from(Node.class, value)
+                .field(Node::getValue, Node::setValue, String.class).register(fields);
+        RuntimeField<Node, String> nextValueField = from(Node.class, nextValue)
+                .get(Node::getNext, Node::setNext, Node::new)
+                .field(Node::getValue, Node::setValue, String.class).register(fields);
+        RuntimeFieldRegistry<Node> registry = new RuntimeFieldRegistry<>(fields, true);
+        CompiledMapping plan = mappings(map(valueField).to(nextValueField))
+                .compile(registry.fieldInfos(), registry.fieldInfos());
+
+        Node in = new Node();
+        in.setValue("value");
+        Node out = new Node();
+        plan.executeOn(new RuntimeModel<>(registry, in), new RuntimeModel<>(registry, out));
+
+        assertThat(plan.steps().get(0)).isInstanceOf(CopyStep.class);
+        assertThat(out.getNext().getValue()).isEqualTo("value");
+        assertThat(out.getValue()).isNull();
+    }
+
+    @Test
+    void unknown_field() {
+        GenericModel other = new GenericModel();
+        StringFieldInfo D = other.stringField("d", "D");
+        MappingRegistry mappings = mappings(map(A).to(D));
+
+        assertThatThrownBy(() -> mappings.compile(model.getFieldInfos(), model.getFieldInfos()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(mappings.compile(model.getFieldInfos(), other.getFieldInfos()).steps()).hasSize(1);
+    }
+
+    private static final class UpperCaseOutput implements MappingOutput<String> {
+
+        private final StringFieldInfo field;
+
+        UpperCaseOutput(StringFieldInfo field) {
+            this.field = field;
+        }
+
+        @Override
+        public Metadata metadata() {
+            return MappingMetadata.outputMetadata("upper case");
+        }
+
+        @Override
+        public boolean validate(FieldModel outModel) {
+            return true;
+        }
+
+        @Override
+        public void write(DslModel outModel, Context context, String value) {
+            outModel.set(field, value == null ? null : value.toUpperCase());
+        }
+
+    }
+
+}
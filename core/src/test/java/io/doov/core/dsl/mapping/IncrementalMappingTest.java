@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.mapping;
+
+import static io.doov.core.dsl.DOOV.*;
+import static io.doov.core.dsl.mapping.TypeConverters.converter;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.ChangeTrackingFieldModel;
+import io.doov.core.FieldInfo;
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.StringFieldInfo;
+import io.doov.core.dsl.lang.TypeConverter;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see IncrementalMappingExecutor
+ */
+public class IncrementalMappingTest {
+    private GenericModel model = new GenericModel();
+    private StringFieldInfo A = model.stringField("a", "A");
+    private StringFieldInfo B = model.stringField(null, "B");
+    private StringFieldInfo C = model.stringField(null, "C");
+    private StringFieldInfo D = model.stringField("d", "D");
+    private StringFieldInfo E = model.stringField(null, "E");
+    private IntegerFieldInfo F = model.intField(1, "F");
+    private IntegerFieldInfo G = model.intField(0, "G");
+    private List<String> executed = new ArrayList<>();
+
+    private MappingRegistry mappings = mappings(
+            map(A).using(trace("A->B")).to(B),
+            map(B).using(trace("B->C")).to(C),
+            when(F.greaterThan(0))
+                    .then(map(A).using(trace("then A->D")).to(D))
+                    .otherwise(map(B).using(trace("else B->D")).to(D)),
+            map(D).using(trace("D->E")).to(E),
+            map(F).using(trace("F->G")).to(G));
+
+    @Test
+    void changed_input() {
+        mappings.executeOn(model, model);
+        ChangeTrackingFieldModel tracking = model.trackChanges();
+
+        tracking.set(A.id(), "x");
+        executed.clear();
+        mappings.executeIncremental(model, model, tracking.changedFields());
+
+        assertThat(executed).containsExactly("A->B", "B->C", "then A->D", "D->E");
+        assertSameAsFullExecution();
+    }
+
+    @Test
+    void changed_condition() {
+        mappings.executeOn(model, model);
+        ChangeTrackingFieldModel tracking = model.trackChanges();
+
+        tracking.set(F.id(), 0);
+        executed.clear();
+        mappings.executeIncremental(model, model, tracking.changedFields());
+
+        assertThat(executed).containsExactly("else B->D", "D->E", "F->G");
+        assertSameAsFullExecution();
+    }
+
+    @Test
+    void unchanged() {
+        mappings.executeOn(model, model);
+        executed.clear();
+
+        mappings.executeIncremental(model, model, Collections.emptySet());
+
+        assertThat(executed).isEmpty();
+    }
+
+    @Test
+    void separate_out_model() {
+        GenericModel out = new GenericModel();
+        mappings.executeOn(model, out);
+        model.set(A.id(), "x");
+        executed.clear();
+
+        mappings.executeIncremental(model, out, Collections.singleton(A.id()));
+
+        assertThat(executed).containsExactly("A->B", "then A->D");
+        assertThat(out.<String> get(B.id())).isEqualTo("x");
+        assertThat(out.<String> get(D.id())).isEqualTo("x");
+    }
+
+    @Test
+    void function_rules_are_always_executed() {
+        MappingRegistry functions = mappings(
+                map(B).using(trace("B->C")).to(C),
+                map((in, context) -> "function").to(B),
+                map(B).using(trace("B->E")).to(E));
+        functions.executeOn(model, model);
+        executed.clear();
+
+        functions.executeIncremental(model, model, Collections.emptySet());
+
+        assertThat(executed).containsExactly("B->E");
+        assertThat(model.<String> get(E.id())).isEqualTo("function");
+    }
+
+    private <T> TypeConverter<T, T> trace(String name) {
+        return converter(value -> {
+            executed.add(name);
+            return value;
+        }, null, name);
+    }
+
+    private void assertSameAsFullExecution() {
+        Map<FieldInfo, Object> incremental = new HashMap<>();
+        model.getFieldInfos().forEach(info -> incremental.put(info, model.get(info.id())));
+        mappings.executeOn(model, model);
+        model.getFieldInfos().forEach(info -> assertThat(model.<Object> get(info.id())).as(info.readable())
+                .isEqualTo(incremental.get(info)));
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.mapping;
+
+import static io.doov.core.dsl.DOOV.*;
+import static io.doov.core.dsl.mapping.TypeConverters.biConverter;
+import static io.doov.core.dsl.mapping.TypeConverters.converter;
+import static io.doov.core.dsl.runtime.FieldChainBuilder.from;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static java.util.stream.Collectors.toList;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.*;
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.StringFieldInfo;
+import io.doov.core.dsl.impl.DefaultContext;
+import io.doov.core.dsl.lang.MappingRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see ParallelMappingExecutor
+ */
+public class ParallelMappingExecutorTest {
+    private ExecutorService executor = Executors.newFixedThreadPool(4);
+    private GenericModel model = new GenericModel();
+    private StringFieldInfo A = model.stringField("a", "A");
+    private StringFieldInfo B = model.stringField(null, "B");
+    private StringFieldInfo C = model.stringField(null, "C");
+    private StringFieldInfo D = model.stringField("d", "D");
+    private StringFieldInfo E = model.stringField(null, "E");
+    private IntegerFieldInfo F = model.intField(1, "F");
+    private IntegerFieldInfo G = model.intField(0, "G");
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void levels() {
+        MappingRegistry mappings = mappings(
+                map(A).to(B),
+                map(D).to(E),
+                map(B).using(converter(s -> s + "!", "")).to(C),
+                when(F.greaterThan(0)).then(map(D).to(C)),
+                map(A, D).using(biConverter((a, d) -> a + d, "", "", "concat")).to(E),
+                map(F).to(G),
+                map((in, context) -> 42).to(G),
+                map(A).to(B));
+
+        assertThat(levels(mappings)).containsExactly(0, 0, 1, 2, 1, 0, 3, 4);
+        assertThat(new ParallelMappingExecutor(mappings.stream().collect(toList())).levelCount()).isEqualTo(5);
+    }
+
+    @Test
+    void same_as_sequential() {
+        assertSameAsSequential(mappings(
+                map(A).to(B),
+                map(D).to(E),
+                map(B).using(converter(s -> s + "!", "")).to(C),
+                when(F.greaterThan(0)).then(map(D).to(A), map(A).to(D)).otherwise(map(E).to(A)),
+                map(A, D).using(biConverter((a, d) -> a + d, "", "", "concat")).to(E),
+                map(F).using(converter(f -> f * 2, 0, "double")).to(G),
+                map(G).using(converter(g -> g + 1, 0, "increment")).to(F),
+                map(() -> "static").to(D)));
+        // the last rule writes a field read by a rule in level 1, it can't be executed in level 0
+        assertSameAsSequential(mappings(
+                map(A).to(B),
+                map(B, D).using(biConverter((b, d) -> b + d, "", "", "concat")).to(C),
+                map(() -> "x").to(D)));
+    }
+
+    @Test
+    void context_aware_converter() {
+        MappingRegistry mappings = mappings(
+                map(A).to(B),
+                map(D).using(TypeContextConverters.<String, String> converter(
+                        (context, d) -> d.orElse("") + context.getEvalValue(B.id()), "with B")).to(C));
+
+        assertThat(levels(mappings)).containsExactly(0, 1);
+        assertSameAsSequential(mappings);
+    }
+
+    @Test
+    void siblings() {
+        FieldId x = () -> "X";
+        FieldId y = () -> "Y";
+        StringFieldInfo in = field(() -> "IN");
+        StringFieldInfo X = field(x, y);
+        StringFieldInfo Y = field(y, x);
+        StringFieldInfo Z = field(() -> "Z");
+        StringFieldInfo W = field(() -> "W");
+        MappingRegistry mappings = mappings(map(in).to(X), map(Y).to(Z));
+        // a rule that writes a field and reads its sibling, in a level with another rule
+        MappingRegistry nested = mappings(when(in.isNotNull()).then(map(in).to(X), map(Y).to(Z)), map(in).to(W));
+
+        assertThat(levels(mappings)).containsExactly(0, 1);
+        assertThat(levels(nested)).containsExactly(0, 0);
+        for (MappingRegistry registry : asList(mappings, nested)) {
+            BaseFieldModel siblingModel = new BaseFieldModel(asList(in, X, Y, Z, W));
+            siblingModel.set(in.id(), "in");
+
+            registry.executeParallel(siblingModel, siblingModel, new DefaultContext(registry.metadata()), executor);
+
+            assertThat(siblingModel.<String> get(x)).isEqualTo("in");
+            assertThat(siblingModel.<String> get(y)).isEqualTo("in");
+            assertThat(siblingModel.<String> get(Z.id())).isEqualTo("in");
+        }
+    }
+
+    private static StringFieldInfo field(FieldId id, FieldId... siblings) {
+        return new StringFieldInfo(from(FieldModel.class, id).readable(id.code()).siblings(siblings)
+                .field(m -> m.<String> get(id), (m, v) -> m.set(id, v), String.class));
+    }
+
+    private void assertSameAsSequential(MappingRegistry mappings) {
+        for (Integer f : Arrays.asList(1, 0, null)) {
+            reset(f);
+            DefaultContext sequential = mappings.executeOn(model, model, new DefaultContext(mappings.metadata()));
+            Map<FieldId, Object> expected = snapshot();
+
+            reset(f);
+            DefaultContext parallel = mappings.executeParallel(model, model,
+                    new DefaultContext(mappings.metadata()), executor);
+
+            assertThat(snapshot()).isEqualTo(expected);
+            assertThat(parallel.getEvalTrue()).isEqualTo(sequential.getEvalTrue());
+            assertThat(parallel.getEvalFalse()).isEqualTo(sequential.getEvalFalse());
+            for (FieldInfo info : model.getFieldInfos()) {
+                assertThat(parallel.getEvalValue(info.id())).isEqualTo(sequential.getEvalValue(info.id()));
+            }
+        }
+    }
+
+    @Test
+    void separate_out_model() {
+        GenericModel out = new GenericModel();
+        MappingRegistry mappings = mappings(map(A).to(B), map(D).to(E), map(A).to(E), map(F).to(G));
+
+        mappings.executeParallel(model, out);
+
+        assertThat(out.<String> get(B.id())).isEqualTo("a");
+        assertThat(out.<String> get(E.id())).isEqualTo("a");
+        assertThat(out.<Integer> get(G.id())).isEqualTo(1);
+        assertThat(model.<String> get(B.id())).isNull();
+    }
+
+    @Test
+    void failure_applies_previous_rules() {
+        MappingRegistry mappings = mappings(
+                map(A).to(B),
+                map(D).using(converter(d -> {
+                    throw new IllegalStateException("boom");
+                }, "", "failing")).to(E),
+                map(F).to(G));
+
+        assertThatThrownBy(() -> mappings.executeParallel(model, model, new DefaultContext(mappings.metadata()),
+                executor)).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        assertThat(model.<String> get(B.id())).isEqualTo("a");
+        assertThat(model.<Integer> get(G.id())).isEqualTo(0);
+    }
+
+    private void reset(Integer f) {
+        model.set(A.id(), "a");
+        model.set(B.id(), null);
+        model.set(C.id(), null);
+        model.set(D.id(), "d");
+        model.set(E.id(), null);
+        model.set(F.id(), f);
+        model.set(G.id(), 0);
+    }
+
+    private Map<FieldId, Object> snapshot() {
+        Map<FieldId, Object> values = new HashMap<>();
+        model.getFieldInfos().forEach(info -> values.put(info.id(), model.get(info.id())));
+        return values;
+    }
+
+    private static int[] levels(MappingRegistry mappings) {
+        return ParallelMappingExecutor.levels(
+                mappings.stream().map(MappingDependencies::of).toArray(MappingDependencies[]::new));
+    }
+
+}
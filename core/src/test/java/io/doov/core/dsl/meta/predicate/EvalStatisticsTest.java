@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.meta.predicate;
+
+import static io.doov.core.dsl.DOOV.when;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see EvalStatistics
+ */
+public class EvalStatisticsTest {
+    private GenericModel model = new GenericModel();
+    private IntegerFieldInfo A = model.intField(1, "A");
+    private ValidationRule rule = when(A.eq(1)).validate();
+    private PredicateMetadata metadata = (PredicateMetadata) rule.getStepWhen().stepCondition().metadata();
+
+    @AfterEach
+    void afterEach() {
+        EvalStatistics.setSampling(1);
+    }
+
+    @Test
+    void parallel_counts() {
+        IntStream.range(0, 10_000).parallel().forEach(i -> rule.executeOn(model));
+
+        EvalStatistics.Snapshot snapshot = metadata.statistics().snapshot();
+        assertThat(snapshot.trueCount()).isEqualTo(10_000);
+        assertThat(snapshot.falseCount()).isEqualTo(0);
+        assertThat(snapshot.truePercentage()).isEqualTo(100.0);
+        assertThat(metadata.trueEvalCount()).isEqualTo(10_000);
+
+        metadata.resetCounters();
+        assertThat(metadata.statistics().snapshot().isEmpty()).isTrue();
+        assertThat(metadata.statistics().snapshot().truePercentage()).isNaN();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void deprecated_counters() {
+        assertThat(metadata.incTrueEval()).isEqualTo(1);
+        assertThat(metadata.incFalseEval()).isEqualTo(1);
+        assertThat(metadata.evalTrue().get()).isEqualTo(1);
+        assertThat(metadata.evalFalse().get()).isEqualTo(1);
+    }
+
+    @Test
+    void disabled() {
+        EvalStatistics.disable();
+        rule.executeOn(model);
+        assertThat(metadata.statistics().snapshot().isEmpty()).isTrue();
+    }
+
+    @Test
+    void sampled() {
+        EvalStatistics.setSampling(10);
+        IntStream.range(0, 10_000).forEach(i -> rule.executeOn(model));
+        assertThat(metadata.trueEvalCount()).isBetween(500, 1_500);
+        assertThatThrownBy(() -> EvalStatistics.setSampling(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
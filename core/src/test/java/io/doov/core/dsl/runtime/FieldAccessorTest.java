@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.runtime;
+
+import static io.doov.core.dsl.runtime.FieldChainBuilder.from;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.FieldId;
+
+/**
+ * @see FieldAccessor
+ */
+public class FieldAccessorTest {
+
+    private static final List<RuntimeField<Node, Object>> ALL = new ArrayList<>();
+
+    private static final RuntimeField<Node, String> VALUE = from(Node.class, NodeFieldId.VALUE)
+            .field(Node::getValue, Node::setValue, String.class)
+            .register(ALL);
+
+    private static final RuntimeField<Node, String> NEXT_VALUE = from(Node.class, NodeFieldId.NEXT_VALUE)
+            .get(Node::getNext, Node::setNext, Node::new)
+            .field(Node::getValue, Node::setValue, String.class)
+            .register(ALL);
+
+    private static final RuntimeField<Node, String> CHILD_2_VALUE = from(Node.class, NodeFieldId.CHILD_2_VALUE)
+            .get(Node::getNext, Node::setNext, Node::new)
+            .list(Node::getChildren, Node::setChildren, Node::new)
+            .field(Node::getValue, Node::setValue, String.class)
+            .register(ALL);
+
+    private static final RuntimeField<Node, String> DEPTH_3_VALUE = from(Node.class, NodeFieldId.DEPTH_3_VALUE)
+            .get(Node::getNext, Node::setNext, Node::new)
+            .get(Node::getNext, Node::setNext, Node::new)
+            .get(Node::getNext, Node::setNext, Node::new)
+            .field(Node::getValue, Node::setValue, String.class)
+            .register(ALL);
+
+    private static final RuntimeField<Node, String> DEPTH_5_VALUE = from(Node.class, NodeFieldId.DEPTH_5_VALUE)
+            .get(Node::getNext, Node::setNext, Node::new)
+            .get(Node::getNext, Node::setNext, Node::new)
+            .get(Node::getNext, Node::setNext, Node::new)
+            .get(Node::getNext, Node::setNext, Node::new)
+            .get(Node::getNext, Node::setNext, Node::new)
+            .field(Node::getValue, Node::setValue, String.class)
+            .register(ALL);
+
+    @Test
+    void compiled_registry() {
+        RuntimeFieldRegistry<Node> registry = new RuntimeFieldRegistry<>(ALL, true);
+
+        assertThat(registry.runtimeFields()).allMatch(RuntimeField::isCompiled);
+        assertThat(registry.get(NodeFieldId.NEXT_VALUE)).isNotSameAs(NEXT_VALUE);
+        assertThat(registry.get(NodeFieldId.NEXT_VALUE).id()).isEqualTo(NEXT_VALUE.id());
+        assertThat(new RuntimeFieldRegistry<>(ALL).runtimeFields()).allMatch(f -> !f.isCompiled());
+        assertThat(NEXT_VALUE.compiled().compiled().isCompiled()).isTrue();
+    }
+
+    @Test
+    void get_set_like_chain() {
+        for (RuntimeField<Node, Object> field : ALL) {
+            RuntimeField<Node, Object> compiled = field.compiled();
+            Node chainModel = new Node();
+            Node compiledModel = new Node();
+
+            assertThat(compiled.get(null)).isNull();
+            assertThat(compiled.get(compiledModel)).isNull();
+
+            // a null value does not create the path
+            compiled.set(compiledModel, null);
+            assertThat(compiledModel.getNext()).isNull();
+
+            field.set(chainModel, "value");
+            compiled.set(compiledModel, "value");
+            assertThat(compiled.get(compiledModel)).as(field.id().code()).isEqualTo("value");
+            assertThat(field.get(compiledModel)).isEqualTo("value");
+            assertThat(compiled.get(chainModel)).isEqualTo("value");
+            assertThat(compiledModel.toString()).isEqualTo(chainModel.toString());
+
+            compiled.set(compiledModel, null);
+            assertThat(compiled.get(compiledModel)).isNull();
+        }
+    }
+
+    @Test
+    void runtime_model() {
+        Node node = new Node();
+        RuntimeModel<Node> model = new RuntimeModel<>(new RuntimeFieldRegistry<>(ALL, true), node);
+
+        model.set(NodeFieldId.DEPTH_5_VALUE, "deep");
+        model.set(NodeFieldId.CHILD_2_VALUE, "child");
+
+        assertThat(model.<String> get(NodeFieldId.DEPTH_5_VALUE)).isEqualTo("deep");
+        assertThat(DEPTH_5_VALUE.get(node)).isEqualTo("deep");
+        assertThat(model.<String> get(NodeFieldId.CHILD_2_VALUE)).isEqualTo("child");
+        assertThat(CHILD_2_VALUE.get(node)).isEqualTo("child");
+        assertThat(node.getNext().getChildren()).hasSize(2);
+        assertThat(model.<String> get(NodeFieldId.DEPTH_3_VALUE)).isNull();
+        assertThat(model.<String> get(NodeFieldId.VALUE)).isNull();
+    }
+
+    enum NodeFieldId implements FieldId {
+        VALUE, NEXT_VALUE, CHILD_2_VALUE(2), DEPTH_3_VALUE, DEPTH_5_VALUE;
+
+        private final int position;
+
+        NodeFieldId() {
+            this(-1);
+        }
+
+        NodeFieldId(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public String code() {
+            return name();
+        }
+
+        @Override
+        public int position() {
+            return position;
+        }
+    }
+
+    public static class Node {
+        private String value;
+        private Node next;
+        private List<Node> children;
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+
+        public Node getNext() {
+            return next;
+        }
+
+        public void setNext(Node next) {
+            this.next = next;
+        }
+
+        public List<Node> getChildren() {
+            return children;
+        }
+
+        public void setChildren(List<Node> children) {
+            this.children = children;
+        }
+
+        @Override
+        public String toString() {
+            return "(" + value + ", " + next + ", " + children + ")";
+        }
+    }
+
+}
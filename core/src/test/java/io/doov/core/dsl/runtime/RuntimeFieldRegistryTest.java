@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.runtime;
+
+import static io.doov.core.dsl.runtime.FieldChainBuilder.from;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.runtime.FieldAccessorTest.Node;
+
+/**
+ * @see RuntimeFieldRegistry
+ */
+public class RuntimeFieldRegistryTest {
+
+    private static final FieldId OTHER = () -> "OTHER";
+
+    private final List<RuntimeField<Node, Object>> fields = new ArrayList<>();
+    private final RuntimeField<Node, String> b = from(Node.class, FirstId.B)
+            .field(Node::getValue, Node::setValue, String.class)
+            .register(fields);
+    private final RuntimeField<Node, String> d = from(Node.class, SecondId.D)
+            .get(Node::getNext, Node::setNext, Node::new)
+            .field(Node::getValue, Node::setValue, String.class)
+            .register(fields);
+    private final RuntimeField<Node, String> other = from(Node.class, OTHER)
+            .get(Node::getNext, Node::setNext, Node::new)
+            .get(Node::getNext, Node::setNext, Node::new)
+            .field(Node::getValue, Node::setValue, String.class)
+            .register(fields);
+
+    @Test
+    void slots() {
+        RuntimeFieldRegistry<Node> registry = new RuntimeFieldRegistry<>(fields);
+
+        assertThat(registry.size()).isEqualTo(3);
+        for (RuntimeField<Node, Object> field : fields) {
+            int slot = registry.slotOf(field.id());
+            assertThat(slot).isEqualTo(registry.runtimeFields().indexOf(field));
+            assertThat(registry.get(slot)).isSameAs(field);
+            assertThat(registry.get(field.id())).isSameAs(field);
+        }
+        assertThat(registry.slotOf(FirstId.A)).isEqualTo(-1);
+        assertThat(registry.slotOf(SecondId.C)).isEqualTo(-1);
+        assertThat(registry.slotOf(() -> "UNKNOWN")).isEqualTo(-1);
+        assertThat(registry.get(FirstId.C)).isNull();
+    }
+
+    @Test
+    void runtime_model_slots() {
+        Node node = new Node();
+        RuntimeModel<Node> model = new RuntimeModel<>(new RuntimeFieldRegistry<>(fields), node);
+        int slot = model.slotOf(SecondId.D);
+
+        model.set(slot, "value");
+
+        assertThat(model.<String> get(slot)).isEqualTo("value");
+        assertThat(model.<String> get(SecondId.D)).isEqualTo("value");
+        assertThat(d.get(node)).isEqualTo("value");
+        assertThat(model.<String> get(model.slotOf(OTHER))).isNull();
+        assertThat(b.get(node)).isNull();
+        assertThat(other.get(node)).isNull();
+    }
+
+    enum FirstId implements FieldId {
+        A, B, C;
+
+        @Override
+        public String code() {
+            return "first." + name();
+        }
+    }
+
+    enum SecondId implements FieldId {
+        C, D;
+
+        @Override
+        public String code() {
+            return "second." + name();
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.mapped;
+
+import static io.doov.core.dsl.DOOV.map;
+import static io.doov.core.dsl.DOOV.when;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.*;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.*;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see MappedRecords
+ */
+public class MappedRecordsTest {
+    private GenericModel model = new GenericModel();
+    private IntegerFieldInfo age = model.intField(18, "age");
+    private LongFieldInfo count = model.longField(5L, "count");
+    private DoubleFieldInfo rate = model.doubleField(2.5, "rate");
+    private FloatFieldInfo ratio = model.floatField(0.5f, "ratio");
+    private BooleanFieldInfo valid = model.booleanField(true, "valid");
+    private CharacterFieldInfo initial = model.charField('k', "initial");
+    private StringFieldInfo name = model.stringField("kermit", "name");
+    private StringFieldInfo copy = model.stringField("", "copy");
+    private EnumFieldInfo<TimeUnit> unit = model.enumField(TimeUnit.SECONDS, "unit");
+    private LocalDateFieldInfo date = model.localDateField(LocalDate.of(2000, 1, 1), "date");
+    private LocalTimeFieldInfo time = model.localTimeField(LocalTime.of(12, 30, 15, 42), "time");
+    private LocalDateTimeFieldInfo dateTime = model.localDateTimeField(LocalDateTime.of(2000, 1, 1, 12, 0),
+            "dateTime");
+    private RecordLayout layout;
+    private Path file;
+
+    @BeforeEach
+    void create() throws IOException {
+        model.set(copy.id(), null);
+        layout = new RecordLayout(model.getFieldInfos(), 16);
+        file = Files.createTempFile("records", ".bin");
+    }
+
+    @AfterEach
+    void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void layout() {
+        // 2 bytes of null bitmap for 12 fields
+        assertThat(layout.recordSize()).isEqualTo(2 + 4 + 8 + 8 + 4 + 1 + 2 + 18 + 18 + 4 + 8 + 8 + 16);
+        assertThatThrownBy(() -> new RecordLayout(new GenericModel().getFieldInfos()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void write_read() throws IOException {
+        MappedRecords records = MappedRecords.create(file, layout, 3);
+        MappedRecord record = records.cursor(0);
+        record.setAll(model);
+        record.moveTo(2).setAll(model);
+        record.set(age.id(), 42);
+        record.set(name.id(), "gonzo");
+        record.set(valid.id(), null);
+        records.force();
+
+        assertThat(Files.size(file)).isEqualTo(3L * layout.recordSize());
+        MappedRecords read = MappedRecords.open(file, layout);
+        assertThat(read.size()).isEqualTo(3);
+        MappedRecord first = read.cursor(0);
+        assertThat(first.<Integer> get(age.id())).isEqualTo(18);
+        assertThat(first.<Long> get(count.id())).isEqualTo(5L);
+        assertThat(first.<Double> get(rate.id())).isEqualTo(2.5);
+        assertThat(first.<Float> get(ratio.id())).isEqualTo(0.5f);
+        assertThat(first.<Boolean> get(valid.id())).isTrue();
+        assertThat(first.<Character> get(initial.id())).isEqualTo('k');
+        assertThat(first.<String> get(name.id())).isEqualTo("kermit");
+        assertThat(first.<String> get(copy.id())).isNull();
+        assertThat(first.<TimeUnit> get(unit.id())).isEqualTo(TimeUnit.SECONDS);
+        assertThat(first.<LocalDate> get(date.id())).isEqualTo(LocalDate.of(2000, 1, 1));
+        assertThat(first.<LocalTime> get(time.id())).isEqualTo(LocalTime.of(12, 30, 15, 42));
+        assertThat(first.<LocalDateTime> get(dateTime.id())).isEqualTo(LocalDateTime.of(2000, 1, 1, 12, 0));
+
+        MappedRecord last = read.cursor(2);
+        assertThat(last.getInt(age.id(), -1)).isEqualTo(42);
+        assertThat(last.<String> get(name.id())).isEqualTo("gonzo");
+        assertThat(last.<Boolean> get(valid.id())).isNull();
+        assertThat(last.getBoolean(valid.id(), false)).isFalse();
+
+        MappedRecord empty = read.cursor(1);
+        assertThat(empty.stream().allMatch(e -> e.getValue() == null)).isTrue();
+        assertThat(empty.getInt(age.id(), -1)).isEqualTo(-1);
+        assertThatThrownBy(() -> empty.set(age.id(), 1)).isInstanceOf(ReadOnlyBufferException.class);
+        assertThatThrownBy(() -> read.cursor(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void string_width() throws IOException {
+        MappedRecord record = MappedRecords.create(file, layout, 1).cursor(0);
+
+        record.set(name.id(), "kermit the frog!");
+        assertThat(record.<String> get(name.id())).isEqualTo("kermit the frog!");
+        assertThatThrownBy(() -> record.set(name.id(), "kermit the frog !")).isInstanceOf(
+                IllegalArgumentException.class);
+    }
+
+    @Test
+    void rules() throws IOException {
+        MappedRecords records = MappedRecords.create(file, layout, 100);
+        MappedRecord record = records.cursor(0);
+        for (int i = 0; i < records.size(); i++) {
+            model.set(age.id(), i);
+            record.moveTo(i).setAll(model);
+        }
+        ValidationRule rule = when(age.greaterOrEquals(18).and(name.startsWith("k"))).validate();
+
+        int valid = 0;
+        for (int i = 0; i < records.size(); i++) {
+            record.moveTo(i);
+            assertThat(rule.test(record)).isEqualTo(rule.executeOn(record).value());
+            valid += rule.test(record) ? 1 : 0;
+        }
+        assertThat(valid).isEqualTo(82);
+
+        map(name).to(copy).executeOn(record.moveTo(0), record);
+        assertThat(record.<String> get(copy.id())).isEqualTo("kermit");
+    }
+
+}
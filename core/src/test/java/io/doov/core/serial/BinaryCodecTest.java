@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.serial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.*;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.CodeValuable;
+import io.doov.core.FieldInfo;
+import io.doov.core.dsl.field.types.*;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see BinaryCodec
+ */
+public class BinaryCodecTest {
+
+    private final GenericModel model = new GenericModel();
+    private final IntegerFieldInfo age = model.intField(-18, "age");
+    private final LongFieldInfo id = model.longField(Long.MAX_VALUE, "id");
+    private final DoubleFieldInfo rate = model.doubleField(0.25, "rate");
+    private final FloatFieldInfo ratio = model.floatField(1.5f, "ratio");
+    private final BooleanFieldInfo valid = model.booleanField(true, "valid");
+    private final BooleanFieldInfo expired = model.booleanField(false, "expired");
+    private final CharacterFieldInfo initial = model.charField('é', "initial");
+    private final StringFieldInfo name = model.stringField("Jérôme 😀", "name");
+    private final StringFieldInfo empty = model.stringField("", "empty");
+    private final EnumFieldInfo<TimeUnit> unit = model.enumField(TimeUnit.SECONDS, "unit");
+    private final EnumFieldInfo<Country> country = model.enumField(Country.FRANCE, "country");
+    private final LocalDateFieldInfo birth = model.localDateField(LocalDate.of(1969, 7, 21), "birth");
+    private final LocalTimeFieldInfo time = model.localTimeField(LocalTime.of(23, 59, 59, 999), "time");
+    private final LocalDateTimeFieldInfo created = model.localDateTimeField(LocalDateTime.of(2018, 4, 1, 12, 30),
+            "created");
+    private final StringFieldInfo missing = model.stringField("", "missing");
+
+    private BinaryCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        model.set(missing.id(), null);
+        codec = new BinaryCodec(model.getFieldInfos());
+    }
+
+    @Test
+    void round_trip() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        codec.write(model, buffer);
+        buffer.flip();
+        GenericModel copy = new GenericModel();
+        copy.set(missing.id(), "not null");
+
+        codec.read(buffer, copy);
+
+        assertThat(buffer.hasRemaining()).isFalse();
+        for (FieldInfo info : model.getFieldInfos()) {
+            assertThat(copy.<Object> get(info.id())).as(info.readable()).isEqualTo(model.get(info.id()));
+        }
+        assertThat(copy.<Object> get(missing.id())).isNull();
+    }
+
+    @Test
+    void compact_encoding() {
+        GenericModel small = new GenericModel();
+        small.intField(-1, "a");
+        small.longField(300L, "b");
+        small.enumField(Country.SPAIN, "c");
+        small.set(small.stringField("", "d").id(), null);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        new BinaryCodec(small.getFieldInfos()).write(small, buffer);
+
+        // ordinal + 1, tag, value, and the end of the record
+        assertThat(buffer.position()).isEqualTo((1 + 1 + 1) + (1 + 1 + 2) + (1 + 1 + 1 + 2) + 1);
+    }
+
+    @Test
+    void enum_codes() {
+        GenericModel small = new GenericModel();
+        EnumFieldInfo<Country> c = small.enumField(Country.FRANCE, "c");
+        EnumFieldInfo<TimeUnit> u = small.enumField(TimeUnit.NANOSECONDS, "u");
+        BinaryCodec smallCodec = new BinaryCodec(small.getFieldInfos());
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        smallCodec.write(small, buffer);
+
+        // the length and the bytes of the codes
+        assertThat(buffer.get(2)).isEqualTo((byte) 2);
+        assertThat((char) buffer.get(3)).isEqualTo('F');
+        assertThat((char) buffer.get(4)).isEqualTo('R');
+        assertThat(buffer.get(7)).isEqualTo((byte) "NANOSECONDS".length());
+        buffer.flip();
+        GenericModel copy = new GenericModel();
+        smallCodec.read(buffer, copy);
+        assertThat(copy.<Country> get(c.id())).isEqualTo(Country.FRANCE);
+        assertThat(copy.<TimeUnit> get(u.id())).isEqualTo(TimeUnit.NANOSECONDS);
+    }
+
+    @Test
+    void enum_constant_added() {
+        GenericModel before = new GenericModel();
+        before.enumField(Country.FRANCE, "c");
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        new BinaryCodec(before.getFieldInfos()).write(before, buffer);
+        buffer.flip();
+        GenericModel after = new GenericModel();
+        EnumFieldInfo<NewCountry> c = after.enumField(NewCountry.BELGIUM, "c");
+        BinaryCodec afterCodec = new BinaryCodec(after.getFieldInfos());
+
+        afterCodec.read(buffer, after);
+
+        assertThat(after.<NewCountry> get(c.id())).isEqualTo(NewCountry.FRANCE);
+        buffer.clear();
+        after.set(c.id(), NewCountry.BELGIUM);
+        afterCodec.write(after, buffer);
+        buffer.flip();
+        assertThatThrownBy(() -> new BinaryCodec(before.getFieldInfos()).read(buffer, before))
+                .isInstanceOf(IllegalStateException.class).hasMessageContaining("BE");
+    }
+
+    @Test
+    void records_in_sequence() {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        for (int i = 0; i < 10; i++) {
+            model.set(age.id(), i * 1000);
+            model.set(name.id(), i % 2 == 0 ? null : "name " + i);
+            codec.write(model, buffer);
+        }
+        buffer.flip();
+        GenericModel copy = new GenericModel();
+        for (int i = 0; i < 10; i++) {
+            codec.read(buffer, copy);
+            assertThat(copy.<Integer> get(age.id())).isEqualTo(i * 1000);
+            assertThat(copy.<String> get(name.id())).isEqualTo(i % 2 == 0 ? null : "name " + i);
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void direct_buffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+        codec.write(model, buffer);
+        buffer.flip();
+        GenericModel copy = new GenericModel();
+
+        codec.read(buffer, copy);
+
+        assertThat(copy.<String> get(name.id())).isEqualTo(model.get(name.id()));
+    }
+
+    @Test
+    void overflow_keeps_position() {
+        ByteBuffer buffer = ByteBuffer.allocate(40);
+        buffer.put((byte) 42);
+
+        assertThatThrownBy(() -> codec.write(model, buffer)).isInstanceOf(BufferOverflowException.class);
+        assertThat(buffer.position()).isEqualTo(1);
+    }
+
+    @Test
+    void unsupported_type() {
+        GenericModel other = new GenericModel();
+        other.iterableField(new ArrayList<String>(), "list");
+
+        assertThatThrownBy(() -> new BinaryCodec(other.getFieldInfos())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void mismatched_fields() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        codec.write(model, buffer);
+        buffer.flip();
+        GenericModel other = new GenericModel();
+        other.stringField("", "age");
+
+        assertThatThrownBy(() -> new BinaryCodec(other.getFieldInfos()).read(buffer, other))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    enum Country implements CodeValuable {
+        FRANCE("FR"), SPAIN("ES");
+
+        private final String code;
+
+        Country(String code) {
+            this.code = code;
+        }
+
+        @Override
+        public String getCode() {
+            return code;
+        }
+    }
+
+    /** {@link Country} with a constant added before the others */
+    enum NewCountry implements CodeValuable {
+        BELGIUM("BE"), FRANCE("FR"), SPAIN("ES");
+
+        private final String code;
+
+        NewCountry(String code) {
+            this.code = code;
+        }
+
+        @Override
+        public String getCode() {
+            return code;
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.serial;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.FieldInfo;
+import io.doov.core.FieldModel;
+import io.doov.core.dsl.field.types.*;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see FlatFileReader
+ * @see FlatFileWriter
+ */
+public class FlatFileTest {
+
+    private final GenericModel model = new GenericModel();
+    private final IntegerFieldInfo age = model.intField(18, "age");
+    private final StringFieldInfo name = model.stringField("", "name");
+    private final BooleanFieldInfo valid = model.booleanField(true, "valid");
+    private final LocalDateFieldInfo birth = model.localDateField(LocalDate.of(2000, 1, 1), "birth");
+    private final List<FieldInfo> columns = asList(age, name, valid, birth);
+
+    @BeforeEach
+    void setUp() {
+        model.set(name.id(), null);
+    }
+
+    @Test
+    void delimited_round_trip() throws IOException {
+        FlatFileLayout layout = FlatFileLayout.delimited(columns, ';').withHeader();
+        String file = write(layout,
+                record(42, "plain", true, LocalDate.of(1980, 5, 3)),
+                record(7, "semi;colon \"quoted\"\nnew line", false, null),
+                record(null, "", null, LocalDate.of(2018, 12, 31)));
+
+        assertThat(file).startsWith("age;name;valid;birth\n42;plain;true;1980-05-03\n");
+        assertThat(file).endsWith(";\"\";;2018-12-31\n");
+
+        List<String> lines = read(layout, file);
+        assertThat(lines).containsExactly(
+                "42|plain|true|1980-05-03",
+                "7|semi;colon \"quoted\"\nnew line|false|null",
+                "null||null|2018-12-31");
+    }
+
+    @Test
+    void delimited_lines() throws IOException {
+        FlatFileLayout layout = FlatFileLayout.delimited(columns, ',');
+
+        assertThat(read(layout, "1,a,true,2001-02-03,extra\r\n2,b\r\n\"3\",\"c,\"\"d\"\"\",false,"))
+                .containsExactly("1|a|true|2001-02-03", "2|b|null|null", "3|c,\"d\"|false|null");
+        assertThat(read(layout, "1,a\r2,b\r")).containsExactly("1|a|null|null", "2|b|null|null");
+        assertThatThrownBy(() -> read(layout, "1,\"ab\"c,d\n2,e"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("unexpected character after quoted value at line 1");
+    }
+
+    @Test
+    void fixed_width_round_trip() throws IOException {
+        FlatFileLayout layout = FlatFileLayout.fixedWidth(columns, 3, 10, 5, 10);
+        String file = write(layout,
+                record(42, "plain", true, LocalDate.of(1980, 5, 3)),
+                record(null, null, false, null));
+
+        assertThat(file).isEqualTo("42 plain     true 1980-05-03\n             false          \n");
+        assertThat(read(layout, file)).containsExactly("42|plain|true|1980-05-03", "null|null|false|null");
+        // the last line break is optional
+        assertThat(read(layout, file.substring(0, file.length() - 1))).hasSize(2);
+
+        assertThatThrownBy(() -> write(layout, record(1, "too long name", true, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> read(layout, "42 plain"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> read(layout, file + "42 plain     true 1980-05-03 extra\n"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("line 3 is longer than the layout");
+    }
+
+    @Test
+    void multibyte_characters_across_buffers() throws IOException {
+        FlatFileLayout layout = FlatFileLayout.delimited(columns, ';');
+        StringBuilder longName = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            longName.append("é€");
+        }
+        String file = write(layout, record(1, longName.toString(), true, null), record(2, "après", false, null));
+
+        assertThat(read(layout, file)).containsExactly("1|" + longName + "|true|null", "2|après|false|null");
+    }
+
+    @Test
+    void stream() throws IOException {
+        FlatFileLayout layout = FlatFileLayout.delimited(columns, ';');
+        InputStream input = new ByteArrayInputStream("1;a;;\n2;b;;\n3;c;;\n".getBytes(UTF_8));
+
+        try (Stream<FieldModel> models = new FlatFileReader(Channels.newChannel(input), layout, TypeAdapters.INSTANCE)
+                .stream(GenericModel::new)) {
+            assertThat(models.map(m -> m.<String> get(name.id())).collect(Collectors.toList()))
+                    .containsExactly("a", "b", "c");
+        }
+    }
+
+    @Test
+    void field_csv_columns() throws IOException {
+        EnumFieldInfo<TimeUnit> unit = model.enumField(TimeUnit.SECONDS, "unit");
+        String fieldCsv = "Path;Id;Type\n"
+                + "user.name;" + name.id() + ";String\n"
+                + "NO_PATH;UNKNOWN\n"
+                + "user.age;" + age.id() + ";int\n";
+
+        List<FieldInfo> fieldCsvColumns = FlatFileLayout.fieldCsvColumns(new StringReader(fieldCsv),
+                asList(age, name, valid, unit));
+
+        assertThat(fieldCsvColumns).containsExactly(name, age);
+        assertThatThrownBy(() -> new FlatFileReader(Channels.newChannel(new ByteArrayInputStream(new byte[0])),
+                FlatFileLayout.delimited(asList(age, unit), ';'), TypeAdapters.INSTANCE))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private Object[] record(Integer age, String name, Boolean valid, LocalDate birth) {
+        return new Object[] { age, name, valid, birth };
+    }
+
+    private String write(FlatFileLayout layout, Object[]... records) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (FlatFileWriter writer = new FlatFileWriter(Channels.newChannel(output), layout, TypeAdapters.INSTANCE)) {
+            for (Object[] record : records) {
+                for (int i = 0; i < columns.size(); i++) {
+                    model.set(columns.get(i).id(), record[i]);
+                }
+                writer.write(model);
+            }
+        }
+        return new String(output.toByteArray(), UTF_8);
+    }
+
+    private List<String> read(FlatFileLayout layout, String file) throws IOException {
+        InputStream input = new ByteArrayInputStream(file.getBytes(UTF_8));
+        try (FlatFileReader reader = new FlatFileReader(Channels.newChannel(input), layout, TypeAdapters.INSTANCE)) {
+            List<String> lines = new ArrayList<>();
+            while (reader.next(model)) {
+                lines.add(columns.stream()
+                        .map(info -> String.valueOf(model.<Object> get(info.id())))
+                        .collect(Collectors.joining("|")));
+            }
+            return lines;
+        }
+    }
+
+}
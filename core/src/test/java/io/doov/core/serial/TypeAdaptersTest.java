@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.serial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.FieldInfo;
+import io.doov.core.dsl.field.types.*;
+import io.doov.core.dsl.runtime.GenericModel;
+import io.doov.core.serial.adapter.*;
+
+/**
+ * @see TypeAdapterRegistry#adapterFor(FieldInfo)
+ * @see TypeAdapterRegistry#adapterFor(Class)
+ */
+public class TypeAdaptersTest {
+
+    @Test
+    void adapter_for_field() {
+        CountingTypeAdapters registry = new CountingTypeAdapters();
+        GenericModel model = new GenericModel(registry);
+        IntegerFieldInfo age = model.intField(18, "age");
+        EnumFieldInfo<TimeUnit> unit = model.enumField(TimeUnit.SECONDS, "unit");
+
+        assertThat(registry.adapterFor(age)).isInstanceOf(IntegerTypeAdapter.class);
+        assertThat(registry.adapterFor(age)).isInstanceOf(IntegerTypeAdapter.class);
+        assertThat(registry.adapterFor(unit)).isNull();
+        assertThat(registry.adapterFor(unit)).isNull();
+        assertThat(registry.streams).isEqualTo(2);
+
+        model.setAsString(age, "42");
+        assertThat(model.getAsString(age)).isEqualTo("42");
+        assertThat(registry.streams).isEqualTo(3);
+    }
+
+    @Test
+    void adapter_for_type() {
+        TypeAdapters registry = new TypeAdapters();
+
+        assertThat(registry.adapterFor(Integer.class)).isInstanceOf(IntegerTypeAdapter.class);
+        assertThat(registry.adapterFor(String.class)).isInstanceOf(StringTypeAdapter.class);
+        assertThat(registry.adapterFor(java.sql.Date.class)).isInstanceOf(DateTypeAdapter.class);
+        assertThat(registry.adapterFor(LocalDate.class)).isInstanceOf(LocalDateTypeAdapter.class);
+        assertThat(registry.adapterFor(TimeUnit.class)).isNull();
+        assertThat(registry.adapterForValue(new Date())).isInstanceOf(DateTypeAdapter.class);
+        assertThat(registry.adapterForValue(TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void adapter_for_value_without_type() {
+        TypeAdapterRegistry registry = () -> Stream.of(new IntegerTypeAdapter(), new ValueOnlyTypeAdapter());
+
+        assertThat(registry.adapterForValue(1)).isInstanceOf(IntegerTypeAdapter.class);
+        assertThat(registry.adapterFor(TimeUnit.class)).isNull();
+        assertThat(registry.adapterForValue(TimeUnit.SECONDS)).isInstanceOf(ValueOnlyTypeAdapter.class);
+    }
+
+    @Test
+    void adapter_for_value_in_order() {
+        TypeAdapterRegistry registry = () -> Stream.of(new NegativeTypeAdapter(), new IntegerTypeAdapter());
+        TypeAdapters cached = new TypeAdapters() {
+            @Override
+            public Stream<TypeAdapter> stream() {
+                return registry.stream();
+            }
+        };
+
+        for (TypeAdapterRegistry r : Arrays.asList(registry, cached, cached)) {
+            assertThat(r.adapterForValue(-1)).isInstanceOf(NegativeTypeAdapter.class);
+            assertThat(r.adapterForValue(1)).isInstanceOf(IntegerTypeAdapter.class);
+            assertThat(r.adapterForValue(-2)).isInstanceOf(NegativeTypeAdapter.class);
+            assertThat(r.adapterForValue(TimeUnit.SECONDS)).isNull();
+        }
+    }
+
+    private static final class CountingTypeAdapters extends TypeAdapters {
+        private int streams;
+
+        @Override
+        public Stream<TypeAdapter> stream() {
+            streams++;
+            return super.stream();
+        }
+    }
+
+    private static final class ValueOnlyTypeAdapter implements TypeAdapter {
+        @Override
+        public boolean accept(FieldInfo info) {
+            return false;
+        }
+
+        @Override
+        public boolean accept(Object value) {
+            return value instanceof Enum;
+        }
+
+        @Override
+        public String toString(Object value) {
+            return ((Enum<?>) value).name();
+        }
+
+        @Override
+        public Object fromString(FieldInfo info, String value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class NegativeTypeAdapter implements TypeAdapter {
+        @Override
+        public boolean accept(FieldInfo info) {
+            return false;
+        }
+
+        @Override
+        public boolean accept(Object value) {
+            return value instanceof Integer && (Integer) value < 0;
+        }
+
+        @Override
+        public String toString(Object value) {
+            return "minus " + -(Integer) value;
+        }
+
+        @Override
+        public Object fromString(FieldInfo info, String value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
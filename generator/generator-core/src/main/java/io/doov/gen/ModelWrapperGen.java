@@ -88,7 +88,7 @@ final class ModelWrapperGen {
         conf.put("field.id.name", fieldId.toString());
         conf.put("field.type", getterBoxingType(path, fieldId.position()));
         conf.put("target.model.class.name", modelClass.getSimpleName());
-        conf.put("null.check", nullCheck(path));
+        conf.put("null.check", nullCheck(path, "null"));
         conf.put("getter.path", getterPath(path));
         return MacroProcessor.replaceProperties(Templates.propertyLiteralSupplier, conf);
     }
@@ -132,31 +132,81 @@ final class ModelWrapperGen {
                 .collect(toList());
     }
 
-    private static String nullCheck(VisitorPath path) {
+    /**
+     * Generates the primitive accessors, like {@code getInt(FieldId, int)}, reading the fields with a primitive
+     * getter without boxing. The other fields fall back to the default implementation of
+     * {@link io.doov.core.dsl.DslModel}.
+     */
+    static String mapPrimitiveGetters(Map<FieldId, VisitorPath> collected) {
+        final StringBuilder buffer = new StringBuilder();
+        buffer.append(mapPrimitiveGetter(collected, Integer.TYPE, "getInt"));
+        buffer.append(mapPrimitiveGetter(collected, Long.TYPE, "getLong"));
+        buffer.append(mapPrimitiveGetter(collected, Double.TYPE, "getDouble"));
+        buffer.append(mapPrimitiveGetter(collected, Boolean.TYPE, "getBoolean"));
+        return buffer.toString();
+    }
+
+    private static String mapPrimitiveGetter(Map<FieldId, VisitorPath> collected, Class<?> primitiveType,
+            String getterName) {
+        final Map<FieldId, VisitorPath> primitivePaths = collected.entrySet().stream()
+                .filter(e -> primitiveType.equals(getterType(e.getValue())))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (primitivePaths.isEmpty()) {
+            return "";
+        }
+        final String ifStatements = fieldTypes(primitivePaths).stream().map(fieldType -> {
+            final Map<FieldId, VisitorPath> paths = filterByFieldType(primitivePaths, fieldType);
+            final Map<String, String> conf = new HashMap<>();
+            conf.put("field.id.type", fieldType.getName());
+            conf.put("switch.content", primitiveGetterSwitchContent(paths));
+            return MacroProcessor.replaceProperties(Templates.primitiveGetIf, conf);
+        }).collect(joining());
+        final Map<String, String> conf = new HashMap<>();
+        conf.put("primitive.type", primitiveType.getName());
+        conf.put("primitive.getter", getterName);
+        conf.put("primitive.getter.if", ifStatements);
+        return MacroProcessor.replaceProperties(Templates.primitiveGetMethod, conf);
+    }
+
+    private static String primitiveGetterSwitchContent(Map<FieldId, VisitorPath> paths) {
+        final StringBuilder buffer = new StringBuilder();
+        for (FieldId fieldId : sortFields(paths.keySet())) {
+            final Map<String, String> conf = new HashMap<>();
+            conf.put("field.id.name", fieldId.toString());
+            conf.put("null.check", nullCheck(paths.get(fieldId), "nullValue"));
+            conf.put("getter.path", getterPath(paths.get(fieldId)));
+            buffer.append(MacroProcessor.replaceProperties(Templates.primitiveGetSwitchBlock, conf));
+        }
+        return buffer.toString();
+    }
+
+    private static String nullCheck(VisitorPath path, String nullValue) {
         final StringBuilder buffer = new StringBuilder();
         for (int i = 1; i < path.getPath().size(); i++) {
             final Method lastGetMethod = path.getPath().get(i - 1);
             final List<Method> subPaths = path.getPath().subList(0, i);
-            buffer.append(nullCheck(subPaths));
+            buffer.append(nullCheck(subPaths, nullValue));
             if (List.class.isAssignableFrom(lastGetMethod.getReturnType())) {
-                buffer.append(sizeCheck(subPaths, path.getFieldId()));
+                buffer.append(sizeCheck(subPaths, path.getFieldId(), nullValue));
             }
         }
         return buffer.toString();
     }
 
-    private static String nullCheck(List<Method> paths) {
+    private static String nullCheck(List<Method> paths, String nullValue) {
         final StringBuilder buffer = new StringBuilder();
         final Map<String, String> conf = new HashMap<>();
         conf.put("partial.path", VisitorPath.getterPath(paths));
+        conf.put("null.value", nullValue);
         buffer.append(MacroProcessor.replaceProperties(Templates.nullCheckBlock, conf));
         return buffer.toString();
     }
 
-    private static String sizeCheck(List<Method> paths, FieldId fieldId) {
+    private static String sizeCheck(List<Method> paths, FieldId fieldId, String nullValue) {
         final StringBuilder buffer = new StringBuilder();
         final Map<String, String> conf = new HashMap<>();
         conf.put("partial.path", VisitorPath.getterPath(paths));
+        conf.put("null.value", nullValue);
         conf.put("size", String.valueOf(fieldId.position()));
         conf.put("index", String.valueOf(fieldId.position() - 1));
         buffer.append(MacroProcessor.replaceProperties(Templates.sizeCheckBlock, conf));
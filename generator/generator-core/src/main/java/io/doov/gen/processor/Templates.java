@@ -26,6 +26,9 @@ public class Templates {
     public static final String nullCheckBlock = template("NullCheckBlock.template");
     public static final String mapSetMethod = template("MapSetMethod.template");
     public static final String mapGetMethod = template("MapGetMethod.template");
+    public static final String primitiveGetMethod = template("PrimitiveGetMethod.template");
+    public static final String primitiveGetIf = template("PrimitiveGetIfStatement.template");
+    public static final String primitiveGetSwitchBlock = template("PrimitiveGetSwitchBlock.template");
     public static final String propertyLiteralConsumer = template("PropertyLiteralConsumer.template");
     public static final String propertyLiteralSupplier = template("PropertyLiteralSupplier.template");
     public static final String propertyIdEnum = template("PropertyIdEnum.template");
@@ -387,6 +387,7 @@ public class ModelMapGenTask extends DefaultTask {
             conf.put("target.class.name", targetClassName);
             conf.put("map.getter", mapGetter(fieldPaths));
             conf.put("map.getter.if", mapFieldTypeIfStatement(Templates.mapGetIf, fieldPaths));
+            conf.put("map.primitive.getter", mapPrimitiveGetters(fieldPaths));
             conf.put("map.setter", mapSetter(fieldPaths));
             conf.put("map.setter.if", mapFieldTypeIfStatement(Templates.mapSetIf, fieldPaths));
             conf.put("map.properties", mapFieldProperties(fieldPaths, modelClass));
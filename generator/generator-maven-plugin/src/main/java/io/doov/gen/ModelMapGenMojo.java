@@ -343,6 +343,7 @@ public final class ModelMapGenMojo extends AbstractMojo {
             conf.put("target.class.name", targetClassName);
             conf.put("map.getter", mapGetter(fieldPaths));
             conf.put("map.getter.if", mapFieldTypeIfStatement(Templates.mapGetIf, fieldPaths));
+            conf.put("map.primitive.getter", mapPrimitiveGetters(fieldPaths));
             conf.put("map.setter", mapSetter(fieldPaths));
             conf.put("map.setter.if", mapFieldTypeIfStatement(Templates.mapSetIf, fieldPaths));
             conf.put("map.properties", mapFieldProperties(fieldPaths, modelClass));
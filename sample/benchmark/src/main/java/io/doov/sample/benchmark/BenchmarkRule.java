@@ -16,11 +16,14 @@
 package io.doov.sample.benchmark;
 
 import static io.doov.core.dsl.DOOV.matchAll;
+import static io.doov.core.dsl.impl.LeafStepCondition.predicate;
+import static io.doov.core.dsl.meta.function.StringFunctionMetadata.matchesMetadata;
 import static io.doov.core.dsl.time.LocalDateSuppliers.today;
 import static io.doov.sample.field.dsl.DslSampleModel.*;
 import static java.util.stream.Collectors.toList;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.stream.IntStream;
 
 import org.openjdk.jmh.annotations.*;
@@ -28,6 +31,8 @@ import org.openjdk.jmh.infra.Blackhole;
 
 import io.doov.core.FieldModel;
 import io.doov.core.dsl.DOOV;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.impl.StringCondition;
 import io.doov.core.dsl.lang.StepCondition;
 import io.doov.core.dsl.lang.ValidationRule;
 import io.doov.sample.model.*;
@@ -46,6 +51,12 @@ public class BenchmarkRule {
                     .or(accountEmail.matches("\\w+[@]\\w+\\.fr")))
             .validate();
 
+    // the email rule with the regular expressions compiled on each evaluation, as String#matches does
+    private static final ValidationRule EMAIL_RECOMPILED = DOOV
+            .when(recompiledMatches("\\w+[@]\\w+\\.com")
+                    .or(recompiledMatches("\\w+[@]\\w+\\.fr")))
+            .validate();
+
     public static final ValidationRule COUNTRY = DOOV
             .when(userBirthdate.ageAt(today()).greaterOrEquals(18)
                     .and(accountEmail.length().lesserOrEquals(20))
@@ -59,6 +70,10 @@ public class BenchmarkRule {
     private static final ValidationRule ACCOUNT_VALID_COUNTRY_80 = DOOV.when(matchAll(conditions(80))).validate();
     private static final ValidationRule ACCOUNT_VALID_COUNTRY_100 = DOOV.when(matchAll(conditions(100))).validate();
 
+    private static final Predicate<DslModel> EMAIL_COMPILED = EMAIL.compile();
+    private static final Predicate<DslModel> COUNTRY_COMPILED = COUNTRY.compile();
+    private static final Predicate<DslModel> ACCOUNT_VALID_COUNTRY_100_COMPILED = ACCOUNT_VALID_COUNTRY_100.compile();
+
     @Benchmark
     public void valid_email(Blackhole blackhole) {
         boolean valid = EMAIL.executeOn(MODEL).value();
@@ -67,6 +82,14 @@ public class BenchmarkRule {
         }
     }
 
+    @Benchmark
+    public void valid_email_recompiled(Blackhole blackhole) {
+        boolean valid = EMAIL_RECOMPILED.executeOn(MODEL).value();
+        if (blackhole != null) {
+            blackhole.consume(valid);
+        }
+    }
+
     @Benchmark
     public void valid_country(Blackhole blackhole) {
         boolean valid = COUNTRY.executeOn(MODEL).value();
@@ -110,6 +133,35 @@ public class BenchmarkRule {
         }
     }
 
+    @Benchmark
+    public void valid_email_compiled(Blackhole blackhole) {
+        boolean valid = EMAIL_COMPILED.test(MODEL);
+        if (blackhole != null) {
+            blackhole.consume(valid);
+        }
+    }
+
+    @Benchmark
+    public void valid_country_compiled(Blackhole blackhole) {
+        boolean valid = COUNTRY_COMPILED.test(MODEL);
+        if (blackhole != null) {
+            blackhole.consume(valid);
+        }
+    }
+
+    @Benchmark
+    public void valid_country_100_compiled(Blackhole blackhole) {
+        boolean valid = ACCOUNT_VALID_COUNTRY_100_COMPILED.test(MODEL);
+        if (blackhole != null) {
+            blackhole.consume(valid);
+        }
+    }
+
+    private static StepCondition recompiledMatches(String regex) {
+        StringCondition condition = accountEmail.getStringCondition();
+        return predicate(condition, matchesMetadata(condition.getMetadata(), regex), regex, String::matches);
+    }
+
     private static StepCondition[] conditions(int count) {
         return IntStream.range(0, count)
                 .mapToObj(operand -> accountCountry.eq(Country.FR)
@@ -9,9 +9,12 @@ import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
 
+import io.doov.core.dsl.impl.RuleRewriter;
+import io.doov.core.dsl.lang.ValidationRule;
 import io.doov.sample.field.dsl.DslSampleModel.SampleModelRule;
 import io.doov.sample.model.SampleModel;
 import io.doov.sample.model.SampleModels;
+import io.doov.sample.wrapper.SampleModelWrapper;
 
 @BenchmarkMode(Mode.Throughput)
 @OutputTimeUnit(TimeUnit.MILLISECONDS)
@@ -24,6 +27,7 @@ public class BenchmarkRuleRewrite {
     static {
         sample.getAccount().setCompany(DAILYMOTION);
     }
+    private static final SampleModelWrapper wrapper = new SampleModelWrapper(sample);
     private static final SampleModelRule benchRule1 = when(accountCompany.noneMatch(DAILYMOTION, BLABLACAR)).validate();
     private static final SampleModelRule benchRule2 = when(
             accountCompany.notEq(DAILYMOTION).and(accountCompany.notEq(BLABLACAR))).validate();
@@ -34,6 +38,8 @@ public class BenchmarkRuleRewrite {
     private static final SampleModelRule benchRule5 = when(
             accountCompany.eq(LES_FURETS).or(accountCompany.eq(CANAL_PLUS)
                     .or(accountCompany.eq(MEETIC).or(accountCompany.eq(OODRIVE))))).validate();
+    private static final ValidationRule rewrittenRule3 = RuleRewriter.rewrite(benchRule3);
+    private static final ValidationRule rewrittenRule5 = RuleRewriter.rewrite(benchRule5);
 
     @Benchmark
     public void test_account(Blackhole blackhole) {
@@ -114,4 +120,24 @@ public class BenchmarkRuleRewrite {
             blackhole.consume(valid);
         }
     }
+
+    @Benchmark
+    public void test_account_3_compiled(Blackhole blackhole) {
+        blackhole.consume(benchRule3.test(wrapper));
+    }
+
+    @Benchmark
+    public void test_account_3_rewritten(Blackhole blackhole) {
+        blackhole.consume(rewrittenRule3.test(wrapper));
+    }
+
+    @Benchmark
+    public void test_account_5_compiled(Blackhole blackhole) {
+        blackhole.consume(benchRule5.test(wrapper));
+    }
+
+    @Benchmark
+    public void test_account_5_rewritten(Blackhole blackhole) {
+        blackhole.consume(rewrittenRule5.test(wrapper));
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.sample.benchmark.runtime;
+
+import static io.doov.benchmark.model.RuntimePaths.age;
+import static io.doov.benchmark.model.RuntimePaths.drivingLicense;
+import static io.doov.benchmark.model.RuntimePaths.name;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.doov.benchmark.model.BenchmarkModel;
+import io.doov.benchmark.model.Driver;
+import io.doov.benchmark.model.RuntimePaths;
+import io.doov.core.dsl.DOOV;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.field.types.BooleanFieldInfo;
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.RuntimeModel;
+
+/**
+ * Compares a per model loop over {@link ValidationRule#executeOn(DslModel)} with the batch validation
+ * {@link ValidationRule#testAll(List, int, boolean)}, sequential and parallel.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class BatchValidationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class BatchState {
+
+        @Param({ "1000", "100000" })
+        int size;
+
+        @Param({ "1024" })
+        int chunkSize;
+
+        ValidationRule rule = DOOV
+                .when(name.getDefaultCondition().isNotNull()
+                        .and(new IntegerFieldInfo(age).greaterOrEquals(18))
+                        .and(new BooleanFieldInfo(drivingLicense).isTrue()))
+                .validate();
+
+        List<DslModel> models;
+
+        @Setup
+        public void setUp() {
+            models = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                BenchmarkModel benchmarkModel = new BenchmarkModel();
+                benchmarkModel.setDriver(new Driver("Jacob", i % 100, i % 3 != 0));
+                models.add(new RuntimeModel<>(RuntimePaths.INSTANCE, benchmarkModel));
+            }
+        }
+
+    }
+
+    @Benchmark
+    public void loop_executeOn(BatchState state, Blackhole blackHole) {
+        BitSet result = new BitSet(state.size);
+        for (int i = 0; i < state.size; i++) {
+            if (state.rule.executeOn(state.models.get(i)).value()) {
+                result.set(i);
+            }
+        }
+        blackHole.consume(result);
+    }
+
+    @Benchmark
+    public void loop_test(BatchState state, Blackhole blackHole) {
+        BitSet result = new BitSet(state.size);
+        for (int i = 0; i < state.size; i++) {
+            if (state.rule.test(state.models.get(i))) {
+                result.set(i);
+            }
+        }
+        blackHole.consume(result);
+    }
+
+    @Benchmark
+    public void batch_sequential(BatchState state, Blackhole blackHole) {
+        blackHole.consume(state.rule.testAll(state.models, state.chunkSize, false));
+    }
+
+    @Benchmark
+    public void batch_parallel(BatchState state, Blackhole blackHole) {
+        blackHole.consume(state.rule.testAll(state.models, state.chunkSize, true));
+    }
+
+}
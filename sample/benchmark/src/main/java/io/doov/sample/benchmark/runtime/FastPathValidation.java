@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.sample.benchmark.runtime;
+
+import static io.doov.benchmark.model.RuntimePaths.age;
+import static io.doov.benchmark.model.RuntimePaths.drivingLicense;
+import static io.doov.benchmark.model.RuntimePaths.name;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.doov.benchmark.model.BenchmarkModel;
+import io.doov.benchmark.model.BenchmarkModelWrapper;
+import io.doov.benchmark.model.Driver;
+import io.doov.benchmark.model.RuntimePaths;
+import io.doov.core.dsl.DOOV;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.field.types.BooleanFieldInfo;
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.lang.Result;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.RuntimeModel;
+
+/**
+ * Compares the traced execution {@link ValidationRule#executeOn(DslModel)}, the traced execution with a pooled context
+ * {@link ValidationRule#executeOnPooled(DslModel, java.util.function.Function)} and the fast path
+ * {@link ValidationRule#test(DslModel)}, on a runtime model and on the generated wrapper that reads the primitive
+ * fields without boxing. Run the main method to get the allocation profile ({@code -prof gc}), the
+ * {@code gc.alloc.rate.norm} of the fast path should be zero.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class FastPathValidation {
+
+    @State(Scope.Benchmark)
+    public static class ValidationState {
+
+        ValidationRule rule = DOOV
+                .when(name.getDefaultCondition().isNotNull()
+                        .and(new IntegerFieldInfo(age).greaterOrEquals(18))
+                        .and(new BooleanFieldInfo(drivingLicense).isTrue()))
+                .validate();
+
+        DslModel model;
+        DslModel wrapper;
+
+        @Setup
+        public void setUp() {
+            BenchmarkModel benchmarkModel = new BenchmarkModel();
+            benchmarkModel.setDriver(new Driver("Jacob", 42, true));
+            model = new RuntimeModel<>(RuntimePaths.INSTANCE, benchmarkModel);
+            wrapper = new BenchmarkModelWrapper(benchmarkModel);
+        }
+
+    }
+
+    @Benchmark
+    public void executeOn(ValidationState state, Blackhole blackHole) {
+        blackHole.consume(state.rule.executeOn(state.model).value());
+    }
+
+    @Benchmark
+    public void executeOn_pooled(ValidationState state, Blackhole blackHole) {
+        blackHole.consume(state.rule.executeOnPooled(state.model, Result::value));
+    }
+
+    @Benchmark
+    public void test(ValidationState state, Blackhole blackHole) {
+        blackHole.consume(state.rule.test(state.model));
+    }
+
+    @Benchmark
+    public void test_generated(ValidationState state, Blackhole blackHole) {
+        blackHole.consume(state.rule.test(state.wrapper));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FastPathValidation.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
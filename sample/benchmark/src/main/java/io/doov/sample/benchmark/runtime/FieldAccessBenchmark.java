@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.sample.benchmark.runtime;
+
+import static io.doov.benchmark.model.BenchmarkFieldId.AGE;
+import static io.doov.benchmark.model.BenchmarkFieldId.FRIEND_NAME_3;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.doov.benchmark.model.*;
+import io.doov.core.FieldModel;
+import io.doov.core.dsl.runtime.RuntimeFieldRegistry;
+import io.doov.core.dsl.runtime.RuntimeModel;
+
+/**
+ * Compares the field accesses of a {@link RuntimeModel} walking the chain of path methods, of a
+ * {@link RuntimeModel} with compiled accessors {@link RuntimeFieldRegistry#RuntimeFieldRegistry(java.util.List,
+ * boolean)} and of the generated {@link BenchmarkModelWrapper}, on a simple path and on a path through a list.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class FieldAccessBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class FieldAccessState {
+
+        @Param({ "chain", "compiled", "generated" })
+        String access;
+
+        FieldModel model;
+
+        @Setup
+        public void setUp() {
+            Driver driver = new Driver("driver", 42, true);
+            driver.addFriend(new Friend("kermit"));
+            driver.addFriend(new Friend("miss piggy"));
+            driver.addFriend(new Friend("gonzo"));
+            BenchmarkModel benchmarkModel = new BenchmarkModel();
+            benchmarkModel.setDriver(driver);
+            switch (access) {
+                case "chain":
+                    model = new RuntimeModel<>(RuntimePaths.INSTANCE, benchmarkModel);
+                    break;
+                case "compiled":
+                    model = new RuntimeModel<>(
+                            new RuntimeFieldRegistry<>(RuntimePaths.INSTANCE.runtimeFields(), true),
+                            benchmarkModel);
+                    break;
+                default:
+                    model = new BenchmarkModelWrapper(benchmarkModel);
+            }
+        }
+
+    }
+
+    @Benchmark
+    public void get_simple_path(FieldAccessState state, Blackhole blackHole) {
+        blackHole.consume(state.model.<Integer> get(AGE));
+    }
+
+    @Benchmark
+    public void get_list_path(FieldAccessState state, Blackhole blackHole) {
+        blackHole.consume(state.model.<String> get(FRIEND_NAME_3));
+    }
+
+    @Benchmark
+    public void set_simple_path(FieldAccessState state) {
+        state.model.set(AGE, 42);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FieldAccessBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
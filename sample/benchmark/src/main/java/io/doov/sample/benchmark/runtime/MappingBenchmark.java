@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.sample.benchmark.runtime;
+
+import static io.doov.benchmark.model.RuntimePaths.*;
+import static io.doov.core.dsl.DOOV.map;
+import static io.doov.core.dsl.DOOV.mappings;
+import static io.doov.core.dsl.mapping.TypeConverters.converter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.doov.benchmark.model.BenchmarkModel;
+import io.doov.benchmark.model.RuntimePaths;
+import io.doov.core.dsl.mapping.CompiledMapping;
+import io.doov.core.dsl.mapping.MappingRegistry;
+import io.doov.core.dsl.runtime.RuntimeModel;
+
+/**
+ * Compares {@link MappingRegistry#executeOn} to the plan of {@link MappingRegistry#compile}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class MappingBenchmark {
+
+    @State(Scope.Thread)
+    public static class MappingState {
+
+        RuntimeModel<BenchmarkModel> in;
+        RuntimeModel<BenchmarkModel> out;
+        MappingRegistry mappings;
+        CompiledMapping plan;
+
+        @Setup
+        public void setUp() {
+            in = new RuntimeModel<>(RuntimePaths.INSTANCE, new BenchmarkModel());
+            in.set(name.id(), "driver");
+            in.set(age.id(), 42);
+            in.set(friend_name_1.id(), "kermit");
+            in.set(friend_name_2.id(), "miss piggy");
+            in.set(quote_1.id(), 1.5);
+            out = new RuntimeModel<>(RuntimePaths.INSTANCE, new BenchmarkModel());
+            mappings = mappings(
+                    map(name).to(name),
+                    map(age).to(age),
+                    map(friend_name_1).to(friend_name_3),
+                    map(friend_name_2).to(friend_name_4),
+                    map(quote_1).using(converter(q -> q * 2, 0.0, "double")).to(quote_4),
+                    map(() -> true).to(drivingLicense));
+            plan = mappings.compile(in.getFieldInfos(), out.getFieldInfos());
+        }
+
+    }
+
+    @Benchmark
+    public void execute(MappingState state, Blackhole blackHole) {
+        blackHole.consume(state.mappings.executeOn(state.in, state.out));
+    }
+
+    @Benchmark
+    public void compiled(MappingState state, Blackhole blackHole) {
+        state.plan.executeOn(state.in, state.out);
+        blackHole.consume(state.out);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MappingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
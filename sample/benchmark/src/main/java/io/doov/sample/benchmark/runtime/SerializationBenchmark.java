@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.sample.benchmark.runtime;
+
+import static io.doov.benchmark.model.BenchmarkFieldId.*;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.doov.benchmark.model.BenchmarkModel;
+import io.doov.benchmark.model.RuntimePaths;
+import io.doov.core.FieldId;
+import io.doov.core.FieldInfo;
+import io.doov.core.FieldModel;
+import io.doov.core.dsl.runtime.RuntimeModel;
+import io.doov.core.serial.BinaryCodec;
+
+/**
+ * Compares the snapshot of a {@link FieldModel} with the {@link BinaryCodec} to the snapshot as strings with
+ * {@link FieldModel#getAsString(FieldId)} and {@link FieldModel#setAsString(FieldInfo, String)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SerializationBenchmark {
+
+    @State(Scope.Thread)
+    public static class SerializationState {
+
+        FieldModel model;
+        FieldModel copy;
+        BinaryCodec codec;
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        Map<FieldId, String> strings = new HashMap<>();
+
+        @Setup
+        public void setUp() {
+            model = new RuntimeModel<>(RuntimePaths.INSTANCE, new BenchmarkModel());
+            model.set(NAME, "driver");
+            model.set(AGE, 42);
+            model.set(DRIVING_LICENSE, true);
+            model.set(FRIEND_NAME_1, "kermit");
+            model.set(FRIEND_NAME_2, "miss piggy");
+            model.set(FRIEND_NAME_3, "gonzo");
+            model.set(QUOTE_1, 1.5);
+            model.set(QUOTE_3, 1024.25);
+            copy = new RuntimeModel<>(RuntimePaths.INSTANCE, new BenchmarkModel());
+            codec = new BinaryCodec(model.getFieldInfos());
+        }
+
+    }
+
+    @Benchmark
+    public void binary_write_read(SerializationState state, Blackhole blackHole) {
+        state.buffer.clear();
+        state.codec.write(state.model, state.buffer);
+        state.buffer.flip();
+        state.codec.read(state.buffer, state.copy);
+        blackHole.consume(state.copy);
+    }
+
+    @Benchmark
+    public void binary_write(SerializationState state, Blackhole blackHole) {
+        state.buffer.clear();
+        state.codec.write(state.model, state.buffer);
+        blackHole.consume(state.buffer);
+    }
+
+    @Benchmark
+    public void string_get_set(SerializationState state, Blackhole blackHole) {
+        for (FieldInfo info : state.model.getFieldInfos()) {
+            state.strings.put(info.id(), state.model.getAsString(info.id()));
+        }
+        for (FieldInfo info : state.copy.getFieldInfos()) {
+            state.copy.setAsString(info, state.strings.get(info.id()));
+        }
+        blackHole.consume(state.copy);
+    }
+
+    @Benchmark
+    public void string_get(SerializationState state, Blackhole blackHole) {
+        for (FieldInfo info : state.model.getFieldInfos()) {
+            state.strings.put(info.id(), state.model.getAsString(info.id()));
+        }
+        blackHole.consume(state.strings);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
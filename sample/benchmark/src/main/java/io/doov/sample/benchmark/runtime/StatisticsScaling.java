@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.sample.benchmark.runtime;
+
+import static io.doov.benchmark.model.RuntimePaths.age;
+import static io.doov.benchmark.model.RuntimePaths.drivingLicense;
+import static io.doov.benchmark.model.RuntimePaths.name;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.doov.benchmark.model.BenchmarkModel;
+import io.doov.benchmark.model.Driver;
+import io.doov.benchmark.model.RuntimePaths;
+import io.doov.core.dsl.DOOV;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.field.types.BooleanFieldInfo;
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.predicate.EvalStatistics;
+import io.doov.core.dsl.runtime.RuntimeModel;
+
+/**
+ * Scaling of the evaluation of a rule shared by all the threads, with the evaluation statistics enabled, sampled and
+ * disabled, see {@link EvalStatistics#setSampling(int)}. Run the main method to get the curve from 1 to 64 threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class StatisticsScaling {
+
+    private static final int[] THREADS = { 1, 2, 4, 8, 16, 32, 64 };
+
+    @State(Scope.Benchmark)
+    public static class RuleState {
+
+        @Param({ "1", "16", "0" })
+        int sampling;
+
+        ValidationRule rule = DOOV
+                .when(name.getDefaultCondition().isNotNull()
+                        .and(new IntegerFieldInfo(age).greaterOrEquals(18))
+                        .and(new BooleanFieldInfo(drivingLicense).isTrue()))
+                .validate();
+
+        @Setup
+        public void setUp() {
+            EvalStatistics.setSampling(sampling);
+        }
+
+        @TearDown
+        public void tearDown() {
+            EvalStatistics.setSampling(1);
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class ModelState {
+
+        DslModel model;
+
+        @Setup
+        public void setUp() {
+            BenchmarkModel benchmarkModel = new BenchmarkModel();
+            benchmarkModel.setDriver(new Driver("Jacob", 42, true));
+            model = new RuntimeModel<>(RuntimePaths.INSTANCE, benchmarkModel);
+        }
+
+    }
+
+    @Benchmark
+    public void executeOn(RuleState rule, ModelState model, Blackhole blackHole) {
+        blackHole.consume(rule.rule.executeOn(model.model).value());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            new Runner(new OptionsBuilder()
+                    .include(StatisticsScaling.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+
+}